@@ -0,0 +1,93 @@
+-- =====================================================================
+-- V22: Race-free segment code allocation
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. segment_code_allocator:
+--    - NEW per-loader counter; loader replicas reserve blocks of codes
+--      with a single atomic upsert instead of scanning MAX(segment_code)
+--    - Seeded from the current MAX(segment_code) of every loader
+--
+-- 2. segment_combination:
+--    - Merge duplicate segment tuples created by concurrent MAX+1 allocation
+--      (signals_history rows are remapped to the surviving segment_code)
+--    - ADD unique index over (loader_code, segment1..segment10), NULLS NOT DISTINCT,
+--      so concurrent inserts of the same tuple converge via ON CONFLICT DO NOTHING
+--    - DROP idx_segment_combination_lookup (covered by the unique index)
+-- =====================================================================
+
+-- =====================================================================
+-- Part 1: Segment Code Allocator
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS signals.segment_code_allocator (
+    loader_code VARCHAR(64) PRIMARY KEY,
+    next_code BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO signals.segment_code_allocator (loader_code, next_code)
+SELECT loader_code, MAX(segment_code) + 1
+FROM signals.segment_combination
+GROUP BY loader_code
+ON CONFLICT (loader_code) DO NOTHING;
+
+COMMENT ON TABLE signals.segment_code_allocator IS 'Per-loader segment_code counter. Replicas reserve blocks of codes with INSERT ... ON CONFLICT DO UPDATE ... RETURNING.';
+COMMENT ON COLUMN signals.segment_code_allocator.loader_code IS 'Loader code';
+COMMENT ON COLUMN signals.segment_code_allocator.next_code IS 'First segment_code not yet reserved by any replica';
+COMMENT ON COLUMN signals.segment_code_allocator.updated_at IS 'Time of the last block reservation';
+
+GRANT ALL PRIVILEGES ON signals.segment_code_allocator TO alerts_user;
+
+-- =====================================================================
+-- Part 2: Merge Duplicate Segment Tuples
+-- =====================================================================
+
+-- Keep the lowest segment_code of every duplicated tuple
+-- (PARTITION BY groups NULL segment values together)
+CREATE TEMP TABLE segment_code_remap ON COMMIT DROP AS
+SELECT loader_code, segment_code, keep_code
+FROM (
+    SELECT loader_code,
+           segment_code,
+           MIN(segment_code) OVER (
+               PARTITION BY loader_code, segment1, segment2, segment3, segment4, segment5,
+                            segment6, segment7, segment8, segment9, segment10
+           ) AS keep_code
+    FROM signals.segment_combination
+) ranked
+WHERE segment_code <> keep_code;
+
+UPDATE signals.signals_history sh
+SET segment_code = r.keep_code::TEXT
+FROM segment_code_remap r
+WHERE sh.loader_code = r.loader_code
+  AND sh.segment_code = r.segment_code::TEXT;
+
+DELETE FROM signals.segment_combination sc
+USING segment_code_remap r
+WHERE sc.loader_code = r.loader_code
+  AND sc.segment_code = r.segment_code;
+
+-- =====================================================================
+-- Part 3: Unique Segment Tuple
+-- =====================================================================
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_segment_combination_tuple ON signals.segment_combination(
+    loader_code, segment1, segment2, segment3, segment4, segment5,
+    segment6, segment7, segment8, segment9, segment10
+) NULLS NOT DISTINCT;
+
+DROP INDEX IF EXISTS signals.idx_segment_combination_lookup;
+
+COMMENT ON COLUMN signals.segment_combination.segment_code IS 'Segment code per loader, reserved in blocks from segment_code_allocator (part of composite PK)';
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V22: Created segment_code_allocator and unique segment tuple index on segment_combination';
+END $$;
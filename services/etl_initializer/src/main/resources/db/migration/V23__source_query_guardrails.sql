@@ -0,0 +1,58 @@
+-- =====================================================================
+-- V23: Source query guardrails (timeout and fetch size overrides)
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. source_databases:
+--    - ADD query_timeout_seconds (JDBC statement timeout for every query on this source)
+--    - ADD fetch_size (rows per round trip when streaming results)
+--
+-- 2. loader / loader_archive:
+--    - ADD query_timeout_seconds (per-loader override)
+--
+-- Resolution order: loader -> source database -> loader.execution defaults.
+-- NULL everywhere means "use the next level".
+-- =====================================================================
+
+-- =====================================================================
+-- Part 1: Source database overrides
+-- =====================================================================
+
+ALTER TABLE loader.source_databases
+    ADD COLUMN IF NOT EXISTS query_timeout_seconds INTEGER,
+    ADD COLUMN IF NOT EXISTS fetch_size INTEGER;
+
+ALTER TABLE loader.source_databases
+    ADD CONSTRAINT chk_source_query_timeout_positive
+        CHECK (query_timeout_seconds IS NULL OR query_timeout_seconds > 0),
+    ADD CONSTRAINT chk_source_fetch_size_positive
+        CHECK (fetch_size IS NULL OR fetch_size > 0);
+
+COMMENT ON COLUMN loader.source_databases.query_timeout_seconds IS 'Statement timeout (seconds) for queries on this source. NULL = loader.execution.query-timeout-seconds';
+COMMENT ON COLUMN loader.source_databases.fetch_size IS 'Rows per round trip when streaming results (PG cursor / MySQL useCursorFetch). NULL = loader.execution.stream-fetch-size';
+
+-- =====================================================================
+-- Part 2: Loader overrides
+-- =====================================================================
+
+ALTER TABLE loader.loader
+    ADD COLUMN IF NOT EXISTS query_timeout_seconds INTEGER;
+
+ALTER TABLE loader.loader
+    ADD CONSTRAINT chk_loader_query_timeout_positive
+        CHECK (query_timeout_seconds IS NULL OR query_timeout_seconds > 0);
+
+ALTER TABLE loader.loader_archive
+    ADD COLUMN IF NOT EXISTS query_timeout_seconds INTEGER;
+
+COMMENT ON COLUMN loader.loader.query_timeout_seconds IS 'Statement timeout (seconds) for this loader''s source query. NULL = source database / global default';
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V23: Added query_timeout_seconds / fetch_size overrides to source_databases and loader';
+END $$;
@@ -0,0 +1,22 @@
+-- =====================================================================
+-- V24: Index loader.updated_at for the scheduler due-queue resync
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- The scheduler keeps loaders in an in-memory queue keyed on their next
+-- due time and no longer scans the loader table on every tick. Changes
+-- made on other replicas are picked up periodically with
+--   SELECT ... FROM loader.loader WHERE updated_at > :since
+-- which this index keeps cheap regardless of loader count.
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_loader_updated_at ON loader.loader (updated_at);
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V24: Created idx_loader_updated_at';
+END $$;
@@ -0,0 +1,57 @@
+-- =====================================================================
+-- V25: Lease-based execution locks
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. loader_execution_lock:
+--    - ADD lease_key (loaderCode#slot, unique while held, NULL once released)
+--    - ADD heartbeat_at (last lease renewal by the executing pod)
+--    - ADD lease_expires_at (lock can be taken over once passed)
+--
+-- A loader with max_parallel_executions = N has N lease slots. Acquiring a
+-- lock is a single INSERT ... ON CONFLICT DO NOTHING on a free slot, so the
+-- per-loader limit can no longer be exceeded by replicas racing a COUNT.
+-- Locks of crashed pods are taken over once their lease expires (seconds)
+-- instead of after the 2-hour stale threshold.
+-- =====================================================================
+
+ALTER TABLE loader.loader_execution_lock
+    ADD COLUMN IF NOT EXISTS lease_key VARCHAR(80),
+    ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP WITH TIME ZONE;
+
+-- Locks held during the upgrade keep the old 2-hour semantics
+UPDATE loader.loader_execution_lock
+SET heartbeat_at = acquired_at,
+    lease_expires_at = acquired_at + INTERVAL '2 hours'
+WHERE released = false;
+
+-- Give every held lock its own slot per loader
+UPDATE loader.loader_execution_lock l
+SET lease_key = s.loader_code || '#' || s.slot
+FROM (
+    SELECT id, loader_code, ROW_NUMBER() OVER (PARTITION BY loader_code ORDER BY acquired_at) - 1 AS slot
+    FROM loader.loader_execution_lock
+    WHERE released = false
+) s
+WHERE l.id = s.id;
+
+ALTER TABLE loader.loader_execution_lock
+    ADD CONSTRAINT uq_lock_lease_key UNIQUE (lease_key);
+
+CREATE INDEX IF NOT EXISTS idx_lock_lease_expires_at
+    ON loader.loader_execution_lock (released, lease_expires_at);
+
+COMMENT ON COLUMN loader.loader_execution_lock.lease_key IS 'Lease slot loaderCode#slot (slot < max_parallel_executions). Unique while held, NULL once released';
+COMMENT ON COLUMN loader.loader_execution_lock.heartbeat_at IS 'Last lease renewal by the executing pod';
+COMMENT ON COLUMN loader.loader_execution_lock.lease_expires_at IS 'Lease expiry; an unreleased lock past this time can be taken over by another pod';
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V25: loader_execution_lock converted to leases (lease_key, heartbeat_at, lease_expires_at)';
+END $$;
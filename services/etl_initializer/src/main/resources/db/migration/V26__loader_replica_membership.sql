@@ -0,0 +1,37 @@
+-- =====================================================================
+-- V26: Loader replica membership for cluster-wide loader assignment
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. CREATE loader.loader_replica
+--    - One row per loader replica, upserted on every assignment heartbeat
+--    - Replicas with a recent heartbeat form the consistent-hash ring that
+--      assigns loaders (by loader_code) to replicas
+--    - in_flight_executions / capacity drive work stealing from
+--      overloaded replicas
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS loader.loader_replica (
+    replica_name VARCHAR(128) PRIMARY KEY,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    heartbeat_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    in_flight_executions INTEGER NOT NULL DEFAULT 0,
+    capacity INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_replica_heartbeat_at ON loader.loader_replica (heartbeat_at);
+
+COMMENT ON TABLE loader.loader_replica IS 'Live loader replicas (heartbeat membership) used for consistent-hash loader assignment';
+COMMENT ON COLUMN loader.loader_replica.heartbeat_at IS 'Last heartbeat; replicas silent for loader.assignment.membership-timeout-seconds leave the ring';
+COMMENT ON COLUMN loader.loader_replica.in_flight_executions IS 'Loader executions in flight on the replica at the last heartbeat';
+COMMENT ON COLUMN loader.loader_replica.capacity IS 'Execution thread pool size of the replica';
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V26: Created loader.loader_replica';
+END $$;
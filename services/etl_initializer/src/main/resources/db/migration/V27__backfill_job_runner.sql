@@ -0,0 +1,49 @@
+-- =====================================================================
+-- V27: Background backfill runner (priority queue, heartbeat, progress)
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. ALTER loader.backfill_job
+--    - priority: scheduling priority by requester (user > auto-recovery >
+--      gap scanner); waiting time is added when jobs are claimed
+--    - heartbeat_at: renewed by the executing replica; RUNNING jobs with a
+--      stale heartbeat are marked FAILED (replica crashed)
+--    - chunks_completed: progress of a RUNNING job (chunks committed)
+-- 2. Partial index on PENDING jobs for the claim query
+--    (SELECT ... ORDER BY effective priority FOR UPDATE SKIP LOCKED)
+-- =====================================================================
+
+ALTER TABLE loader.backfill_job ADD COLUMN IF NOT EXISTS priority INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE loader.backfill_job ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE loader.backfill_job ADD COLUMN IF NOT EXISTS chunks_completed INTEGER;
+
+-- Existing user-requested jobs rank above system jobs
+UPDATE loader.backfill_job
+SET priority = CASE
+    WHEN requested_by LIKE 'SYSTEM_AUTO_RECOVERY%' THEN 50
+    WHEN requested_by LIKE 'SYSTEM_%' THEN 0
+    ELSE 100
+END
+WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_backfill_pending_priority
+    ON loader.backfill_job (priority DESC, requested_at)
+    WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_backfill_running_heartbeat
+    ON loader.backfill_job (heartbeat_at)
+    WHERE status = 'RUNNING';
+
+COMMENT ON COLUMN loader.backfill_job.priority IS 'Scheduling priority (higher first): 100 user, 50 auto-recovery, 0 gap scanner; plus one point per loader.backfill.aging-seconds-per-point of waiting';
+COMMENT ON COLUMN loader.backfill_job.heartbeat_at IS 'Last heartbeat of the executing replica; stale RUNNING jobs are marked FAILED';
+COMMENT ON COLUMN loader.backfill_job.chunks_completed IS 'Chunks ingested and committed so far';
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V27: Added backfill_job priority, heartbeat and progress columns';
+END $$;
@@ -0,0 +1,36 @@
+-- =====================================================================
+-- V28: Chunked, resumable backfill execution (checkpoints)
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. ALTER loader.backfill_job
+--    - checkpoint_epoch: end of the last committed chunk; a failed, retried
+--      or requeued job resumes from here
+--    - chunks_total: chunks planned for the job range
+--    - attempts: times the job was started; jobs abandoned by a crashed
+--      replica are requeued until loader.backfill.max-attempts
+-- =====================================================================
+
+ALTER TABLE loader.backfill_job ADD COLUMN IF NOT EXISTS checkpoint_epoch BIGINT;
+ALTER TABLE loader.backfill_job ADD COLUMN IF NOT EXISTS chunks_total INTEGER;
+ALTER TABLE loader.backfill_job ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+
+-- Jobs that already ran count as one attempt
+UPDATE loader.backfill_job
+SET attempts = 1
+WHERE status <> 'PENDING';
+
+COMMENT ON COLUMN loader.backfill_job.checkpoint_epoch IS 'End (Unix epoch seconds) of the last committed chunk; everything before it is loaded';
+COMMENT ON COLUMN loader.backfill_job.chunks_total IS 'Chunks planned for the job range';
+COMMENT ON COLUMN loader.backfill_job.attempts IS 'Times the job was started; abandoned jobs are requeued until loader.backfill.max-attempts';
+COMMENT ON COLUMN loader.backfill_job.heartbeat_at IS 'Last heartbeat of the executing replica; stale RUNNING jobs are requeued to resume from their checkpoint';
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V28: Added backfill_job checkpoint columns';
+END $$;
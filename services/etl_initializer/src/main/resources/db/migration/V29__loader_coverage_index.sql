@@ -0,0 +1,54 @@
+-- =====================================================================
+-- V29: Loader coverage index for incremental gap detection
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. CREATE loader.loader_coverage
+--    - Covered time ranges per loader (interval set); successful loads and
+--      committed backfill chunks merge their range into it, so a healthy
+--      loader has one row. Holes between rows are data gaps.
+-- 2. CREATE loader.gap_scan_checkpoint
+--    - Last load_history ID folded into the coverage index, so each gap
+--      scan reads only new history
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS loader.loader_coverage (
+    id BIGSERIAL PRIMARY KEY,
+    loader_code VARCHAR(64) NOT NULL,
+    from_epoch BIGINT NOT NULL,
+    to_epoch BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT chk_loader_coverage_range CHECK (to_epoch > from_epoch)
+);
+
+CREATE INDEX IF NOT EXISTS idx_loader_coverage_range
+    ON loader.loader_coverage (loader_code, from_epoch);
+
+CREATE INDEX IF NOT EXISTS idx_loader_coverage_to
+    ON loader.loader_coverage (to_epoch);
+
+CREATE TABLE IF NOT EXISTS loader.gap_scan_checkpoint (
+    scan_name VARCHAR(64) PRIMARY KEY,
+    last_history_id BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+COMMENT ON TABLE loader.loader_coverage IS 'Covered time ranges per loader (merged interval set); holes between ranges are data gaps';
+COMMENT ON COLUMN loader.loader_coverage.from_epoch IS 'Start of the covered range (Unix epoch seconds, inclusive)';
+COMMENT ON COLUMN loader.loader_coverage.to_epoch IS 'End of the covered range (Unix epoch seconds, exclusive)';
+COMMENT ON TABLE loader.gap_scan_checkpoint IS 'Incremental scan positions over load_history';
+COMMENT ON COLUMN loader.gap_scan_checkpoint.last_history_id IS 'Highest load_history ID folded into the coverage index';
+
+GRANT ALL PRIVILEGES ON loader.loader_coverage TO alerts_user;
+GRANT ALL PRIVILEGES ON SEQUENCE loader.loader_coverage_id_seq TO alerts_user;
+GRANT ALL PRIVILEGES ON loader.gap_scan_checkpoint TO alerts_user;
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V29: Created loader_coverage and gap_scan_checkpoint';
+END $$;
@@ -0,0 +1,59 @@
+-- =====================================================================
+-- V30: Unique signal key for set-based purge strategies
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. Remove duplicate signals
+--    - Rows repeating (loader_code, load_time_stamp, segment_code) were
+--      written by SKIP_DUPLICATES loads before a key existed; the most
+--      recently inserted row (highest id) is kept
+--
+-- 2. ADD uq_signals_loader_time_segment
+--    - UNIQUE (loader_code, load_time_stamp, segment_code) NULLS NOT DISTINCT
+--    - SKIP_DUPLICATES inserts use ON CONFLICT DO NOTHING against it
+--    - Leads with (loader_code, load_time_stamp), so it serves loader time
+--      range reads, duplicate probes (EXISTS ... LIMIT 1) and range purges
+--
+-- 3. DROP idx_signals_loader_time (covered by the unique key; one index
+--    less to maintain on every insert)
+-- =====================================================================
+
+-- =====================================================================
+-- Part 1: Remove Duplicate Signals
+-- =====================================================================
+
+-- (PARTITION BY groups NULL segment codes together, matching NULLS NOT DISTINCT)
+DELETE FROM signals.signals_history
+WHERE id IN (
+    SELECT id
+    FROM (
+        SELECT id,
+               ROW_NUMBER() OVER (
+                   PARTITION BY loader_code, load_time_stamp, segment_code
+                   ORDER BY id DESC
+               ) AS rn
+        FROM signals.signals_history
+    ) ranked
+    WHERE rn > 1
+);
+
+-- =====================================================================
+-- Part 2: Unique Signal Key
+-- =====================================================================
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_signals_loader_time_segment
+    ON signals.signals_history (loader_code, load_time_stamp, segment_code) NULLS NOT DISTINCT;
+
+DROP INDEX IF EXISTS signals.idx_signals_loader_time;
+
+COMMENT ON INDEX signals.uq_signals_loader_time_segment IS 'One signal per loader, timestamp and segment; SKIP_DUPLICATES loads insert with ON CONFLICT DO NOTHING';
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V30: Removed duplicate signals and created uq_signals_loader_time_segment on signals_history';
+END $$;
@@ -0,0 +1,205 @@
+-- =====================================================================
+-- V31: Daily range partitioning of signals_history
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. Partition functions (SECURITY DEFINER, executable by alerts_user)
+--    - create_signals_partition(day): creates signals_history_pYYYYMMDD
+--      for [day, day + 1) UTC; rows of that day already in the default
+--      partition are moved into it before it is attached
+--    - drop_signals_partition(day, detach): drops the partition, or
+--      detaches it and renames it signals_history_archived_pYYYYMMDD
+--    The loader's partition manager pre-creates future partitions and
+--    expires old ones with them (the application role does not own the table)
+--    Both give up after a 5s lock wait (e.g. behind a long-running load
+--    writing to the default partition) instead of queueing every writer
+--
+-- 2. signals_history:
+--    - RECREATE as PARTITION BY RANGE (load_time_stamp), daily partitions
+--      from the first day with data (at most 180 days back) to 7 days ahead
+--    - signals_history_default receives rows of days without a partition
+--    - PRIMARY KEY (id, load_time_stamp) (must include the partition key);
+--      ids keep coming from signals_history_id_seq
+--    - Existing rows are copied over, the old table is dropped
+--
+-- 3. Indexes (created on the parent, so every partition gets them):
+--    - KEEP uq_signals_loader_time_segment, idx_signals_load_history_id,
+--      idx_signals_segment_code
+--    - DROP idx_signals_timestamp (partition pruning replaces it)
+--    - DROP idx_signals_loader_load (no query uses it; orphan cleanup uses
+--      idx_signals_load_history_id)
+-- =====================================================================
+
+-- =====================================================================
+-- Part 1: Partition Functions
+-- =====================================================================
+
+CREATE OR REPLACE FUNCTION signals.create_signals_partition(p_day DATE)
+RETURNS BOOLEAN
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = signals, pg_temp
+SET lock_timeout = '5s'
+AS $$
+DECLARE
+    v_name TEXT := 'signals_history_p' || to_char(p_day, 'YYYYMMDD');
+    v_from TIMESTAMP WITH TIME ZONE := p_day::TIMESTAMP AT TIME ZONE 'UTC';
+    v_to TIMESTAMP WITH TIME ZONE := (p_day + 1)::TIMESTAMP AT TIME ZONE 'UTC';
+BEGIN
+    -- Serialize concurrent replicas creating the same day
+    PERFORM pg_advisory_xact_lock(hashtext('signals.' || v_name));
+
+    IF to_regclass('signals.' || v_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Created standalone and filled from the default partition, then attached
+    -- (the range constraint lets ATTACH skip validating the new table)
+    EXECUTE format('CREATE TABLE signals.%I (LIKE signals.signals_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                   v_name);
+    EXECUTE format('ALTER TABLE signals.%I ADD CONSTRAINT %I CHECK (load_time_stamp >= %L AND load_time_stamp < %L)',
+                   v_name, v_name || '_range', v_from, v_to);
+
+    IF to_regclass('signals.signals_history_default') IS NOT NULL THEN
+        EXECUTE format('WITH moved AS ('
+                       '  DELETE FROM signals.signals_history_default'
+                       '  WHERE load_time_stamp >= $1 AND load_time_stamp < $2'
+                       '  RETURNING *'
+                       ') INSERT INTO signals.%I SELECT * FROM moved', v_name)
+            USING v_from, v_to;
+    END IF;
+
+    EXECUTE format('ALTER TABLE signals.signals_history ATTACH PARTITION signals.%I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, v_from, v_to);
+    EXECUTE format('ALTER TABLE signals.%I DROP CONSTRAINT %I', v_name, v_name || '_range');
+    EXECUTE format('GRANT ALL PRIVILEGES ON signals.%I TO alerts_user', v_name);
+
+    RETURN TRUE;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION signals.drop_signals_partition(p_day DATE, p_detach BOOLEAN)
+RETURNS BOOLEAN
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = signals, pg_temp
+SET lock_timeout = '5s'
+AS $$
+DECLARE
+    v_name TEXT := 'signals_history_p' || to_char(p_day, 'YYYYMMDD');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('signals.' || v_name));
+
+    IF to_regclass('signals.' || v_name) IS NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    IF p_detach THEN
+        EXECUTE format('ALTER TABLE signals.signals_history DETACH PARTITION signals.%I', v_name);
+        EXECUTE format('ALTER TABLE signals.%I RENAME TO %I', v_name, 'signals_history_archived_p' || to_char(p_day, 'YYYYMMDD'));
+    ELSE
+        EXECUTE format('DROP TABLE signals.%I', v_name);
+    END IF;
+
+    RETURN TRUE;
+END;
+$$;
+
+COMMENT ON FUNCTION signals.create_signals_partition(DATE) IS 'Creates the signals_history partition of a UTC day (moving its rows out of the default partition); false if it exists';
+COMMENT ON FUNCTION signals.drop_signals_partition(DATE, BOOLEAN) IS 'Drops (or detaches and renames to signals_history_archived_pYYYYMMDD) the signals_history partition of a UTC day; false if none';
+
+REVOKE EXECUTE ON FUNCTION signals.create_signals_partition(DATE) FROM PUBLIC;
+REVOKE EXECUTE ON FUNCTION signals.drop_signals_partition(DATE, BOOLEAN) FROM PUBLIC;
+GRANT EXECUTE ON FUNCTION signals.create_signals_partition(DATE) TO alerts_user;
+GRANT EXECUTE ON FUNCTION signals.drop_signals_partition(DATE, BOOLEAN) TO alerts_user;
+
+-- =====================================================================
+-- Part 2: Partitioned signals_history
+-- =====================================================================
+
+ALTER TABLE signals.signals_history RENAME TO signals_history_legacy;
+ALTER INDEX signals.signals_history_pkey RENAME TO signals_history_legacy_pkey;
+
+-- Secondary indexes are rebuilt on the partitioned table
+DROP INDEX IF EXISTS signals.uq_signals_loader_time_segment;
+DROP INDEX IF EXISTS signals.idx_signals_timestamp;
+DROP INDEX IF EXISTS signals.idx_signals_load_history_id;
+DROP INDEX IF EXISTS signals.idx_signals_loader_load;
+DROP INDEX IF EXISTS signals.idx_signals_segment_code;
+
+-- Keep the id sequence when the old table is dropped
+ALTER SEQUENCE signals.signals_history_id_seq OWNED BY NONE;
+
+CREATE TABLE signals.signals_history (
+    id BIGINT NOT NULL DEFAULT nextval('signals.signals_history_id_seq'),
+    loader_code VARCHAR(64) NOT NULL,
+    load_time_stamp TIMESTAMP WITH TIME ZONE NOT NULL,
+    segment_code VARCHAR(128),
+    rec_count BIGINT DEFAULT 0,
+    max_val DOUBLE PRECISION,
+    min_val DOUBLE PRECISION,
+    avg_val DOUBLE PRECISION,
+    sum_val DOUBLE PRECISION,
+    load_history_id BIGINT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL,
+    CONSTRAINT signals_history_pkey PRIMARY KEY (id, load_time_stamp)
+) PARTITION BY RANGE (load_time_stamp);
+
+CREATE TABLE signals.signals_history_default PARTITION OF signals.signals_history DEFAULT;
+
+DO $$
+DECLARE
+    v_today DATE := (NOW() AT TIME ZONE 'UTC')::DATE;
+    v_day DATE;
+BEGIN
+    SELECT GREATEST(COALESCE(MIN(load_time_stamp AT TIME ZONE 'UTC')::DATE, v_today), v_today - 180)
+    INTO v_day
+    FROM signals.signals_history_legacy;
+
+    WHILE v_day <= v_today + 7 LOOP
+        PERFORM signals.create_signals_partition(v_day);
+        v_day := v_day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO signals.signals_history (
+    id, loader_code, load_time_stamp, segment_code, rec_count,
+    max_val, min_val, avg_val, sum_val, load_history_id, created_at
+)
+SELECT id, loader_code, load_time_stamp, segment_code, rec_count,
+       max_val, min_val, avg_val, sum_val, load_history_id, created_at
+FROM signals.signals_history_legacy;
+
+ALTER SEQUENCE signals.signals_history_id_seq OWNED BY signals.signals_history.id;
+
+DROP TABLE signals.signals_history_legacy;
+
+-- =====================================================================
+-- Part 3: Indexes
+-- =====================================================================
+
+CREATE UNIQUE INDEX uq_signals_loader_time_segment
+    ON signals.signals_history (loader_code, load_time_stamp, segment_code) NULLS NOT DISTINCT;
+CREATE INDEX idx_signals_load_history_id ON signals.signals_history (load_history_id);
+CREATE INDEX idx_signals_segment_code ON signals.signals_history (segment_code);
+
+COMMENT ON TABLE signals.signals_history IS 'Aggregated signal data with normalized segment codes (daily range partitions on load_time_stamp, UTC)';
+COMMENT ON COLUMN signals.signals_history.load_time_stamp IS 'Timestamp of the data window (normalized to UTC); partition key';
+COMMENT ON COLUMN signals.signals_history.segment_code IS 'Normalized segment code (FK to segment_combination)';
+COMMENT ON COLUMN signals.signals_history.load_history_id IS 'FK to loader.load_history.id - identifies which load inserted this signal. NULL for backfill jobs. Used for orphan cleanup.';
+COMMENT ON TABLE signals.signals_history_default IS 'Rows of days without a daily partition; moved out when the partition is created';
+COMMENT ON INDEX signals.uq_signals_loader_time_segment IS 'One signal per loader, timestamp and segment; SKIP_DUPLICATES loads insert with ON CONFLICT DO NOTHING';
+
+GRANT ALL PRIVILEGES ON signals.signals_history TO alerts_user;
+GRANT ALL PRIVILEGES ON signals.signals_history_default TO alerts_user;
+GRANT ALL PRIVILEGES ON SEQUENCE signals.signals_history_id_seq TO alerts_user;
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V31: Converted signals_history to daily range partitions';
+END $$;
@@ -0,0 +1,103 @@
+-- =====================================================================
+-- V32: Hourly and daily signal rollups
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. CREATE signals_rollup_hourly / signals_rollup_daily
+--    - One row per (loader_code, bucket_start, segment_code), buckets
+--      aligned to UTC hours / days
+--    - rec_count = SUM(rec_count), min_val = MIN(min_val),
+--      max_val = MAX(max_val), sum_val = SUM(sum_val),
+--      avg_val = sum_val / rec_count (recomputed, not an average of averages)
+--    - sample_count = raw signals aggregated into the bucket
+--    The loader recomputes the buckets a load or backfill chunk touched
+--    (hourly from signals_history, daily from hourly) and serves time
+--    range queries with a coarse step from them
+--
+-- 2. Populate both tables from the existing signals_history rows
+-- =====================================================================
+
+-- =====================================================================
+-- Part 1: Rollup Tables
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS signals.signals_rollup_hourly (
+    loader_code VARCHAR(64) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    segment_code VARCHAR(128),
+    rec_count BIGINT,
+    min_val DOUBLE PRECISION,
+    max_val DOUBLE PRECISION,
+    sum_val DOUBLE PRECISION,
+    avg_val DOUBLE PRECISION,
+    sample_count BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS signals.signals_rollup_daily (
+    loader_code VARCHAR(64) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    segment_code VARCHAR(128),
+    rec_count BIGINT,
+    min_val DOUBLE PRECISION,
+    max_val DOUBLE PRECISION,
+    sum_val DOUBLE PRECISION,
+    avg_val DOUBLE PRECISION,
+    sample_count BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW() NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_signals_rollup_hourly
+    ON signals.signals_rollup_hourly (loader_code, bucket_start, segment_code) NULLS NOT DISTINCT;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_signals_rollup_daily
+    ON signals.signals_rollup_daily (loader_code, bucket_start, segment_code) NULLS NOT DISTINCT;
+
+COMMENT ON TABLE signals.signals_rollup_hourly IS 'Signals aggregated per loader, segment and UTC hour (recomputed after loads and backfill chunks)';
+COMMENT ON TABLE signals.signals_rollup_daily IS 'Signals aggregated per loader, segment and UTC day (recomputed from signals_rollup_hourly)';
+COMMENT ON COLUMN signals.signals_rollup_hourly.avg_val IS 'sum_val / rec_count of the bucket';
+COMMENT ON COLUMN signals.signals_rollup_hourly.sample_count IS 'Number of signals_history rows in the bucket';
+COMMENT ON COLUMN signals.signals_rollup_daily.avg_val IS 'sum_val / rec_count of the bucket';
+COMMENT ON COLUMN signals.signals_rollup_daily.sample_count IS 'Number of signals_history rows in the bucket';
+
+GRANT ALL PRIVILEGES ON signals.signals_rollup_hourly TO alerts_user;
+GRANT ALL PRIVILEGES ON signals.signals_rollup_daily TO alerts_user;
+
+-- =====================================================================
+-- Part 2: Initial Population
+-- =====================================================================
+
+INSERT INTO signals.signals_rollup_hourly (
+    loader_code, bucket_start, segment_code, rec_count, min_val, max_val, sum_val, avg_val, sample_count
+)
+SELECT loader_code,
+       date_bin(INTERVAL '1 hour', load_time_stamp, TIMESTAMPTZ '2000-01-01 00:00:00+00'),
+       segment_code,
+       SUM(rec_count), MIN(min_val), MAX(max_val), SUM(sum_val),
+       SUM(sum_val) / NULLIF(SUM(rec_count), 0),
+       COUNT(*)
+FROM signals.signals_history
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
+
+INSERT INTO signals.signals_rollup_daily (
+    loader_code, bucket_start, segment_code, rec_count, min_val, max_val, sum_val, avg_val, sample_count
+)
+SELECT loader_code,
+       date_bin(INTERVAL '1 day', bucket_start, TIMESTAMPTZ '2000-01-01 00:00:00+00'),
+       segment_code,
+       SUM(rec_count), MIN(min_val), MAX(max_val), SUM(sum_val),
+       SUM(sum_val) / NULLIF(SUM(rec_count), 0),
+       SUM(sample_count)
+FROM signals.signals_rollup_hourly
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
+
+-- =====================================================================
+-- Success
+-- =====================================================================
+DO $$
+BEGIN
+    RAISE NOTICE 'V32: Created and populated signals_rollup_hourly and signals_rollup_daily';
+END $$;
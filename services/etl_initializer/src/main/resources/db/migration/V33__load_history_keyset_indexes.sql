@@ -0,0 +1,42 @@
+-- =====================================================================
+-- V33: Keyset pagination indexes for load_history
+-- =====================================================================
+-- Author: Hassan Rawashdeh
+-- Date: 2026-10-16
+--
+-- Changes:
+-- 1. REPLACE the single-column load_history indexes with (filter, start_time, id)
+--    - Execution history lists page newest first with a seek predicate
+--      (start_time, id) < (cursor) instead of an offset; each index serves
+--      one list filter (loader, status, replica or none) in page order, so a
+--      deep page is an index range scan like the first one, without a sort
+--    - The leading column still serves plain equality lookups, so the old
+--      indexes are dropped rather than kept next to their replacements
+-- =====================================================================
+
+-- =====================================================================
+-- Part 1: Keyset Indexes
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_load_history_loader_start
+    ON loader.load_history (loader_code, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_load_history_start
+    ON loader.load_history (start_time, id);
+CREATE INDEX IF NOT EXISTS idx_load_history_status_start
+    ON loader.load_history (status, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_load_history_replica_start
+    ON loader.load_history (replica_name, start_time, id);
+
+-- =====================================================================
+-- Part 2: Drop Superseded Indexes
+-- =====================================================================
+
+DROP INDEX IF EXISTS loader.idx_load_history_loader_code;
+DROP INDEX IF EXISTS loader.idx_load_history_start_time;
+DROP INDEX IF EXISTS loader.idx_load_history_status;
+DROP INDEX IF EXISTS loader.idx_load_history_replica;
+
+COMMENT ON INDEX loader.idx_load_history_loader_start IS 'Execution history of a loader in (start_time, id) order; keyset pages';
+COMMENT ON INDEX loader.idx_load_history_start IS 'Execution history in (start_time, id) order; keyset pages and retention deletes';
+COMMENT ON INDEX loader.idx_load_history_status_start IS 'Execution history by status in (start_time, id) order; keyset pages and failed-load cleanup';
+COMMENT ON INDEX loader.idx_load_history_replica_start IS 'Execution history of a replica in (start_time, id) order; keyset pages';
@@ -322,11 +322,17 @@ public class GlobalExceptionHandler {
             return HttpStatus.BAD_REQUEST;
         }
 
-        if (code.startsWith("INF") || code.startsWith("SDB-002")) {
-            // Infrastructure errors (connection, encryption, etc.)
+        if (code.startsWith("INF") || code.startsWith("SDB-002") || code.equals("SDB-005")
+            || code.equals("SDB-006")) {
+            // Infrastructure errors (connection, encryption, cancelled source query, busy source, etc.)
             return HttpStatus.SERVICE_UNAVAILABLE;
         }
 
+        if (code.equals("SDB-004")) {
+            // Source query exceeded its statement timeout
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+
         if (code.equals("GEN-002") || code.startsWith("LDR-003") || code.startsWith("SIG")) {
             // Bad request errors
             return HttpStatus.BAD_REQUEST;
@@ -6,6 +6,7 @@ import com.tiqmo.monitoring.loader.domain.loader.entity.PurgeStrategy;
 import com.tiqmo.monitoring.loader.dto.admin.BackfillJobResponse;
 import com.tiqmo.monitoring.loader.dto.admin.SubmitBackfillRequest;
 import com.tiqmo.monitoring.loader.infra.config.ApiKey;
+import com.tiqmo.monitoring.loader.service.backfill.BackfillPlanner;
 import com.tiqmo.monitoring.loader.service.backfill.BackfillService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ import java.util.Map;
  *   <li>Execute backfill jobs</li>
  *   <li>Query job status</li>
  *   <li>Cancel pending jobs</li>
+ *   <li>Retry failed jobs from their checkpoint</li>
  * </ul>
  *
  * <p>Endpoints:
@@ -38,6 +40,7 @@ import java.util.Map;
  *   <li>GET /api/ldr/bkfl/loader/{loaderCode} - Get jobs by loader</li>
  *   <li>GET /api/ldr/bkfl/recent - Get recent jobs</li>
  *   <li>POST /api/ldr/bkfl/{id}/cancel - Cancel a pending job</li>
+ *   <li>POST /api/ldr/bkfl/{id}/retry - Requeue a failed job (resumes from its checkpoint)</li>
  *   <li>GET /api/ldr/bkfl/stats - Get backfill statistics</li>
  * </ul>
  *
@@ -51,6 +54,7 @@ import java.util.Map;
 public class BackfillAdminController {
 
     private final BackfillService backfillService;
+    private final BackfillPlanner backfillPlanner;
 
     /**
      * Submit a new backfill job.
@@ -99,8 +103,9 @@ public class BackfillAdminController {
     /**
      * Execute a backfill job.
      *
-     * <p>Note: This is a synchronous operation. For long-running backfills,
-     * consider using an async executor or background processor.
+     * <p>Runs the job synchronously on the request thread. Submitted jobs are also
+     * picked up by the background backfill runner; this endpoint is only needed to run
+     * a job immediately (or when {@code loader.backfill.runner-enabled} is false).
      *
      * @param id Job ID
      * @return Executed backfill job
@@ -191,9 +196,30 @@ public class BackfillAdminController {
         return ResponseEntity.ok(BackfillJobResponse.fromEntity(job));
     }
 
+    /**
+     * Retry a failed backfill job.
+     *
+     * <p>The job is requeued as PENDING and resumes after its last committed chunk.
+     *
+     * @param id Job ID
+     * @return Requeued job
+     */
+    @PostMapping("/{id}/retry")
+    @ApiKey(value = "ldr.backfill.retry", description = "Retry a failed backfill job from its checkpoint", tags = {"admin"})
+    public ResponseEntity<BackfillJobResponse> retryBackfillJob(@PathVariable Long id) {
+        log.info("Retrying backfill job #{}", id);
+
+        BackfillJob job = backfillService.retryBackfillJob(id);
+
+        return ResponseEntity.ok(BackfillJobResponse.fromEntity(job));
+    }
+
     /**
      * Get backfill statistics.
      *
+     * <p>{@code avoidedSourceSeconds} is the backfill range (seconds) this replica did not
+     * query thanks to request coalescing, since startup.
+     *
      * @return Statistics about active and recent backfill jobs
      */
     @GetMapping("/stats")
@@ -220,6 +246,7 @@ public class BackfillAdminController {
             "successfulJobs", successfulJobs,
             "failedJobs", failedJobs,
             "cancelledJobs", cancelledJobs,
+            "avoidedSourceSeconds", backfillPlanner.getAvoidedSeconds(),
             "timestamp", Instant.now().getEpochSecond()
         ));
     }
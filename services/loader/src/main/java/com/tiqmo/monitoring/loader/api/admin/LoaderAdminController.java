@@ -1,14 +1,21 @@
 package com.tiqmo.monitoring.loader.api.admin;
 
 import com.tiqmo.monitoring.loader.domain.loader.entity.LoadExecutionStatus;
-import com.tiqmo.monitoring.loader.domain.loader.entity.LoadHistory;
 import com.tiqmo.monitoring.loader.domain.loader.entity.LoadStatus;
 import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderReplica;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoadHistoryRepository;
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoadHistorySummary;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
+import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.dto.common.KeysetCursor;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
 import com.tiqmo.monitoring.loader.infra.config.ApiKey;
+import com.tiqmo.monitoring.loader.service.scheduler.LoaderAssignmentService;
+import com.tiqmo.monitoring.workflow.domain.VersionStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -29,6 +37,7 @@ import java.util.stream.Collectors;
  *   <li>Adjusting lastLoadTimestamp to reprocess historical data (Round 14)</li>
  *   <li>Pause/resume loader execution (Round 15)</li>
  *   <li>Query execution history with filters (Round 16)</li>
+ *   <li>Cluster assignment of loaders to replicas</li>
  * </ul>
  *
  * @author Hassan Rawashdeh
@@ -40,8 +49,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class LoaderAdminController {
 
+  /**
+   * Response header carrying the continuation token of the next execution history page.
+   */
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /**
+   * Upper start time bound of execution history queries without startTimeTo.
+   */
+  private static final Instant HISTORY_END_OF_TIME = Instant.parse("9999-12-31T23:59:59Z");
+
   private final LoaderRepository loaderRepository;
   private final LoadHistoryRepository loadHistoryRepository;
+  private final LoaderAssignmentService assignmentService;
 
   /**
    * Request to adjust lastLoadTimestamp.
@@ -340,7 +360,7 @@ public class LoaderAdminController {
       String errorMessage,
       String replicaName
   ) {
-    public static ExecutionHistoryResponse from(LoadHistory history) {
+    public static ExecutionHistoryResponse from(LoadHistorySummary history) {
       return new ExecutionHistoryResponse(
           history.getId(),
           history.getLoaderCode(),
@@ -362,20 +382,27 @@ public class LoaderAdminController {
   /**
    * Round 16: Query execution history with filters.
    *
-   * <p>Returns execution history records with optional filters:
+   * <p>Returns execution history records (most recent first) with optional filters:
    * <ul>
    *   <li><b>loaderCode</b>: Filter by specific loader</li>
    *   <li><b>startTimeFrom/startTimeTo</b>: Time range filter</li>
    *   <li><b>status</b>: Filter by execution status (SUCCESS, FAILED, RUNNING, PARTIAL)</li>
    *   <li><b>replicaName</b>: Filter by replica/pod name</li>
    *   <li><b>limit</b>: Max results (default: 100, max: 1000)</li>
+   *   <li><b>cursor</b>: Continuation token of the previous page</li>
    * </ul>
    *
+   * <p><b>Paging:</b> when more records match, the {@value #NEXT_CURSOR_HEADER} response header
+   * holds a token for the next page. Pages seek on (startTime, id), so scrolling deep into the
+   * history costs the same as the first page. Records are read as {@link LoadHistorySummary}
+   * projections, without stack traces.
+   *
    * <p><b>Example Queries:</b>
    * <pre>
    * GET /ops/v1/admin/loaders/history?loaderCode=WALLET_TRANS&limit=50
    * GET /ops/v1/admin/loaders/history?status=FAILED&startTimeFrom=2025-11-01T00:00:00Z
    * GET /ops/v1/admin/loaders/history?replicaName=loader-pod-1&limit=20
+   * GET /ops/v1/admin/loaders/history?loaderCode=WALLET_TRANS&limit=50&cursor={X-Next-Cursor}
    * </pre>
    *
    * <p><b>Use Cases:</b>
@@ -392,7 +419,9 @@ public class LoaderAdminController {
    * @param status optional execution status filter
    * @param replicaName optional replica name filter
    * @param limit max results (default: 100, max: 1000)
+   * @param cursor optional continuation token from {@value #NEXT_CURSOR_HEADER}
    * @return list of execution history records
+   * @throws BusinessException if the cursor is malformed or after {@code startTimeTo}
    */
   @GetMapping("/history")
   @ApiKey(value = "ldr.admin.history", description = "Query loader execution history", tags = {"admin"})
@@ -402,11 +431,12 @@ public class LoaderAdminController {
       @RequestParam(required = false) Instant startTimeTo,
       @RequestParam(required = false) LoadExecutionStatus status,
       @RequestParam(required = false) String replicaName,
-      @RequestParam(required = false, defaultValue = "100") Integer limit
+      @RequestParam(required = false, defaultValue = "100") Integer limit,
+      @RequestParam(required = false) String cursor
   ) {
     log.info("Round 16: Querying execution history - loaderCode: {}, startTimeFrom: {}, " +
-            "startTimeTo: {}, status: {}, replicaName: {}, limit: {}",
-        loaderCode, startTimeFrom, startTimeTo, status, replicaName, limit);
+            "startTimeTo: {}, status: {}, replicaName: {}, limit: {}, cursor: {}",
+        loaderCode, startTimeFrom, startTimeTo, status, replicaName, limit, cursor);
 
     // Validate and cap limit
     if (limit == null || limit < 1) {
@@ -416,71 +446,105 @@ public class LoaderAdminController {
       limit = 1000;
     }
 
-    List<LoadHistory> results;
-
-    // Query logic based on filters
-    if (loaderCode != null && startTimeFrom != null && startTimeTo != null) {
-      // Loader + time range filter
-      results = loadHistoryRepository.findByLoaderCodeAndStartTimeBetweenOrderByStartTimeDesc(
-          loaderCode, startTimeFrom, startTimeTo
-      );
-    } else if (loaderCode != null && status != null) {
-      // Loader + status filter
-      results = loadHistoryRepository.findByLoaderCodeAndStatusOrderByStartTimeDesc(
-          loaderCode, status, limit
-      );
-    } else if (loaderCode != null) {
-      // Loader only filter
-      results = loadHistoryRepository.findByLoaderCodeOrderByStartTimeDesc(
-          loaderCode, limit
-      );
-    } else if (status != null && startTimeFrom != null) {
-      // Status + time filter
-      results = loadHistoryRepository.findByStatusAndStartTimeAfterOrderByStartTimeDesc(
-          status, startTimeFrom, limit
-      );
-    } else if (status != null) {
-      // Status only filter
-      results = loadHistoryRepository.findByStatusOrderByStartTimeDesc(
-          status, limit
-      );
-    } else if (replicaName != null) {
-      // Replica filter
-      results = loadHistoryRepository.findRecentByReplicaName(replicaName, limit);
-    } else if (startTimeFrom != null && startTimeTo != null) {
-      // Time range only
-      results = loadHistoryRepository.findByStartTimeBetweenOrderByStartTimeDesc(
-          startTimeFrom, startTimeTo, limit
-      );
-    } else {
-      // No filters - return recent executions
-      results = loadHistoryRepository.findRecentExecutions(limit);
+    // Seek position: strictly before the previous page's last record, or the upper bound
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    Instant fromTime = startTimeFrom != null ? startTimeFrom : Instant.EPOCH;
+    Instant beforeTime = startTimeTo != null ? startTimeTo : HISTORY_END_OF_TIME;
+    long beforeId = Long.MAX_VALUE;
+    if (after != null) {
+      if (after.timestamp().isAfter(beforeTime)) {
+        throw new BusinessException(
+            ErrorCode.VALIDATION_INVALID_VALUE,
+            "cursor is after startTimeTo",
+            "cursor"
+        );
+      }
+      beforeTime = after.timestamp();
+      beforeId = after.id();
     }
 
-    // Apply post-filter for combinations not handled by repository
-    if (status != null && results != null) {
-      results = results.stream()
-          .filter(h -> h.getStatus() == status)
-          .limit(limit)
-          .collect(Collectors.toList());
-    }
+    // One extra record tells whether another page follows
+    List<LoadHistorySummary> results = loadHistoryRepository.findSummariesBefore(
+        loaderCode, status, replicaName, fromTime, beforeTime, beforeId, limit + 1);
 
-    if (replicaName != null && results != null && loaderCode != null) {
-      results = results.stream()
-          .filter(h -> replicaName.equals(h.getReplicaName()))
-          .limit(limit)
-          .collect(Collectors.toList());
+    HttpHeaders headers = new HttpHeaders();
+    if (results.size() > limit) {
+      results = results.subList(0, limit);
+      LoadHistorySummary last = results.get(limit - 1);
+      headers.set(NEXT_CURSOR_HEADER, new KeysetCursor(last.getStartTime(), last.getId()).encode());
     }
 
     // Convert to DTOs
     List<ExecutionHistoryResponse> response = results.stream()
         .map(ExecutionHistoryResponse::from)
-        .limit(limit)
         .collect(Collectors.toList());
 
-    log.info("Round 16: Returning {} execution history records", response.size());
+    log.info("Round 16: Returning {} execution history records (more: {})",
+        response.size(), headers.containsKey(NEXT_CURSOR_HEADER));
 
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok().headers(headers).body(response);
+  }
+
+  // ==================== Cluster Assignment API ====================
+
+  /**
+   * A live replica and the loaders assigned to it.
+   */
+  public record ReplicaAssignmentResponse(
+      String replicaName,
+      Instant startedAt,
+      Instant heartbeatAt,
+      int inFlightExecutions,
+      int capacity,
+      List<String> loaderCodes
+  ) {}
+
+  /**
+   * Cluster assignment of ACTIVE loaders.
+   *
+   * @param replicaName replica serving this request
+   * @param replicas live replicas with their assigned loaders
+   */
+  public record ClusterAssignmentResponse(
+      String replicaName,
+      List<ReplicaAssignmentResponse> replicas
+  ) {}
+
+  /**
+   * Shows which replica owns which loaders (consistent hashing over live replicas).
+   *
+   * <p>Ownership is computed from this replica's membership view (refreshed every
+   * heartbeat); other replicas converge within one heartbeat interval. Overloaded owners
+   * may have loaders stolen by idle replicas, so an individual execution can still run
+   * elsewhere (see the {@code replicaName} of the execution history).
+   *
+   * <pre>
+   * GET /api/v1/ldr/admn/assignments
+   * </pre>
+   *
+   * @return live replicas with their loaders
+   */
+  @GetMapping("/assignments")
+  @ApiKey(value = "ldr.admin.assignments", description = "Show loader assignment across replicas", tags = {"admin"})
+  public ResponseEntity<ClusterAssignmentResponse> getAssignments() {
+    List<String> loaderCodes = loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE).stream()
+        .map(Loader::getLoaderCode)
+        .toList();
+    Map<String, List<String>> assignments = assignmentService.assign(loaderCodes);
+
+    List<ReplicaAssignmentResponse> replicas = new ArrayList<>();
+    for (LoaderReplica replica : assignmentService.getLiveReplicas()) {
+      replicas.add(new ReplicaAssignmentResponse(
+          replica.getReplicaName(),
+          replica.getStartedAt(),
+          replica.getHeartbeatAt(),
+          replica.getInFlightExecutions(),
+          replica.getCapacity(),
+          assignments.getOrDefault(replica.getReplicaName(), List.of())
+      ));
+    }
+
+    return ResponseEntity.ok(new ClusterAssignmentResponse(assignmentService.getReplicaName(), replicas));
   }
 
   // ==================== Helper Methods ====================
@@ -35,12 +35,16 @@ public class SourcesAdminController {
             .toList();
   }
 
-  /** Force a reload and publish an event (so probes/logs/consumers react). */
+  /**
+   * Force a reload and publish an event (so probes/logs/consumers react).
+   * Only added/changed sources get new pools; returns what changed.
+   */
   @PostMapping("/security/reload")
   @ApiKey(value = "ldr.sources.reloadSecurity", description = "Reload source security config", tags = {"admin"})
-  public void reload() {
-    registry.loadAll();
+  public SourceRegistry.ReloadSummary reload() {
+    SourceRegistry.ReloadSummary summary = registry.loadAll();
     publisher.publishEvent(new SourcesLoadedEvent(registry.getConfigs().keySet()));
+    return summary;
   }
 
   private SourceView toView(SourceDatabase s) {
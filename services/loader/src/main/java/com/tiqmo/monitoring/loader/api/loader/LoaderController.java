@@ -749,6 +749,7 @@ public class LoaderController {
                 .sourceTimezoneOffsetHours(dto.getSourceTimezoneOffsetHours())
                 .enabled(false)  // New loaders must be disabled until approved
                 .aggregationPeriodSeconds(dto.getAggregationPeriodSeconds())
+                .queryTimeoutSeconds(dto.getQueryTimeoutSeconds())
                 .purgeStrategy(purgeStrategy)
                 .sourceDatabase(sourceDb)
                 .build();
@@ -2,21 +2,32 @@
 package com.tiqmo.monitoring.loader.api.signals;
 
 import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.dto.common.KeysetCursor;
 import com.tiqmo.monitoring.loader.dto.signals.BulkSignalsRequest;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
 import com.tiqmo.monitoring.loader.infra.config.ApiKey;
+import com.tiqmo.monitoring.loader.service.signals.SignalAggregate;
+import com.tiqmo.monitoring.loader.service.signals.SignalsExportFormat;
+import com.tiqmo.monitoring.loader.service.signals.SignalsExporter;
 import com.tiqmo.monitoring.loader.service.signals.SignalsIngestService;
 import com.tiqmo.monitoring.loader.service.signals.SignalsQueryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Service ID: ldr (Loader Service), Controller ID: sig (Signals Controller)
@@ -26,8 +37,14 @@ import java.util.Map;
 @RequestMapping("/api/v1/ldr/sig")
 @RequiredArgsConstructor
 public class SignalsController {
+    /**
+     * Upper bound of a single export page.
+     */
+    private static final int MAX_EXPORT_LIMIT = 1_000_000;
+
     private final SignalsQueryService svc;
     private final SignalsIngestService ingestSvc;
+    private final SignalsExporter exporter;
 
     @GetMapping("/signal/{loaderCode}")
     @ApiKey(value = "ldr.signals.byLoader", description = "Get signals by loader code with time range")
@@ -35,38 +52,134 @@ public class SignalsController {
             @PathVariable String loaderCode,
             @RequestParam long fromEpoch,
             @RequestParam long toEpoch,
-            @RequestParam(required = false) String segmentCode) {
-
-        log.trace("Entering byLoader() | loaderCode={} | fromEpoch={} | toEpoch={} | segmentCode={} | correlationId={} | requestPath={}",
-                loaderCode, fromEpoch, toEpoch, segmentCode, MDC.get("correlationId"), MDC.get("requestPath"));
-        log.debug("GET /signal/{} | timeRange=[{}, {}] | segmentCode={}", loaderCode, fromEpoch, toEpoch, segmentCode);
+            @RequestParam(required = false) String segmentCode,
+            @RequestParam(required = false) Long step,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(required = false) Long bucket,
+            @RequestParam(required = false) String agg,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+
+        log.trace("Entering byLoader() | loaderCode={} | fromEpoch={} | toEpoch={} | segmentCode={} | step={} | maxPoints={} | bucket={} | agg={} | limit={} | cursor={} | correlationId={} | requestPath={}",
+                loaderCode, fromEpoch, toEpoch, segmentCode, step, maxPoints, bucket, agg, limit, cursor,
+                MDC.get("correlationId"), MDC.get("requestPath"));
+        log.debug("GET /signal/{} | timeRange=[{}, {}] | segmentCode={} | step={} | maxPoints={} | bucket={} | limit={}",
+                loaderCode, fromEpoch, toEpoch, segmentCode, step, maxPoints, bucket, limit);
+
+        boolean hasSegment = segmentCode != null && !segmentCode.isBlank();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("loaderCode", loaderCode);
+        response.put("fromEpoch", fromEpoch);
+        response.put("toEpoch", toEpoch);
+        if (hasSegment) {
+            response.put("segmentCode", segmentCode);
+        }
 
-        List<SignalsHistory> results;
-        if (segmentCode != null && !segmentCode.isBlank()) {
-            log.debug("Querying signals with segment filter | loaderCode={} | segmentCode={}", loaderCode, segmentCode);
-            results = svc.byLoaderAndSegmentBetween(loaderCode, segmentCode, fromEpoch, toEpoch);
+        List<?> results;
+        if (maxPoints != null || bucket != null) {
+            // Downsampled: aggregated into time buckets in the database
+            Set<SignalAggregate> aggregates = SignalAggregate.parse(agg);
+            log.debug("Querying downsampled signals | loaderCode={} | maxPoints={} | bucket={} | agg={}",
+                    loaderCode, maxPoints, bucket, aggregates);
+            SignalsQueryService.DownsampledSignals downsampled = svc.downsampled(loaderCode,
+                    hasSegment ? segmentCode : null, fromEpoch, toEpoch, bucket, maxPoints, aggregates);
+            results = downsampled.signals();
+            if (maxPoints != null) {
+                response.put("maxPoints", maxPoints);
+            }
+            response.put("bucket", downsampled.bucketSeconds());
+            response.put("aggregates", aggregates);
+        } else if (limit != null || cursor != null) {
+            // Keyset page of raw signals: pass nextCursor back as cursor for the next page
+            log.debug("Querying signal page | loaderCode={} | limit={} | cursor={}", loaderCode, limit, cursor);
+            SignalsQueryService.SignalsPage page = svc.page(loaderCode, hasSegment ? segmentCode : null,
+                    fromEpoch, toEpoch, KeysetCursor.decode(cursor), limit);
+            results = page.signals();
+            if (limit != null) {
+                response.put("limit", limit);
+            }
+            response.put("nextCursor", page.next() != null ? page.next().encode() : null);
         } else {
-            log.debug("Querying signals without segment filter | loaderCode={}", loaderCode);
-            results = svc.byLoaderBetween(loaderCode, fromEpoch, toEpoch);
+            if (hasSegment) {
+                log.debug("Querying signals with segment filter | loaderCode={} | segmentCode={}", loaderCode, segmentCode);
+                results = svc.byLoaderAndSegmentBetween(loaderCode, segmentCode, fromEpoch, toEpoch, step);
+            } else {
+                log.debug("Querying signals without segment filter | loaderCode={}", loaderCode);
+                results = svc.byLoaderBetween(loaderCode, fromEpoch, toEpoch, step);
+            }
+            if (step != null) {
+                response.put("step", step);
+            }
+            response.put("resolution", svc.resolutionFor(step).name());
         }
 
         log.info("Signals query successful | loaderCode={} | resultCount={} | correlationId={}",
                 loaderCode, results.size(), MDC.get("correlationId"));
 
-        // Build response with reference keys at root level
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("loaderCode", loaderCode);
-        response.put("fromEpoch", fromEpoch);
-        response.put("toEpoch", toEpoch);
-        if (segmentCode != null && !segmentCode.isBlank()) {
-            response.put("segmentCode", segmentCode);
-        }
         response.put("signals", results);
 
         log.trace("Exiting byLoader() | resultCount={} | statusCode=200", results.size());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Streams raw signals as NDJSON or CSV, read through a database cursor (constant memory).
+     *
+     * <p>With {@code limit}, a full page ends with a continuation token (NDJSON:
+     * {@code {"nextCursor": "..."}}, CSV: {@code # nextCursor=...}); pass it back as {@code cursor}
+     * for the next page.
+     */
+    @GetMapping("/signal/{loaderCode}/export")
+    @ApiKey(value = "ldr.signals.export", description = "Stream signals by loader code as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String loaderCode,
+            @RequestParam long fromEpoch,
+            @RequestParam long toEpoch,
+            @RequestParam(required = false) String segmentCode,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+
+        log.trace("Entering export() | loaderCode={} | fromEpoch={} | toEpoch={} | segmentCode={} | format={} | limit={} | correlationId={} | requestPath={}",
+                loaderCode, fromEpoch, toEpoch, segmentCode, format, limit,
+                MDC.get("correlationId"), MDC.get("requestPath"));
+
+        // Validate before streaming so errors still get a regular error response
+        SignalsExportFormat exportFormat = SignalsExportFormat.parse(format);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (limit != null && (limit < 1 || limit > MAX_EXPORT_LIMIT)) {
+            throw new BusinessException(
+                    ErrorCode.VALIDATION_INVALID_VALUE,
+                    "limit must be between 1 and " + MAX_EXPORT_LIMIT,
+                    "limit"
+            );
+        }
+        if (fromEpoch > toEpoch) {
+            throw new BusinessException(
+                    ErrorCode.VALIDATION_INVALID_VALUE,
+                    "fromEpoch must not be after toEpoch",
+                    "fromEpoch"
+            );
+        }
+        String segment = segmentCode != null && !segmentCode.isBlank() ? segmentCode : null;
+        String correlationId = MDC.get("correlationId");
+
+        StreamingResponseBody body = out -> {
+            KeysetCursor next = exporter.export(loaderCode, segment,
+                    Instant.ofEpochSecond(fromEpoch), Instant.ofEpochSecond(toEpoch),
+                    after, limit, exportFormat, out);
+            log.info("Signals export successful | loaderCode={} | format={} | hasMore={} | correlationId={}",
+                    loaderCode, exportFormat, next != null, correlationId);
+        };
+
+        log.trace("Exiting export() | format={} | statusCode=200", exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + loaderCode + "-signals." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @PostMapping
     @ApiKey(value = "ldr.signals.create", description = "Create a single signal entry")
     public ResponseEntity<SignalsHistory> create(@Valid @RequestBody SignalsHistory signal) {
@@ -96,6 +96,14 @@ public class BackfillJob {
     @Builder.Default
     private BackfillJobStatus status = BackfillJobStatus.PENDING;
 
+    /**
+     * Scheduling priority (higher runs first). Derived from the requester at submission;
+     * waiting time is added when PENDING jobs are claimed.
+     */
+    @Column(name = "priority", nullable = false)
+    @Builder.Default
+    private Integer priority = 0;
+
     // ==================== EXECUTION DETAILS ====================
 
     /**
@@ -116,6 +124,13 @@ public class BackfillJob {
     @Column(name = "duration_seconds")
     private Long durationSeconds;
 
+    /**
+     * Last heartbeat of the replica running the job. RUNNING jobs without a recent
+     * heartbeat are considered abandoned.
+     */
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
     // ==================== RESULTS ====================
 
     /**
@@ -136,6 +151,34 @@ public class BackfillJob {
     @Column(name = "records_ingested")
     private Long recordsIngested;
 
+    /**
+     * Number of chunks committed so far (progress while RUNNING).
+     */
+    @Column(name = "chunks_completed")
+    private Integer chunksCompleted;
+
+    /**
+     * Number of time chunks of the job.
+     */
+    @Column(name = "chunks_total")
+    private Integer chunksTotal;
+
+    // ==================== CHECKPOINT ====================
+
+    /**
+     * End of the last committed chunk (Unix epoch seconds). Everything in
+     * {@code [fromTimeEpoch, checkpointEpoch)} is loaded; a resumed job starts here.
+     */
+    @Column(name = "checkpoint_epoch")
+    private Long checkpointEpoch;
+
+    /**
+     * Number of times the job was started (claimed).
+     */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
     // ==================== ERROR TRACKING ====================
 
     /**
@@ -211,6 +254,13 @@ public class BackfillJob {
         return toTimeEpoch != null ? Instant.ofEpochSecond(toTimeEpoch) : null;
     }
 
+    /**
+     * Gets checkpoint as Instant (null if no chunk was committed yet).
+     */
+    public Instant getCheckpointInstant() {
+        return checkpointEpoch != null ? Instant.ofEpochSecond(checkpointEpoch) : null;
+    }
+
     /**
      * Sets from time from Instant.
      */
@@ -0,0 +1,44 @@
+package com.tiqmo.monitoring.loader.domain.loader.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Position of an incremental scan over load_history.
+ *
+ * <p>The gap scanner folds only history rows with an ID above {@link #lastHistoryId}
+ * into the coverage index, then moves the checkpoint forward.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "gap_scan_checkpoint", schema = "loader")
+public class GapScanCheckpoint {
+
+    /**
+     * Scan name (e.g. GAP_SCANNER).
+     */
+    @Id
+    @Column(name = "scan_name", nullable = false, length = 64)
+    private String scanName;
+
+    /**
+     * Highest load_history ID folded into the coverage index.
+     */
+    @Column(name = "last_history_id", nullable = false)
+    private Long lastHistoryId;
+
+    /**
+     * Last time the checkpoint moved.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
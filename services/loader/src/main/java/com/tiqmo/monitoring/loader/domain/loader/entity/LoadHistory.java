@@ -1,5 +1,6 @@
 package com.tiqmo.monitoring.loader.domain.loader.entity;
 
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoadHistorySummary;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -29,12 +30,12 @@ import java.time.Instant;
 @Entity
 @Table(name = "load_history", schema = "loader",
        indexes = {
-           @Index(name = "idx_load_history_loader_code", columnList = "loader_code"),
-           @Index(name = "idx_load_history_start_time", columnList = "start_time"),
-           @Index(name = "idx_load_history_status", columnList = "status"),
-           @Index(name = "idx_load_history_replica", columnList = "replica_name")
+           @Index(name = "idx_load_history_loader_start", columnList = "loader_code, start_time, id"),
+           @Index(name = "idx_load_history_start", columnList = "start_time, id"),
+           @Index(name = "idx_load_history_status_start", columnList = "status, start_time, id"),
+           @Index(name = "idx_load_history_replica_start", columnList = "replica_name, start_time, id")
        })
-public class LoadHistory {
+public class LoadHistory implements LoadHistorySummary {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
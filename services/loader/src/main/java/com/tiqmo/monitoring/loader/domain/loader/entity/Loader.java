@@ -1,5 +1,6 @@
 package com.tiqmo.monitoring.loader.domain.loader.entity;
 
+import com.tiqmo.monitoring.loader.infra.listener.LoaderEntityListener;
 import com.tiqmo.monitoring.loader.infra.security.EncryptedStringConverter;
 import com.tiqmo.monitoring.workflow.domain.ChangeType;
 import com.tiqmo.monitoring.workflow.domain.VersionStatus;
@@ -22,6 +23,10 @@ import java.time.Instant;
  * <p><b>Distributed Execution:</b>
  * Uses pessimistic locking (SELECT FOR UPDATE) to prevent duplicate execution across replicas/pods.
  *
+ * <p><b>Scheduling:</b>
+ * Row changes are published as {@code LoaderChangedEvent}s by {@link LoaderEntityListener};
+ * the scheduler due queue subscribes to them.
+ *
  * @author Hassan Rawashdeh
  * @since 1.0.0
  */
@@ -35,8 +40,10 @@ import java.time.Instant;
        indexes = {
            @Index(name = "idx_loader_status", columnList = "load_status"),
            @Index(name = "idx_loader_enabled", columnList = "enabled"),
-           @Index(name = "idx_loader_source_db", columnList = "source_database_id")
+           @Index(name = "idx_loader_source_db", columnList = "source_database_id"),
+           @Index(name = "idx_loader_updated_at", columnList = "updated_at")
        })
+@EntityListeners(LoaderEntityListener.class)
 public class Loader implements WorkflowEntity {
 
     @Id
@@ -211,6 +218,15 @@ public class Loader implements WorkflowEntity {
     @Column(name = "aggregation_period_seconds")
     private Integer aggregationPeriodSeconds;
 
+    /**
+     * Source query timeout (in seconds) for this loader.
+     *
+     * <p>Overrides the source database timeout and {@code loader.execution.query-timeout-seconds}.
+     * If null, the source database / global default applies.
+     */
+    @Column(name = "query_timeout_seconds")
+    private Integer queryTimeoutSeconds;
+
     /**
      * Timestamp when this loader was created.
      */
@@ -112,6 +112,9 @@ public class LoaderArchive implements WorkflowEntity {
     @Column(name = "aggregation_period_seconds")
     private Integer aggregationPeriodSeconds;
 
+    @Column(name = "query_timeout_seconds")
+    private Integer queryTimeoutSeconds;
+
     @Column(name = "created_at")
     private Instant createdAt;
 
@@ -250,6 +253,7 @@ public class LoaderArchive implements WorkflowEntity {
                 .purgeStrategy(loader.getPurgeStrategy())
                 .enabled(loader.isEnabled())
                 .aggregationPeriodSeconds(loader.getAggregationPeriodSeconds())
+                .queryTimeoutSeconds(loader.getQueryTimeoutSeconds())
                 .createdAt(loader.getCreatedAt())
                 .updatedAt(loader.getUpdatedAt())
 
@@ -0,0 +1,58 @@
+package com.tiqmo.monitoring.loader.domain.loader.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Covered time range of a loader (coverage index).
+ *
+ * <p>A loader's rows form an interval set over its data timeline: successful loads and
+ * committed backfill chunks add their range, merging with overlapping or adjacent rows, so a
+ * healthy loader has a single row. Holes between a loader's rows are data gaps.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "loader_coverage", schema = "loader",
+       indexes = {
+           @Index(name = "idx_loader_coverage_range", columnList = "loader_code, from_epoch"),
+           @Index(name = "idx_loader_coverage_to", columnList = "to_epoch")
+       })
+public class LoaderCoverage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Loader code.
+     */
+    @Column(name = "loader_code", nullable = false, length = 64)
+    private String loaderCode;
+
+    /**
+     * Start of the covered range (Unix epoch seconds, inclusive).
+     */
+    @Column(name = "from_epoch", nullable = false)
+    private Long fromEpoch;
+
+    /**
+     * End of the covered range (Unix epoch seconds, exclusive).
+     */
+    @Column(name = "to_epoch", nullable = false)
+    private Long toEpoch;
+
+    /**
+     * Last time the range was extended.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
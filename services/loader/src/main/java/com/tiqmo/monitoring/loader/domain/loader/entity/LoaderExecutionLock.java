@@ -8,19 +8,21 @@ import java.time.Instant;
 /**
  * Distributed execution lock for loaders.
  *
- * <p>Prevents duplicate execution across multiple replicas/pods using optimistic locking.
+ * <p>Prevents duplicate execution across multiple replicas/pods using leases.
  * Each running execution creates a lock entry that is released on completion.
  *
  * <p><b>Lock Strategy:</b>
  * <ol>
- *   <li>Before execution: INSERT lock record</li>
- *   <li>Check active locks: COUNT(*) WHERE loaderCode = ? AND released = false</li>
- *   <li>If count <= maxParallelExecutions: proceed with execution</li>
- *   <li>After execution: UPDATE released = true, releasedAt = now()</li>
+ *   <li>Before execution: INSERT lock record claiming a lease slot
+ *       ({@code lease_key = loaderCode#slot}, slot &lt; maxParallelExecutions).
+ *       The unique constraint on {@code lease_key} makes the per-loader limit atomic.</li>
+ *   <li>During execution: heartbeat extends {@code lease_expires_at}</li>
+ *   <li>After execution: UPDATE released = true, releasedAt = now(), lease_key = NULL</li>
  * </ol>
  *
  * <p><b>Stale Lock Cleanup:</b>
- * Locks older than 2 hours with released=false are considered stale (pod crashed).
+ * Locks whose lease expired (pod crashed) are taken over on the next acquisition attempt
+ * and released by the reaper. Locks older than 2 hours are released regardless.
  *
  * @author Hassan Rawashdeh
  * @since 1.0.0
@@ -34,10 +36,12 @@ import java.time.Instant;
 @Table(name = "loader_execution_lock", schema = "loader",
        indexes = {
            @Index(name = "idx_lock_loader_released", columnList = "loader_code,released"),
-           @Index(name = "idx_lock_acquired_at", columnList = "acquired_at")
+           @Index(name = "idx_lock_acquired_at", columnList = "acquired_at"),
+           @Index(name = "idx_lock_lease_expires_at", columnList = "released,lease_expires_at")
        },
        uniqueConstraints = {
-           @UniqueConstraint(name = "uq_lock_id", columnNames = "lock_id")
+           @UniqueConstraint(name = "uq_lock_id", columnNames = "lock_id"),
+           @UniqueConstraint(name = "uq_lock_lease_key", columnNames = "lease_key")
        })
 public class LoaderExecutionLock {
 
@@ -85,6 +89,25 @@ public class LoaderExecutionLock {
     @Builder.Default
     private Boolean released = false;
 
+    /**
+     * Lease slot held by this lock ({@code loaderCode#slot}).
+     * Unique while held, null once released (frees the slot).
+     */
+    @Column(name = "lease_key", length = 80)
+    private String leaseKey;
+
+    /**
+     * Last lease renewal by the executing replica.
+     */
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    /**
+     * Lease expiry. Renewed by the heartbeat; once passed, the lock can be taken over.
+     */
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
     /**
      * Load history ID associated with this lock.
      * Links lock to execution record.
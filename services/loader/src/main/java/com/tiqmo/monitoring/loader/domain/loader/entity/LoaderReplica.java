@@ -0,0 +1,68 @@
+package com.tiqmo.monitoring.loader.domain.loader.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Cluster membership record of a loader replica.
+ *
+ * <p>Each replica upserts its own row on every assignment heartbeat. Replicas with a recent
+ * heartbeat form the consistent-hash ring that assigns loaders to replicas; the published
+ * load (in-flight executions vs. pool size) drives work stealing.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "loader_replica", schema = "loader",
+       indexes = {
+           @Index(name = "idx_replica_heartbeat_at", columnList = "heartbeat_at")
+       })
+public class LoaderReplica {
+
+    /**
+     * Replica/pod name (see {@code ReplicaNameProvider}).
+     */
+    @Id
+    @Column(name = "replica_name", nullable = false, length = 128)
+    private String replicaName;
+
+    /**
+     * When the replica joined the cluster.
+     */
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    /**
+     * Last heartbeat of the replica.
+     */
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    /**
+     * Loader executions in flight on the replica at the last heartbeat.
+     */
+    @Column(name = "in_flight_executions", nullable = false)
+    private Integer inFlightExecutions;
+
+    /**
+     * Execution thread pool size of the replica.
+     */
+    @Column(name = "capacity", nullable = false)
+    private Integer capacity;
+
+    /**
+     * Utilization at the last heartbeat (0 = idle, 1 = pool full).
+     */
+    public double utilization() {
+        int cap = capacity != null && capacity > 0 ? capacity : 1;
+        return (inFlightExecutions != null ? inFlightExecutions : 0) / (double) cap;
+    }
+}
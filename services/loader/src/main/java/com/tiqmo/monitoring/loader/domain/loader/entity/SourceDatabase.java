@@ -42,5 +42,11 @@ public class SourceDatabase {
   @Column(name = "pass_word", nullable = false, length = 512)
   private String passWord;
 
+  @Column(name = "query_timeout_seconds")
+  private Integer queryTimeoutSeconds;  // null = loader.execution.query-timeout-seconds
+
+  @Column(name = "fetch_size")
+  private Integer fetchSize;            // null = loader.execution.stream-fetch-size
+
   public enum DbType { MYSQL, POSTGRESQL }
 }
@@ -2,11 +2,17 @@ package com.tiqmo.monitoring.loader.domain.loader.repo;
 
 import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJob;
 import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJobStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -74,6 +80,18 @@ public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long>
            "AND b.status IN ('PENDING', 'RUNNING') ORDER BY b.requestedAt ASC")
     List<BackfillJob> findActiveJobsByLoader(@Param("loaderCode") String loaderCode);
 
+    /**
+     * Find and lock pending or running backfill jobs for a loader, so concurrent
+     * submissions for the same loader are planned one after the other.
+     *
+     * @param loaderCode Loader code
+     * @return List of active jobs (oldest first), locked until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BackfillJob b WHERE b.loaderCode = :loaderCode " +
+           "AND b.status IN ('PENDING', 'RUNNING') ORDER BY b.requestedAt ASC")
+    List<BackfillJob> lockActiveJobsByLoader(@Param("loaderCode") String loaderCode);
+
     /**
      * Find next pending job to execute.
      *
@@ -100,4 +118,134 @@ public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long>
     @Query("SELECT COUNT(b) FROM BackfillJob b WHERE b.loaderCode = :loaderCode " +
            "AND b.status IN ('PENDING', 'RUNNING')")
     long countActiveJobsByLoader(@Param("loaderCode") String loaderCode);
+
+    /**
+     * Count jobs for a loader that FAILED recently on a range overlapping {@code [fromEpoch, toEpoch)}.
+     *
+     * @param loaderCode Loader code
+     * @param fromEpoch  Range start
+     * @param toEpoch    Range end
+     * @param since      Only jobs that ended after this
+     * @return Number of recently failed overlapping jobs
+     */
+    @Query("SELECT COUNT(b) FROM BackfillJob b WHERE b.loaderCode = :loaderCode AND b.status = 'FAILED' " +
+           "AND b.fromTimeEpoch < :toEpoch AND b.toTimeEpoch > :fromEpoch AND b.endTime > :since")
+    long countRecentlyFailedOverlapping(@Param("loaderCode") String loaderCode,
+                                        @Param("fromEpoch") long fromEpoch,
+                                        @Param("toEpoch") long toEpoch,
+                                        @Param("since") Instant since);
+
+    /**
+     * Lock the next PENDING jobs for claiming, skipping rows locked by other replicas.
+     *
+     * <p>Ordered by effective priority: {@code priority} plus one point per
+     * {@code agingSeconds} of waiting. Must run in the transaction that marks the jobs
+     * RUNNING ({@link #markRunning}); the row locks are held until it commits.
+     *
+     * @param agingSeconds Waiting time that adds one point of priority
+     * @param limit        Max jobs to lock
+     * @return IDs of the locked jobs, highest effective priority first
+     */
+    @Query(value = "SELECT id FROM loader.backfill_job WHERE status = 'PENDING' " +
+                   "ORDER BY priority + EXTRACT(EPOCH FROM (NOW() - requested_at)) / :agingSeconds DESC, " +
+                   "         requested_at ASC " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockNextPendingJobIds(@Param("agingSeconds") int agingSeconds, @Param("limit") int limit);
+
+    /**
+     * Mark PENDING jobs as RUNNING on a replica (one more attempt).
+     *
+     * @param ids         Job IDs
+     * @param replicaName Claiming replica
+     * @param now         Start time (also first heartbeat)
+     * @return Number of jobs claimed
+     */
+    @Modifying
+    @Query("UPDATE BackfillJob b SET b.status = com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJobStatus.RUNNING, " +
+           "b.startTime = :now, b.heartbeatAt = :now, " +
+           "b.replicaName = :replicaName, b.attempts = b.attempts + 1, b.updatedAt = :now " +
+           "WHERE b.id IN :ids AND b.status = 'PENDING'")
+    int markRunning(@Param("ids") Collection<Long> ids,
+                    @Param("replicaName") String replicaName,
+                    @Param("now") Instant now);
+
+    /**
+     * Checkpoint a RUNNING job after a committed chunk (also a heartbeat).
+     *
+     * <p>Runs in the chunk's transaction, so the checkpoint moves if and only if the
+     * chunk's data is committed.
+     *
+     * @param id              Job ID
+     * @param checkpointEpoch End of the committed chunk
+     * @param chunksCompleted Chunks committed so far
+     * @param recordsPurged   Records purged so far
+     * @param recordsLoaded   Source rows read so far
+     * @param recordsIngested Signals ingested so far
+     * @param now             Heartbeat timestamp
+     * @return 1 if updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackfillJob b SET b.checkpointEpoch = :checkpointEpoch, b.chunksCompleted = :chunksCompleted, " +
+           "b.recordsPurged = :recordsPurged, b.recordsLoaded = :recordsLoaded, " +
+           "b.recordsIngested = :recordsIngested, b.heartbeatAt = :now, b.updatedAt = :now " +
+           "WHERE b.id = :id AND b.status = 'RUNNING'")
+    int updateCheckpoint(@Param("id") Long id,
+                         @Param("checkpointEpoch") long checkpointEpoch,
+                         @Param("chunksCompleted") int chunksCompleted,
+                         @Param("recordsPurged") long recordsPurged,
+                         @Param("recordsLoaded") long recordsLoaded,
+                         @Param("recordsIngested") long recordsIngested,
+                         @Param("now") Instant now);
+
+    /**
+     * Heartbeat RUNNING jobs (e.g. while a long source query has not returned rows yet).
+     *
+     * @param ids Job IDs running on the calling replica
+     * @param now Heartbeat timestamp
+     * @return Number of jobs updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BackfillJob b SET b.heartbeatAt = :now WHERE b.id IN :ids AND b.status = 'RUNNING'")
+    int renewHeartbeats(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    /**
+     * Requeue RUNNING jobs whose replica stopped sending heartbeats, to resume from
+     * their checkpoint.
+     *
+     * @param staleBefore Heartbeats before this are abandoned
+     * @param maxAttempts Jobs started this many times are not requeued
+     * @param now         Update timestamp
+     * @return Number of jobs requeued
+     */
+    @Modifying
+    @Query("UPDATE BackfillJob b SET b.status = com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJobStatus.PENDING, " +
+           "b.replicaName = null, b.heartbeatAt = null, b.updatedAt = :now " +
+           "WHERE b.status = 'RUNNING' AND b.attempts < :maxAttempts AND (b.heartbeatAt < :staleBefore " +
+           "OR (b.heartbeatAt IS NULL AND b.startTime < :staleBefore))")
+    int requeueAbandonedJobs(@Param("staleBefore") Instant staleBefore,
+                             @Param("maxAttempts") int maxAttempts,
+                             @Param("now") Instant now);
+
+    /**
+     * Fail RUNNING jobs whose replica stopped sending heartbeats and that used up their attempts.
+     *
+     * @param staleBefore  Heartbeats before this are abandoned
+     * @param maxAttempts  Jobs started this many times are failed
+     * @param now          End time to record
+     * @param errorMessage Error message to record
+     * @return Number of jobs failed
+     */
+    @Modifying
+    @Query("UPDATE BackfillJob b SET b.status = com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJobStatus.FAILED, " +
+           "b.endTime = :now, b.errorMessage = :errorMessage, " +
+           "b.updatedAt = :now " +
+           "WHERE b.status = 'RUNNING' AND b.attempts >= :maxAttempts AND (b.heartbeatAt < :staleBefore " +
+           "OR (b.heartbeatAt IS NULL AND b.startTime < :staleBefore))")
+    int failAbandonedJobs(@Param("staleBefore") Instant staleBefore,
+                          @Param("maxAttempts") int maxAttempts,
+                          @Param("now") Instant now,
+                          @Param("errorMessage") String errorMessage);
 }
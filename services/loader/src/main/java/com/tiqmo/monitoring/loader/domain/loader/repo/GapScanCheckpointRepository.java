@@ -0,0 +1,15 @@
+package com.tiqmo.monitoring.loader.domain.loader.repo;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.GapScanCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for {@link GapScanCheckpoint} scan positions.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Repository
+public interface GapScanCheckpointRepository extends JpaRepository<GapScanCheckpoint, String> {
+}
@@ -16,11 +16,14 @@ import java.util.Optional;
 /**
  * Repository for load execution history.
  *
+ * <p>Execution history pages ({@code findSummariesBefore}) are built per filter combination in
+ * {@link LoadHistoryRepositoryImpl}.
+ *
  * @author Hassan Rawashdeh
  * @since 1.0.0
  */
 @Repository
-public interface LoadHistoryRepository extends JpaRepository<LoadHistory, Long> {
+public interface LoadHistoryRepository extends JpaRepository<LoadHistory, Long>, LoadHistoryRepositoryCustom {
 
     /**
      * Find last execution for a loader (most recent start time).
@@ -42,34 +45,6 @@ public interface LoadHistoryRepository extends JpaRepository<LoadHistory, Long>
         LoadExecutionStatus status
     );
 
-    /**
-     * Find all executions for a loader within time range.
-     *
-     * @param loaderCode Loader code
-     * @param fromTime   Start time
-     * @param toTime     End time
-     * @return List of executions
-     */
-    List<LoadHistory> findByLoaderCodeAndStartTimeBetweenOrderByStartTimeDesc(
-        String loaderCode,
-        Instant fromTime,
-        Instant toTime
-    );
-
-    /**
-     * Find executions by replica name (for debugging).
-     *
-     * @param replicaName Replica/pod name
-     * @param limit       Max results
-     * @return Recent executions by this replica
-     */
-    @Query("SELECT h FROM LoadHistory h WHERE h.replicaName = :replicaName " +
-           "ORDER BY h.startTime DESC LIMIT :limit")
-    List<LoadHistory> findRecentByReplicaName(
-        @Param("replicaName") String replicaName,
-        @Param("limit") int limit
-    );
-
     /**
      * Count failed executions for a loader in time window.
      *
@@ -96,104 +71,28 @@ public interface LoadHistoryRepository extends JpaRepository<LoadHistory, Long>
 
     // ==================== Round 16: History Query Methods ====================
 
-    /**
-     * Find executions by loader code (most recent first).
-     *
-     * @param loaderCode Loader code
-     * @param limit      Max results
-     * @return Recent executions for this loader
-     */
-    @Query("SELECT h FROM LoadHistory h WHERE h.loaderCode = :loaderCode " +
-           "ORDER BY h.startTime DESC LIMIT :limit")
-    List<LoadHistory> findByLoaderCodeOrderByStartTimeDesc(
-        @Param("loaderCode") String loaderCode,
-        @Param("limit") int limit
-    );
+    // findSummariesBefore: see LoadHistoryRepositoryCustom
 
-    /**
-     * Find executions by loader code and status.
-     *
-     * @param loaderCode Loader code
-     * @param status     Execution status
-     * @param limit      Max results
-     * @return Recent executions matching loader and status
-     */
-    @Query("SELECT h FROM LoadHistory h WHERE h.loaderCode = :loaderCode " +
-           "AND h.status = :status ORDER BY h.startTime DESC LIMIT :limit")
-    List<LoadHistory> findByLoaderCodeAndStatusOrderByStartTimeDesc(
-        @Param("loaderCode") String loaderCode,
-        @Param("status") LoadExecutionStatus status,
-        @Param("limit") int limit
-    );
-
-    /**
-     * Find executions by status.
-     *
-     * @param status Execution status
-     * @param limit  Max results
-     * @return Recent executions with this status
-     */
-    @Query("SELECT h FROM LoadHistory h WHERE h.status = :status " +
-           "ORDER BY h.startTime DESC LIMIT :limit")
-    List<LoadHistory> findByStatusOrderByStartTimeDesc(
-        @Param("status") LoadExecutionStatus status,
-        @Param("limit") int limit
-    );
-
-    /**
-     * Find executions by status after a certain time.
-     *
-     * @param status         Execution status
-     * @param startTimeAfter Lower bound for start time
-     * @param limit          Max results
-     * @return Executions matching criteria
-     */
-    @Query("SELECT h FROM LoadHistory h WHERE h.status = :status " +
-           "AND h.startTime > :startTimeAfter ORDER BY h.startTime DESC LIMIT :limit")
-    List<LoadHistory> findByStatusAndStartTimeAfterOrderByStartTimeDesc(
-        @Param("status") LoadExecutionStatus status,
-        @Param("startTimeAfter") Instant startTimeAfter,
-        @Param("limit") int limit
-    );
+    // ==================== Gap Scanner Methods ====================
 
     /**
-     * Find executions within time range.
+     * Find executions recorded after a history ID (incremental gap detection).
      *
-     * @param fromTime Start of time range
-     * @param toTime   End of time range
-     * @param limit    Max results
-     * @return Executions within time range
+     * @param afterId Last history ID already processed
+     * @param limit   Max results
+     * @return Executions with a higher ID (ordered by ID ASC)
      */
-    @Query("SELECT h FROM LoadHistory h WHERE h.startTime BETWEEN :fromTime AND :toTime " +
-           "ORDER BY h.startTime DESC LIMIT :limit")
-    List<LoadHistory> findByStartTimeBetweenOrderByStartTimeDesc(
-        @Param("fromTime") Instant fromTime,
-        @Param("toTime") Instant toTime,
+    @Query("SELECT h FROM LoadHistory h WHERE h.id > :afterId ORDER BY h.id ASC LIMIT :limit")
+    List<LoadHistory> findAfterId(
+        @Param("afterId") Long afterId,
         @Param("limit") int limit
     );
 
     /**
-     * Find most recent executions (no filters).
+     * Find the first execution started after a time (initial gap scan checkpoint).
      *
-     * @param limit Max results
-     * @return Recent executions
+     * @param startTime Lower bound for start time
+     * @return First execution by ID started after the given time
      */
-    @Query("SELECT h FROM LoadHistory h ORDER BY h.startTime DESC LIMIT :limit")
-    List<LoadHistory> findRecentExecutions(@Param("limit") int limit);
-
-    // ==================== Gap Scanner Methods ====================
-
-    /**
-     * Find executions for a loader after a certain time (for gap detection).
-     *
-     * @param loaderCode Loader code
-     * @param startTimeAfter Lower bound for start time
-     * @return Executions for this loader after the given time (ordered by start time ASC)
-     */
-    @Query("SELECT h FROM LoadHistory h WHERE h.loaderCode = :loaderCode " +
-           "AND h.startTime > :startTimeAfter ORDER BY h.startTime ASC")
-    List<LoadHistory> findByLoaderCodeAndStartTimeAfter(
-        @Param("loaderCode") String loaderCode,
-        @Param("startTimeAfter") Instant startTimeAfter
-    );
+    Optional<LoadHistory> findFirstByStartTimeAfterOrderByIdAsc(Instant startTime);
 }
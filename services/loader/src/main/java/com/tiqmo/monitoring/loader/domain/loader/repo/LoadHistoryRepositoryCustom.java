@@ -0,0 +1,44 @@
+package com.tiqmo.monitoring.loader.domain.loader.repo;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadExecutionStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Load history queries built at runtime (implemented by {@link LoadHistoryRepositoryImpl}).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public interface LoadHistoryRepositoryCustom {
+
+    /**
+     * Page of execution history, most recent first, seeking past a keyset position.
+     *
+     * <p>Rows are ordered by (startTime, id) descending; a page continues strictly before the
+     * (startTime, id) of the previous page's last row, so every page is an index range scan
+     * (V33 indexes) however deep it is. Null filters match all rows: they are left out of the
+     * query rather than bound as {@code (:x IS NULL OR ...)}, which a generic plan cannot serve
+     * from the filter's index. Selects the {@link LoadHistorySummary} columns only (no stack
+     * trace or metadata).
+     *
+     * @param loaderCode  Loader code filter (null for all)
+     * @param status      Execution status filter (null for all)
+     * @param replicaName Replica name filter (null for all)
+     * @param fromTime    Lower bound for start time (inclusive)
+     * @param beforeTime  Start time of the previous page's last row, or the upper bound for the first page
+     * @param beforeId    ID of the previous page's last row ({@link Long#MAX_VALUE} for the first page)
+     * @param limit       Max results
+     * @return Matching executions, most recent first
+     */
+    List<LoadHistorySummary> findSummariesBefore(
+        String loaderCode,
+        LoadExecutionStatus status,
+        String replicaName,
+        Instant fromTime,
+        Instant beforeTime,
+        long beforeId,
+        int limit
+    );
+}
@@ -0,0 +1,100 @@
+package com.tiqmo.monitoring.loader.domain.loader.repo;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadExecutionStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Runtime-built load history queries: one JPQL statement per combination of filters, each
+ * with its own plan.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public class LoadHistoryRepositoryImpl implements LoadHistoryRepositoryCustom {
+
+    private static final String SUMMARY_SELECT =
+        "SELECT h.id, h.loaderCode, h.sourceDatabaseCode, h.startTime, h.endTime, h.durationSeconds, " +
+        "h.queryFromTime, h.queryToTime, h.status, h.recordsLoaded, h.recordsIngested, " +
+        "SUBSTRING(h.errorMessage, 1, 4000), h.replicaName " +
+        "FROM LoadHistory h " +
+        "WHERE h.startTime >= :fromTime AND h.startTime <= :beforeTime " +
+        "AND (h.startTime < :beforeTime OR h.id < :beforeId)";
+
+    private static final String SUMMARY_ORDER = " ORDER BY h.startTime DESC, h.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LoadHistorySummary> findSummariesBefore(
+        String loaderCode,
+        LoadExecutionStatus status,
+        String replicaName,
+        Instant fromTime,
+        Instant beforeTime,
+        long beforeId,
+        int limit
+    ) {
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT);
+        if (loaderCode != null) {
+            jpql.append(" AND h.loaderCode = :loaderCode");
+        }
+        if (status != null) {
+            jpql.append(" AND h.status = :status");
+        }
+        if (replicaName != null) {
+            jpql.append(" AND h.replicaName = :replicaName");
+        }
+        jpql.append(SUMMARY_ORDER);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+            .setParameter("fromTime", fromTime)
+            .setParameter("beforeTime", beforeTime)
+            .setParameter("beforeId", beforeId)
+            .setMaxResults(limit);
+        if (loaderCode != null) {
+            query.setParameter("loaderCode", loaderCode);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (replicaName != null) {
+            query.setParameter("replicaName", replicaName);
+        }
+
+        return query.getResultList().stream()
+            .<LoadHistorySummary>map(row -> new SummaryRow(
+                (Long) row[0], (String) row[1], (String) row[2], (Instant) row[3], (Instant) row[4],
+                (Long) row[5], (Instant) row[6], (Instant) row[7], (LoadExecutionStatus) row[8],
+                (Long) row[9], (Long) row[10], (String) row[11], (String) row[12]))
+            .toList();
+    }
+
+    /**
+     * Summary columns of one load history row.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class SummaryRow implements LoadHistorySummary {
+        private final Long id;
+        private final String loaderCode;
+        private final String sourceDatabaseCode;
+        private final Instant startTime;
+        private final Instant endTime;
+        private final Long durationSeconds;
+        private final Instant queryFromTime;
+        private final Instant queryToTime;
+        private final LoadExecutionStatus status;
+        private final Long recordsLoaded;
+        private final Long recordsIngested;
+        private final String errorMessage;
+        private final String replicaName;
+    }
+}
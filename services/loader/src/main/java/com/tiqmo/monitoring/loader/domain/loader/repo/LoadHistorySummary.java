@@ -0,0 +1,46 @@
+package com.tiqmo.monitoring.loader.domain.loader.repo;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadExecutionStatus;
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadHistory;
+
+import java.time.Instant;
+
+/**
+ * Projection of a load history record for list views.
+ *
+ * <p>Selects only the columns execution history lists show: the TEXT columns
+ * {@code stack_trace} and {@code metadata} are never read, and {@code error_message} is cut to
+ * its first 4000 characters. {@link LoadHistory} implements it, so callers handle loaded
+ * entities and projected rows alike.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public interface LoadHistorySummary {
+
+    Long getId();
+
+    String getLoaderCode();
+
+    String getSourceDatabaseCode();
+
+    Instant getStartTime();
+
+    Instant getEndTime();
+
+    Long getDurationSeconds();
+
+    Instant getQueryFromTime();
+
+    Instant getQueryToTime();
+
+    LoadExecutionStatus getStatus();
+
+    Long getRecordsLoaded();
+
+    Long getRecordsIngested();
+
+    String getErrorMessage();
+
+    String getReplicaName();
+}
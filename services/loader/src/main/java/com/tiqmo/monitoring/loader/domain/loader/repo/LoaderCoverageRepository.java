@@ -0,0 +1,65 @@
+package com.tiqmo.monitoring.loader.domain.loader.repo;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderCoverage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the {@link LoaderCoverage} index.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Repository
+public interface LoaderCoverageRepository extends JpaRepository<LoaderCoverage, Long> {
+
+    /**
+     * Covered ranges of a loader that overlap or touch {@code [fromEpoch, toEpoch)}.
+     *
+     * @param loaderCode Loader code
+     * @param fromEpoch  Range start
+     * @param toEpoch    Range end
+     * @return Overlapping or adjacent ranges
+     */
+    @Query("SELECT c FROM LoaderCoverage c WHERE c.loaderCode = :loaderCode " +
+           "AND c.fromEpoch <= :toEpoch AND c.toEpoch >= :fromEpoch")
+    List<LoaderCoverage> findTouching(@Param("loaderCode") String loaderCode,
+                                      @Param("fromEpoch") long fromEpoch,
+                                      @Param("toEpoch") long toEpoch);
+
+    /**
+     * Covered range of a loader ending closest before the given time.
+     *
+     * @param loaderCode Loader code
+     * @param epoch      Upper bound (exclusive) for the range end
+     * @return Preceding range
+     */
+    Optional<LoaderCoverage> findFirstByLoaderCodeAndToEpochLessThanOrderByToEpochDesc(String loaderCode, Long epoch);
+
+    /**
+     * Covered ranges of all loaders ending after the given time, per loader in time order.
+     *
+     * @param sinceEpoch Lower bound for the range end
+     * @return Ranges ordered by loader code and start
+     */
+    @Query("SELECT c FROM LoaderCoverage c WHERE c.toEpoch > :sinceEpoch " +
+           "ORDER BY c.loaderCode ASC, c.fromEpoch ASC")
+    List<LoaderCoverage> findCoveredSince(@Param("sinceEpoch") long sinceEpoch);
+
+    /**
+     * Delete ranges merged into a wider one.
+     *
+     * @param ids Range IDs
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM LoaderCoverage c WHERE c.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
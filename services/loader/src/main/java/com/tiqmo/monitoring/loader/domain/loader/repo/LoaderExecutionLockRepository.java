@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,10 +65,89 @@ public interface LoaderExecutionLockRepository extends JpaRepository<LoaderExecu
      * @return Number of updated records (1 if successful)
      */
     @Modifying
-    @Query("UPDATE LoaderExecutionLock l SET l.released = true, l.releasedAt = :releasedAt " +
+    @Query("UPDATE LoaderExecutionLock l SET l.released = true, l.releasedAt = :releasedAt, l.leaseKey = null " +
            "WHERE l.lockId = :lockId AND l.released = false")
     int releaseLock(@Param("lockId") String lockId, @Param("releasedAt") Instant releasedAt);
 
+    /**
+     * Atomically claim a lease slot (single round trip).
+     *
+     * <p>Inserts nothing if the slot is held ({@code uq_lock_lease_key}) or if the global
+     * limit of active locks is reached.
+     *
+     * @param lockId         UUID lock identifier
+     * @param loaderCode     Loader code
+     * @param replicaName    Acquiring replica
+     * @param leaseKey       Slot key ({@code loaderCode#slot})
+     * @param acquiredAt     Acquisition timestamp (also first heartbeat)
+     * @param leaseExpiresAt Lease expiry
+     * @param globalLimit    Maximum active locks across all loaders
+     * @return 1 if the lease was claimed, 0 otherwise
+     */
+    @Modifying
+    @Query(value = "INSERT INTO loader.loader_execution_lock " +
+                   "(lock_id, loader_code, replica_name, acquired_at, released, version, " +
+                   " lease_key, heartbeat_at, lease_expires_at) " +
+                   "SELECT :lockId, :loaderCode, :replicaName, :acquiredAt, false, 0, " +
+                   "       :leaseKey, :acquiredAt, :leaseExpiresAt " +
+                   "WHERE (SELECT COUNT(*) FROM loader.loader_execution_lock WHERE released = false) < :globalLimit " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertLease(@Param("lockId") String lockId,
+                    @Param("loaderCode") String loaderCode,
+                    @Param("replicaName") String replicaName,
+                    @Param("leaseKey") String leaseKey,
+                    @Param("acquiredAt") Instant acquiredAt,
+                    @Param("leaseExpiresAt") Instant leaseExpiresAt,
+                    @Param("globalLimit") int globalLimit);
+
+    /**
+     * Extend the leases of locks still held (heartbeat).
+     *
+     * @param lockIds        Locks held by the calling replica
+     * @param heartbeatAt    Heartbeat timestamp
+     * @param leaseExpiresAt New lease expiry
+     * @return Number of renewed leases (less than lockIds.size() if a lease was lost)
+     */
+    @Modifying
+    @Query("UPDATE LoaderExecutionLock l SET l.heartbeatAt = :heartbeatAt, l.leaseExpiresAt = :leaseExpiresAt " +
+           "WHERE l.lockId IN :lockIds AND l.released = false")
+    int renewLeases(@Param("lockIds") Collection<String> lockIds,
+                    @Param("heartbeatAt") Instant heartbeatAt,
+                    @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    /**
+     * Find locks by lock ID.
+     *
+     * @param lockIds UUID lock identifiers
+     * @return Matching locks (released or not)
+     */
+    List<LoaderExecutionLock> findByLockIdIn(Collection<String> lockIds);
+
+    /**
+     * Release expired leases of one loader (takeover before claiming a slot).
+     *
+     * @param loaderCode Loader code
+     * @param now        Current time (leases expiring before are released)
+     * @return Number of leases released
+     */
+    @Modifying
+    @Query("UPDATE LoaderExecutionLock l SET l.released = true, l.releasedAt = :now, l.leaseKey = null " +
+           "WHERE l.loaderCode = :loaderCode AND l.released = false AND l.leaseExpiresAt < :now")
+    int releaseExpiredLeases(@Param("loaderCode") String loaderCode, @Param("now") Instant now);
+
+    /**
+     * Find locks whose lease expired or that are older than the stale threshold.
+     *
+     * @param now            Current time
+     * @param staleThreshold Time before which locks are considered stale regardless of lease
+     * @return Locks to release
+     */
+    @Query("SELECT l FROM LoaderExecutionLock l WHERE l.released = false " +
+           "AND (l.leaseExpiresAt < :now OR l.acquiredAt < :staleThreshold)")
+    List<LoaderExecutionLock> findExpired(@Param("now") Instant now,
+                                          @Param("staleThreshold") Instant staleThreshold);
+
     /**
      * Find stale locks (acquired but not released for > 2 hours).
      * These likely indicate pod crashes and should be cleaned up.
@@ -79,15 +159,16 @@ public interface LoaderExecutionLockRepository extends JpaRepository<LoaderExecu
     List<LoaderExecutionLock> findByReleasedAndAcquiredAtBefore(Boolean released, Instant staleThreshold);
 
     /**
-     * Clean up stale locks (auto-release locks from crashed pods).
+     * Clean up stale locks (auto-release locks from crashed pods): expired leases and
+     * locks acquired before the stale threshold.
      *
      * @param staleThreshold Time before which locks are considered stale
      * @param releasedAt     Timestamp to set for release
      * @return Number of locks released
      */
     @Modifying
-    @Query("UPDATE LoaderExecutionLock l SET l.released = true, l.releasedAt = :releasedAt " +
-           "WHERE l.released = false AND l.acquiredAt < :staleThreshold")
+    @Query("UPDATE LoaderExecutionLock l SET l.released = true, l.releasedAt = :releasedAt, l.leaseKey = null " +
+           "WHERE l.released = false AND (l.acquiredAt < :staleThreshold OR l.leaseExpiresAt < :releasedAt)")
     int cleanupStaleLocks(@Param("staleThreshold") Instant staleThreshold,
                           @Param("releasedAt") Instant releasedAt);
 
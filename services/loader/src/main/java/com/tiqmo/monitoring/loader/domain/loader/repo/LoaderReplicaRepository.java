@@ -0,0 +1,39 @@
+package com.tiqmo.monitoring.loader.domain.loader.repo;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderReplica;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for {@link LoaderReplica} cluster membership.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Repository
+public interface LoaderReplicaRepository extends JpaRepository<LoaderReplica, String> {
+
+    /**
+     * Live replicas (heartbeat after the given time), ordered by name.
+     *
+     * @param since membership timeout boundary
+     * @return live replicas
+     */
+    List<LoaderReplica> findByHeartbeatAtAfterOrderByReplicaName(Instant since);
+
+    /**
+     * Removes replicas that stopped heartbeating long ago.
+     *
+     * @param before heartbeat boundary
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM LoaderReplica r WHERE r.heartbeatAt < :before")
+    int deleteByHeartbeatAtBefore(@Param("before") Instant before);
+}
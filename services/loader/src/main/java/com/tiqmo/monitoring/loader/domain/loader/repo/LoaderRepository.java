@@ -1,12 +1,15 @@
 package com.tiqmo.monitoring.loader.domain.loader.repo;
 
 import com.tiqmo.monitoring.loader.domain.loader.entity.ApprovalStatus;
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadStatus;
 import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
 import com.tiqmo.monitoring.workflow.domain.VersionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,6 +63,55 @@ public interface LoaderRepository extends JpaRepository<Loader, Long> {
     @Query("SELECT l FROM Loader l JOIN FETCH l.sourceDatabase WHERE l.enabled = true AND l.versionStatus = :versionStatus")
     List<Loader> findAllByEnabledTrueAndVersionStatus(@Param("versionStatus") VersionStatus versionStatus);
 
+    /**
+     * Find the given enabled AND ACTIVE loaders with source database eagerly fetched.
+     *
+     * <p>Used by LoaderSchedulerService to load only the loaders that the due queue reports
+     * as due. Ids of loaders that were disabled, paused elsewhere or deactivated meanwhile
+     * are simply not returned.
+     *
+     * @param ids loader ids
+     * @param versionStatus the version status to filter by (typically ACTIVE)
+     * @return matching loaders with source databases loaded
+     */
+    @Query("SELECT l FROM Loader l JOIN FETCH l.sourceDatabase " +
+           "WHERE l.id IN :ids AND l.enabled = true AND l.versionStatus = :versionStatus")
+    List<Loader> findAllByIdInAndEnabledTrueAndVersionStatus(@Param("ids") Collection<Long> ids,
+                                                             @Param("versionStatus") VersionStatus versionStatus);
+
+    /**
+     * Find loaders modified after the given time (any status).
+     *
+     * <p>Used by LoaderSchedulerService to resync its due queue with changes made on other
+     * replicas. Backed by {@code idx_loader_updated_at}.
+     *
+     * @param since exclusive lower bound of updated_at
+     * @return loaders updated after {@code since}
+     */
+    @Query("SELECT l FROM Loader l WHERE l.updatedAt > :since")
+    List<Loader> findAllUpdatedSince(@Param("since") Instant since);
+
+    /**
+     * Find loaders in the given status since before the given time.
+     *
+     * <p>Used by FAILED auto-recovery instead of scanning every loader.
+     *
+     * @param loadStatus load status (typically FAILED)
+     * @param failedBefore exclusive upper bound of failed_since
+     * @return matching loaders
+     */
+    List<Loader> findAllByLoadStatusAndFailedSinceBefore(LoadStatus loadStatus, Instant failedBefore);
+
+    /**
+     * Distinct codes of all loaders (any version status).
+     *
+     * <p>Used by signals partition retention, which needs only the codes.
+     *
+     * @return loader codes
+     */
+    @Query("SELECT DISTINCT l.loaderCode FROM Loader l")
+    List<String> findAllLoaderCodes();
+
     // ==================== VERSIONING QUERIES ====================
 
     /**
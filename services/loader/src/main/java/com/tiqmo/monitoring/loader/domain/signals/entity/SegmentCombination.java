@@ -10,7 +10,7 @@ import lombok.*;
  * <p><b>Composite Primary Key:</b>
  * <ul>
  *   <li>loader_code: Identifies the loader</li>
- *   <li>segment_code: Auto-incrementing per loader (starts at 1)</li>
+ *   <li>segment_code: Unique per loader, reserved in blocks from segment_code_allocator (starts at 1)</li>
  * </ul>
  *
  * <p><b>Segment Lookup/Creation Flow:</b>
@@ -18,7 +18,7 @@ import lombok.*;
  *   <li>Query returns 10 segment values (seg1-seg10)</li>
  *   <li>Lookup segment_combination by (loader_code, seg1-seg10)</li>
  *   <li>If found: use existing segment_code</li>
- *   <li>If not found: create new entry with next segment_code</li>
+ *   <li>If not found: create new entry with the next allocated segment_code</li>
  * </ol>
  *
  * <p><b>Example:</b>
@@ -35,7 +35,7 @@ import lombok.*;
 @Entity
 @Table(name = "segment_combination", schema = "signals",
        indexes = {
-           @Index(name = "idx_segment_combination_lookup",
+           @Index(name = "uq_segment_combination_tuple", unique = true,
                   columnList = "loader_code, segment1, segment2, segment3, segment4, segment5, segment6, segment7, segment8, segment9, segment10")
        })
 public class SegmentCombination {
@@ -67,7 +67,7 @@ public interface SegmentCombinationRepository extends JpaRepository<SegmentCombi
 
   /**
    * Gets the maximum segment_code for a given loader.
-   * Used to generate the next segment_code when creating new combinations.
+   * Not used for allocation: new segment_codes come from {@code SegmentCodeAllocator}.
    *
    * @param loaderCode the loader code
    * @return the maximum segment_code, or empty if no segments exist for this loader
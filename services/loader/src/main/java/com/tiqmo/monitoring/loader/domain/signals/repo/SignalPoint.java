@@ -0,0 +1,32 @@
+package com.tiqmo.monitoring.loader.domain.signals.repo;
+
+import java.time.Instant;
+
+/**
+ * Projection of a signal for paged reads: the signal values without the audit columns
+ * ({@code created_at}, {@code load_history_id}).
+ *
+ * @param id Signal ID (keyset tie-breaker)
+ * @param loaderCode Loader code
+ * @param loadTimeStamp Timestamp of the data window
+ * @param segmentCode Segment code
+ * @param recCount Record count
+ * @param minVal Minimum value
+ * @param maxVal Maximum value
+ * @param avgVal Average value
+ * @param sumVal Sum of values
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public record SignalPoint(
+    Long id,
+    String loaderCode,
+    Instant loadTimeStamp,
+    String segmentCode,
+    Long recCount,
+    Double minVal,
+    Double maxVal,
+    Double avgVal,
+    Double sumVal
+) {
+}
@@ -3,10 +3,8 @@ package com.tiqmo.monitoring.loader.domain.signals.repo;
 
 import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -15,41 +13,32 @@ public interface SignalsHistoryRepository extends JpaRepository<SignalsHistory,
   List<SignalsHistory> findByLoaderCodeAndLoadTimeStampBetween(String loaderCode, Instant from, Instant to);
   List<SignalsHistory> findBySegmentCodeAndLoadTimeStampBetween(String segmentCode, Instant from, Instant to);
   List<SignalsHistory> findByLoaderCodeAndSegmentCodeAndLoadTimeStampBetween(String loaderCode, String segmentCode, Instant from, Instant to);
+  List<SignalsHistory> findByLoaderCodeAndLoadTimeStampGreaterThanEqualAndLoadTimeStampLessThan(String loaderCode, Instant from, Instant to);
+  List<SignalsHistory> findByLoaderCodeAndSegmentCodeAndLoadTimeStampGreaterThanEqualAndLoadTimeStampLessThan(String loaderCode, String segmentCode, Instant from, Instant to);
+
+  String POINT_SELECT = "SELECT new com.tiqmo.monitoring.loader.domain.signals.repo.SignalPoint("
+      + "s.id, s.loaderCode, s.loadTimeStamp, s.segmentCode, s.recCount, s.minVal, s.maxVal, s.avgVal, s.sumVal)"
+      + " FROM SignalsHistory s";
+
+  String AFTER_KEYSET = " AND s.loadTimeStamp >= :afterTime AND s.loadTimeStamp <= :to"
+      + " AND (s.loadTimeStamp > :afterTime OR s.id > :afterId)"
+      + " ORDER BY s.loadTimeStamp, s.id LIMIT :limit";
 
   /**
-   * Deletes signals history records for a loader within time range.
-   * Used by backfill jobs with PURGE_AND_RELOAD strategy.
-   *
-   * @param loaderCode Loader code
-   * @param fromTime  Start of time range
-   * @param toTime    End of time range
-   * @return Number of records deleted
+   * Page of the loader's signals up to {@code to}, in (loadTimeStamp, id) order, strictly after
+   * the keyset position (afterTime, afterId); the first page passes the range start and
+   * {@link Long#MIN_VALUE}.
    */
-  @Modifying
-  @Query("DELETE FROM SignalsHistory s WHERE s.loaderCode = :loaderCode " +
-         "AND s.loadTimeStamp >= :fromTime AND s.loadTimeStamp <= :toTime")
-  long deleteByLoaderCodeAndLoadTimeStampBetween(
-      @Param("loaderCode") String loaderCode,
-      @Param("fromTime") Instant fromTime,
-      @Param("toTime") Instant toTime
-  );
+  @Query(POINT_SELECT + " WHERE s.loaderCode = :loaderCode" + AFTER_KEYSET)
+  List<SignalPoint> findPointsAfter(@Param("loaderCode") String loaderCode,
+                                    @Param("afterTime") Instant afterTime, @Param("afterId") long afterId,
+                                    @Param("to") Instant to, @Param("limit") int limit);
 
   /**
-   * Deletes orphaned signals from FAILED loads.
-   *
-   * <p>Uses load_history_id FK to identify signals inserted by FAILED load_history records.
-   * This is the CORRECT way to detect orphans (not time-based matching).
-   *
-   * <p><b>SQL:</b> DELETE FROM signals_history WHERE load_history_id IN (SELECT id FROM load_history WHERE status='FAILED')
-   *
-   * @return Number of orphaned records deleted
+   * Page of the loader's signals of one segment, as {@link #findPointsAfter}.
    */
-  @Transactional
-  @Modifying
-  @Query(value = "DELETE FROM signals.signals_history " +
-                 "WHERE load_history_id IN (" +
-                 "  SELECT id FROM loader.load_history WHERE status = 'FAILED'" +
-                 ")",
-         nativeQuery = true)
-  long deleteByLoadHistoryIdInFailedLoads();
+  @Query(POINT_SELECT + " WHERE s.loaderCode = :loaderCode AND s.segmentCode = :segmentCode" + AFTER_KEYSET)
+  List<SignalPoint> findPointsAfter(@Param("loaderCode") String loaderCode, @Param("segmentCode") String segmentCode,
+                                    @Param("afterTime") Instant afterTime, @Param("afterId") long afterId,
+                                    @Param("to") Instant to, @Param("limit") int limit);
 }
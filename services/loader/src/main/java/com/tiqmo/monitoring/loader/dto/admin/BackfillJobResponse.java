@@ -24,12 +24,18 @@ public class BackfillJobResponse {
     private Long toTimeEpoch;
     private String purgeStrategy;
     private String status;
+    private Integer priority;
     private Long startTimeEpoch;
     private Long endTimeEpoch;
     private Long durationSeconds;
     private Long recordsPurged;
     private Long recordsLoaded;
     private Long recordsIngested;
+    private Integer chunksCompleted;
+    private Integer chunksTotal;
+    private Long checkpointEpoch;
+    private Integer attempts;
+    private Long heartbeatAtEpoch;
     private String errorMessage;
     private String requestedBy;
     private Long requestedAtEpoch;
@@ -46,12 +52,18 @@ public class BackfillJobResponse {
             .toTimeEpoch(job.getToTimeEpoch())
             .purgeStrategy(job.getPurgeStrategy() != null ? job.getPurgeStrategy().name() : null)
             .status(job.getStatus() != null ? job.getStatus().name() : null)
+            .priority(job.getPriority())
             .startTimeEpoch(job.getStartTime() != null ? job.getStartTime().getEpochSecond() : null)
             .endTimeEpoch(job.getEndTime() != null ? job.getEndTime().getEpochSecond() : null)
             .durationSeconds(job.getDurationSeconds())
             .recordsPurged(job.getRecordsPurged())
             .recordsLoaded(job.getRecordsLoaded())
             .recordsIngested(job.getRecordsIngested())
+            .chunksCompleted(job.getChunksCompleted())
+            .chunksTotal(job.getChunksTotal())
+            .checkpointEpoch(job.getCheckpointEpoch())
+            .attempts(job.getAttempts())
+            .heartbeatAtEpoch(job.getHeartbeatAt() != null ? job.getHeartbeatAt().getEpochSecond() : null)
             .errorMessage(job.getErrorMessage())
             .requestedBy(job.getRequestedBy())
             .requestedAtEpoch(job.getRequestedAt() != null ? job.getRequestedAt().getEpochSecond() : null)
@@ -46,6 +46,9 @@ public enum ErrorCode {
     SOURCE_DATABASE_NOT_FOUND("SDB-001", "Source database not found", ErrorLevel.ERROR),
     SOURCE_DATABASE_CONNECTION_FAILED("SDB-002", "Source database connection failed", ErrorLevel.ERROR),
     SOURCE_DATABASE_NOT_READONLY("SDB-003", "Source database is not in read-only mode", ErrorLevel.WARNING),
+    SOURCE_DATABASE_QUERY_TIMEOUT("SDB-004", "Source database query timed out", ErrorLevel.ERROR),
+    SOURCE_DATABASE_QUERY_CANCELLED("SDB-005", "Source database query was cancelled", ErrorLevel.WARNING),
+    SOURCE_DATABASE_BUSY("SDB-006", "Source database is at its concurrency limit", ErrorLevel.WARNING),
 
     // ==================== Infrastructure ====================
     DATABASE_CONNECTION_ERROR("INF-001", "Database connection failed", ErrorLevel.ERROR),
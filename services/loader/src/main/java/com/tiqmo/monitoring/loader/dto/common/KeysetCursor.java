@@ -0,0 +1,61 @@
+package com.tiqmo.monitoring.loader.dto.common;
+
+import com.tiqmo.monitoring.loader.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset (seek) position of a paged read: the (timestamp, id) of the last row returned, e.g.
+ * (load_time_stamp, id) of a signal or (start_time, id) of a load history record.
+ *
+ * <p>Travels as an opaque URL-safe token; the next page continues strictly after it, so rows
+ * inserted or purged between pages never shift the page boundaries, and a deep page costs an
+ * index seek like the first one instead of skipping an offset.
+ *
+ * @param timestamp Timestamp of the last row returned
+ * @param id Id of the last row returned
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public record KeysetCursor(Instant timestamp, long id) {
+
+  /**
+   * @return Opaque continuation token
+   */
+  public String encode() {
+    String raw = timestamp.getEpochSecond() + "." + timestamp.getNano() + ":" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a continuation token returned by a previous page.
+   *
+   * @param token Continuation token (null or blank for the first page)
+   * @return Cursor, or null for the first page
+   * @throws BusinessException if the token is malformed
+   */
+  public static KeysetCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+      int colon = raw.indexOf(':');
+      int dot = raw.indexOf('.');
+      if (dot < 0 || colon < dot) {
+        throw new IllegalArgumentException(raw);
+      }
+      Instant timestamp = Instant.ofEpochSecond(
+          Long.parseLong(raw.substring(0, dot)), Long.parseLong(raw.substring(dot + 1, colon)));
+      return new KeysetCursor(timestamp, Long.parseLong(raw.substring(colon + 1)));
+    } catch (RuntimeException e) {
+      throw new BusinessException(
+          ErrorCode.VALIDATION_INVALID_VALUE,
+          "Malformed cursor",
+          "cursor"
+      );
+    }
+  }
+}
@@ -62,6 +62,7 @@ public class EtlLoaderDto {
     private Integer sourceTimezoneOffsetHours;
     private Integer consecutiveZeroRecordRuns;
     private Integer aggregationPeriodSeconds;
+    private Integer queryTimeoutSeconds; // null = source database / global default
     private String createdBy;
     private String updatedBy;
     private java.time.Instant createdAt;
@@ -0,0 +1,17 @@
+package com.tiqmo.monitoring.loader.events;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+
+/**
+ * Published when a loader row is inserted, updated or deleted, so subscribers (e.g. the
+ * scheduler's due queue) can react without re-reading the loader table.
+ *
+ * <p>Carries the entity itself; subscribers listening after commit see its committed state.
+ *
+ * @param loader the changed loader
+ * @param removed true if the row was deleted
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public record LoaderChangedEvent(Loader loader, boolean removed) {
+}
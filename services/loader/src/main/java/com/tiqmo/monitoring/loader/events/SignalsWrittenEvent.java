@@ -0,0 +1,17 @@
+package com.tiqmo.monitoring.loader.events;
+
+import java.time.Instant;
+
+/**
+ * Published when signals of a loader are written or deleted outside a scheduled load's own
+ * write (ingest API, backfill, purges, orphan cleanup, partition retention), so the in-memory
+ * hot window of the range can be dropped once the change has committed.
+ *
+ * @param loaderCode loader code
+ * @param fromTime start of the written range (inclusive)
+ * @param toTime end of the written range (exclusive)
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public record SignalsWrittenEvent(String loaderCode, Instant fromTime, Instant toTime) {
+}
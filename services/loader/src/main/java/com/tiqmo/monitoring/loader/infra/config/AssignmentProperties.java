@@ -0,0 +1,60 @@
+package com.tiqmo.monitoring.loader.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for cluster-wide loader assignment.
+ *
+ * <p>Binds to {@code loader.assignment} in application.yaml.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "loader.assignment")
+public class AssignmentProperties {
+
+  /**
+   * Whether loaders are assigned to replicas by consistent hashing.
+   * When disabled, every replica schedules every loader and the locks decide.
+   * Default: true.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Interval in seconds at which each replica publishes its heartbeat and load
+   * and refreshes the cluster membership.
+   * Default: 10 seconds.
+   */
+  private int heartbeatIntervalSeconds = 10;
+
+  /**
+   * A replica whose heartbeat is older than this is dropped from the hash ring
+   * and its loaders move to the remaining replicas.
+   * Default: 30 seconds.
+   */
+  private int membershipTimeoutSeconds = 30;
+
+  /**
+   * Virtual nodes per replica on the hash ring (higher = more even spread).
+   * Default: 64.
+   */
+  private int virtualNodes = 64;
+
+  /**
+   * How long a loader must be overdue before a replica other than its owner may steal it.
+   * Default: 30 seconds.
+   */
+  private int stealAfterSeconds = 30;
+
+  /**
+   * A replica is overloaded when its utilization (in-flight / pool size) exceeds the
+   * cluster average by this factor, or its pool is full. Overloaded replicas give up
+   * overdue loaders to replicas below the average.
+   * Default: 1.5.
+   */
+  private double overloadFactor = 1.5;
+}
@@ -0,0 +1,104 @@
+package com.tiqmo.monitoring.loader.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for background backfill execution.
+ *
+ * <p>Binds to {@code loader.backfill} in application.yaml.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "loader.backfill")
+public class BackfillProperties {
+
+  /**
+   * Whether this replica picks up PENDING backfill jobs in the background.
+   * When disabled, jobs only run through the execute endpoint.
+   * Default: true.
+   */
+  private boolean runnerEnabled = true;
+
+  /**
+   * Backfill worker threads per replica. Separate from the loader thread pool,
+   * so backfills never delay scheduled loads.
+   * Default: 2.
+   */
+  private int workerThreads = 2;
+
+  /**
+   * Interval in milliseconds between polls for PENDING jobs.
+   * Default: 5000 (5 seconds).
+   */
+  private long pollIntervalMs = 5000;
+
+  /**
+   * Interval in seconds at which RUNNING jobs of this replica publish a heartbeat.
+   * Default: 30 seconds.
+   */
+  private int heartbeatIntervalSeconds = 30;
+
+  /**
+   * A RUNNING job without a heartbeat for this long is considered abandoned
+   * (replica crashed) and requeued to resume from its checkpoint.
+   * Default: 300 seconds.
+   */
+  private int abandonedAfterSeconds = 300;
+
+  /**
+   * Maximum number of times a job abandoned by a crashed replica is requeued
+   * (resuming from its checkpoint) before it is marked FAILED.
+   * Default: 3.
+   */
+  private int maxAttempts = 3;
+
+  /**
+   * Length of the time chunks a backfill range is split into. Each chunk is one source
+   * query, purged and loaded in one transaction, and checkpointed on the job.
+   * Rounded down to whole aggregation periods of the loader.
+   * Default: 3600 seconds (1 hour).
+   */
+  private int chunkSeconds = 3600;
+
+  /**
+   * Chunks of one job whose source queries run concurrently (chunks are committed in order).
+   * Default: 2.
+   */
+  private int chunkParallelism = 2;
+
+  /**
+   * Threads for chunk source queries, shared by all backfill jobs of the replica.
+   * Default: 4.
+   */
+  private int chunkThreadPoolSize = 4;
+
+  /**
+   * Priority of jobs requested by users (API).
+   * Default: 100.
+   */
+  private int userPriority = 100;
+
+  /**
+   * Priority of jobs submitted by auto-recovery of failed loader runs.
+   * Default: 50.
+   */
+  private int recoveryPriority = 50;
+
+  /**
+   * Priority of other system jobs (gap scanner).
+   * Default: 0.
+   */
+  private int systemPriority = 0;
+
+  /**
+   * Waiting time in seconds that adds one point of priority, so old jobs are
+   * eventually picked up ahead of newer, higher-priority ones.
+   * Default: 60 seconds.
+   */
+  private int agingSecondsPerPoint = 60;
+}
@@ -35,4 +35,94 @@ public class ExecutionProperties {
    * Default: 2 hours (same as stale lock threshold).
    */
   private int executionTimeoutHours = 2;
+
+  /**
+   * How the scheduler hands due loaders to the thread pool.
+   * Default: ASYNC (scheduler tick never waits for an execution to finish).
+   */
+  private DispatchMode dispatchMode = DispatchMode.ASYNC;
+
+  /**
+   * JDBC fetch size used when streaming source query results.
+   * Default: 1000 rows per round trip.
+   */
+  private int streamFetchSize = 1000;
+
+  /**
+   * Number of source rows transformed and written to signals_history per chunk.
+   * Bounds heap usage of a single execution regardless of window size.
+   * Default: 5000 rows.
+   */
+  private int streamChunkSize = 5000;
+
+  /**
+   * Statement timeout (seconds) for source database queries, enforced by the JDBC driver.
+   * Overridden per source database and per loader ({@code query_timeout_seconds}).
+   * 0 disables the timeout.
+   * Default: 1800 seconds (30 minutes), well below {@link #executionTimeoutHours}.
+   */
+  private int queryTimeoutSeconds = 1800;
+
+  /**
+   * Scheduler tick in milliseconds. A tick only peeks the due queue; the database is
+   * touched only when a loader is due.
+   * Default: 1000 ms.
+   */
+  private long schedulerTickMs = 1000;
+
+  /**
+   * Interval of the due-queue resync (loaders changed on other replicas, picked up via
+   * {@code updated_at}).
+   * Default: 30 seconds.
+   */
+  private int schedulerResyncSeconds = 30;
+
+  /**
+   * Delay before a due loader that could not be dispatched (lock held elsewhere,
+   * executor saturated, max parallel reached) is tried again.
+   * Default: 10 seconds.
+   */
+  private int schedulerRetryDelaySeconds = 10;
+
+  /**
+   * Whether lagging loaders catch up with parallel sub-window executions.
+   * Default: true.
+   */
+  private boolean catchUpEnabled = true;
+
+  /**
+   * Lag (in multiples of the loader's {@code maxQueryPeriodSeconds}) from which a loader
+   * runs in catch-up mode.
+   * Default: 4 query periods.
+   */
+  private int catchUpLagWindows = 4;
+
+  /**
+   * Maximum sub-windows loaded by one catch-up execution. The loader is re-scheduled
+   * immediately afterwards while it is still lagging.
+   * Default: 16.
+   */
+  private int catchUpMaxWindows = 16;
+
+  /**
+   * Threads running catch-up sub-windows on this replica (shared by all loaders).
+   * Default: 8.
+   */
+  private int catchUpThreadPoolSize = 8;
+
+  /**
+   * Loader dispatch modes.
+   */
+  public enum DispatchMode {
+    /**
+     * Submit and wait for each execution before processing the next loader (legacy).
+     */
+    BLOCKING,
+
+    /**
+     * Submit and return; locks are released by completion callbacks and
+     * timeouts are enforced by a separate watchdog.
+     */
+    ASYNC
+  }
 }
@@ -0,0 +1,57 @@
+package com.tiqmo.monitoring.loader.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for gap detection.
+ *
+ * <p>Binds to {@code loader.gap-scan} in application.yaml.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "loader.gap-scan")
+public class GapScanProperties {
+
+  /**
+   * Whether gaps are detected and backfilled automatically.
+   * Default: true.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Interval in seconds between scans of the coverage index. Gaps between consecutive
+   * loads are also detected as soon as the later load completes.
+   * Default: 60 seconds.
+   */
+  private int scanIntervalSeconds = 60;
+
+  /**
+   * Only gaps within this many days are backfilled.
+   * Default: 7 days.
+   */
+  private int lookbackDays = 7;
+
+  /**
+   * Minimum gap size to trigger a backfill. Prevents backfill spam for tiny gaps
+   * due to clock skew or rounding.
+   * Default: 300 seconds (5 minutes).
+   */
+  private int minGapSeconds = 300;
+
+  /**
+   * A gap whose backfill failed is not resubmitted for this many hours.
+   * Default: 6 hours.
+   */
+  private int failedRetryHours = 6;
+
+  /**
+   * load_history rows read per batch when folding new history into the coverage index.
+   * Default: 500.
+   */
+  private int historyBatchSize = 500;
+}
@@ -0,0 +1,46 @@
+package com.tiqmo.monitoring.loader.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for signals_history ingestion.
+ *
+ * <p>Binds to {@code loader.ingest} in application.yaml.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "loader.ingest")
+public class IngestProperties {
+
+  /**
+   * Use PostgreSQL binary COPY when the target database supports it.
+   * Falls back to multi-row INSERT otherwise.
+   * Default: true.
+   */
+  private boolean copyEnabled = true;
+
+  /**
+   * Rows per multi-row INSERT statement (fallback path).
+   * Default: 1000 rows (9000 bind parameters, well below the driver limit).
+   */
+  private int insertBatchSize = 1000;
+
+  /**
+   * Maximum number of loaders whose segment dictionaries are kept in memory.
+   * Least recently used loaders are evicted beyond this limit.
+   * Default: 500 loaders.
+   */
+  private int segmentCacheMaxLoaders = 500;
+
+  /**
+   * Segment codes reserved per round trip to signals.segment_code_allocator.
+   * Unused codes of a block are skipped when the replica restarts.
+   * Default: 100 codes.
+   */
+  private int segmentCodeBlockSize = 100;
+}
@@ -19,11 +19,37 @@ public class LockingProperties {
 
   /**
    * Stale lock threshold in hours.
-   * Locks older than this are automatically released.
+   * Locks older than this are automatically released, even if their lease is still renewed.
    * Default: 2 hours.
    */
   private int staleLockThresholdHours = 2;
 
+  /**
+   * Lease duration in seconds. A lock whose lease is not renewed within this time
+   * (crashed or partitioned pod) is taken over by the next replica that tries to acquire it.
+   * Default: 30 seconds.
+   */
+  private int leaseSeconds = 30;
+
+  /**
+   * Interval in seconds at which the executing replica renews the leases of its locks.
+   * Must be well below {@link #leaseSeconds}.
+   * Default: 10 seconds.
+   */
+  private int heartbeatIntervalSeconds = 10;
+
+  /**
+   * Interval in seconds at which expired leases are released by the reaper.
+   * Default: 30 seconds.
+   */
+  private int reaperIntervalSeconds = 30;
+
+  /**
+   * Maximum number of active locks across all loaders and replicas.
+   * Default: 100.
+   */
+  private int globalLimit = 100;
+
   /**
    * Released lock retention in days.
    * Locks released longer than this are deleted.
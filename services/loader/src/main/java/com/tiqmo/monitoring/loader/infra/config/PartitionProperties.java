@@ -0,0 +1,79 @@
+package com.tiqmo.monitoring.loader.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the daily partitions of signals_history.
+ *
+ * <p>Binds to {@code loader.partitions} in application.yaml.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "loader.partitions")
+public class PartitionProperties {
+
+  /**
+   * Whether this replica maintains partitions (pre-creation and retention).
+   * Partition-aware purges work either way.
+   * Default: true.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Cron of the partition maintenance run.
+   * Default: every hour at :15.
+   */
+  private String maintenanceCron = "0 15 * * * ?";
+
+  /**
+   * Days of partitions created ahead of the current (UTC) day.
+   * Default: 7.
+   */
+  private int premakeDays = 7;
+
+  /**
+   * Days before the current day for which partitions are created when signals are written
+   * (e.g. by backfills). Older signals are stored in the default partition.
+   * Default: 180.
+   */
+  private int historyDays = 180;
+
+  /**
+   * Days of signals kept for loaders without an entry in {@link #retentionDays}.
+   * 0 keeps signals forever.
+   * Default: 0.
+   */
+  private int defaultRetentionDays = 0;
+
+  /**
+   * Days of signals kept per loader code (0 keeps the loader's signals forever).
+   * A partition is removed once it is expired for every loader; until then expired
+   * loaders' rows are deleted from it.
+   */
+  private Map<String, Integer> retentionDays = new HashMap<>();
+
+  /**
+   * Detach expired partitions (kept as standalone tables, e.g. for archiving)
+   * instead of dropping them.
+   * Default: false.
+   */
+  private boolean detachExpired = false;
+
+  /**
+   * Days of signals kept for the loader.
+   *
+   * @param loaderCode Loader code
+   * @return Retention in days; 0 for none
+   */
+  public int retentionDaysFor(String loaderCode) {
+    return Math.max(0, retentionDays.getOrDefault(loaderCode, defaultRetentionDays));
+  }
+}
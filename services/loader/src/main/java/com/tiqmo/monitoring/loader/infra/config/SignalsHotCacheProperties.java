@@ -0,0 +1,47 @@
+package com.tiqmo.monitoring.loader.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory hot window of recent signals.
+ *
+ * <p>Binds to {@code loader.hot-cache} in application.yaml. The cache holds at most
+ * {@code max-loaders * max-signals-per-loader} signals of about 61 bytes each.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "loader.hot-cache")
+public class SignalsHotCacheProperties {
+
+  /**
+   * Whether raw signal queries are served from the hot window.
+   * Default: true.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Span of recent signals kept per loader, back from the end of its last completed load.
+   * Default: 6 hours.
+   */
+  private Duration window = Duration.ofHours(6);
+
+  /**
+   * Signals kept per loader; the oldest are evicted first.
+   * Default: 100000.
+   */
+  private int maxSignalsPerLoader = 100_000;
+
+  /**
+   * Loaders with a hot window; a loader gets one when it is first queried, and the least
+   * recently queried loader's window is dropped to make room.
+   * Default: 16.
+   */
+  private int maxLoaders = 16;
+}
@@ -0,0 +1,68 @@
+package com.tiqmo.monitoring.loader.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the adaptive per-source concurrency limiter.
+ *
+ * <p>Binds to {@code sources.concurrency} in application.yaml.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sources.concurrency")
+public class SourceConcurrencyProperties {
+
+  /**
+   * Whether loader queries are admitted through the limiter.
+   * Default: true.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Concurrent queries allowed per source before any latency has been observed.
+   * Default: 2.
+   */
+  private int initialLimit = 2;
+
+  /**
+   * Lower bound of the limit (a source is never starved completely).
+   * Default: 1.
+   */
+  private int minLimit = 1;
+
+  /**
+   * Upper bound of the limit. 0 = source pool size ({@code sources.mysql.pool.maximumPoolSize}).
+   * Default: 0.
+   */
+  private int maxLimit = 0;
+
+  /**
+   * A query slower than {@code latencyTolerance} x the source's baseline latency counts as
+   * congestion and shrinks the limit.
+   * Default: 2.0.
+   */
+  private double latencyTolerance = 2.0;
+
+  /**
+   * Multiplicative decrease applied on congestion or error.
+   * Default: 0.75.
+   */
+  private double backoffRatio = 0.75;
+
+  /**
+   * Smoothing factor of the baseline latency (exponential moving average).
+   * Default: 0.05 (baseline follows slow drifts, not single outliers).
+   */
+  private double baselineSmoothing = 0.05;
+
+  /**
+   * Maximum time a loader execution waits in the source queue before failing.
+   * Default: 300000 ms (5 minutes).
+   */
+  private long acquireTimeoutMs = 300_000;
+}
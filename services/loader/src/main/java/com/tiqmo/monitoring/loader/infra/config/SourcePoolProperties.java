@@ -14,4 +14,6 @@ public class SourcePoolProperties {
   private long idleTimeoutMs = 300_000;
   private long connectionTimeoutMs = 30_000;
   private long leakDetectionThresholdMs = 0;
+  private int buildParallelism = 8;          // pools built concurrently on (re)load
+  private long drainTimeoutMs = 1_800_000;   // max wait for in-flight queries before a retired pool is closed
 }
@@ -0,0 +1,327 @@
+package com.tiqmo.monitoring.loader.infra.db;
+
+import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
+import com.tiqmo.monitoring.loader.infra.config.SourceConcurrencyProperties;
+import com.tiqmo.monitoring.loader.infra.config.SourcePoolProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive per-source concurrency limiter (AIMD driven by query latency and errors).
+ *
+ * <p>Every source database has its own limit of concurrent loader queries. Loader executions
+ * acquire a {@link Permit} before querying; executions over the limit wait in a per-source
+ * queue ordered by staleness (oldest {@code staleSince} first, never-loaded first of all).
+ *
+ * <p><b>Limit adjustment</b> (on every permit release):
+ * <ul>
+ *   <li>Latency within {@code latencyTolerance} x baseline: additive increase of
+ *       {@code 1 / limit} (about +1 per limit's worth of queries)</li>
+ *   <li>Latency above tolerance, query timeout or source error: multiplicative decrease
+ *       by {@code backoffRatio}</li>
+ *   <li>Bounded by {@code minLimit} and {@code maxLimit} (default: source pool size)</li>
+ * </ul>
+ * The baseline is an exponential moving average of observed latencies, so a source that is
+ * slow by nature is not throttled, only a source that gets slower under load.
+ *
+ * <p>Current limits are published per source as {@code loader_source_concurrency_limit},
+ * with {@code _in_flight} and {@code _queued} gauges and a {@code _rejections_total} counter.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SourceConcurrencyLimiter {
+
+  private final SourceConcurrencyProperties properties;
+  private final SourcePoolProperties poolProperties;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, SourceLimit> limits = new ConcurrentHashMap<>();
+
+  public SourceConcurrencyLimiter(SourceConcurrencyProperties properties,
+                                  SourcePoolProperties poolProperties,
+                                  MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.poolProperties = poolProperties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Acquires a permit to query {@code sourceDbCode}, waiting in the source queue if the
+   * limit is reached.
+   *
+   * @param sourceDbCode source database code
+   * @param staleSince data freshness of the caller (e.g. last load timestamp); older is served first, null = most stale
+   * @return permit to close when the query is done
+   * @throws BusinessException if the permit is not granted within {@code acquireTimeoutMs} or the thread is interrupted
+   */
+  public Permit acquire(String sourceDbCode, Instant staleSince) {
+    if (!properties.isEnabled()) {
+      return Permit.UNLIMITED;
+    }
+    return limits.computeIfAbsent(sourceDbCode, this::newLimit).acquire(staleSince);
+  }
+
+  /**
+   * Concurrent queries currently allowed on {@code sourceDbCode} (used to size parallel
+   * catch-up executions). Unbounded when the limiter is disabled.
+   */
+  public int currentLimit(String sourceDbCode) {
+    if (!properties.isEnabled()) {
+      return Integer.MAX_VALUE;
+    }
+    return limits.computeIfAbsent(sourceDbCode, this::newLimit).currentLimit();
+  }
+
+  /**
+   * Snapshot of the limiter state of every source (for monitoring).
+   */
+  public List<SourceLimitSnapshot> snapshot() {
+    List<SourceLimitSnapshot> snapshots = new ArrayList<>(limits.size());
+    for (SourceLimit limit : limits.values()) {
+      snapshots.add(limit.snapshot());
+    }
+    return snapshots;
+  }
+
+  private SourceLimit newLimit(String sourceDbCode) {
+    int max = properties.getMaxLimit() > 0 ? properties.getMaxLimit() : poolProperties.getMaximumPoolSize();
+    int min = Math.max(1, Math.min(properties.getMinLimit(), max));
+    SourceLimit limit = new SourceLimit(sourceDbCode, min, Math.max(min, max),
+        Math.max(min, Math.min(properties.getInitialLimit(), max)));
+
+    Gauge.builder("loader_source_concurrency_limit", limit, SourceLimit::currentLimit)
+        .description("Concurrent loader queries currently allowed on the source database")
+        .tag("source", sourceDbCode)
+        .register(meterRegistry);
+    Gauge.builder("loader_source_concurrency_in_flight", limit, SourceLimit::inFlight)
+        .description("Loader queries currently running on the source database")
+        .tag("source", sourceDbCode)
+        .register(meterRegistry);
+    Gauge.builder("loader_source_concurrency_queued", limit, SourceLimit::queued)
+        .description("Loader executions waiting for a query slot on the source database")
+        .tag("source", sourceDbCode)
+        .register(meterRegistry);
+    limit.rejections = Counter.builder("loader_source_concurrency_rejections_total")
+        .description("Loader executions that timed out waiting for a query slot")
+        .tag("source", sourceDbCode)
+        .register(meterRegistry);
+
+    log.info("Concurrency limiter initialized | sourceDbCode={} | limit={} | min={} | max={}",
+        sourceDbCode, limit.limit, limit.minLimit, limit.maxLimit);
+    return limit;
+  }
+
+  /**
+   * Limiter state of one source.
+   */
+  public record SourceLimitSnapshot(String sourceDbCode,
+                                    int limit,
+                                    int inFlight,
+                                    int queued,
+                                    double baselineLatencyMs) {
+  }
+
+  /**
+   * Query slot on a source. Record the outcome, then close to release the slot.
+   */
+  public static class Permit implements AutoCloseable {
+
+    static final Permit UNLIMITED = new Permit(null);
+
+    private final SourceLimit owner;
+    private long latencyNanos = -1;
+    private boolean dropped;
+    private boolean released;
+
+    private Permit(SourceLimit owner) {
+      this.owner = owner;
+    }
+
+    /**
+     * Records the source response time (execute until first result) of a successful query.
+     */
+    public void onSuccess(long latencyNanos) {
+      this.latencyNanos = latencyNanos;
+    }
+
+    /**
+     * Records a timeout or source error (shrinks the limit on release).
+     */
+    public void onDropped() {
+      this.dropped = true;
+    }
+
+    @Override
+    public void close() {
+      if (owner == null || released) {
+        return;
+      }
+      released = true;
+      owner.release(latencyNanos, dropped);
+    }
+  }
+
+  private final class SourceLimit {
+
+    private final String sourceDbCode;
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(
+        Comparator.comparing((Waiter w) -> w.staleSince, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(w -> w.sequence));
+
+    private double limit;
+    private int inFlight;
+    private double baselineNanos = -1;
+    private long sequence;
+    private Counter rejections;
+
+    private SourceLimit(String sourceDbCode, int minLimit, int maxLimit, int initialLimit) {
+      this.sourceDbCode = sourceDbCode;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      this.limit = initialLimit;
+    }
+
+    Permit acquire(Instant staleSince) {
+      lock.lock();
+      try {
+        if (waiting.isEmpty() && inFlight < currentLimit()) {
+          inFlight++;
+          return new Permit(this);
+        }
+
+        Waiter waiter = new Waiter(staleSince, sequence++, lock.newCondition());
+        waiting.add(waiter);
+        log.debug("Source query queued | sourceDbCode={} | inFlight={} | limit={} | queued={}",
+            sourceDbCode, inFlight, currentLimit(), waiting.size());
+
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(properties.getAcquireTimeoutMs());
+        try {
+          while (!waiter.granted) {
+            if (remainingNanos <= 0) {
+              waiting.remove(waiter);
+              rejections.increment();
+              throw new BusinessException(
+                  ErrorCode.SOURCE_DATABASE_BUSY,
+                  "Source database '" + sourceDbCode + "' is at its concurrency limit (" + currentLimit()
+                      + "); waited " + properties.getAcquireTimeoutMs() + " ms"
+              );
+            }
+            remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+          }
+        } catch (InterruptedException e) {
+          if (waiter.granted) {
+            Thread.currentThread().interrupt();
+            return new Permit(this);
+          }
+          waiting.remove(waiter);
+          Thread.currentThread().interrupt();
+          throw new BusinessException(
+              ErrorCode.SOURCE_DATABASE_QUERY_CANCELLED,
+              "Interrupted while waiting for a query slot on source database '" + sourceDbCode + "'",
+              e
+          );
+        }
+        return new Permit(this);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void release(long latencyNanos, boolean dropped) {
+      lock.lock();
+      try {
+        inFlight--;
+        adjust(latencyNanos, dropped);
+        while (!waiting.isEmpty() && inFlight < currentLimit()) {
+          Waiter next = waiting.poll();
+          next.granted = true;
+          inFlight++;
+          next.condition.signal();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void adjust(long latencyNanos, boolean dropped) {
+      int before = currentLimit();
+
+      if (dropped) {
+        limit = Math.max(minLimit, limit * properties.getBackoffRatio());
+      } else if (latencyNanos >= 0) {
+        boolean congested = baselineNanos > 0
+            && latencyNanos > baselineNanos * properties.getLatencyTolerance();
+
+        if (congested) {
+          limit = Math.max(minLimit, limit * properties.getBackoffRatio());
+        } else {
+          limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+
+        double alpha = properties.getBaselineSmoothing();
+        baselineNanos = baselineNanos < 0 ? latencyNanos : (1 - alpha) * baselineNanos + alpha * latencyNanos;
+      }
+
+      if (currentLimit() != before) {
+        log.info("Source concurrency limit changed | sourceDbCode={} | limit={} -> {} | reason={}",
+            sourceDbCode, before, currentLimit(), dropped ? "error" : "latency");
+      }
+    }
+
+    int currentLimit() {
+      return (int) Math.floor(limit);
+    }
+
+    int inFlight() {
+      return inFlight;
+    }
+
+    int queued() {
+      return waiting.size();
+    }
+
+    SourceLimitSnapshot snapshot() {
+      lock.lock();
+      try {
+        return new SourceLimitSnapshot(sourceDbCode, currentLimit(), inFlight, waiting.size(),
+            baselineNanos < 0 ? 0 : baselineNanos / 1_000_000.0);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private static final class Waiter {
+    private final Instant staleSince;
+    private final long sequence;
+    private final Condition condition;
+    private boolean granted;
+
+    private Waiter(Instant staleSince, long sequence, Condition condition) {
+      this.staleSince = staleSince;
+      this.sequence = sequence;
+      this.condition = condition;
+    }
+  }
+}
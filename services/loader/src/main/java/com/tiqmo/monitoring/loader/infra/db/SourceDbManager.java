@@ -1,18 +1,26 @@
 package com.tiqmo.monitoring.loader.infra.db;
 
+import com.tiqmo.monitoring.loader.domain.loader.entity.SourceDatabase;
 import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
 import com.tiqmo.monitoring.loader.exception.BusinessException;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service for managing queries against source databases.
@@ -20,6 +28,10 @@ import java.util.Map;
  * <p>Provides connection probing and query execution against
  * dynamically registered source databases.
  *
+ * <p>Every query runs with a statement timeout (loader &gt; source database &gt;
+ * {@code loader.execution.query-timeout-seconds}) and is registered in the
+ * {@link SourceQueryRegistry} while it executes, so it can be cancelled on the source.
+ *
  * @author Hassan Rawashdeh
  * @since 1.0.0
  */
@@ -28,7 +40,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SourceDbManager {
 
+  private static final String QUERY_CANCELED_SQL_STATE = "57014";
+
   private final SourceRegistry sources;
+  private final SourceQueryRegistry queryRegistry;
+  private final SourceConcurrencyLimiter concurrencyLimiter;
+  private final ExecutionProperties executionProperties;
 
   /**
    * Probes a source database connection.
@@ -109,29 +126,40 @@ public class SourceDbManager {
 
       log.debug("Executing SQL | sourceDbCode={} | sql={}", sourceDbCode, sql);
 
+      int timeoutSeconds = resolveQueryTimeoutSeconds(sourceDbCode, SourceQueryOptions.defaults());
+
       try (var conn = sources.getConnection(sourceDbCode);
            var ps = conn.prepareStatement(sql);
-           var rs = ps.executeQuery()) {
+           var registration = queryRegistry.register(sourceDbCode, null, ps)) {
+
+        ps.setQueryTimeout(timeoutSeconds);
 
-        ResultSetMetaData md = rs.getMetaData();
-        int cols = md.getColumnCount();
-        List<Map<String, Object>> rows = new ArrayList<>();
+        try (var rs = ps.executeQuery()) {
+          ResultSetMetaData md = rs.getMetaData();
+          int cols = md.getColumnCount();
+          List<Map<String, Object>> rows = new ArrayList<>();
 
-        log.debug("Query metadata | sourceDbCode={} | columnCount={}", sourceDbCode, cols);
+          log.debug("Query metadata | sourceDbCode={} | columnCount={}", sourceDbCode, cols);
 
-        while (rs.next()) {
-          Map<String, Object> row = new LinkedHashMap<>(cols);
-          for (int i = 1; i <= cols; i++) {
-            row.put(md.getColumnLabel(i), rs.getObject(i));
+          while (rs.next()) {
+            Map<String, Object> row = new LinkedHashMap<>(cols);
+            for (int i = 1; i <= cols; i++) {
+              row.put(md.getColumnLabel(i), rs.getObject(i));
+            }
+            rows.add(row);
           }
-          rows.add(row);
-        }
 
-        log.info("Query executed successfully | sourceDbCode={} | rowCount={}",
-            sourceDbCode, rows.size());
+          log.info("Query executed successfully | sourceDbCode={} | rowCount={}",
+              sourceDbCode, rows.size());
+
+          return rows;
 
-        return rows;
+        } catch (SQLException e) {
+          throw queryFailure(sourceDbCode, timeoutSeconds, registration, e);
+        }
 
+      } catch (BusinessException e) {
+        throw e;
       } catch (Exception e) {
         log.error("Query execution failed | sourceDbCode={} | error={}",
             sourceDbCode, e.getMessage(), e);
@@ -146,4 +174,355 @@ public class SourceDbManager {
       MDC.remove("sourceDbCode");
     }
   }
+
+  /**
+   * Executes a query against a source database and streams the result set in chunks of row maps.
+   *
+   * @see #streamChunks(String, String, SourceQueryOptions, int, ChunkReaderFactory, Consumer)
+   */
+  public long streamQuery(String sourceDbCode,
+                          String sql,
+                          SourceQueryOptions options,
+                          int chunkSize,
+                          Consumer<List<Map<String, Object>>> chunkConsumer) {
+    return streamChunks(sourceDbCode, sql, options, chunkSize, SourceDbManager::rowMapReader, chunkConsumer);
+  }
+
+  /**
+   * Executes a query against a source database and streams the result set in chunks.
+   *
+   * <p>Rows are read through a forward-only cursor and handed to {@code chunkConsumer} as soon
+   * as {@code chunkSize} rows are buffered. The consumer runs on the calling thread, so the
+   * cursor is not advanced until the previous chunk is processed (natural backpressure, at
+   * most one chunk on the heap).
+   *
+   * <p>{@code readerFactory} is called once with the result set metadata; the returned reader
+   * reads every row directly from the result set into its current chunk (e.g. a columnar batch).
+   *
+   * <p><b>Guardrails:</b> the statement timeout and fetch size are resolved from
+   * {@code options}, then the source database config, then {@code loader.execution}.
+   * While the query runs the statement is registered in the {@link SourceQueryRegistry}
+   * under the source and the loader code of {@code options}. Before connecting, the query waits
+   * for a slot from the {@link SourceConcurrencyLimiter} (stalest callers first); the execute
+   * latency and errors feed back into the source's limit.
+   *
+   * <p><b>Driver specifics:</b>
+   * <ul>
+   *   <li>PostgreSQL: cursor-based fetch requires auto-commit off for the duration of the query</li>
+   *   <li>MySQL: the pool URL sets {@code useCursorFetch=true}, so the fetch size is honoured
+   *       by a server-side cursor instead of buffering the whole result</li>
+   * </ul>
+   *
+   * <p>Runtime exceptions thrown by the reader or the consumer are propagated unchanged.
+   *
+   * @param sourceDbCode Source database code
+   * @param sql SQL query to execute
+   * @param options loader code and timeout / fetch size overrides
+   * @param chunkSize rows per chunk handed to the consumer
+   * @param readerFactory creates the chunk reader from the result set metadata
+   * @param chunkConsumer receives each chunk (never empty)
+   * @param <C> chunk type
+   * @return total number of rows read
+   * @throws BusinessException if validation fails, no query slot is granted in time, the query times out or is cancelled, or query execution fails
+   */
+  public <C> long streamChunks(String sourceDbCode,
+                               String sql,
+                               SourceQueryOptions options,
+                               int chunkSize,
+                               ChunkReaderFactory<C> readerFactory,
+                               Consumer<C> chunkConsumer) {
+    MDC.put("sourceDbCode", sourceDbCode);
+
+    try {
+      // Validation
+      if (sourceDbCode == null || sourceDbCode.isBlank()) {
+        log.warn("Source database code is null or blank");
+        throw new BusinessException(
+            ErrorCode.VALIDATION_REQUIRED_FIELD,
+            "Source database code is required",
+            "sourceDbCode"
+        );
+      }
+
+      if (sql == null || sql.isBlank()) {
+        log.warn("SQL query is null or blank | sourceDbCode={}", sourceDbCode);
+        throw new BusinessException(
+            ErrorCode.VALIDATION_REQUIRED_FIELD,
+            "SQL query is required",
+            "sql"
+        );
+      }
+
+      if (chunkSize <= 0) {
+        throw new BusinessException(
+            ErrorCode.VALIDATION_INVALID_VALUE,
+            "Chunk size must be positive",
+            "chunkSize"
+        );
+      }
+
+      int timeoutSeconds = resolveQueryTimeoutSeconds(sourceDbCode, options);
+      int fetchSize = resolveFetchSize(sourceDbCode, options);
+
+      log.info("Streaming query on source database | sourceDbCode={} | loaderCode={} | sqlLength={} | fetchSize={} | chunkSize={} | timeoutSeconds={}",
+          sourceDbCode, options.loaderCode(), sql.length(), fetchSize, chunkSize, timeoutSeconds);
+      log.debug("Executing SQL | sourceDbCode={} | sql={}", sourceDbCode, sql);
+
+      // Admission: wait for a query slot on this source (ordered by staleness)
+      try (SourceConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire(sourceDbCode, options.staleSince());
+           Connection conn = sources.getConnection(sourceDbCode)) {
+        boolean postgres = conn.getMetaData().getDatabaseProductName()
+            .toLowerCase(Locale.ROOT).contains("postgres");
+        boolean originalAutoCommit = conn.getAutoCommit();
+
+        if (postgres && originalAutoCommit) {
+          conn.setAutoCommit(false);
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(sql,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             SourceQueryRegistry.Registration registration =
+                 queryRegistry.register(sourceDbCode, options.loaderCode(), ps)) {
+
+          ps.setFetchSize(fetchSize);
+          ps.setQueryTimeout(timeoutSeconds);
+
+          long executeStart = System.nanoTime();
+          try (ResultSet rs = ps.executeQuery()) {
+            permit.onSuccess(System.nanoTime() - executeStart);
+            ResultSetMetaData md = rs.getMetaData();
+            ChunkReader<C> reader = createReader(readerFactory, md);
+
+            log.debug("Query metadata | sourceDbCode={} | columnCount={}", sourceDbCode, md.getColumnCount());
+
+            long total = 0;
+            int chunks = 0;
+
+            while (rs.next()) {
+              readRow(reader, rs, total);
+              total++;
+
+              if (reader.size() >= chunkSize) {
+                deliverChunk(chunkConsumer, reader.drain());
+                chunks++;
+              }
+            }
+
+            if (reader.size() > 0) {
+              deliverChunk(chunkConsumer, reader.drain());
+              chunks++;
+            }
+
+            log.info("Query streamed successfully | sourceDbCode={} | rowCount={} | chunks={}",
+                sourceDbCode, total, chunks);
+
+            return total;
+
+          } catch (SQLException e) {
+            if (!registration.isCancelled()) {
+              permit.onDropped();
+            }
+            throw queryFailure(sourceDbCode, timeoutSeconds, registration, e);
+          }
+        } finally {
+          if (postgres && originalAutoCommit) {
+            conn.rollback(); // Read-only cursor - nothing to commit
+            conn.setAutoCommit(true);
+          }
+        }
+
+      } catch (CallbackException e) {
+        throw e.getCause();
+      } catch (BusinessException e) {
+        throw e;
+      } catch (Exception e) {
+        log.error("Query streaming failed | sourceDbCode={} | error={}",
+            sourceDbCode, e.getMessage(), e);
+        throw new BusinessException(
+            ErrorCode.SOURCE_DATABASE_CONNECTION_FAILED,
+            "Failed to execute query on source database '" + sourceDbCode + "': " + e.getMessage(),
+            e
+        );
+      }
+
+    } finally {
+      MDC.remove("sourceDbCode");
+    }
+  }
+
+  /**
+   * Resolves the statement timeout: options, then source database, then global default.
+   *
+   * @return timeout in seconds (0 = no timeout)
+   */
+  int resolveQueryTimeoutSeconds(String sourceDbCode, SourceQueryOptions options) {
+    if (options.queryTimeoutSeconds() != null && options.queryTimeoutSeconds() > 0) {
+      return options.queryTimeoutSeconds();
+    }
+    SourceDatabase config = sources.getConfig(sourceDbCode);
+    if (config != null && config.getQueryTimeoutSeconds() != null && config.getQueryTimeoutSeconds() > 0) {
+      return config.getQueryTimeoutSeconds();
+    }
+    return Math.max(executionProperties.getQueryTimeoutSeconds(), 0);
+  }
+
+  /**
+   * Resolves the fetch size: options, then source database, then global default.
+   */
+  int resolveFetchSize(String sourceDbCode, SourceQueryOptions options) {
+    if (options.fetchSize() != null && options.fetchSize() > 0) {
+      return options.fetchSize();
+    }
+    SourceDatabase config = sources.getConfig(sourceDbCode);
+    if (config != null && config.getFetchSize() != null && config.getFetchSize() > 0) {
+      return config.getFetchSize();
+    }
+    return Math.max(executionProperties.getStreamFetchSize(), 1);
+  }
+
+  /**
+   * Maps a failed query to a timeout, cancellation or generic source failure.
+   */
+  private BusinessException queryFailure(String sourceDbCode,
+                                         int timeoutSeconds,
+                                         SourceQueryRegistry.Registration registration,
+                                         SQLException e) {
+    if (registration.isCancelled()) {
+      log.warn("Query cancelled | sourceDbCode={} | error={}", sourceDbCode, e.getMessage());
+      return new BusinessException(
+          ErrorCode.SOURCE_DATABASE_QUERY_CANCELLED,
+          "Query on source database '" + sourceDbCode + "' was cancelled",
+          e
+      );
+    }
+
+    // MySQL reports timeouts as SQLTimeoutException, PostgreSQL as query_canceled (57014)
+    if (e instanceof SQLTimeoutException || (timeoutSeconds > 0 && QUERY_CANCELED_SQL_STATE.equals(e.getSQLState()))) {
+      log.error("Query timed out | sourceDbCode={} | timeoutSeconds={}", sourceDbCode, timeoutSeconds);
+      return new BusinessException(
+          ErrorCode.SOURCE_DATABASE_QUERY_TIMEOUT,
+          "Query on source database '" + sourceDbCode + "' timed out after " + timeoutSeconds + " seconds",
+          e
+      );
+    }
+
+    log.error("Query execution failed | sourceDbCode={} | error={}", sourceDbCode, e.getMessage(), e);
+    return new BusinessException(
+        ErrorCode.SOURCE_DATABASE_CONNECTION_FAILED,
+        "Failed to execute query on source database '" + sourceDbCode + "': " + e.getMessage(),
+        e
+    );
+  }
+
+  /**
+   * Accumulates rows of a result set into chunks.
+   *
+   * @param <C> chunk type
+   */
+  public interface ChunkReader<C> {
+
+    /**
+     * Reads the current row of the result set into the current chunk.
+     *
+     * @param rs result set positioned on a row
+     * @param rowNum 0-based index of the row in the whole result
+     */
+    void read(ResultSet rs, long rowNum) throws SQLException;
+
+    /**
+     * Rows in the current chunk.
+     */
+    int size();
+
+    /**
+     * Returns the current chunk and starts a new one.
+     */
+    C drain();
+  }
+
+  /**
+   * Creates the chunk reader for a result set, once per query.
+   *
+   * @param <C> chunk type
+   */
+  @FunctionalInterface
+  public interface ChunkReaderFactory<C> {
+    ChunkReader<C> create(ResultSetMetaData metaData) throws SQLException;
+  }
+
+  /**
+   * Reads rows into lists of maps of column label to {@code getObject} value (column order kept).
+   */
+  private static ChunkReader<List<Map<String, Object>>> rowMapReader(ResultSetMetaData md) throws SQLException {
+    int cols = md.getColumnCount();
+    String[] labels = new String[cols];
+    for (int i = 1; i <= cols; i++) {
+      labels[i - 1] = md.getColumnLabel(i);
+    }
+
+    return new ChunkReader<>() {
+      private List<Map<String, Object>> chunk = new ArrayList<>();
+
+      @Override
+      public void read(ResultSet rs, long rowNum) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>(cols);
+        for (int i = 1; i <= cols; i++) {
+          row.put(labels[i - 1], rs.getObject(i));
+        }
+        chunk.add(row);
+      }
+
+      @Override
+      public int size() {
+        return chunk.size();
+      }
+
+      @Override
+      public List<Map<String, Object>> drain() {
+        List<Map<String, Object>> drained = chunk;
+        chunk = new ArrayList<>(drained.size());
+        return drained;
+      }
+    };
+  }
+
+  private static <C> ChunkReader<C> createReader(ChunkReaderFactory<C> readerFactory, ResultSetMetaData md)
+      throws SQLException {
+    try {
+      return readerFactory.create(md);
+    } catch (RuntimeException e) {
+      throw new CallbackException(e);
+    }
+  }
+
+  private static void readRow(ChunkReader<?> reader, ResultSet rs, long rowNum) throws SQLException {
+    try {
+      reader.read(rs, rowNum);
+    } catch (RuntimeException e) {
+      throw new CallbackException(e);
+    }
+  }
+
+  private static <C> void deliverChunk(Consumer<C> chunkConsumer, C chunk) {
+    try {
+      chunkConsumer.accept(chunk);
+    } catch (RuntimeException e) {
+      throw new CallbackException(e);
+    }
+  }
+
+  /**
+   * Carries a reader or consumer failure through the JDBC error handling so it is not
+   * reported as a source database failure.
+   */
+  private static final class CallbackException extends RuntimeException {
+    CallbackException(RuntimeException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized RuntimeException getCause() {
+      return (RuntimeException) super.getCause();
+    }
+  }
 }
@@ -0,0 +1,41 @@
+package com.tiqmo.monitoring.loader.infra.db;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+
+import java.time.Instant;
+
+/**
+ * Per-query overrides for source database queries.
+ *
+ * <p>Null values fall back to the source database settings ({@code query_timeout_seconds},
+ * {@code fetch_size}) and then to {@code loader.execution} defaults.
+ *
+ * @param loaderCode loader issuing the query (used to cancel its in-flight statements); null for ad-hoc queries
+ * @param queryTimeoutSeconds statement timeout override in seconds
+ * @param fetchSize fetch size override
+ * @param staleSince freshness of the caller's data; queued queries with older values are admitted first (null = most stale)
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public record SourceQueryOptions(String loaderCode,
+                                 Integer queryTimeoutSeconds,
+                                 Integer fetchSize,
+                                 Instant staleSince) {
+
+  private static final SourceQueryOptions DEFAULTS = new SourceQueryOptions(null, null, null, null);
+
+  /**
+   * No overrides (ad-hoc query).
+   */
+  public static SourceQueryOptions defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Options for a loader's query: loader code, its timeout override and its last load timestamp.
+   */
+  public static SourceQueryOptions forLoader(Loader loader) {
+    return new SourceQueryOptions(
+        loader.getLoaderCode(), loader.getQueryTimeoutSeconds(), null, loader.getLastLoadTimestamp());
+  }
+}
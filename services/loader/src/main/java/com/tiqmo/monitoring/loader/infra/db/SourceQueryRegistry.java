@@ -0,0 +1,167 @@
+package com.tiqmo.monitoring.loader.infra.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Registry of source database statements that are currently executing.
+ *
+ * <p>Interrupting a loader thread ({@code Future.cancel(true)}) does not stop a query that is
+ * running on the source database: the JDBC call keeps blocking and the source keeps working.
+ * {@link SourceDbManager} registers every statement here for the duration of the query, so
+ * timeout enforcement and stale lock cleanup can issue a real {@link Statement#cancel()},
+ * which the driver forwards to the server (PostgreSQL cancel request, MySQL {@code KILL QUERY}).
+ *
+ * <p>Thread-safe.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SourceQueryRegistry {
+
+  private final Map<Long, Registration> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong();
+  private final Counter cancellations;
+
+  public SourceQueryRegistry(MeterRegistry meterRegistry) {
+    this.cancellations = Counter.builder("loader_source_query_cancellations_total")
+        .description("Source database statements cancelled by timeout enforcement or lock cleanup")
+        .register(meterRegistry);
+    meterRegistry.gauge("loader_source_queries_in_flight", inFlight, Map::size);
+  }
+
+  /**
+   * Registers an executing statement. Close the returned registration when the query ends.
+   *
+   * @param sourceDbCode source database the statement runs on
+   * @param loaderCode loader that issued the query (null for ad-hoc queries)
+   * @param statement the statement
+   * @return registration to close when the statement is done
+   */
+  public Registration register(String sourceDbCode, String loaderCode, Statement statement) {
+    Registration registration = new Registration(
+        nextId.incrementAndGet(), sourceDbCode, loaderCode, Thread.currentThread().getName(),
+        Instant.now(), statement);
+    inFlight.put(registration.id, registration);
+    return registration;
+  }
+
+  /**
+   * Cancels all in-flight queries of a loader.
+   *
+   * @return number of statements cancelled
+   */
+  public int cancelByLoader(String loaderCode, String reason) {
+    return cancelMatching(r -> Objects.equals(r.loaderCode, loaderCode), reason);
+  }
+
+  /**
+   * Cancels all in-flight queries on a source database.
+   *
+   * @return number of statements cancelled
+   */
+  public int cancelBySource(String sourceDbCode, String reason) {
+    return cancelMatching(r -> Objects.equals(r.sourceDbCode, sourceDbCode), reason);
+  }
+
+  /**
+   * Snapshot of in-flight queries (for monitoring).
+   */
+  public List<InFlightQuery> snapshot() {
+    List<InFlightQuery> queries = new ArrayList<>(inFlight.size());
+    for (Registration r : inFlight.values()) {
+      queries.add(new InFlightQuery(r.id, r.sourceDbCode, r.loaderCode, r.threadName, r.startedAt, r.cancelled));
+    }
+    return queries;
+  }
+
+  private int cancelMatching(Predicate<Registration> filter, String reason) {
+    int cancelled = 0;
+    for (Registration registration : inFlight.values()) {
+      if (filter.test(registration) && registration.cancel(reason)) {
+        cancelled++;
+      }
+    }
+    return cancelled;
+  }
+
+  /**
+   * Read-only view of an in-flight query.
+   */
+  public record InFlightQuery(long id,
+                              String sourceDbCode,
+                              String loaderCode,
+                              String threadName,
+                              Instant startedAt,
+                              boolean cancelled) {
+  }
+
+  /**
+   * Handle of a registered statement; closing it removes the statement from the registry.
+   */
+  public final class Registration implements AutoCloseable {
+
+    private final long id;
+    private final String sourceDbCode;
+    private final String loaderCode;
+    private final String threadName;
+    private final Instant startedAt;
+    private final Statement statement;
+    private volatile boolean cancelled;
+
+    private Registration(long id, String sourceDbCode, String loaderCode, String threadName,
+                         Instant startedAt, Statement statement) {
+      this.id = id;
+      this.sourceDbCode = sourceDbCode;
+      this.loaderCode = loaderCode;
+      this.threadName = threadName;
+      this.startedAt = startedAt;
+      this.statement = statement;
+    }
+
+    /**
+     * Whether the statement was cancelled through the registry.
+     */
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    private synchronized boolean cancel(String reason) {
+      if (cancelled || !inFlight.containsKey(id)) {
+        return false;
+      }
+      cancelled = true;
+      try {
+        statement.cancel();
+        cancellations.increment();
+        log.warn("Cancelled source query | sourceDbCode={} | loaderCode={} | thread={} | runningSince={} | reason={}",
+            sourceDbCode, loaderCode, threadName, startedAt, reason);
+        return true;
+      } catch (SQLException e) {
+        log.warn("Failed to cancel source query | sourceDbCode={} | loaderCode={} | error={}",
+            sourceDbCode, loaderCode, e.getMessage());
+        return false;
+      }
+    }
+
+    @Override
+    public synchronized void close() {
+      inFlight.remove(id);
+    }
+  }
+}
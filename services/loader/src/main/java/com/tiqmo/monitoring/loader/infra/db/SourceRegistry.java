@@ -2,6 +2,7 @@ package com.tiqmo.monitoring.loader.infra.db;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import com.tiqmo.monitoring.loader.domain.loader.entity.SourceDatabase;
 import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
@@ -12,11 +13,20 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -28,14 +38,27 @@ public class SourceRegistry {
 
   private final ApplicationEventPublisher publisher;
   private final com.tiqmo.monitoring.loader.infra.config.SourcePoolProperties poolProperties;
+  private final SourceQueryRegistry queryRegistry;
 
   private final Map<String, SourceDatabase> configByCode = new ConcurrentHashMap<>();
   private final Map<String, HikariDataSource> poolsByCode = new ConcurrentHashMap<>();
+  private final Map<String, PoolFingerprint> fingerprintsByCode = new ConcurrentHashMap<>();
+
+  private static final long DRAIN_POLL_MS = 1_000;
+
+  /** Closes retired pools once their in-flight queries are done. */
+  private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread t = new Thread(r, "src-pool-drain");
+    t.setDaemon(true);
+    return t;
+  });
 
   public SourceRegistry(ApplicationEventPublisher publisher,
-                        com.tiqmo.monitoring.loader.infra.config.SourcePoolProperties poolProperties) {
+                        com.tiqmo.monitoring.loader.infra.config.SourcePoolProperties poolProperties,
+                        SourceQueryRegistry queryRegistry) {
     this.publisher = publisher;
     this.poolProperties = poolProperties;
+    this.queryRegistry = queryRegistry;
   }
 
 
@@ -57,6 +80,11 @@ public class SourceRegistry {
     return Collections.unmodifiableMap(new HashMap<>(configByCode));
   }
 
+  /** Config of a single source (nullable). */
+  public SourceDatabase getConfig(String dbCode) {
+    return configByCode.get(dbCode);
+  }
+
   /** Direct access to the pool (nullable). */
   public HikariDataSource getPool(String dbCode) {
     return poolsByCode.get(dbCode);
@@ -86,21 +114,30 @@ public class SourceRegistry {
     }
   }
 
-  /** Reload all configs from DB and rebuild pools. */
-  public synchronized void loadAll() {
+  /**
+   * Reload all configs from DB and apply the difference to the pools.
+   *
+   * <p>Each config is fingerprinted by its connection settings. Pools of unchanged sources
+   * are kept (warm connections, in-flight queries untouched); only added and changed
+   * sources get a new pool, built in parallel. Replaced and removed pools are retired:
+   * they stop handing out connections to new queries and are closed once their in-flight
+   * queries finish (or {@code drainTimeoutMs} elapses).
+   *
+   * <p>If a changed source fails to build, its previous pool and config stay active.
+   *
+   * @return what changed
+   */
+  public synchronized ReloadSummary loadAll() {
+    long startNanos = System.nanoTime();
     List<SourceDatabase> rows = em
             .createQuery("select s from SourceDatabase s", SourceDatabase.class)
             .getResultList();
 
     if (rows.isEmpty()) {
       log.warn("⚠️  No source databases found in loader.source_databases");
-      replaceState(Map.of(), Map.of());
-      return;
     }
 
     Map<String, SourceDatabase> nextConfigs = new HashMap<>();
-    Map<String, HikariDataSource> nextPools = new HashMap<>();
-
     for (SourceDatabase cfg : rows) {
       String code = cfg.getDbCode();
       if (code == null || code.isBlank()) {
@@ -108,23 +145,195 @@ public class SourceRegistry {
         continue;
       }
       nextConfigs.put(code, cfg);
-      HikariDataSource ds = buildPool(cfg);
-      nextPools.put(code, ds);
-      log.info("✅ Initialized pool for source {}", code);
     }
 
-    replaceState(nextConfigs, nextPools);
-    log.info("✅ Loaded {} source database configs", nextConfigs.size());
+    // Diff against the current pools
+    List<String> unchanged = new ArrayList<>();
+    Map<String, SourceDatabase> toBuild = new HashMap<>();
+    for (Map.Entry<String, SourceDatabase> e : nextConfigs.entrySet()) {
+      PoolFingerprint current = fingerprintsByCode.get(e.getKey());
+      if (current != null && poolsByCode.containsKey(e.getKey()) && current.equals(PoolFingerprint.of(e.getValue()))) {
+        unchanged.add(e.getKey());
+      } else {
+        toBuild.put(e.getKey(), e.getValue());
+      }
+    }
+    Set<String> removed = new HashSet<>(poolsByCode.keySet());
+    removed.removeAll(nextConfigs.keySet());
+
+    Map<String, HikariDataSource> built = buildPools(toBuild);
+
+    List<String> added = new ArrayList<>();
+    List<String> changed = new ArrayList<>();
+    List<String> failed = new ArrayList<>();
+
+    for (String code : unchanged) {
+      configByCode.put(code, nextConfigs.get(code)); // non-pool settings (timeouts, fetch size) may differ
+    }
+
+    for (Map.Entry<String, SourceDatabase> e : toBuild.entrySet()) {
+      String code = e.getKey();
+      HikariDataSource pool = built.get(code);
+      if (pool == null) {
+        failed.add(code);
+        continue;
+      }
+      HikariDataSource previous = poolsByCode.put(code, pool);
+      configByCode.put(code, e.getValue());
+      fingerprintsByCode.put(code, PoolFingerprint.of(e.getValue()));
+      if (previous != null) {
+        changed.add(code);
+        retire(code, previous, false);
+      } else {
+        added.add(code);
+      }
+    }
+
+    for (String code : removed) {
+      HikariDataSource previous = poolsByCode.remove(code);
+      configByCode.remove(code);
+      fingerprintsByCode.remove(code);
+      if (previous != null) {
+        retire(code, previous, true);
+      }
+    }
+
+    ReloadSummary summary = new ReloadSummary(added, changed, removed.stream().sorted().toList(), unchanged, failed,
+        (System.nanoTime() - startNanos) / 1_000_000);
+    log.info("✅ Loaded {} source database configs | added={} | changed={} | removed={} | unchanged={} | failed={} | tookMs={}",
+        configByCode.size(), added, changed, summary.removed(), unchanged.size(), failed, summary.tookMs());
+    return summary;
+  }
+
+  /**
+   * Builds the pools of the given sources in parallel (each may block on its initialization timeout).
+   *
+   * @return pools by code; sources whose pool could not be built are missing
+   */
+  private Map<String, HikariDataSource> buildPools(Map<String, SourceDatabase> configs) {
+    if (configs.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<String, HikariDataSource> built = new ConcurrentHashMap<>();
+    int threads = Math.max(1, Math.min(configs.size(), poolProperties.getBuildParallelism()));
+    ExecutorService builders = Executors.newFixedThreadPool(threads, r -> {
+      Thread t = new Thread(r, "src-pool-build");
+      t.setDaemon(true);
+      return t;
+    });
+
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (SourceDatabase cfg : configs.values()) {
+        futures.add(builders.submit(() -> {
+          try {
+            built.put(cfg.getDbCode(), buildPool(cfg));
+            log.info("✅ Initialized pool for source {}", cfg.getDbCode());
+          } catch (Exception e) {
+            log.error("❌ Failed to initialize pool for source {}: {}", cfg.getDbCode(), e.getMessage());
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        } catch (ExecutionException e) {
+          log.error("Pool build task failed: {}", e.getCause().getMessage());
+        }
+      }
+    } finally {
+      builders.shutdownNow();
+    }
+    return built;
   }
 
-  private HikariDataSource buildPool(SourceDatabase cfg) {
+  /**
+   * Retires a pool: idle connections are evicted now, the pool is closed once it has no
+   * active connections or after {@code drainTimeoutMs}. For removed sources, queries still
+   * running at the deadline are cancelled before the pool is closed.
+   */
+  private void retire(String code, HikariDataSource pool, boolean sourceRemoved) {
+    HikariPoolMXBean mx = pool.getHikariPoolMXBean();
+    if (mx != null) {
+      mx.softEvictConnections();
+    }
+
+    long deadline = System.currentTimeMillis() + poolProperties.getDrainTimeoutMs();
+    log.info("Draining old pool {} | activeConnections={} | drainTimeoutMs={}",
+        code, mx != null ? mx.getActiveConnections() : 0, poolProperties.getDrainTimeoutMs());
+
+    drainer.schedule(new Runnable() {
+      @Override
+      public void run() {
+        int active = mx != null ? mx.getActiveConnections() : 0;
+        if (active > 0 && System.currentTimeMillis() < deadline) {
+          drainer.schedule(this, DRAIN_POLL_MS, TimeUnit.MILLISECONDS);
+          return;
+        }
+        if (active > 0) {
+          log.warn("Drain timeout for old pool {} | activeConnections={} - closing", code, active);
+          if (sourceRemoved) {
+            queryRegistry.cancelBySource(code, "source database removed");
+          }
+        }
+        try { pool.close(); log.info("Closed old pool {}", code); }
+        catch (Exception e) { log.warn("Error closing pool {}: {}", code, e.getMessage()); }
+      }
+    }, 0, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Outcome of a {@link #loadAll()} reload (source codes per category).
+   */
+  public record ReloadSummary(List<String> added,
+                              List<String> changed,
+                              List<String> removed,
+                              List<String> unchanged,
+                              List<String> failed,
+                              long tookMs) {
+  }
+
+  /**
+   * Settings that require a new pool when they change (password compared by digest).
+   */
+  private record PoolFingerprint(SourceDatabase.DbType dbType,
+                                 String ip,
+                                 Integer port,
+                                 String dbName,
+                                 String userName,
+                                 String passwordDigest) {
+
+    static PoolFingerprint of(SourceDatabase cfg) {
+      return new PoolFingerprint(cfg.getDbType(), cfg.getIp(), cfg.getPort(), cfg.getDbName(),
+          cfg.getUserName(), digest(cfg.getPassWord()));
+    }
+
+    private static String digest(String secret) {
+      if (secret == null) {
+        return null;
+      }
+      try {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 not available", e);
+      }
+    }
+  }
+
+  HikariDataSource buildPool(SourceDatabase cfg) {
     String code = cfg.getDbCode();
     String type = (cfg.getDbType() == null) ? "" : cfg.getDbType().toString().toUpperCase(Locale.ROOT);
 
     String jdbcUrl;
     if ("MYSQL".equals(type)) {
       jdbcUrl = "jdbc:mysql://" + cfg.getIp() + ":" + cfg.getPort() + "/" + cfg.getDbName()
-              + "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC";
+              + "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC"
+              + "&useCursorFetch=true"; // server-side cursor: setFetchSize(n) streams n rows per round trip
     } else if ("POSTGRESQL".equals(type) || "POSTGRES".equals(type) || "PG".equals(type)) {
       jdbcUrl = "jdbc:postgresql://" + cfg.getIp() + ":" + cfg.getPort() + "/" + cfg.getDbName();
     } else {
@@ -165,36 +374,12 @@ public class SourceRegistry {
     return new HikariDataSource(hc);
   }
 
-  private void replaceState(Map<String, SourceDatabase> nextConfigs,
-                            Map<String, HikariDataSource> nextPools) {
-    // Close pools that are going away
-    Set<String> toClose = new HashSet<>(poolsByCode.keySet());
-    toClose.removeAll(nextPools.keySet());
-    for (String code : toClose) {
-      HikariDataSource old = poolsByCode.remove(code);
-      if (old != null) {
-        try { old.close(); log.info("Closed old pool {}", code); }
-        catch (Exception e) { log.warn("Error closing pool {}: {}", code, e.getMessage()); }
-      }
-    }
-
-    // Replace configs
-    configByCode.clear();
-    configByCode.putAll(nextConfigs);
-
-    // Close all existing pools and install the new set (simple & safe)
-    for (HikariDataSource ds : poolsByCode.values()) {
-      try { ds.close(); } catch (Exception ignore) {}
-    }
-    poolsByCode.clear();
-    poolsByCode.putAll(nextPools);
-  }
-
   // in SourceRegistry
   public Map<String, HikariDataSource> getPools() { return Collections.unmodifiableMap(poolsByCode); }
 
 
   private void closeAll() {
+    drainer.shutdownNow();
     for (HikariDataSource ds : poolsByCode.values()) {
       try { ds.close(); } catch (Exception ignore) {}
     }
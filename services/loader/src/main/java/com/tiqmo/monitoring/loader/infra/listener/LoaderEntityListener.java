@@ -0,0 +1,41 @@
+package com.tiqmo.monitoring.loader.infra.listener;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.events.LoaderChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener of {@link Loader} that publishes its row changes as domain events.
+ *
+ * <p>Every insert, update and delete of a loader row (create, approval, pause/resume,
+ * timestamp adjustment, execution progress) publishes a {@link LoaderChangedEvent}.
+ * Subscribers (e.g. the scheduler due queue) apply it after commit, so rolled-back changes
+ * never reach them. The listener knows nothing about its subscribers.
+ *
+ * <p>Instantiated by Hibernate through Spring's bean container (constructor injection).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public class LoaderEntityListener {
+
+  private final ApplicationEventPublisher publisher;
+
+  public LoaderEntityListener(ApplicationEventPublisher publisher) {
+    this.publisher = publisher;
+  }
+
+  @PostPersist
+  @PostUpdate
+  void onSaved(Loader loader) {
+    publisher.publishEvent(new LoaderChangedEvent(loader, false));
+  }
+
+  @PostRemove
+  void onRemoved(Loader loader) {
+    publisher.publishEvent(new LoaderChangedEvent(loader, true));
+  }
+}
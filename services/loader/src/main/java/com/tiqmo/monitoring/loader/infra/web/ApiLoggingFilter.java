@@ -54,19 +54,30 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
         "x-auth-token"
     );
 
+    /**
+     * Streaming endpoints (signals export) write their body straight to the client; caching it
+     * would buffer the whole export in memory, so only the request and status are logged.
+     */
+    private static final String STREAMING_URI_SUFFIX = "/export";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                      HttpServletResponse response,
                                      FilterChain filterChain) throws ServletException, IOException {
         long startTime = System.currentTimeMillis();
 
+        String requestId = RequestIdFilter.getCurrentRequestId();
+        String correlationId = CorrelationIdFilter.getCurrentCorrelationId();
+
+        if (isStreaming(request)) {
+            doFilterStreaming(request, response, filterChain, requestId, correlationId, startTime);
+            return;
+        }
+
         // Wrap request/response to allow reading body multiple times
         ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
         ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
 
-        String requestId = RequestIdFilter.getCurrentRequestId();
-        String correlationId = CorrelationIdFilter.getCurrentCorrelationId();
-
         try {
             // Log incoming request
             logRequest(wrappedRequest, requestId, correlationId);
@@ -94,6 +105,41 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Passes a streaming request on with the original response, logging the status but no body.
+     */
+    private void doFilterStreaming(HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   FilterChain filterChain,
+                                   String requestId,
+                                   String correlationId,
+                                   long startTime) throws ServletException, IOException {
+        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
+        try {
+            logRequest(wrappedRequest, requestId, correlationId);
+
+            filterChain.doFilter(wrappedRequest, response);
+
+            long latency = System.currentTimeMillis() - startTime;
+            String contentType = response.getContentType();
+            log.info("API_RESPONSE | requestId={} | correlationId={} | method={} | uri={} | " +
+                     "status={} | latency={}ms | contentType={} | body=(streamed)",
+                requestId, correlationId, request.getMethod(), request.getRequestURI(),
+                response.getStatus(), latency, contentType != null ? contentType : "");
+
+        } catch (Exception e) {
+            logError(wrappedRequest, requestId, correlationId, System.currentTimeMillis() - startTime, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Streaming endpoints bypass response body caching.
+     */
+    private boolean isStreaming(HttpServletRequest request) {
+        return request.getRequestURI().endsWith(STREAMING_URI_SUFFIX);
+    }
+
     /**
      * Logs incoming HTTP request.
      */
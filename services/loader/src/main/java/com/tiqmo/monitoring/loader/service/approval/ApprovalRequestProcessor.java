@@ -148,6 +148,7 @@ public class ApprovalRequestProcessor {
                 PurgeStrategy.valueOf(dto.getPurgeStrategy().toUpperCase()) :
                 PurgeStrategy.FAIL_ON_DUPLICATE);
         loader.setAggregationPeriodSeconds(dto.getAggregationPeriodSeconds());
+        loader.setQueryTimeoutSeconds(dto.getQueryTimeoutSeconds());
         loader.setSourceTimezoneOffsetHours(dto.getSourceTimezoneOffsetHours() != null ?
                 dto.getSourceTimezoneOffsetHours() : 0);
 
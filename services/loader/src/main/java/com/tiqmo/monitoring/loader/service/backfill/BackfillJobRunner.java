@@ -0,0 +1,148 @@
+package com.tiqmo.monitoring.loader.service.backfill;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJob;
+import com.tiqmo.monitoring.loader.infra.config.BackfillProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background runner for PENDING backfill jobs.
+ *
+ * <p>Every {@code loader.backfill.poll-interval-ms} the runner claims as many PENDING jobs as it
+ * has idle workers ({@link BackfillService#claimPendingJobs}: highest effective priority first,
+ * {@code FOR UPDATE SKIP LOCKED} so replicas never claim the same job) and runs them on its own
+ * bounded pool of {@code loader.backfill.worker-threads}. Scheduled loads run on the loader
+ * thread pool and are never queued behind a backfill.
+ *
+ * <p>Running jobs publish a heartbeat; jobs left RUNNING by a crashed replica are requeued to
+ * resume from their checkpoint once their heartbeat is older than
+ * {@code loader.backfill.abandoned-after-seconds} (FAILED after {@code max-attempts}).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class BackfillJobRunner {
+
+  private final BackfillService backfillService;
+  private final BackfillProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ExecutorService pool;
+  private final int workers;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  public BackfillJobRunner(BackfillService backfillService,
+                           BackfillProperties properties,
+                           MeterRegistry meterRegistry) {
+    this.backfillService = backfillService;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.workers = Math.max(1, properties.getWorkerThreads());
+
+    ThreadFactory threadFactory = new ThreadFactory() {
+      private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "backfill-worker-" + threadNumber.getAndIncrement());
+        thread.setDaemon(false);
+        return thread;
+      }
+    };
+    this.pool = Executors.newFixedThreadPool(workers, threadFactory);
+
+    Gauge.builder("loader_backfill_running_jobs", inFlight, AtomicInteger::get)
+        .description("Backfill jobs running on this replica's backfill workers")
+        .register(meterRegistry);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * Claims PENDING jobs for the idle workers and dispatches them.
+   */
+  @Scheduled(fixedDelayString = "${loader.backfill.poll-interval-ms:5000}", initialDelay = 10000)
+  public void poll() {
+    if (!properties.isRunnerEnabled()) {
+      return;
+    }
+
+    int idle = workers - inFlight.get();
+    if (idle <= 0) {
+      return;
+    }
+
+    List<Long> jobIds;
+    try {
+      jobIds = backfillService.claimPendingJobs(idle);
+    } catch (Exception e) {
+      log.error("Failed to claim backfill jobs: {}", e.getMessage(), e);
+      return;
+    }
+
+    for (Long jobId : jobIds) {
+      dispatch(jobId);
+    }
+  }
+
+  /**
+   * Publishes heartbeats of running jobs and requeues jobs abandoned by crashed replicas.
+   */
+  @Scheduled(fixedDelayString = "${loader.backfill.heartbeat-interval-seconds:30}",
+             initialDelayString = "${loader.backfill.heartbeat-interval-seconds:30}",
+             timeUnit = TimeUnit.SECONDS)
+  public void heartbeat() {
+    try {
+      backfillService.renewRunningJobs();
+      backfillService.recoverAbandonedJobs();
+    } catch (Exception e) {
+      log.error("Backfill heartbeat failed: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Number of jobs running on the backfill workers.
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  private void dispatch(Long jobId) {
+    inFlight.incrementAndGet();
+    try {
+      pool.submit(() -> run(jobId));
+    } catch (RejectedExecutionException e) {
+      // Shutting down: the claimed job is requeued as abandoned by a later heartbeat
+      inFlight.decrementAndGet();
+      log.warn("Backfill job {} rejected by worker pool (shutting down)", jobId);
+    }
+  }
+
+  private void run(Long jobId) {
+    try {
+      BackfillJob job = backfillService.runClaimedJob(jobId);
+      meterRegistry.counter("loader_backfill_jobs_total", "status", job.getStatus().name()).increment();
+    } catch (Exception e) {
+      log.error("Backfill job {} could not be run: {}", jobId, e.getMessage(), e);
+      meterRegistry.counter("loader_backfill_jobs_total", "status", "ERROR").increment();
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+}
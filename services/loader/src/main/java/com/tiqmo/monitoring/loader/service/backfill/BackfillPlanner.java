@@ -0,0 +1,279 @@
+package com.tiqmo.monitoring.loader.service.backfill;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJob;
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJobStatus;
+import com.tiqmo.monitoring.loader.domain.loader.repo.BackfillJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Coalesces backfill submissions against the loader's pending and running work.
+ *
+ * <p>Gap scanner, auto-recovery and users submit ranges independently; they often overlap, nest
+ * or touch. Before a job is created, the planner locks the loader's active jobs and treats their
+ * ranges (per purge strategy) as an interval set:
+ * <ul>
+ *   <li><b>Duplicate:</b> a job with the same range exists - it is returned, nothing is created</li>
+ *   <li><b>Covered:</b> active jobs already cover the range - the covering job is returned</li>
+ *   <li><b>Merge:</b> PENDING jobs overlapping or adjacent to the range are merged with it into one
+ *       covering range, kept by the oldest of them (its queue position is kept); the others are
+ *       CANCELLED as coalesced</li>
+ *   <li><b>Trim:</b> parts of the merged range that RUNNING (or checkpointed) jobs already load are
+ *       cut out, leaving one job per remaining piece</li>
+ * </ul>
+ *
+ * <p>The source range seconds not queried thanks to coalescing are counted in
+ * {@code loader_backfill_avoided_seconds_total}.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class BackfillPlanner {
+
+  private final BackfillJobRepository backfillJobRepository;
+  private final MeterRegistry meterRegistry;
+  private final Counter avoidedSeconds;
+
+  public BackfillPlanner(BackfillJobRepository backfillJobRepository, MeterRegistry meterRegistry) {
+    this.backfillJobRepository = backfillJobRepository;
+    this.meterRegistry = meterRegistry;
+    this.avoidedSeconds = Counter.builder("loader_backfill_avoided_seconds_total")
+        .description("Backfill range seconds not queried from the source thanks to coalescing")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Plans a new backfill request (must run in the submitting transaction).
+   *
+   * @param request Unsaved PENDING job
+   * @return Job that will load the requested range (existing, merged or newly created)
+   */
+  public BackfillJob submit(BackfillJob request) {
+    String loaderCode = request.getLoaderCode();
+    Range requested = Range.of(request);
+
+    List<BackfillJob> active = backfillJobRepository.lockActiveJobsByLoader(loaderCode).stream()
+        .filter(job -> job.getPurgeStrategy() == request.getPurgeStrategy())
+        .toList();
+
+    // Duplicate submission
+    Optional<BackfillJob> duplicate = active.stream()
+        .filter(job -> Range.of(job).equals(requested))
+        .findFirst();
+    if (duplicate.isPresent()) {
+      BackfillJob existing = duplicate.get();
+      raisePriority(existing, request.getPriority());
+      record("deduplicated", requested.length());
+      log.info("Backfill request for {} [{}, {}) deduplicated into job #{}",
+          loaderCode, requested.fromInstant(), requested.toInstant(), existing.getId());
+      return existing;
+    }
+
+    // Range already covered by active jobs
+    if (covers(union(active.stream().map(Range::of).toList()), requested)) {
+      BackfillJob covering = active.stream()
+          .filter(job -> Range.of(job).contains(requested.from()))
+          .findFirst()
+          .orElseThrow();
+      raisePriority(covering, request.getPriority());
+      record("covered", requested.length());
+      log.info("Backfill request for {} [{}, {}) already covered by active jobs (first: #{})",
+          loaderCode, requested.fromInstant(), requested.toInstant(), covering.getId());
+      return covering;
+    }
+
+    // Merge with PENDING jobs that overlap or touch (transitively); jobs that started are fixed
+    List<BackfillJob> mergeable = new ArrayList<>();
+    List<Range> fixed = new ArrayList<>();
+    for (BackfillJob job : active) {
+      if (job.getStatus() == BackfillJobStatus.PENDING && job.getCheckpointEpoch() == null) {
+        mergeable.add(job);
+      } else {
+        fixed.add(Range.of(job));
+      }
+    }
+
+    Range merged = requested;
+    List<BackfillJob> absorbed = new ArrayList<>();
+    boolean grew = true;
+    while (grew) {
+      grew = false;
+      for (BackfillJob job : mergeable) {
+        if (!absorbed.contains(job) && merged.touches(Range.of(job))) {
+          merged = merged.span(Range.of(job));
+          absorbed.add(job);
+          grew = true;
+        }
+      }
+    }
+    absorbed.sort(Comparator.comparing(BackfillJob::getRequestedAt,
+        Comparator.nullsLast(Comparator.naturalOrder())));
+
+    List<Range> pieces = subtract(merged, union(fixed));
+
+    // The oldest absorbed job (or the request) takes the first piece
+    int priority = request.getPriority() != null ? request.getPriority() : 0;
+    long requestedSeconds = requested.length();
+    for (BackfillJob job : absorbed) {
+      priority = Math.max(priority, job.getPriority() != null ? job.getPriority() : 0);
+      requestedSeconds += Range.of(job).length();
+    }
+
+    BackfillJob primary = absorbed.isEmpty() ? request : absorbed.get(0);
+    primary.setFromTimeEpoch(pieces.get(0).from());
+    primary.setToTimeEpoch(pieces.get(0).to());
+    primary.setPriority(priority);
+    BackfillJob saved = backfillJobRepository.save(primary);
+
+    for (Range piece : pieces.subList(1, pieces.size())) {
+      backfillJobRepository.save(BackfillJob.builder()
+          .loaderCode(loaderCode)
+          .fromTimeEpoch(piece.from())
+          .toTimeEpoch(piece.to())
+          .purgeStrategy(request.getPurgeStrategy())
+          .status(BackfillJobStatus.PENDING)
+          .priority(priority)
+          .requestedBy(request.getRequestedBy())
+          .requestedAt(request.getRequestedAt())
+          .build());
+    }
+
+    Instant now = Instant.now();
+    for (BackfillJob job : absorbed.subList(Math.min(1, absorbed.size()), absorbed.size())) {
+      job.setStatus(BackfillJobStatus.CANCELLED);
+      job.setEndTime(now);
+      job.setErrorMessage("Coalesced into backfill job #" + saved.getId());
+      backfillJobRepository.save(job);
+    }
+
+    long plannedSeconds = pieces.stream().mapToLong(Range::length).sum();
+    if (!absorbed.isEmpty() || pieces.size() != 1 || !pieces.get(0).equals(requested)) {
+      record("merged", requestedSeconds - plannedSeconds);
+      log.info("Backfill request for {} [{}, {}) coalesced | absorbed={} | pieces={} | job=#{} | avoidedSeconds={}",
+          loaderCode, requested.fromInstant(), requested.toInstant(),
+          absorbed.stream().map(BackfillJob::getId).toList(), pieces.size(), saved.getId(),
+          requestedSeconds - plannedSeconds);
+    }
+
+    return saved;
+  }
+
+  /**
+   * Backfill range seconds not queried thanks to coalescing (since startup).
+   */
+  public long getAvoidedSeconds() {
+    return (long) avoidedSeconds.count();
+  }
+
+  private void record(String outcome, long seconds) {
+    Counter.builder("loader_backfill_coalesced_total")
+        .description("Backfill requests deduplicated, covered or merged with active jobs")
+        .tag("outcome", outcome)
+        .register(meterRegistry)
+        .increment();
+    avoidedSeconds.increment(Math.max(0, seconds));
+  }
+
+  private static void raisePriority(BackfillJob job, Integer priority) {
+    if (job.getStatus() == BackfillJobStatus.PENDING && priority != null
+        && (job.getPriority() == null || priority > job.getPriority())) {
+      job.setPriority(priority);
+    }
+  }
+
+  /**
+   * Merges overlapping and adjacent ranges.
+   *
+   * @return Disjoint, non-adjacent ranges in order
+   */
+  static List<Range> union(List<Range> ranges) {
+    List<Range> sorted = new ArrayList<>(ranges);
+    sorted.sort(Comparator.comparingLong(Range::from));
+
+    List<Range> merged = new ArrayList<>();
+    for (Range range : sorted) {
+      if (!merged.isEmpty() && merged.get(merged.size() - 1).touches(range)) {
+        merged.set(merged.size() - 1, merged.get(merged.size() - 1).span(range));
+      } else {
+        merged.add(range);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Whether the union covers the range.
+   */
+  static boolean covers(List<Range> union, Range range) {
+    return union.stream().anyMatch(r -> r.from() <= range.from() && range.to() <= r.to());
+  }
+
+  /**
+   * Parts of the range not in the union.
+   *
+   * @param range Range
+   * @param union Result of {@link #union}
+   * @return Remaining pieces in order
+   */
+  static List<Range> subtract(Range range, List<Range> union) {
+    List<Range> pieces = new ArrayList<>();
+    long start = range.from();
+    for (Range cut : union) {
+      if (cut.to() <= start || cut.from() >= range.to()) {
+        continue;
+      }
+      if (cut.from() > start) {
+        pieces.add(new Range(start, cut.from()));
+      }
+      start = Math.max(start, cut.to());
+    }
+    if (start < range.to()) {
+      pieces.add(new Range(start, range.to()));
+    }
+    return pieces;
+  }
+
+  /**
+   * Half-open range {@code [from, to)} in epoch seconds.
+   */
+  record Range(long from, long to) {
+
+    static Range of(BackfillJob job) {
+      return new Range(job.getFromTimeEpoch(), job.getToTimeEpoch());
+    }
+
+    long length() {
+      return to - from;
+    }
+
+    boolean contains(long epoch) {
+      return from <= epoch && epoch < to;
+    }
+
+    boolean touches(Range other) {
+      return other.from <= to && from <= other.to;
+    }
+
+    Range span(Range other) {
+      return new Range(Math.min(from, other.from), Math.max(to, other.to));
+    }
+
+    Instant fromInstant() {
+      return Instant.ofEpochSecond(from);
+    }
+
+    Instant toInstant() {
+      return Instant.ofEpochSecond(to);
+    }
+  }
+}
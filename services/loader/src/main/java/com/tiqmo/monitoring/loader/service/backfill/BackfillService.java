@@ -30,12 +30,16 @@ public interface BackfillService {
      * <p>Creates a new backfill job in PENDING status. The job will be queued
      * for execution by the backfill processor.
      *
+     * <p>Requests are coalesced with the loader's active jobs ({@link BackfillPlanner}):
+     * a duplicate or already covered range returns the existing job, and overlapping or
+     * adjacent PENDING jobs are merged into one.
+     *
      * @param loaderCode    Loader code to backfill
      * @param fromTime      Start of time range to backfill
      * @param toTime        End of time range to backfill
      * @param purgeStrategy Strategy for handling existing data
      * @param requestedBy   User or system requesting backfill
-     * @return Created backfill job
+     * @return Job that will load the range (created, merged or existing)
      * @throws IllegalArgumentException if loader not found or time range invalid
      */
     BackfillJob submitBackfillJob(String loaderCode,
@@ -47,10 +51,11 @@ public interface BackfillService {
     /**
      * Executes a backfill job.
      *
-     * <p>Performs the following steps:
+     * <p>Runs the job immediately on the calling thread (PENDING jobs are otherwise picked
+     * up by the background backfill runner). Performs the following steps:
      * <ol>
      *   <li>Validate job is in PENDING status</li>
-     *   <li>Mark job as RUNNING</li>
+     *   <li>Claim the job (mark it RUNNING)</li>
      *   <li>Apply purge strategy (delete existing data if needed)</li>
      *   <li>Execute loader query for time range</li>
      *   <li>Transform and ingest data</li>
@@ -64,6 +69,52 @@ public interface BackfillService {
      */
     BackfillJob executeBackfillJob(Long jobId);
 
+    /**
+     * Claims PENDING jobs for this replica (marks them RUNNING).
+     *
+     * <p>Jobs are taken in order of effective priority (requester priority plus waiting
+     * time); jobs being claimed concurrently by other replicas are skipped, never waited for.
+     *
+     * @param limit Max jobs to claim
+     * @return IDs of the claimed jobs, to be run with {@link #runClaimedJob}
+     */
+    List<Long> claimPendingJobs(int limit);
+
+    /**
+     * Runs a job claimed by this replica and records SUCCESS or FAILED.
+     *
+     * <p>The job range is loaded in time chunks, each purged, ingested and checkpointed in
+     * one transaction. A job with a checkpoint resumes after it.
+     *
+     * @param jobId Claimed job ID
+     * @return Completed backfill job
+     */
+    BackfillJob runClaimedJob(Long jobId);
+
+    /**
+     * Publishes a heartbeat for the jobs running on this replica.
+     *
+     * @return Number of jobs renewed
+     */
+    int renewRunningJobs();
+
+    /**
+     * Requeues RUNNING jobs without a recent heartbeat (replica crashed) to resume from
+     * their checkpoint; jobs that used up {@code loader.backfill.max-attempts} are marked FAILED.
+     *
+     * @return Number of jobs requeued or failed
+     */
+    int recoverAbandonedJobs();
+
+    /**
+     * Requeues a FAILED job. It resumes from its checkpoint, so chunks already loaded
+     * are not loaded again.
+     *
+     * @param jobId Job ID to retry
+     * @return Requeued job (PENDING)
+     */
+    BackfillJob retryBackfillJob(Long jobId);
+
     /**
      * Gets a backfill job by ID.
      *
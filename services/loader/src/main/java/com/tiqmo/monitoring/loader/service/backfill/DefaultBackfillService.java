@@ -4,39 +4,57 @@ import com.tiqmo.monitoring.loader.domain.loader.entity.*;
 import com.tiqmo.monitoring.loader.domain.loader.repo.BackfillJobRepository;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
 import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
-import com.tiqmo.monitoring.loader.domain.signals.repo.SignalsHistoryRepository;
 import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
 import com.tiqmo.monitoring.loader.exception.BusinessException;
 import com.tiqmo.monitoring.loader.infra.ReplicaNameProvider;
+import com.tiqmo.monitoring.loader.infra.config.BackfillProperties;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
 import com.tiqmo.monitoring.loader.infra.db.SourceDbManager;
+import com.tiqmo.monitoring.loader.infra.db.SourceQueryOptions;
 import com.tiqmo.monitoring.loader.service.execution.*;
+import com.tiqmo.monitoring.loader.service.scheduler.LoaderCoverageIndex;
+import com.tiqmo.monitoring.loader.service.signals.SignalsBulkWriter;
+import com.tiqmo.monitoring.loader.service.signals.SignalsPurger;
+import com.tiqmo.monitoring.loader.service.signals.SignalsRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of BackfillService.
  *
  * <p>Executes backfill jobs by:
  * <ol>
- *   <li>Creating custom TimeWindow for backfill range</li>
- *   <li>Building SQL query with time placeholders</li>
- *   <li>Executing query against source database</li>
- *   <li>Transforming results to SignalsHistory</li>
- *   <li>Purging existing data (if strategy is PURGE_AND_RELOAD)</li>
- *   <li>Ingesting data to signals_history table</li>
+ *   <li>Splitting the job range into time chunks of {@code loader.backfill.chunk-seconds}
+ *       (starting at the job's checkpoint when resuming)</li>
+ *   <li>Per chunk: building the SQL query, querying the source database and transforming
+ *       the result ({@code chunk-parallelism} chunks at a time)</li>
+ *   <li>Per chunk, in time order and in one transaction: applying the purge strategy to the
+ *       chunk range, ingesting the chunk, moving the job's checkpoint past it, adding it to
+ *       the loader's coverage index and refreshing its hourly/daily rollups (the chunk range is
+ *       dropped from the loader's hot window once committed)</li>
  * </ol>
  *
+ * <p>Jobs are claimed with {@code FOR UPDATE SKIP LOCKED} (by {@link BackfillJobRunner} or the
+ * execute endpoint) and run without a surrounding transaction. A failed job keeps its
+ * checkpoint and resumes from it when retried; a job abandoned by a crashed replica is
+ * requeued and resumes the same way.
+ *
  * @author Hassan Rawashdeh
  * @since 1.0.0
  */
@@ -47,13 +65,27 @@ public class DefaultBackfillService implements BackfillService {
 
     private final BackfillJobRepository backfillJobRepository;
     private final LoaderRepository loaderRepository;
-    private final SignalsHistoryRepository signalsHistoryRepository;
+    private final SignalsPurger signalsPurger;
+    private final SignalsBulkWriter signalsBulkWriter;
+    private final SignalsRollupService signalsRollupService;
     private final ReplicaNameProvider replicaNameProvider;
 
     // Pipeline components
     private final QueryParameterReplacer queryParameterReplacer;
     private final DataTransformer dataTransformer;
     private final SourceDbManager sourceDbManager;
+    private final ExecutionProperties executionProperties;
+    private final BackfillProperties backfillProperties;
+    private final BackfillChunkExecutor chunkExecutor;
+    private final BackfillPlanner backfillPlanner;
+    private final LoaderCoverageIndex coverageIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Jobs running on this replica (heartbeated by {@link #renewRunningJobs()}).
+     */
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
 
     /**
      * Submits a new backfill job.
@@ -125,14 +157,17 @@ public class DefaultBackfillService implements BackfillService {
                 .toTimeEpoch(toTime.getEpochSecond())
                 .purgeStrategy(purgeStrategy != null ? purgeStrategy : PurgeStrategy.PURGE_AND_RELOAD)
                 .status(BackfillJobStatus.PENDING)
+                .priority(priorityFor(requestedBy))
                 .requestedBy(requestedBy)
                 .requestedAt(Instant.now())
                 .build();
 
-            BackfillJob saved = backfillJobRepository.save(job);
+            // Coalesce with the loader's pending and running jobs
+            BackfillJob saved = backfillPlanner.submit(job);
 
-            log.info("Backfill job submitted | jobId={} | loaderCode={} | timeRange=[{}, {}] | strategy={}",
-                saved.getId(), loaderCode, fromTime, toTime, saved.getPurgeStrategy());
+            log.info("Backfill job submitted | jobId={} | loaderCode={} | timeRange=[{}, {}] | strategy={} | priority={}",
+                saved.getId(), loaderCode, saved.getFromTimeInstant(), saved.getToTimeInstant(),
+                saved.getPurgeStrategy(), saved.getPriority());
 
             return saved;
 
@@ -149,7 +184,6 @@ public class DefaultBackfillService implements BackfillService {
      * @throws BusinessException if job not found or not in PENDING status
      */
     @Override
-    @Transactional
     public BackfillJob executeBackfillJob(Long jobId) {
         MDC.put("backfillJobId", jobId.toString());
 
@@ -166,8 +200,6 @@ public class DefaultBackfillService implements BackfillService {
                     );
                 });
 
-            MDC.put("loaderCode", job.getLoaderCode());
-
             // Validate status
             if (job.getStatus() != BackfillJobStatus.PENDING) {
                 log.warn("Backfill job not in PENDING status | jobId={} | currentStatus={}",
@@ -178,33 +210,91 @@ public class DefaultBackfillService implements BackfillService {
                 );
             }
 
-            // Load loader
-            Loader loader = loaderRepository.findByLoaderCode(job.getLoaderCode())
+            // Claim the job (the background runner may have claimed it meanwhile)
+            Integer claimed = transactionTemplate.execute(status -> backfillJobRepository.markRunning(
+                List.of(jobId), replicaNameProvider.getReplicaName(), Instant.now()));
+            if (claimed == null || claimed == 0) {
+                log.warn("Backfill job already claimed | jobId={}", jobId);
+                throw new BusinessException(
+                    ErrorCode.BACKFILL_JOB_NOT_PENDING,
+                    "Backfill job " + jobId + " was claimed by another executor"
+                );
+            }
+
+            return runClaimedJob(jobId);
+
+        } finally {
+            MDC.remove("backfillJobId");
+        }
+    }
+
+    /**
+     * Claims PENDING jobs for this replica (marks them RUNNING).
+     *
+     * @param limit Max jobs to claim
+     * @return IDs of the claimed jobs
+     */
+    @Override
+    @Transactional
+    public List<Long> claimPendingJobs(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        List<Long> ids = backfillJobRepository.lockNextPendingJobIds(
+            Math.max(1, backfillProperties.getAgingSecondsPerPoint()), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        backfillJobRepository.markRunning(ids, replicaNameProvider.getReplicaName(), Instant.now());
+        log.info("Claimed {} backfill job(s): {}", ids.size(), ids);
+        return ids;
+    }
+
+    /**
+     * Runs a claimed backfill job.
+     *
+     * @param jobId Claimed job ID
+     * @return Completed backfill job
+     * @throws BusinessException if job not found
+     */
+    @Override
+    public BackfillJob runClaimedJob(Long jobId) {
+        MDC.put("backfillJobId", jobId.toString());
+
+        try {
+            BackfillJob job = backfillJobRepository.findById(jobId)
                 .orElseThrow(() -> {
-                    log.warn("Loader not found for backfill job | loaderCode={}", job.getLoaderCode());
+                    log.warn("Backfill job not found | jobId={}", jobId);
                     return new BusinessException(
-                        ErrorCode.LOADER_NOT_FOUND,
-                        "Loader with code '" + job.getLoaderCode() + "' not found"
+                        ErrorCode.BACKFILL_JOB_NOT_FOUND,
+                        "Backfill job with ID " + jobId + " not found"
                     );
                 });
 
-            log.info("Starting backfill execution | jobId={} | loaderCode={} | replica={} | timeRange=[{}, {}]",
-                jobId, loader.getLoaderCode(), replicaNameProvider.getReplicaName(),
-                job.getFromTimeInstant(), job.getToTimeInstant());
-
-            Instant startTime = Instant.now();
-
-            // Mark job as RUNNING
-            job.setStatus(BackfillJobStatus.RUNNING);
-            job.setStartTime(startTime);
-            job.setReplicaName(replicaNameProvider.getReplicaName());
-            backfillJobRepository.save(job);
+            MDC.put("loaderCode", job.getLoaderCode());
 
-            log.debug("Backfill job marked as RUNNING");
+            Instant startTime = job.getStartTime() != null ? job.getStartTime() : Instant.now();
+            runningJobs.add(jobId);
 
             try {
-                // Execute backfill
-                BackfillResult result = executeBackfillReal(loader, job);
+                // Load loader
+                Loader loader = loaderRepository.findByLoaderCode(job.getLoaderCode())
+                    .orElseThrow(() -> {
+                        log.warn("Loader not found for backfill job | loaderCode={}", job.getLoaderCode());
+                        return new BusinessException(
+                            ErrorCode.LOADER_NOT_FOUND,
+                            "Loader with code '" + job.getLoaderCode() + "' not found"
+                        );
+                    });
+
+                log.info("Starting backfill execution | jobId={} | loaderCode={} | replica={} | timeRange=[{}, {}] | priority={} | attempt={}",
+                    jobId, loader.getLoaderCode(), replicaNameProvider.getReplicaName(),
+                    job.getFromTimeInstant(), job.getToTimeInstant(), job.getPriority(), job.getAttempts());
+
+                // Execute backfill (job counters and checkpoint advance with every committed chunk)
+                executeBackfillReal(loader, job);
 
                 // Update job with success
                 Instant endTime = Instant.now();
@@ -212,24 +302,22 @@ public class DefaultBackfillService implements BackfillService {
 
                 job.setStatus(BackfillJobStatus.SUCCESS);
                 job.setEndTime(endTime);
+                job.setHeartbeatAt(endTime);
                 job.setDurationSeconds(durationSeconds);
-                job.setRecordsPurged(result.recordsPurged);
-                job.setRecordsLoaded(result.recordsLoaded);
-                job.setRecordsIngested(result.recordsIngested);
 
-                backfillJobRepository.save(job);
+                BackfillJob saved = backfillJobRepository.save(job);
 
-                log.info("Backfill job completed | jobId={} | loaderCode={} | duration={}s | purged={} | loaded={} | ingested={}",
+                log.info("Backfill job completed | jobId={} | loaderCode={} | duration={}s | purged={} | loaded={} | ingested={} | chunks={}",
                     jobId, loader.getLoaderCode(), durationSeconds,
-                    result.recordsPurged, result.recordsLoaded, result.recordsIngested);
+                    job.getRecordsPurged(), job.getRecordsLoaded(), job.getRecordsIngested(), job.getChunksCompleted());
 
-                return job;
+                return saved;
 
             } catch (Exception e) {
                 log.error("Backfill job execution failed | jobId={} | loaderCode={}",
-                    jobId, loader.getLoaderCode(), e);
+                    jobId, job.getLoaderCode(), e);
 
-                // Update job with failure
+                // Update job with failure (checkpoint of committed chunks is kept for a retry)
                 Instant endTime = Instant.now();
                 long durationSeconds = Duration.between(startTime, endTime).getSeconds();
 
@@ -239,12 +327,15 @@ public class DefaultBackfillService implements BackfillService {
                 job.setErrorMessage(e.getMessage());
                 job.setStackTrace(getStackTraceAsString(e));
 
-                backfillJobRepository.save(job);
+                BackfillJob saved = backfillJobRepository.save(job);
 
-                log.warn("Backfill job marked as FAILED | jobId={} | duration={}s",
-                    jobId, durationSeconds);
+                log.warn("Backfill job marked as FAILED | jobId={} | duration={}s | checkpoint={} | chunks={}/{}",
+                    jobId, durationSeconds, job.getCheckpointInstant(), job.getChunksCompleted(), job.getChunksTotal());
 
-                return job;
+                return saved;
+
+            } finally {
+                runningJobs.remove(jobId);
             }
 
         } finally {
@@ -253,6 +344,96 @@ public class DefaultBackfillService implements BackfillService {
         }
     }
 
+    /**
+     * Publishes a heartbeat for the jobs running on this replica.
+     *
+     * @return Number of jobs renewed
+     */
+    @Override
+    public int renewRunningJobs() {
+        if (runningJobs.isEmpty()) {
+            return 0;
+        }
+        return backfillJobRepository.renewHeartbeats(Set.copyOf(runningJobs), Instant.now());
+    }
+
+    /**
+     * Requeues RUNNING jobs without a recent heartbeat (they resume from their checkpoint),
+     * or marks them FAILED once they used up their attempts.
+     *
+     * @return Number of jobs requeued or failed
+     */
+    @Override
+    @Transactional
+    public int recoverAbandonedJobs() {
+        Instant now = Instant.now();
+        Instant staleBefore = now.minusSeconds(backfillProperties.getAbandonedAfterSeconds());
+        int maxAttempts = Math.max(1, backfillProperties.getMaxAttempts());
+
+        int requeued = backfillJobRepository.requeueAbandonedJobs(staleBefore, maxAttempts, now);
+        int failed = backfillJobRepository.failAbandonedJobs(staleBefore, maxAttempts, now,
+            "Abandoned: no heartbeat from the executing replica for "
+                + backfillProperties.getAbandonedAfterSeconds() + "s (attempts exhausted: " + maxAttempts + ")");
+        if (requeued > 0 || failed > 0) {
+            log.warn("Recovered abandoned backfill jobs | requeued={} | failed={}", requeued, failed);
+        }
+        return requeued + failed;
+    }
+
+    /**
+     * Requeues a failed backfill job to resume from its checkpoint.
+     *
+     * @param jobId Job ID to retry
+     * @return Requeued job
+     * @throws BusinessException if job not found or not in FAILED status
+     */
+    @Override
+    @Transactional
+    public BackfillJob retryBackfillJob(Long jobId) {
+        MDC.put("backfillJobId", jobId.toString());
+
+        try {
+            BackfillJob job = backfillJobRepository.findById(jobId)
+                .orElseThrow(() -> {
+                    log.warn("Backfill job not found | jobId={}", jobId);
+                    return new BusinessException(
+                        ErrorCode.BACKFILL_JOB_NOT_FOUND,
+                        "Backfill job with ID " + jobId + " not found"
+                    );
+                });
+
+            MDC.put("loaderCode", job.getLoaderCode());
+
+            if (job.getStatus() != BackfillJobStatus.FAILED) {
+                log.warn("Cannot retry: job not in FAILED status | jobId={} | currentStatus={}",
+                    jobId, job.getStatus());
+                throw new BusinessException(
+                    ErrorCode.BACKFILL_JOB_NOT_PENDING,
+                    "Only FAILED jobs can be retried. Current status: " + job.getStatus()
+                );
+            }
+
+            job.setStatus(BackfillJobStatus.PENDING);
+            job.setEndTime(null);
+            job.setErrorMessage(null);
+            job.setStackTrace(null);
+            job.setReplicaName(null);
+            job.setHeartbeatAt(null);
+
+            BackfillJob saved = backfillJobRepository.save(job);
+
+            log.info("Backfill job requeued | jobId={} | loaderCode={} | resumeFrom={}",
+                jobId, job.getLoaderCode(),
+                job.getCheckpointInstant() != null ? job.getCheckpointInstant() : job.getFromTimeInstant());
+
+            return saved;
+
+        } finally {
+            MDC.remove("backfillJobId");
+            MDC.remove("loaderCode");
+        }
+    }
+
     /**
      * Gets a backfill job by ID.
      *
@@ -381,88 +562,132 @@ public class DefaultBackfillService implements BackfillService {
     }
 
     /**
-     * Executes backfill for a specific time range.
+     * Executes backfill for the job range, chunk by chunk.
      *
      * <p>Pipeline:
      * <ol>
-     *   <li>Create TimeWindow from job range</li>
-     *   <li>Build executable SQL</li>
-     *   <li>Execute query against source database</li>
-     *   <li>Transform results</li>
-     *   <li>Apply purge strategy</li>
-     *   <li>Ingest data</li>
+     *   <li>Split the remaining range (from the checkpoint, if any) into aligned time chunks</li>
+     *   <li>Fetch chunks ahead in parallel: build executable SQL, query the source database,
+     *       transform the result</li>
+     *   <li>Commit chunks in order, each in one transaction: apply purge strategy to the chunk
+     *       range, ingest, checkpoint the job, refresh the chunk's hourly/daily rollups</li>
      * </ol>
      */
-    private BackfillResult executeBackfillReal(Loader loader, BackfillJob job) throws Exception {
+    private void executeBackfillReal(Loader loader, BackfillJob job) throws Exception {
         String loaderCode = loader.getLoaderCode();
         Instant fromTime = job.getFromTimeInstant();
         Instant toTime = job.getToTimeInstant();
+        Instant checkpoint = job.getCheckpointInstant();
+        Instant resumeFrom = checkpoint != null && checkpoint.isAfter(fromTime) ? checkpoint : fromTime;
+
+        // Step 1: Split the remaining range into chunks
+        Integer aggregationPeriodSeconds = loader.getAggregationPeriodSeconds();
+        List<TimeWindow> chunks = BackfillChunkExecutor.plan(resumeFrom, toTime,
+            backfillProperties.getChunkSeconds(),
+            aggregationPeriodSeconds != null && aggregationPeriodSeconds > 0 ? aggregationPeriodSeconds : 1);
+
+        int chunksBefore = resumeFrom.equals(fromTime) ? 0 : nullToZero(job.getChunksCompleted());
+        if (chunksBefore == 0) {
+            // Fresh start: counters describe this run only
+            job.setRecordsPurged(0L);
+            job.setRecordsLoaded(0L);
+            job.setRecordsIngested(0L);
+        }
+        job.setChunksCompleted(chunksBefore);
+        job.setChunksTotal(chunksBefore + chunks.size());
+
+        log.info("Executing backfill for {} (range: {} to {}, strategy: {}, {} chunk(s){})",
+            loaderCode, fromTime, toTime, job.getPurgeStrategy(), chunks.size(),
+            resumeFrom.equals(fromTime) ? "" : ", resuming from checkpoint " + resumeFrom);
+
+        // Steps 2-3: Fetch ahead in parallel, commit in order
+        chunkExecutor.execute(
+            chunks,
+            backfillProperties.getChunkParallelism(),
+            chunk -> fetchChunk(loader, chunk),
+            (chunk, data) -> commitChunk(job, chunk, data)
+        );
+    }
 
-        log.info("Executing backfill for {} (range: {} to {}, strategy: {})",
-            loaderCode, fromTime, toTime, job.getPurgeStrategy());
-
-        // Step 1: Create TimeWindow from backfill range
-        TimeWindow window = new TimeWindow(fromTime, toTime);
+    /**
+     * Queries and transforms one chunk (runs on the chunk pool, no transaction).
+     */
+    private ChunkData fetchChunk(Loader loader, TimeWindow chunk) {
+        String loaderCode = loader.getLoaderCode();
 
-        // Step 2: Build executable SQL (with timezone handling)
+        // Build executable SQL (with timezone handling)
         String loaderSql = loader.getLoaderSql(); // Auto-decrypted
         Integer timezoneOffset = loader.getSourceTimezoneOffsetHours();
-        String executableSql = queryParameterReplacer.replacePlaceholders(loaderSql, window, timezoneOffset);
+        String executableSql = queryParameterReplacer.replacePlaceholders(loaderSql, chunk, timezoneOffset);
 
-        log.info("Built executable SQL for backfill (timezone offset: {} hours): {}",
-            timezoneOffset != null ? timezoneOffset : 0, executableSql);
+        log.debug("Built executable SQL for backfill chunk [{}, {}) (timezone offset: {} hours): {}",
+            chunk.fromTime(), chunk.toTime(), timezoneOffset != null ? timezoneOffset : 0, executableSql);
 
-        // Step 3: Execute query against source database
+        // Query source database (rows read straight into columnar batches) and transform
         String sourceDbCode = loader.getSourceDatabase().getDbCode();
-        List<Map<String, Object>> rows = sourceDbManager.runQuery(sourceDbCode, executableSql);
-
-        log.info("Query executed for backfill: {} rows returned from source DB '{}'",
-            rows.size(), sourceDbCode);
-
-        // Build LoaderQueryResult
-        LoaderQueryResult queryResult = new LoaderQueryResult(
-            window.fromTime(),
-            window.toTime(),
-            rows,
-            rows.size()
+        List<SignalsHistory> signals = new ArrayList<>();
+        long rowsRead = sourceDbManager.streamChunks(
+            sourceDbCode,
+            executableSql,
+            SourceQueryOptions.forLoader(loader),
+            executionProperties.getStreamChunkSize(),
+            ColumnResolutionPlan.batchReaders(executionProperties.getStreamChunkSize()),
+            batch -> signals.addAll(dataTransformer.transformBatch(loaderCode, batch, timezoneOffset))
         );
 
-        // Step 4: Transform results (with timezone normalization)
-        List<SignalsHistory> signals = dataTransformer.transform(loaderCode, queryResult, timezoneOffset);
-
-        log.info("Transformed {} rows for backfill: {} SignalsHistory entities created",
-            rows.size(), signals.size());
-
-        // Step 4.5: Set load_history_id to NULL for backfill (tracked separately via backfill_job)
+        // load_history_id stays NULL for backfill (tracked separately via backfill_job)
         signals.forEach(signal -> signal.setLoadHistoryId(null));
-        log.debug("Set load_history_id=NULL for {} backfill signals (not orphan-tracked)", signals.size());
 
-        // Step 5: Apply purge strategy
-        long recordsPurged = applyPurgeStrategy(job.getPurgeStrategy(), loaderCode, fromTime, toTime);
+        log.debug("Fetched backfill chunk [{}, {}) for {}: {} rows -> {} signals",
+            chunk.fromTime(), chunk.toTime(), loaderCode, rowsRead, signals.size());
 
-        log.info("Purge strategy {} applied: {} records purged",
-            job.getPurgeStrategy(), recordsPurged);
-
-        // Step 6: Ingest to signals_history table
-        List<SignalsHistory> ingested = signalsHistoryRepository.saveAll(signals);
-
-        log.info("Ingested {} signals for backfill to signals_history table", ingested.size());
+        return new ChunkData(rowsRead, signals);
+    }
 
-        // Return result
-        return new BackfillResult(
-            recordsPurged,
-            (long) rows.size(),
-            (long) ingested.size()
-        );
+    /**
+     * Purges, ingests, checkpoints and rolls up one chunk in a single transaction.
+     */
+    private void commitChunk(BackfillJob job, TimeWindow chunk, ChunkData data) {
+        String loaderCode = job.getLoaderCode();
+
+        ChunkCommit commit = transactionTemplate.execute(status -> {
+            long purged = applyPurgeStrategy(job.getPurgeStrategy(), loaderCode, chunk.fromTime(), chunk.toTime());
+            long ingested = signalsBulkWriter.write(data.signals(),
+                job.getPurgeStrategy() == PurgeStrategy.SKIP_DUPLICATES);
+
+            ChunkCommit next = new ChunkCommit(
+                chunk.toTime().getEpochSecond(),
+                nullToZero(job.getChunksCompleted()) + 1,
+                nullToZero(job.getRecordsPurged()) + purged,
+                nullToZero(job.getRecordsLoaded()) + data.rowsRead(),
+                nullToZero(job.getRecordsIngested()) + ingested);
+            backfillJobRepository.updateCheckpoint(job.getId(), next.checkpointEpoch(), next.chunksCompleted(),
+                next.recordsPurged(), next.recordsLoaded(), next.recordsIngested(), Instant.now());
+            coverageIndex.extend(loaderCode, chunk.fromTime(), chunk.toTime());
+            signalsRollupService.refresh(loaderCode, chunk.fromTime(), chunk.toTime());
+            eventPublisher.publishEvent(new SignalsWrittenEvent(loaderCode, chunk.fromTime(), chunk.toTime()));
+            return next;
+        });
+
+        // Committed: mirror the checkpoint on the job
+        job.setCheckpointEpoch(commit.checkpointEpoch());
+        job.setChunksCompleted(commit.chunksCompleted());
+        job.setRecordsPurged(commit.recordsPurged());
+        job.setRecordsLoaded(commit.recordsLoaded());
+        job.setRecordsIngested(commit.recordsIngested());
+
+        log.info("Backfill chunk committed | jobId={} | chunk=[{}, {}) | chunks={}/{} | rows={} | ingested={}",
+            job.getId(), chunk.fromTime(), chunk.toTime(), commit.chunksCompleted(), job.getChunksTotal(),
+            data.rowsRead(), commit.recordsIngested());
     }
 
     /**
-     * Applies purge strategy for backfill time range.
+     * Applies purge strategy for a backfill chunk {@code [fromTime, toTime)}.
      *
      * @param strategy   Purge strategy
      * @param loaderCode Loader code
-     * @param fromTime   Start of time range
-     * @param toTime     End of time range
+     * @param fromTime   Start of time range (inclusive)
+     * @param toTime     End of time range (exclusive)
      * @return Number of records purged
      * @throws BusinessException if FAIL_ON_DUPLICATE and data exists
      */
@@ -476,30 +701,27 @@ public class DefaultBackfillService implements BackfillService {
         switch (strategy) {
             case PURGE_AND_RELOAD:
                 // Delete existing data in range
-                long deleted = signalsHistoryRepository.deleteByLoaderCodeAndLoadTimeStampBetween(
-                    loaderCode, fromTime, toTime);
+                long deleted = signalsPurger.purge(loaderCode, fromTime, toTime);
                 log.info("PURGE_AND_RELOAD applied | loaderCode={} | deleted={} | timeRange=[{}, {}]",
                     loaderCode, deleted, fromTime, toTime);
                 return deleted;
 
             case FAIL_ON_DUPLICATE:
-                // Check if data exists
-                List<SignalsHistory> existing = signalsHistoryRepository
-                    .findByLoaderCodeAndLoadTimeStampBetween(loaderCode, fromTime, toTime);
-                if (!existing.isEmpty()) {
-                    log.warn("FAIL_ON_DUPLICATE: duplicate data found | loaderCode={} | existingRecords={} | timeRange=[{}, {}]",
-                        loaderCode, existing.size(), fromTime, toTime);
+                // Check if data exists (stops at the first row)
+                if (signalsPurger.hasSignals(loaderCode, fromTime, toTime)) {
+                    log.warn("FAIL_ON_DUPLICATE: duplicate data found | loaderCode={} | timeRange=[{}, {})",
+                        loaderCode, fromTime, toTime);
                     throw new BusinessException(
                         ErrorCode.BACKFILL_DUPLICATE_DATA,
-                        String.format("Found %d existing records for %s in range [%s, %s]",
-                            existing.size(), loaderCode, fromTime, toTime)
+                        String.format("Found existing records for %s in range [%s, %s)",
+                            loaderCode, fromTime, toTime)
                     );
                 }
                 log.debug("FAIL_ON_DUPLICATE: no duplicates found");
                 return 0;
 
             case SKIP_DUPLICATES:
-                // Do nothing - duplicates will be skipped at insert (or fail with unique constraint)
+                // Do nothing - duplicates are skipped at insert (ON CONFLICT DO NOTHING)
                 log.debug("SKIP_DUPLICATES: will skip any duplicate records during insert");
                 return 0;
 
@@ -524,8 +746,36 @@ public class DefaultBackfillService implements BackfillService {
     }
 
     /**
-     * Result of backfill execution (internal DTO).
+     * Priority of a job by requester: auto-recovery, other system jobs (gap scanner) or users.
+     */
+    int priorityFor(String requestedBy) {
+        if (requestedBy == null || !requestedBy.startsWith("SYSTEM_")) {
+            return backfillProperties.getUserPriority();
+        }
+        if (requestedBy.startsWith("SYSTEM_AUTO_RECOVERY")) {
+            return backfillProperties.getRecoveryPriority();
+        }
+        return backfillProperties.getSystemPriority();
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static int nullToZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Fetched chunk: source rows read and transformed signals (internal DTO).
+     */
+    private record ChunkData(long rowsRead, List<SignalsHistory> signals) {
+    }
+
+    /**
+     * Job counters after a committed chunk (internal DTO).
      */
-    private record BackfillResult(long recordsPurged, long recordsLoaded, long recordsIngested) {
+    private record ChunkCommit(long checkpointEpoch, int chunksCompleted,
+                               long recordsPurged, long recordsLoaded, long recordsIngested) {
     }
 }
@@ -0,0 +1,247 @@
+package com.tiqmo.monitoring.loader.service.execution;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
+import com.tiqmo.monitoring.loader.infra.db.SourceConcurrencyLimiter;
+import com.tiqmo.monitoring.loader.service.locking.LoaderLock;
+import com.tiqmo.monitoring.loader.service.locking.LockManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Catch-up mode for loaders that fell far behind.
+ *
+ * <p>A loader normally advances by at most {@code maxQueryPeriodSeconds} per execution, so days
+ * of lag (after a pause, a failure or a timestamp adjustment) take thousands of sequential runs.
+ * When the lag exceeds {@code catchUpLagWindows} query periods the execution instead:
+ * <ol>
+ *   <li>Partitions the lagging range into sub-windows of up to {@code maxQueryPeriodSeconds},
+ *       with boundaries aligned to {@code aggregationPeriodSeconds} ({@link #plan})</li>
+ *   <li>Claims extra lock slots of the loader (its own lock is the first one), up to
+ *       {@code maxParallelExecutions} and the source's current concurrency limit</li>
+ *   <li>Runs the sub-windows in parallel, in order, one per held slot; a failed sub-window
+ *       stops the remaining ones from starting ({@link #execute})</li>
+ * </ol>
+ * The caller advances {@code lastLoadTimestamp} across the contiguous completed prefix only.
+ *
+ * <p>The extra slots keep other replicas from running the loader meanwhile and count towards
+ * the global lock limit. Sub-windows run on a dedicated pool ({@code catchUpThreadPoolSize})
+ * so they never compete with scheduler dispatch for the loader thread pool.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class CatchUpCoordinator {
+
+  private final ExecutionProperties executionProperties;
+  private final LockManager lockManager;
+  private final SourceConcurrencyLimiter concurrencyLimiter;
+  private final ExecutorService pool;
+
+  public CatchUpCoordinator(ExecutionProperties executionProperties,
+                            LockManager lockManager,
+                            SourceConcurrencyLimiter concurrencyLimiter) {
+    this.executionProperties = executionProperties;
+    this.lockManager = lockManager;
+    this.concurrencyLimiter = concurrencyLimiter;
+
+    ThreadFactory threadFactory = new ThreadFactory() {
+      private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "loader-catchup-" + threadNumber.getAndIncrement());
+        thread.setDaemon(false);
+        return thread;
+      }
+    };
+    this.pool = Executors.newFixedThreadPool(Math.max(1, executionProperties.getCatchUpThreadPoolSize()), threadFactory);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * Plans the catch-up sub-windows of a loader.
+   *
+   * <p>The first sub-window starts at {@code lastLoadTimestamp}; every sub-window ends on a
+   * multiple of the step ({@code maxQueryPeriodSeconds} rounded down to whole aggregation
+   * periods), and the last one ends no later than the last complete aggregation period
+   * before {@code now}. The remainder is left to regular executions.
+   *
+   * @param loader the loader
+   * @param now current time
+   * @return sub-windows in time order; empty if the loader is not lagging enough
+   *         (or catch-up is disabled)
+   */
+  public List<TimeWindow> plan(Loader loader, Instant now) {
+    Instant from = loader.getLastLoadTimestamp();
+    Integer maxQueryPeriodSeconds = loader.getMaxQueryPeriodSeconds();
+    if (!executionProperties.isCatchUpEnabled()
+        || from == null
+        || from.isAfter(now)
+        || maxQueryPeriodSeconds == null
+        || maxQueryPeriodSeconds <= 0) {
+      return List.of();
+    }
+
+    long lagSeconds = Duration.between(from, now).getSeconds();
+    if (lagSeconds < (long) maxQueryPeriodSeconds * executionProperties.getCatchUpLagWindows()) {
+      return List.of();
+    }
+
+    Integer aggregationPeriodSeconds = loader.getAggregationPeriodSeconds();
+    long alignment = aggregationPeriodSeconds != null && aggregationPeriodSeconds > 0 ? aggregationPeriodSeconds : 1;
+    long step = maxQueryPeriodSeconds >= alignment ? maxQueryPeriodSeconds / alignment * alignment : alignment;
+    long endEpoch = Math.floorDiv(now.getEpochSecond(), alignment) * alignment;
+
+    List<TimeWindow> windows = new ArrayList<>();
+    Instant start = from;
+    long boundary = Math.floorDiv(from.getEpochSecond(), step) * step + step;
+    while (boundary <= endEpoch && windows.size() < executionProperties.getCatchUpMaxWindows()) {
+      Instant end = Instant.ofEpochSecond(boundary);
+      windows.add(new TimeWindow(start, end));
+      start = end;
+      boundary += step;
+    }
+
+    // A single window is a regular execution
+    return windows.size() > 1 ? windows : List.of();
+  }
+
+  /**
+   * Runs the sub-windows of a catch-up execution in parallel.
+   *
+   * <p>Must be called by the holder of one of the loader's locks. Sub-windows are started in
+   * order; once one fails (per {@code succeeded}) or the calling thread is interrupted, no
+   * further sub-window is started. Runner exceptions count as failures.
+   *
+   * @param loader the loader
+   * @param windows sub-windows from {@link #plan}
+   * @param runner loads one sub-window
+   * @param succeeded whether a runner result is a success
+   * @return results aligned with {@code windows}; null for sub-windows that were not run
+   *         (or whose runner threw)
+   */
+  public <R> List<R> execute(Loader loader, List<TimeWindow> windows,
+                             Function<TimeWindow, R> runner, Predicate<R> succeeded) {
+    String loaderCode = loader.getLoaderCode();
+    int parallelism = parallelism(loader, windows.size());
+
+    // Our own lock is the first slot; claim the others
+    List<LoaderLock> extraLocks = new ArrayList<>();
+    while (extraLocks.size() < parallelism - 1) {
+      Optional<LoaderLock> lock = lockManager.tryAcquireLock(loader);
+      if (lock.isEmpty()) {
+        break;
+      }
+      extraLocks.add(lock.get());
+    }
+    int workers = 1 + extraLocks.size();
+
+    log.info("Catch-up for {}: {} sub-window(s) from {} to {} with {} parallel worker(s)",
+        loaderCode, windows.size(), windows.get(0).fromTime(), windows.get(windows.size() - 1).toTime(), workers);
+
+    AtomicInteger nextWindow = new AtomicInteger();
+    AtomicBoolean stop = new AtomicBoolean();
+    AtomicReferenceArray<R> results = new AtomicReferenceArray<>(windows.size());
+
+    Runnable worker = () -> {
+      int index;
+      while (!stop.get() && !Thread.currentThread().isInterrupted()
+          && (index = nextWindow.getAndIncrement()) < windows.size()) {
+        TimeWindow window = windows.get(index);
+        try {
+          R result = runner.apply(window);
+          results.set(index, result);
+          if (!succeeded.test(result)) {
+            stop.set(true);
+          }
+        } catch (RuntimeException e) {
+          log.error("Catch-up sub-window {} to {} of {} failed", window.fromTime(), window.toTime(), loaderCode, e);
+          stop.set(true);
+        }
+      }
+    };
+
+    List<Future<?>> futures = new ArrayList<>(workers);
+    try {
+      for (int i = 0; i < workers; i++) {
+        Future<?> future = pool.submit(worker);
+        futures.add(future);
+        if (i > 0) {
+          // Extra slots are renewed by the lease heartbeat and cancelled with their worker
+          lockManager.registerExecution(extraLocks.get(i - 1).getLockId(), future);
+        }
+      }
+
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          log.error("Catch-up worker of {} failed", loaderCode, e.getCause());
+          stop.set(true);
+        } catch (CancellationException e) {
+          stop.set(true); // Lease of an extra slot lost
+        }
+      }
+    } catch (InterruptedException e) {
+      // Execution cancelled (timeout or lost lease): stop the sub-windows in flight
+      stop.set(true);
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+    } finally {
+      for (LoaderLock lock : extraLocks) {
+        try {
+          lockManager.unregisterExecution(lock.getLockId());
+          lockManager.releaseLock(lock);
+        } catch (Exception e) {
+          log.error("Failed to release catch-up lock {} of {}", lock.getLockId(), loaderCode, e);
+        }
+      }
+    }
+
+    List<R> ordered = new ArrayList<>(windows.size());
+    for (int i = 0; i < windows.size(); i++) {
+      ordered.add(results.get(i));
+    }
+    return ordered;
+  }
+
+  /**
+   * Workers for a catch-up execution: bounded by the loader's parallel executions, the
+   * source's current concurrency limit, the pool size and the number of sub-windows.
+   */
+  int parallelism(Loader loader, int windowCount) {
+    Integer configuredMaxParallel = loader.getMaxParallelExecutions();
+    int maxParallel = configuredMaxParallel != null && configuredMaxParallel > 0 ? configuredMaxParallel : 1;
+    int sourceLimit = loader.getSourceDatabase() != null
+        ? concurrencyLimiter.currentLimit(loader.getSourceDatabase().getDbCode())
+        : Integer.MAX_VALUE;
+    int parallelism = Math.min(Math.min(maxParallel, sourceLimit),
+        Math.min(windowCount, executionProperties.getCatchUpThreadPoolSize()));
+    return Math.max(1, parallelism);
+  }
+}
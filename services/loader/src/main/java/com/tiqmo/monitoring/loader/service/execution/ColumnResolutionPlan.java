@@ -0,0 +1,551 @@
+package com.tiqmo.monitoring.loader.service.execution;
+
+import com.tiqmo.monitoring.loader.service.execution.DataTransformer.TransformationException;
+import com.tiqmo.monitoring.loader.infra.db.SourceDbManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Positional mapping from source result columns to {@link ColumnarSignalBatch} columns.
+ *
+ * <p>Column names are resolved once per query (case-insensitive, first matching
+ * name variation wins); every row is then read by column index with a reader chosen
+ * from the column's JDBC type, so no per-row name matching or row map is needed.
+ * Integer and floating point metrics are read with primitive getters into the batch
+ * without boxing.
+ *
+ * <p><b>Column Name Variations:</b>
+ * <ul>
+ *   <li>timestamp (required): timestamp, load_time_stamp, ts, time</li>
+ *   <li>seg1..seg10: segN, segmentN, segment_N</li>
+ *   <li>rec_count: rec_count, record_count, count, cnt</li>
+ *   <li>max_val / min_val / avg_val / sum_val: max_val, max, maximum / min_val, min, minimum /
+ *       avg_val, avg, average / sum_val, sum, total</li>
+ * </ul>
+ *
+ * <p><b>Readers by JDBC type:</b>
+ * <ul>
+ *   <li>Integer types: {@code getLong} (timestamps as epoch seconds/millis, auto-detected)</li>
+ *   <li>Floating point and decimal types: {@code getDouble} for metric fields</li>
+ *   <li>TIMESTAMP / DATE: {@code getTimestamp}; TIMESTAMP WITH TIME ZONE: {@code OffsetDateTime}</li>
+ *   <li>Character types: {@code getString}</li>
+ *   <li>Anything else: {@code getObject} with the same conversions as map rows</li>
+ * </ul>
+ *
+ * <p>A plan is immutable and may be shared; it is only valid for results with the
+ * column layout it was compiled from.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+public final class ColumnResolutionPlan {
+
+  // Column name variations (case-insensitive matching)
+  static final String[] TIMESTAMP_COLUMNS = {"timestamp", "load_time_stamp", "ts", "time"};
+  static final String[][] SEGMENT_COLUMNS = {
+      {"seg1", "segment1", "segment_1"},
+      {"seg2", "segment2", "segment_2"},
+      {"seg3", "segment3", "segment_3"},
+      {"seg4", "segment4", "segment_4"},
+      {"seg5", "segment5", "segment_5"},
+      {"seg6", "segment6", "segment_6"},
+      {"seg7", "segment7", "segment_7"},
+      {"seg8", "segment8", "segment_8"},
+      {"seg9", "segment9", "segment_9"},
+      {"seg10", "segment10", "segment_10"}
+  };
+  static final String[] REC_COUNT_COLUMNS = {"rec_count", "record_count", "count", "cnt"};
+  static final String[] MAX_VAL_COLUMNS = {"max_val", "max", "maximum"};
+  static final String[] MIN_VAL_COLUMNS = {"min_val", "min", "minimum"};
+  static final String[] AVG_VAL_COLUMNS = {"avg_val", "avg", "average"};
+  static final String[] SUM_VAL_COLUMNS = {"sum_val", "sum", "total"};
+
+  /**
+   * Epoch values above year 3000 in seconds are treated as milliseconds.
+   */
+  private static final long EPOCH_MILLIS_THRESHOLD = 94608000000L;
+
+  private final String[] labels;
+  private final Column<Instant> timestamp;
+  private final Column<String>[] segments;
+  private final Column<Long> recCount;
+  private final Column<Double>[] metrics;
+
+  @SuppressWarnings("unchecked")
+  private ColumnResolutionPlan(String[] labels, int[] sqlTypes) {
+    this.labels = labels;
+    this.timestamp = column(labels, sqlTypes, TIMESTAMP_COLUMNS, ColumnResolutionPlan::instantReader,
+        ColumnResolutionPlan::toInstant);
+    this.segments = new Column[SEGMENT_COLUMNS.length];
+    for (int i = 0; i < SEGMENT_COLUMNS.length; i++) {
+      this.segments[i] = column(labels, sqlTypes, SEGMENT_COLUMNS[i], ColumnResolutionPlan::stringReader,
+          ColumnResolutionPlan::toStringValue);
+    }
+    this.recCount = column(labels, sqlTypes, REC_COUNT_COLUMNS, ColumnResolutionPlan::longReader,
+        ColumnResolutionPlan::toLong, ColumnResolutionPlan::isIntegerType);
+    this.metrics = new Column[4];
+    this.metrics[ColumnarSignalBatch.MAX_VAL] = column(labels, sqlTypes, MAX_VAL_COLUMNS,
+        ColumnResolutionPlan::doubleReader, ColumnResolutionPlan::toDouble,
+        ColumnResolutionPlan::isFloatingOrIntegerType);
+    this.metrics[ColumnarSignalBatch.MIN_VAL] = column(labels, sqlTypes, MIN_VAL_COLUMNS,
+        ColumnResolutionPlan::doubleReader, ColumnResolutionPlan::toDouble,
+        ColumnResolutionPlan::isFloatingOrIntegerType);
+    this.metrics[ColumnarSignalBatch.AVG_VAL] = column(labels, sqlTypes, AVG_VAL_COLUMNS,
+        ColumnResolutionPlan::doubleReader, ColumnResolutionPlan::toDouble,
+        ColumnResolutionPlan::isFloatingOrIntegerType);
+    this.metrics[ColumnarSignalBatch.SUM_VAL] = column(labels, sqlTypes, SUM_VAL_COLUMNS,
+        ColumnResolutionPlan::doubleReader, ColumnResolutionPlan::toDouble,
+        ColumnResolutionPlan::isFloatingOrIntegerType);
+  }
+
+  /**
+   * Compiles a plan from result set metadata (column labels and JDBC types).
+   *
+   * @param metaData metadata of the result set the plan will read
+   * @return the compiled plan
+   * @throws SQLException if metadata cannot be read
+   */
+  public static ColumnResolutionPlan compile(ResultSetMetaData metaData) throws SQLException {
+    int cols = metaData.getColumnCount();
+    String[] labels = new String[cols];
+    int[] sqlTypes = new int[cols];
+    for (int i = 1; i <= cols; i++) {
+      labels[i - 1] = metaData.getColumnLabel(i);
+      sqlTypes[i - 1] = metaData.getColumnType(i);
+    }
+    return new ColumnResolutionPlan(labels, sqlTypes);
+  }
+
+  /**
+   * Compiles a plan for map rows with the given keys (values read with {@code getObject} semantics).
+   *
+   * @param columnLabels the row keys, in column order
+   * @return the compiled plan
+   */
+  public static ColumnResolutionPlan compile(String... columnLabels) {
+    int[] sqlTypes = new int[columnLabels.length];
+    Arrays.fill(sqlTypes, Types.JAVA_OBJECT);
+    return new ColumnResolutionPlan(columnLabels.clone(), sqlTypes);
+  }
+
+  /**
+   * Returns true if this plan was compiled for exactly the keys of {@code row}.
+   */
+  public boolean matches(Map<String, Object> row) {
+    if (row.size() != labels.length) {
+      return false;
+    }
+    for (String label : labels) {
+      if (!row.containsKey(label)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the current row of a result set with the layout this plan was compiled from
+   * and appends it to {@code batch}.
+   *
+   * @param rs result set positioned on a row
+   * @param rowNum row index (for error messages)
+   * @param batch batch under construction
+   * @throws SQLException if a column cannot be read
+   * @throws TransformationException if the timestamp is missing or invalid
+   */
+  public void readInto(ResultSet rs, long rowNum, ColumnarSignalBatch.Builder batch) throws SQLException {
+    batch.startRow(requireTimestamp(timestamp.read(rs, rowNum), rowNum));
+
+    for (int s = 0; s < segments.length; s++) {
+      batch.segment(s, segments[s].read(rs, rowNum));
+    }
+
+    if (recCount.primitive()) {
+      long value = rs.getLong(recCount.index());
+      if (!rs.wasNull()) {
+        batch.recCount(value);
+      }
+    } else {
+      Long value = recCount.read(rs, rowNum);
+      if (value != null) {
+        batch.recCount(value);
+      }
+    }
+
+    for (int m = 0; m < metrics.length; m++) {
+      Column<Double> metric = metrics[m];
+      if (metric.primitive()) {
+        double value = rs.getDouble(metric.index());
+        if (!rs.wasNull()) {
+          batch.metric(m, value);
+        }
+      } else {
+        Double value = metric.read(rs, rowNum);
+        if (value != null) {
+          batch.metric(m, value);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads a map row whose keys {@link #matches match} this plan and appends it to {@code batch}.
+   *
+   * @param row the row data
+   * @param rowNum row index (for error messages)
+   * @param batch batch under construction
+   * @throws TransformationException if the timestamp is missing or invalid
+   */
+  public void readInto(Map<String, Object> row, long rowNum, ColumnarSignalBatch.Builder batch) {
+    batch.startRow(requireTimestamp(timestamp.get(row, rowNum), rowNum));
+
+    for (int s = 0; s < segments.length; s++) {
+      batch.segment(s, segments[s].get(row, rowNum));
+    }
+
+    Long count = recCount.get(row, rowNum);
+    if (count != null) {
+      batch.recCount(count);
+    }
+
+    for (int m = 0; m < metrics.length; m++) {
+      Double value = metrics[m].get(row, rowNum);
+      if (value != null) {
+        batch.metric(m, value);
+      }
+    }
+  }
+
+  /**
+   * Returns a chunk reader that reads result rows with this plan into columnar batches.
+   *
+   * @param chunkCapacity expected rows per chunk (initial array capacity)
+   */
+  public SourceDbManager.ChunkReader<ColumnarSignalBatch> batchReader(int chunkCapacity) {
+    ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(chunkCapacity);
+
+    return new SourceDbManager.ChunkReader<>() {
+      @Override
+      public void read(ResultSet rs, long rowNum) throws SQLException {
+        readInto(rs, rowNum, builder);
+      }
+
+      @Override
+      public int size() {
+        return builder.size();
+      }
+
+      @Override
+      public ColumnarSignalBatch drain() {
+        return builder.build();
+      }
+    };
+  }
+
+  /**
+   * Chunk reader factory for {@link SourceDbManager#streamChunks}: compiles a plan from the
+   * result set metadata and reads rows into columnar batches.
+   *
+   * @param chunkCapacity expected rows per chunk (initial array capacity)
+   */
+  public static SourceDbManager.ChunkReaderFactory<ColumnarSignalBatch> batchReaders(int chunkCapacity) {
+    return metaData -> compile(metaData).batchReader(chunkCapacity);
+  }
+
+  private static Instant requireTimestamp(Instant value, long rowNum) {
+    if (value == null) {
+      throw new TransformationException(
+          String.format("Missing required field 'timestamp' in row %d. " +
+              "Expected one of: %s", rowNum, String.join(", ", TIMESTAMP_COLUMNS))
+      );
+    }
+    return value;
+  }
+
+  // ====================================================================================
+  // Column resolution
+  // ====================================================================================
+
+  private static <T> Column<T> column(String[] labels, int[] sqlTypes, String[] candidates,
+                                      ReaderFactory<T> readerFactory, ValueConverter<T> converter) {
+    return column(labels, sqlTypes, candidates, readerFactory, converter, sqlType -> false);
+  }
+
+  private static <T> Column<T> column(String[] labels, int[] sqlTypes, String[] candidates,
+                                      ReaderFactory<T> readerFactory, ValueConverter<T> converter,
+                                      IntPredicate primitiveTypes) {
+    int index = resolve(labels, candidates);
+    if (index < 0) {
+      return new Column<>(0, null, null, converter, false);
+    }
+    return new Column<>(index + 1, labels[index], readerFactory.create(sqlTypes[index], converter), converter,
+        primitiveTypes.test(sqlTypes[index]));
+  }
+
+  /**
+   * Returns the 0-based index of the first label matching a candidate (candidates in priority
+   * order; exact match before case-insensitive match), or -1 if none matches.
+   */
+  private static int resolve(String[] labels, String[] candidates) {
+    for (String candidate : candidates) {
+      for (int i = 0; i < labels.length; i++) {
+        if (candidate.equals(labels[i])) {
+          return i;
+        }
+      }
+      for (int i = 0; i < labels.length; i++) {
+        if (candidate.equalsIgnoreCase(labels[i])) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @FunctionalInterface
+  private interface ColumnReader<T> {
+    T read(ResultSet rs, int column, long rowNum) throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface ReaderFactory<T> {
+    ColumnReader<T> create(int sqlType, ValueConverter<T> converter);
+  }
+
+  @FunctionalInterface
+  private interface ValueConverter<T> {
+    T convert(Object value, long rowNum);
+  }
+
+  /**
+   * A resolved column (index 0 = not present in the result).
+   *
+   * <p>{@code primitive}: integer/floating point JDBC type, readable with {@code getLong}/{@code getDouble}.
+   */
+  private record Column<T>(int index, String label, ColumnReader<T> reader, ValueConverter<T> converter,
+                           boolean primitive) {
+
+    T read(ResultSet rs, long rowNum) throws SQLException {
+      return index == 0 ? null : reader.read(rs, index, rowNum);
+    }
+
+    T get(Map<String, Object> row, long rowNum) {
+      return index == 0 ? null : converter.convert(row.get(label), rowNum);
+    }
+  }
+
+  // ====================================================================================
+  // Typed readers (chosen once per column from its JDBC type)
+  // ====================================================================================
+
+  private static boolean isIntegerType(int sqlType) {
+    return switch (sqlType) {
+      case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> true;
+      default -> false;
+    };
+  }
+
+  private static boolean isFloatingOrIntegerType(int sqlType) {
+    return switch (sqlType) {
+      case Types.DOUBLE, Types.FLOAT, Types.REAL -> true;
+      default -> isIntegerType(sqlType);
+    };
+  }
+
+  private static ColumnReader<Instant> instantReader(int sqlType, ValueConverter<Instant> converter) {
+    return switch (sqlType) {
+      case Types.TIMESTAMP, Types.DATE -> (rs, c, r) -> {
+        Timestamp value = rs.getTimestamp(c);
+        return value != null ? value.toInstant() : null;
+      };
+      case Types.TIMESTAMP_WITH_TIMEZONE -> (rs, c, r) -> {
+        OffsetDateTime value = rs.getObject(c, OffsetDateTime.class);
+        return value != null ? value.toInstant() : null;
+      };
+      case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> (rs, c, r) -> {
+        long value = rs.getLong(c);
+        return rs.wasNull() ? null : epochToInstant(value);
+      };
+      default -> (rs, c, r) -> converter.convert(rs.getObject(c), r);
+    };
+  }
+
+  private static ColumnReader<String> stringReader(int sqlType, ValueConverter<String> converter) {
+    return switch (sqlType) {
+      case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR ->
+          (rs, c, r) -> rs.getString(c);
+      default -> (rs, c, r) -> converter.convert(rs.getObject(c), r);
+    };
+  }
+
+  private static ColumnReader<Long> longReader(int sqlType, ValueConverter<Long> converter) {
+    return switch (sqlType) {
+      case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> (rs, c, r) -> {
+        long value = rs.getLong(c);
+        return rs.wasNull() ? null : value;
+      };
+      default -> (rs, c, r) -> converter.convert(rs.getObject(c), r);
+    };
+  }
+
+  private static ColumnReader<Double> doubleReader(int sqlType, ValueConverter<Double> converter) {
+    return switch (sqlType) {
+      case Types.DOUBLE, Types.FLOAT, Types.REAL, Types.NUMERIC, Types.DECIMAL,
+           Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> (rs, c, r) -> {
+        double value = rs.getDouble(c);
+        return rs.wasNull() ? null : value;
+      };
+      default -> (rs, c, r) -> converter.convert(rs.getObject(c), r);
+    };
+  }
+
+  // ====================================================================================
+  // Generic conversions (map rows and columns of other JDBC types)
+  // ====================================================================================
+
+  /**
+   * Converts a timestamp value.
+   *
+   * <p>Supports multiple types:
+   * <ul>
+   *   <li>Long: Unix epoch seconds or milliseconds (auto-detected)</li>
+   *   <li>Integer: Unix epoch seconds</li>
+   *   <li>Instant: Used directly</li>
+   *   <li>java.sql.Timestamp: From JDBC ResultSet (converted to Instant)</li>
+   *   <li>java.util.Date: Legacy date type (converted to Instant)</li>
+   *   <li>BigDecimal/Double/Float: Decimal epoch values (e.g. MySQL UNIX_TIMESTAMP())</li>
+   *   <li>String: Parsed as ISO-8601 or Unix epoch</li>
+   * </ul>
+   *
+   * @throws TransformationException if the value has an unsupported type or cannot be parsed
+   */
+  static Instant toInstant(Object value, long rowNum) {
+    if (value == null) {
+      return null;
+    }
+
+    try {
+      if (value instanceof Instant instant) {
+        return instant;
+      }
+      if (value instanceof Timestamp timestamp) {
+        return timestamp.toInstant();
+      }
+      if (value instanceof OffsetDateTime offsetDateTime) {
+        return offsetDateTime.toInstant();
+      }
+      if (value instanceof java.util.Date date) {
+        return date.toInstant();
+      }
+      if (value instanceof Long longValue) {
+        return epochToInstant(longValue);
+      }
+      if (value instanceof Integer intValue) {
+        return Instant.ofEpochSecond(intValue.longValue());
+      }
+      if (value instanceof BigDecimal bigDecimalValue) {
+        return epochToInstant(bigDecimalValue.longValue());
+      }
+      if (value instanceof Double doubleValue) {
+        return epochToInstant(doubleValue.longValue());
+      }
+      if (value instanceof Float floatValue) {
+        return epochToInstant(floatValue.longValue());
+      }
+      if (value instanceof String strValue) {
+        try {
+          return epochToInstant(Long.parseLong(strValue));
+        } catch (NumberFormatException e) {
+          return Instant.parse(strValue);
+        }
+      }
+    } catch (Exception e) {
+      throw new TransformationException(
+          String.format("Failed to parse timestamp in row %d: %s", rowNum, value),
+          e
+      );
+    }
+
+    throw new TransformationException(
+        String.format("Unsupported timestamp type in row %d: %s (value: %s)",
+            rowNum, value.getClass().getSimpleName(), value)
+    );
+  }
+
+  private static Instant epochToInstant(long epochValue) {
+    if (epochValue > EPOCH_MILLIS_THRESHOLD) {
+      return Instant.ofEpochMilli(epochValue);
+    }
+    return Instant.ofEpochSecond(epochValue);
+  }
+
+  static String toStringValue(Object value, long rowNum) {
+    return value != null ? value.toString() : null;
+  }
+
+  /**
+   * Converts a Long value (optional field): unparseable values are logged and mapped to null.
+   */
+  static Long toLong(Object value, long rowNum) {
+    if (value == null) {
+      return null;
+    }
+
+    try {
+      if (value instanceof Long longValue) {
+        return longValue;
+      }
+      if (value instanceof Number numberValue) {
+        return numberValue.longValue();
+      }
+      if (value instanceof String strValue) {
+        return Long.parseLong(strValue);
+      }
+      log.warn("Unexpected type for Long field: {} (value: {})",
+          value.getClass().getSimpleName(), value);
+      return null;
+    } catch (Exception e) {
+      log.warn("Failed to parse Long value: {}", value, e);
+      return null;
+    }
+  }
+
+  /**
+   * Converts a Double value (optional field): unparseable values are logged and mapped to null.
+   */
+  static Double toDouble(Object value, long rowNum) {
+    if (value == null) {
+      return null;
+    }
+
+    try {
+      if (value instanceof Double doubleValue) {
+        return doubleValue;
+      }
+      if (value instanceof Number numberValue) {
+        return numberValue.doubleValue();
+      }
+      if (value instanceof String strValue) {
+        return Double.parseDouble(strValue);
+      }
+      log.warn("Unexpected type for Double field: {} (value: {})",
+          value.getClass().getSimpleName(), value);
+      return null;
+    } catch (Exception e) {
+      log.warn("Failed to parse Double value: {}", value, e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,306 @@
+package com.tiqmo.monitoring.loader.service.execution;
+
+import com.tiqmo.monitoring.loader.service.signals.SegmentCombinationService.SegmentValues;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar representation of source rows before transformation to SignalsHistory.
+ *
+ * <p><b>Layout:</b>
+ * <ul>
+ *   <li>Timestamps: {@code long[]} epoch microseconds (required, never null)</li>
+ *   <li>Segments: one {@code int[]} of dictionary codes per segment column, with a per-column
+ *       dictionary of distinct values ({@code -1} = null). Columns without any value are not
+ *       allocated.</li>
+ *   <li>rec_count: {@code long[]} with a presence bitmap</li>
+ *   <li>max/min/avg/sum: {@code double[]} each with a presence bitmap</li>
+ * </ul>
+ *
+ * <p>Roughly 50-100 bytes per row, versus several hundred for a {@code LinkedHashMap} row
+ * with boxed values and per-row label references.
+ *
+ * <p>Instances are immutable once built; use {@link #builder(int)} to create one.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public final class ColumnarSignalBatch {
+
+  public static final int SEGMENT_COUNT = 10;
+
+  // Metric column indexes
+  public static final int MAX_VAL = 0;
+  public static final int MIN_VAL = 1;
+  public static final int AVG_VAL = 2;
+  public static final int SUM_VAL = 3;
+  private static final int METRIC_COUNT = 4;
+
+  private static final int NULL_CODE = -1;
+
+  private final int size;
+  private final long[] timestampMicros;
+  private final int[][] segmentCodes;
+  private final String[][] segmentDictionaries;
+  private final long[] recCount;
+  private final BitSet recCountPresent;
+  private final double[][] metrics;
+  private final BitSet[] metricPresent;
+
+  private ColumnarSignalBatch(Builder builder) {
+    this.size = builder.size;
+    this.timestampMicros = builder.timestampMicros;
+    this.segmentCodes = builder.segmentCodes;
+    this.segmentDictionaries = new String[SEGMENT_COUNT][];
+    for (int s = 0; s < SEGMENT_COUNT; s++) {
+      if (builder.dictionaryValues[s] != null) {
+        this.segmentDictionaries[s] = builder.dictionaryValues[s].toArray(String[]::new);
+      }
+    }
+    this.recCount = builder.recCount;
+    this.recCountPresent = builder.recCountPresent;
+    this.metrics = builder.metrics;
+    this.metricPresent = builder.metricPresent;
+  }
+
+  /**
+   * Creates a builder sized for {@code initialCapacity} rows (grows as needed).
+   */
+  public static Builder builder(int initialCapacity) {
+    return new Builder(initialCapacity);
+  }
+
+  /**
+   * Number of rows.
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public Instant loadTimeStamp(int row) {
+    checkRow(row);
+    long micros = timestampMicros[row];
+    return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+  }
+
+  /**
+   * Returns the value of a segment column.
+   *
+   * @param segment 0-based segment index (0 = seg1)
+   * @param row row index
+   * @return the segment value, or null
+   */
+  public String segment(int segment, int row) {
+    checkRow(row);
+    int[] codes = segmentCodes[segment];
+    if (codes == null || codes[row] == NULL_CODE) {
+      return null;
+    }
+    return segmentDictionaries[segment][codes[row]];
+  }
+
+  /**
+   * Returns the 10 segment values of a row (strings are shared through the column dictionaries).
+   */
+  public SegmentValues segments(int row) {
+    return new SegmentValues(
+        segment(0, row), segment(1, row), segment(2, row), segment(3, row), segment(4, row),
+        segment(5, row), segment(6, row), segment(7, row), segment(8, row), segment(9, row));
+  }
+
+  /**
+   * Number of distinct values of a segment column.
+   */
+  public int segmentCardinality(int segment) {
+    return segmentDictionaries[segment] != null ? segmentDictionaries[segment].length : 0;
+  }
+
+  public Long recCount(int row) {
+    checkRow(row);
+    return recCountPresent.get(row) ? recCount[row] : null;
+  }
+
+  public Double maxVal(int row) {
+    return metric(MAX_VAL, row);
+  }
+
+  public Double minVal(int row) {
+    return metric(MIN_VAL, row);
+  }
+
+  public Double avgVal(int row) {
+    return metric(AVG_VAL, row);
+  }
+
+  public Double sumVal(int row) {
+    return metric(SUM_VAL, row);
+  }
+
+  private Double metric(int metric, int row) {
+    checkRow(row);
+    return metricPresent[metric].get(row) ? metrics[metric][row] : null;
+  }
+
+  private void checkRow(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " out of bounds for batch of " + size);
+    }
+  }
+
+  /**
+   * Row-at-a-time builder. Call {@link #startRow(Instant)} and then set the non-null
+   * values of that row; unset values are null.
+   *
+   * <p>{@link #build()} hands the arrays over to the batch and resets the builder,
+   * so one builder can produce consecutive chunks. Not thread-safe.
+   */
+  public static final class Builder {
+
+    private final int initialCapacity;
+
+    private int size;
+    private long[] timestampMicros;
+    private int[][] segmentCodes;
+    private Map<String, Integer>[] dictionaryIndex;
+    private List<String>[] dictionaryValues;
+    private long[] recCount;
+    private BitSet recCountPresent;
+    private double[][] metrics;
+    private BitSet[] metricPresent;
+
+    private Builder(int initialCapacity) {
+      this.initialCapacity = Math.max(16, initialCapacity);
+      reset();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void reset() {
+      size = 0;
+      timestampMicros = new long[initialCapacity];
+      segmentCodes = new int[SEGMENT_COUNT][];
+      dictionaryIndex = new Map[SEGMENT_COUNT];
+      dictionaryValues = new List[SEGMENT_COUNT];
+      recCount = new long[initialCapacity];
+      recCountPresent = new BitSet(initialCapacity);
+      metrics = new double[METRIC_COUNT][initialCapacity];
+      metricPresent = new BitSet[METRIC_COUNT];
+      for (int m = 0; m < METRIC_COUNT; m++) {
+        metricPresent[m] = new BitSet(initialCapacity);
+      }
+    }
+
+    /**
+     * Number of rows added since the last build.
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Starts a new row with its (required) timestamp.
+     */
+    public Builder startRow(Instant loadTimeStamp) {
+      if (size == timestampMicros.length) {
+        grow();
+      }
+      timestampMicros[size] = Math.addExact(
+          Math.multiplyExact(loadTimeStamp.getEpochSecond(), 1_000_000L),
+          loadTimeStamp.getNano() / 1_000L);
+      size++;
+      return this;
+    }
+
+    /**
+     * Sets a segment value of the current row.
+     *
+     * @param segment 0-based segment index (0 = seg1)
+     * @param value segment value (null is ignored)
+     */
+    public Builder segment(int segment, String value) {
+      if (value == null) {
+        return this;
+      }
+      int row = currentRow();
+      int[] codes = segmentCodes[segment];
+      if (codes == null) {
+        codes = new int[timestampMicros.length];
+        Arrays.fill(codes, NULL_CODE);
+        segmentCodes[segment] = codes;
+        dictionaryIndex[segment] = new HashMap<>();
+        dictionaryValues[segment] = new ArrayList<>();
+      }
+
+      Integer code = dictionaryIndex[segment].get(value);
+      if (code == null) {
+        code = dictionaryValues[segment].size();
+        dictionaryValues[segment].add(value);
+        dictionaryIndex[segment].put(value, code);
+      }
+      codes[row] = code;
+      return this;
+    }
+
+    public Builder recCount(long value) {
+      int row = currentRow();
+      recCount[row] = value;
+      recCountPresent.set(row);
+      return this;
+    }
+
+    /**
+     * Sets a metric of the current row.
+     *
+     * @param metric one of {@link ColumnarSignalBatch#MAX_VAL}, {@link ColumnarSignalBatch#MIN_VAL},
+     *               {@link ColumnarSignalBatch#AVG_VAL}, {@link ColumnarSignalBatch#SUM_VAL}
+     * @param value metric value
+     */
+    public Builder metric(int metric, double value) {
+      int row = currentRow();
+      metrics[metric][row] = value;
+      metricPresent[metric].set(row);
+      return this;
+    }
+
+    /**
+     * Builds the batch from the rows added so far and resets the builder.
+     */
+    public ColumnarSignalBatch build() {
+      ColumnarSignalBatch batch = new ColumnarSignalBatch(this);
+      reset();
+      return batch;
+    }
+
+    private int currentRow() {
+      if (size == 0) {
+        throw new IllegalStateException("startRow must be called before setting values");
+      }
+      return size - 1;
+    }
+
+    private void grow() {
+      int capacity = timestampMicros.length * 2;
+      timestampMicros = Arrays.copyOf(timestampMicros, capacity);
+      for (int s = 0; s < SEGMENT_COUNT; s++) {
+        if (segmentCodes[s] != null) {
+          int previous = segmentCodes[s].length;
+          segmentCodes[s] = Arrays.copyOf(segmentCodes[s], capacity);
+          Arrays.fill(segmentCodes[s], previous, capacity, NULL_CODE);
+        }
+      }
+      recCount = Arrays.copyOf(recCount, capacity);
+      for (int m = 0; m < METRIC_COUNT; m++) {
+        metrics[m] = Arrays.copyOf(metrics[m], capacity);
+      }
+    }
+  }
+}
@@ -84,6 +84,20 @@ public interface DataTransformer {
   List<SignalsHistory> transform(String loaderCode, LoaderQueryResult queryResult, Integer timezoneOffsetHours)
       throws TransformationException;
 
+  /**
+   * Transforms a columnar batch (read by a {@link ColumnResolutionPlan}) to SignalsHistory entities
+   * with timezone normalization.
+   *
+   * <p>Used by the streaming load path, which reads source rows straight from the result set.
+   *
+   * @param loaderCode the loader code to assign to all entities
+   * @param batch columnar source rows
+   * @param timezoneOffsetHours timezone offset of source DB (e.g., 4 for GMT+4, -5 for EST)
+   * @return list of SignalsHistory entities with normalized timestamps (same order as the batch)
+   * @throws IllegalArgumentException if loaderCode is null/blank or batch is null
+   */
+  List<SignalsHistory> transformBatch(String loaderCode, ColumnarSignalBatch batch, Integer timezoneOffsetHours);
+
   /**
    * Exception thrown when transformation fails.
    */
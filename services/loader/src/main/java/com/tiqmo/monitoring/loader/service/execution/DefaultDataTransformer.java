@@ -2,11 +2,11 @@ package com.tiqmo.monitoring.loader.service.execution;
 
 import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
 import com.tiqmo.monitoring.loader.service.signals.SegmentCombinationService;
+import com.tiqmo.monitoring.loader.service.signals.SegmentCombinationService.SegmentValues;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -17,11 +17,18 @@ import java.util.Map;
  * <p>Transforms query result rows to SignalsHistory entities with flexible
  * column name matching and type conversion.
  *
+ * <p><b>Column Resolution:</b> Column names and converters are resolved once into a
+ * {@link ColumnResolutionPlan}. The load and backfill paths read rows with the plan straight
+ * from the source result set into a {@link ColumnarSignalBatch} ({@link #transformBatch});
+ * map rows are read into a batch with a plan compiled from their keys, recompiled only when
+ * the key set changes.
+ *
  * <p><b>Segment Handling:</b>
  * <ul>
  *   <li>Extracts 10 segment fields (seg1-seg10) from query results</li>
- *   <li>Looks up segment_combination by (loader_code + seg1-seg10)</li>
- *   <li>If not found, creates new entry with auto-incremented segment_code</li>
+ *   <li>Resolves segment_codes for all rows of the result in one call
+ *       ({@link SegmentCombinationService#resolveSegmentCodes}, dictionary-cached)</li>
+ *   <li>Unknown combinations are created together with allocated segment_codes</li>
  *   <li>Stores segment_code in signals_history</li>
  * </ul>
  *
@@ -35,24 +42,6 @@ public class DefaultDataTransformer implements DataTransformer {
 
   private final SegmentCombinationService segmentCombinationService;
 
-  // Column name variations (case-insensitive matching)
-  private static final String[] TIMESTAMP_COLUMNS = {"timestamp", "load_time_stamp", "ts", "time"};
-  private static final String[] SEG1_COLUMNS = {"seg1", "segment1", "segment_1"};
-  private static final String[] SEG2_COLUMNS = {"seg2", "segment2", "segment_2"};
-  private static final String[] SEG3_COLUMNS = {"seg3", "segment3", "segment_3"};
-  private static final String[] SEG4_COLUMNS = {"seg4", "segment4", "segment_4"};
-  private static final String[] SEG5_COLUMNS = {"seg5", "segment5", "segment_5"};
-  private static final String[] SEG6_COLUMNS = {"seg6", "segment6", "segment_6"};
-  private static final String[] SEG7_COLUMNS = {"seg7", "segment7", "segment_7"};
-  private static final String[] SEG8_COLUMNS = {"seg8", "segment8", "segment_8"};
-  private static final String[] SEG9_COLUMNS = {"seg9", "segment9", "segment_9"};
-  private static final String[] SEG10_COLUMNS = {"seg10", "segment10", "segment_10"};
-  private static final String[] REC_COUNT_COLUMNS = {"rec_count", "record_count", "count", "cnt"};
-  private static final String[] MAX_VAL_COLUMNS = {"max_val", "max", "maximum"};
-  private static final String[] MIN_VAL_COLUMNS = {"min_val", "min", "minimum"};
-  private static final String[] AVG_VAL_COLUMNS = {"avg_val", "avg", "average"};
-  private static final String[] SUM_VAL_COLUMNS = {"sum_val", "sum", "total"};
-
   @Override
   public List<SignalsHistory> transform(String loaderCode, LoaderQueryResult queryResult)
       throws TransformationException {
@@ -72,23 +61,20 @@ public class DefaultDataTransformer implements DataTransformer {
       return List.of();
     }
 
-    List<SignalsHistory> results = new ArrayList<>(queryResult.rows().size());
-
-    // Issue #2.1: Calculate timezone offset in seconds
-    // Add offset to normalize source DB times to UTC
-    // Example: Source 10:00 GMT+4 (offset=4) → UTC 14:00 (+4 hours)
-    long timezoneOffsetSeconds = (timezoneOffsetHours != null ? timezoneOffsetHours : 0) * 3600L;
-
-    if (timezoneOffsetSeconds != 0) {
-      log.info("Normalizing timestamps to UTC: adding {} hours ({} seconds) to source timestamps",
-          timezoneOffsetHours, timezoneOffsetSeconds);
+    if (queryResult.isColumnar()) {
+      return transformBatch(loaderCode, queryResult.columns(), timezoneOffsetHours);
     }
 
+    ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(queryResult.rows().size());
+    ColumnResolutionPlan plan = null;
+
     int rowIndex = 0;
     for (Map<String, Object> row : queryResult.rows()) {
       try {
-        SignalsHistory signal = transformRow(loaderCode, row, rowIndex, timezoneOffsetSeconds);
-        results.add(signal);
+        if (plan == null || !plan.matches(row)) {
+          plan = ColumnResolutionPlan.compile(row.keySet().toArray(String[]::new));
+        }
+        plan.readInto(row, rowIndex, builder);
       } catch (Exception e) {
         throw new TransformationException(
             String.format("Failed to transform row %d for loader %s: %s",
@@ -99,295 +85,57 @@ public class DefaultDataTransformer implements DataTransformer {
       rowIndex++;
     }
 
-    log.debug("Transformed {} rows for loader: {} (timezone offset: {} hours)",
-        results.size(), loaderCode, timezoneOffsetHours != null ? timezoneOffsetHours : 0);
-    return results;
+    return transformBatch(loaderCode, builder.build(), timezoneOffsetHours);
   }
 
-  /**
-   * Transforms a single row to SignalsHistory entity.
-   *
-   * @param loaderCode the loader code
-   * @param row the row data
-   * @param rowIndex the row index (for error messages)
-   * @param timezoneOffsetSeconds timezone offset in seconds to add to timestamp (for UTC normalization)
-   * @return SignalsHistory entity
-   * @throws TransformationException if required field is missing or conversion fails
-   */
-  private SignalsHistory transformRow(String loaderCode, Map<String, Object> row,
-                                     int rowIndex, long timezoneOffsetSeconds)
-      throws TransformationException {
-
-    // Required field: timestamp
-    Instant loadTimeStamp = extractTimestamp(row, rowIndex);
-
-    // Issue #2.1: Normalize timestamp to UTC by adding timezone offset
-    // Example: Source 10:00 GMT+4, offset=4*3600 → UTC 14:00
-    if (timezoneOffsetSeconds != 0) {
-      loadTimeStamp = loadTimeStamp.plusSeconds(timezoneOffsetSeconds);
+  @Override
+  public List<SignalsHistory> transformBatch(String loaderCode, ColumnarSignalBatch batch,
+                                             Integer timezoneOffsetHours) {
+    if (loaderCode == null || loaderCode.isBlank()) {
+      throw new IllegalArgumentException("Loader code cannot be null or blank");
     }
-
-    // Extract 10 segment fields
-    String seg1 = extractString(row, SEG1_COLUMNS);
-    String seg2 = extractString(row, SEG2_COLUMNS);
-    String seg3 = extractString(row, SEG3_COLUMNS);
-    String seg4 = extractString(row, SEG4_COLUMNS);
-    String seg5 = extractString(row, SEG5_COLUMNS);
-    String seg6 = extractString(row, SEG6_COLUMNS);
-    String seg7 = extractString(row, SEG7_COLUMNS);
-    String seg8 = extractString(row, SEG8_COLUMNS);
-    String seg9 = extractString(row, SEG9_COLUMNS);
-    String seg10 = extractString(row, SEG10_COLUMNS);
-
-    // Get or create segment_code via SegmentCombinationService
-    Long segmentCode = segmentCombinationService.getOrCreateSegmentCode(
-        loaderCode, seg1, seg2, seg3, seg4, seg5, seg6, seg7, seg8, seg9, seg10
-    );
-
-    // Extract metric fields
-    Long recCount = extractLong(row, REC_COUNT_COLUMNS);
-    Double maxVal = extractDouble(row, MAX_VAL_COLUMNS);
-    Double minVal = extractDouble(row, MIN_VAL_COLUMNS);
-    Double avgVal = extractDouble(row, AVG_VAL_COLUMNS);
-    Double sumVal = extractDouble(row, SUM_VAL_COLUMNS);
-
-    return SignalsHistory.builder()
-        .loaderCode(loaderCode)
-        .loadTimeStamp(loadTimeStamp)
-        .segmentCode(String.valueOf(segmentCode))
-        .recCount(recCount)
-        .maxVal(maxVal)
-        .minVal(minVal)
-        .avgVal(avgVal)
-        .sumVal(sumVal)
-        .build();
-  }
-
-  /**
-   * Extracts timestamp from row (required field).
-   *
-   * <p>Supports multiple types:
-   * <ul>
-   *   <li>Long: Unix epoch seconds or milliseconds (auto-detected)</li>
-   *   <li>Integer: Unix epoch seconds</li>
-   *   <li>Instant: Used directly</li>
-   *   <li>java.sql.Timestamp: From JDBC ResultSet (converted to Instant)</li>
-   *   <li>java.util.Date: Legacy date type (converted to Instant)</li>
-   *   <li>String: Parsed as ISO-8601 or Unix epoch</li>
-   * </ul>
-   *
-   * @param row the row data
-   * @param rowIndex the row index (for error messages)
-   * @return timestamp as Instant
-   * @throws TransformationException if timestamp is missing or invalid
-   */
-  private Instant extractTimestamp(Map<String, Object> row, int rowIndex)
-      throws TransformationException {
-
-    Object value = findValue(row, TIMESTAMP_COLUMNS);
-
-    if (value == null) {
-      throw new TransformationException(
-          String.format("Missing required field 'timestamp' in row %d. " +
-              "Expected one of: %s", rowIndex, String.join(", ", TIMESTAMP_COLUMNS))
-      );
+    if (batch == null) {
+      throw new IllegalArgumentException("Batch cannot be null");
     }
-
-    try {
-      // Instant - use directly
-      if (value instanceof Instant instant) {
-        return instant;
-      }
-
-      // java.sql.Timestamp (from JDBC ResultSet)
-      if (value instanceof java.sql.Timestamp timestamp) {
-        return timestamp.toInstant();
-      }
-
-      // java.util.Date (legacy)
-      if (value instanceof java.util.Date date) {
-        return date.toInstant();
-      }
-
-      // Long (epoch seconds or millis)
-      if (value instanceof Long longValue) {
-        // Auto-detect: if > year 3000 in seconds (94608000000), it's likely millis
-        if (longValue > 94608000000L) {
-          return Instant.ofEpochMilli(longValue);
-        }
-        return Instant.ofEpochSecond(longValue);
-      }
-
-      // Integer (epoch seconds)
-      if (value instanceof Integer intValue) {
-        return Instant.ofEpochSecond(intValue.longValue());
-      }
-
-      // BigDecimal (from MySQL UNIX_TIMESTAMP() function)
-      if (value instanceof java.math.BigDecimal bigDecimalValue) {
-        long epochValue = bigDecimalValue.longValue();
-        // Auto-detect: if > year 3000 in seconds (94608000000), it's likely millis
-        if (epochValue > 94608000000L) {
-          return Instant.ofEpochMilli(epochValue);
-        }
-        return Instant.ofEpochSecond(epochValue);
-      }
-
-      // Double/Float (decimal epoch values)
-      if (value instanceof Double doubleValue) {
-        long epochValue = doubleValue.longValue();
-        if (epochValue > 94608000000L) {
-          return Instant.ofEpochMilli(epochValue);
-        }
-        return Instant.ofEpochSecond(epochValue);
-      }
-
-      if (value instanceof Float floatValue) {
-        long epochValue = floatValue.longValue();
-        if (epochValue > 94608000000L) {
-          return Instant.ofEpochMilli(epochValue);
-        }
-        return Instant.ofEpochSecond(epochValue);
-      }
-
-      // String (ISO-8601 or epoch)
-      if (value instanceof String strValue) {
-        // Try parsing as epoch seconds/millis
-        try {
-          long epochValue = Long.parseLong(strValue);
-          if (epochValue > 94608000000L) {
-            return Instant.ofEpochMilli(epochValue);
-          }
-          return Instant.ofEpochSecond(epochValue);
-        } catch (NumberFormatException e) {
-          // Try parsing as ISO-8601
-          return Instant.parse(strValue);
-        }
-      }
-
-      throw new TransformationException(
-          String.format("Unsupported timestamp type in row %d: %s (value: %s)",
-              rowIndex, value.getClass().getSimpleName(), value)
-      );
-
-    } catch (TransformationException e) {
-      throw e;
-    } catch (Exception e) {
-      throw new TransformationException(
-          String.format("Failed to parse timestamp in row %d: %s", rowIndex, value),
-          e
-      );
-    }
-  }
-
-  /**
-   * Extracts String value from row (optional field).
-   *
-   * @param row the row data
-   * @param columnNames possible column names
-   * @return string value or null if not found
-   */
-  private String extractString(Map<String, Object> row, String[] columnNames) {
-    Object value = findValue(row, columnNames);
-    if (value == null) {
-      return null;
+    if (batch.isEmpty()) {
+      return List.of();
     }
-    return value.toString();
-  }
 
-  /**
-   * Extracts Long value from row (optional field).
-   *
-   * @param row the row data
-   * @param columnNames possible column names
-   * @return long value or null if not found
-   */
-  private Long extractLong(Map<String, Object> row, String[] columnNames) {
-    Object value = findValue(row, columnNames);
-    if (value == null) {
-      return null;
-    }
+    // Issue #2.1: Calculate timezone offset in seconds
+    // Add offset to normalize source DB times to UTC
+    // Example: Source 10:00 GMT+4 (offset=4) → UTC 14:00 (+4 hours)
+    long timezoneOffsetSeconds = (timezoneOffsetHours != null ? timezoneOffsetHours : 0) * 3600L;
 
-    try {
-      if (value instanceof Long longValue) {
-        return longValue;
-      }
-      if (value instanceof Integer intValue) {
-        return intValue.longValue();
-      }
-      if (value instanceof Number numberValue) {
-        return numberValue.longValue();
-      }
-      if (value instanceof String strValue) {
-        return Long.parseLong(strValue);
-      }
-      log.warn("Unexpected type for Long field: {} (value: {})",
-          value.getClass().getSimpleName(), value);
-      return null;
-    } catch (Exception e) {
-      log.warn("Failed to parse Long value: {}", value, e);
-      return null;
+    if (timezoneOffsetSeconds != 0) {
+      log.debug("Normalizing timestamps to UTC: adding {} hours ({} seconds) to source timestamps",
+          timezoneOffsetHours, timezoneOffsetSeconds);
     }
-  }
 
-  /**
-   * Extracts Double value from row (optional field).
-   *
-   * @param row the row data
-   * @param columnNames possible column names
-   * @return double value or null if not found
-   */
-  private Double extractDouble(Map<String, Object> row, String[] columnNames) {
-    Object value = findValue(row, columnNames);
-    if (value == null) {
-      return null;
+    // Resolve segment_codes for the whole result at once (no DB call for known combinations)
+    int size = batch.size();
+    List<SegmentValues> segments = new ArrayList<>(size);
+    for (int row = 0; row < size; row++) {
+      segments.add(batch.segments(row));
     }
-
-    try {
-      if (value instanceof Double doubleValue) {
-        return doubleValue;
-      }
-      if (value instanceof Float floatValue) {
-        return floatValue.doubleValue();
-      }
-      if (value instanceof Number numberValue) {
-        return numberValue.doubleValue();
-      }
-      if (value instanceof String strValue) {
-        return Double.parseDouble(strValue);
-      }
-      log.warn("Unexpected type for Double field: {} (value: {})",
-          value.getClass().getSimpleName(), value);
-      return null;
-    } catch (Exception e) {
-      log.warn("Failed to parse Double value: {}", value, e);
-      return null;
+    Map<SegmentValues, Long> segmentCodes = segmentCombinationService.resolveSegmentCodes(loaderCode, segments);
+
+    List<SignalsHistory> results = new ArrayList<>(size);
+    for (int row = 0; row < size; row++) {
+      results.add(SignalsHistory.builder()
+          .loaderCode(loaderCode)
+          .loadTimeStamp(batch.loadTimeStamp(row).plusSeconds(timezoneOffsetSeconds))
+          .segmentCode(String.valueOf(segmentCodes.get(segments.get(row))))
+          .recCount(batch.recCount(row))
+          .maxVal(batch.maxVal(row))
+          .minVal(batch.minVal(row))
+          .avgVal(batch.avgVal(row))
+          .sumVal(batch.sumVal(row))
+          .build());
     }
-  }
-
-  /**
-   * Finds a value in the row by checking multiple column name variations.
-   * Uses case-insensitive matching.
-   *
-   * @param row the row data
-   * @param columnNames possible column names
-   * @return the value or null if not found
-   */
-  private Object findValue(Map<String, Object> row, String[] columnNames) {
-    for (String columnName : columnNames) {
-      // Try exact match first
-      if (row.containsKey(columnName)) {
-        return row.get(columnName);
-      }
 
-      // Try case-insensitive match
-      for (Map.Entry<String, Object> entry : row.entrySet()) {
-        if (entry.getKey().equalsIgnoreCase(columnName)) {
-          return entry.getValue();
-        }
-      }
-    }
-    return null;
+    log.debug("Transformed {} rows for loader: {} (timezone offset: {} hours)",
+        results.size(), loaderCode, timezoneOffsetHours != null ? timezoneOffsetHours : 0);
+    return results;
   }
 
   /**
@@ -7,12 +7,18 @@ import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoadHistoryRepository;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
 import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
-import com.tiqmo.monitoring.loader.domain.signals.repo.SignalsHistoryRepository;
 import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
 import com.tiqmo.monitoring.loader.exception.BusinessException;
 import com.tiqmo.monitoring.loader.infra.ReplicaNameProvider;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
 import com.tiqmo.monitoring.loader.infra.db.SourceDbManager;
+import com.tiqmo.monitoring.loader.infra.db.SourceQueryOptions;
 import com.tiqmo.monitoring.loader.metrics.LoaderMetrics;
+import com.tiqmo.monitoring.loader.service.scheduler.GapScannerService;
+import com.tiqmo.monitoring.loader.service.signals.SignalsBulkWriter;
+import com.tiqmo.monitoring.loader.service.signals.SignalsHotCache;
+import com.tiqmo.monitoring.loader.service.signals.SignalsPurger;
+import com.tiqmo.monitoring.loader.service.signals.SignalsRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -24,7 +30,6 @@ import java.io.StringWriter;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Default implementation of LoadExecutorService.
@@ -35,9 +40,21 @@ import java.util.Map;
  *   <li>Build SQL query with time placeholders (QueryParameterReplacer)</li>
  *   <li>Execute query against source database (SourceDbManager)</li>
  *   <li>Transform results to SignalsHistory (DataTransformer)</li>
- *   <li>Ingest data to signals_history table (SignalsHistoryRepository)</li>
+ *   <li>Ingest data to signals_history table (SignalsBulkWriter)</li>
  * </ol>
  *
+ * <p>Steps 3-5 are streamed: the source cursor is read with a bounded fetch size and each
+ * chunk of {@code loader.execution.stream-chunk-size} rows is transformed and written before
+ * the next one is fetched, so memory use does not grow with the query window.
+ *
+ * <p><b>Catch-up mode:</b> A loader lagging by many query periods is loaded as aligned
+ * sub-windows in parallel ({@link CatchUpCoordinator}); each sub-window has its own
+ * LoadHistory and {@code lastLoadTimestamp} advances across the contiguous completed prefix.
+ *
+ * <p><b>Hot window:</b> the signals of a completed scheduled load are appended to the loader's
+ * in-memory window ({@link SignalsHotCache}) after the load has been recorded; failed loads and
+ * catch-up drop the window of their range instead.
+ *
  * @author Hassan Rawashdeh
  * @since 1.0.0
  */
@@ -48,7 +65,10 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
 
   private final LoaderRepository loaderRepository;
   private final LoadHistoryRepository loadHistoryRepository;
-  private final SignalsHistoryRepository signalsHistoryRepository;
+  private final SignalsBulkWriter signalsBulkWriter;
+  private final SignalsPurger signalsPurger;
+  private final SignalsRollupService signalsRollupService;
+  private final SignalsHotCache signalsHotCache;
   private final ReplicaNameProvider replicaNameProvider;
 
   // Round 6-9 services (Core Pipeline)
@@ -56,6 +76,7 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
   private final QueryParameterReplacer queryParameterReplacer;
   private final DataTransformer dataTransformer;
   private final SourceDbManager sourceDbManager;
+  private final ExecutionProperties executionProperties;
 
   // Round 22: Custom Prometheus metrics
   private final LoaderMetrics loaderMetrics;
@@ -66,6 +87,12 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
   // Auto-Backfill on Failure feature
   private final com.tiqmo.monitoring.loader.service.backfill.BackfillService backfillService;
 
+  // Catch-up mode: parallel sub-windows for lagging loaders
+  private final CatchUpCoordinator catchUpCoordinator;
+
+  // Gap detection: completed loads update the coverage index
+  private final GapScannerService gapScannerService;
+
   /**
    * Executes a loader with full data pipeline.
    *
@@ -103,6 +130,12 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
       loaderMetrics.incrementRunningLoaders();
 
       try {
+      // Catch-up mode: a large lag is loaded as parallel sub-windows
+      List<TimeWindow> catchUpWindows = catchUpCoordinator.plan(loader, startTime);
+      if (!catchUpWindows.isEmpty()) {
+        return executeCatchUp(loader, catchUpWindows, startTime);
+      }
+
       // 1. Calculate time window first (needed for LoadHistory)
       TimeWindow window = timeWindowCalculator.calculateWindow(loader);
       log.info("Calculated time window for {}: from={}, to={}, duration={}s",
@@ -114,7 +147,8 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
 
       // 4. Execute loader (REAL IMPLEMENTATION - Rounds 6-9)
       // Pass history.getId() to set load_history_id on all signals for orphan cleanup
-      LoadExecutionResult result = executeLoaderReal(loader, window, history.getId());
+      SignalsHotCache.Stage hotStage = signalsHotCache.stage(loader.getLoaderCode());
+      LoadExecutionResult result = executeLoaderReal(loader, window, history.getId(), hotStage);
 
       // 5. Update history with success
       Instant endTime = Instant.now();
@@ -126,48 +160,16 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
       loader.setFailedSince(null); // Clear any previous failure
 
       // Issue #2.2: Track consecutive zero-record runs for downtime detection
-      if (result.getRecordsLoaded() == 0) {
-        // Increment counter for consecutive zero-record runs
-        Integer currentCount = loader.getConsecutiveZeroRecordRuns() != null
-                ? loader.getConsecutiveZeroRecordRuns() : 0;
-        loader.setConsecutiveZeroRecordRuns(currentCount + 1);
-
-        // Get threshold from configuration (default: 10)
-        Integer maxZeroRecordRuns = configService.getConfigAsInt(
-                "loader", "max-zero-record-runs", 10
-        );
-
-        // Log warning if threshold exceeded (possible prolonged downtime)
-        if (loader.getConsecutiveZeroRecordRuns() > maxZeroRecordRuns) {
-          log.warn("Loader {} has {} consecutive runs with 0 records loaded (threshold: {}) - " +
-                          "possible prolonged source downtime or data issue. " +
-                          "Time window: {} to {}",
-                  loader.getLoaderCode(),
-                  loader.getConsecutiveZeroRecordRuns(),
-                  maxZeroRecordRuns,
-                  result.getQueryFromTime(),
-                  result.getQueryToTime());
-        } else {
-          log.info("Loader {} advanced past downtime period: {} → {} (0 records loaded, run {}/{})",
-                  loader.getLoaderCode(),
-                  result.getQueryFromTime(),
-                  result.getQueryToTime(),
-                  loader.getConsecutiveZeroRecordRuns(),
-                  maxZeroRecordRuns);
-        }
-      } else {
-        // Records loaded - reset consecutive zero-record counter
-        if (loader.getConsecutiveZeroRecordRuns() != null && loader.getConsecutiveZeroRecordRuns() > 0) {
-          log.info("Loader {} recovered from {} consecutive zero-record runs - loaded {} records",
-                  loader.getLoaderCode(),
-                  loader.getConsecutiveZeroRecordRuns(),
-                  result.getRecordsLoaded());
-        }
-        loader.setConsecutiveZeroRecordRuns(0);
-      }
+      trackZeroRecordRuns(loader, result.getRecordsLoaded(), result.getQueryFromTime(), result.getQueryToTime());
 
       saveLoaderAfterSuccess(loader);
 
+      // Gap detection: record the covered range (reports the gap before it, if any)
+      gapScannerService.onLoadCompleted(loader, history);
+
+      refreshRollups(loader.getLoaderCode(), result.getQueryFromTime(), result.getQueryToTime());
+      signalsHotCache.commit(hotStage, result.getQueryFromTime(), result.getQueryToTime(), result.getRecordsIngested());
+
       // Round 22: Record success metrics
       Duration executionDuration = Duration.between(startTime, endTime);
       loaderMetrics.recordExecution(loader.getLoaderCode(), "SUCCESS");
@@ -192,6 +194,9 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
             ? new TimeWindow(history.getQueryFromTime(), history.getQueryToTime())
             : timeWindowCalculator.calculateWindow(loader);
 
+        // Chunks written before the failure (or purged) are not in the hot window
+        signalsHotCache.invalidate(loader.getLoaderCode(), window.fromTime(), window.toTime());
+
         // Update history with failure
         if (history != null) {
           Instant endTime = Instant.now();
@@ -273,6 +278,203 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
     return executeLoader(loader);
   }
 
+  /**
+   * Issue #2.2: Tracks consecutive zero-record runs for downtime detection.
+   *
+   * @param loader loader to update
+   * @param recordsLoaded source rows loaded by the run
+   * @param fromTime start of the loaded window
+   * @param toTime end of the loaded window
+   */
+  private void trackZeroRecordRuns(Loader loader, long recordsLoaded, Instant fromTime, Instant toTime) {
+    if (recordsLoaded == 0) {
+      // Increment counter for consecutive zero-record runs
+      Integer currentCount = loader.getConsecutiveZeroRecordRuns() != null
+              ? loader.getConsecutiveZeroRecordRuns() : 0;
+      loader.setConsecutiveZeroRecordRuns(currentCount + 1);
+
+      // Get threshold from configuration (default: 10)
+      Integer maxZeroRecordRuns = configService.getConfigAsInt(
+              "loader", "max-zero-record-runs", 10
+      );
+
+      // Log warning if threshold exceeded (possible prolonged downtime)
+      if (loader.getConsecutiveZeroRecordRuns() > maxZeroRecordRuns) {
+        log.warn("Loader {} has {} consecutive runs with 0 records loaded (threshold: {}) - " +
+                        "possible prolonged source downtime or data issue. " +
+                        "Time window: {} to {}",
+                loader.getLoaderCode(),
+                loader.getConsecutiveZeroRecordRuns(),
+                maxZeroRecordRuns,
+                fromTime,
+                toTime);
+      } else {
+        log.info("Loader {} advanced past downtime period: {} → {} (0 records loaded, run {}/{})",
+                loader.getLoaderCode(),
+                fromTime,
+                toTime,
+                loader.getConsecutiveZeroRecordRuns(),
+                maxZeroRecordRuns);
+      }
+    } else {
+      // Records loaded - reset consecutive zero-record counter
+      if (loader.getConsecutiveZeroRecordRuns() != null && loader.getConsecutiveZeroRecordRuns() > 0) {
+        log.info("Loader {} recovered from {} consecutive zero-record runs - loaded {} records",
+                loader.getLoaderCode(),
+                loader.getConsecutiveZeroRecordRuns(),
+                recordsLoaded);
+      }
+      loader.setConsecutiveZeroRecordRuns(0);
+    }
+  }
+
+  // ====================================================================================
+  // Catch-up mode
+  // ====================================================================================
+
+  /**
+   * Loads a lagging loader as parallel sub-windows.
+   *
+   * <p>Each sub-window is a full pipeline run with its own LoadHistory. Afterwards
+   * {@code lastLoadTimestamp} advances to the end of the contiguous completed prefix;
+   * sub-windows completed after a failed (or not started) one are rolled back, since their
+   * range is loaded again from the new {@code lastLoadTimestamp}. A failed sub-window puts
+   * the loader in FAILED state (auto-recovery retries it), unlike a regular execution
+   * it is not skipped.
+   *
+   * @param loader the loader (holding a lock)
+   * @param windows sub-windows planned by {@link CatchUpCoordinator#plan}
+   * @param startTime execution start
+   * @return history of the failed sub-window, or of the last completed one
+   */
+  private LoadHistory executeCatchUp(Loader loader, List<TimeWindow> windows, Instant startTime) {
+    String loaderCode = loader.getLoaderCode();
+    log.info("Catch-up mode for {}: lag from {} loaded as {} sub-window(s) up to {}",
+        loaderCode, loader.getLastLoadTimestamp(), windows.size(), windows.get(windows.size() - 1).toTime());
+
+    loader.setLoadStatus(LoadStatus.RUNNING);
+    saveLoaderAfterSuccess(loader);
+
+    // Sub-windows complete out of order and are not staged
+    signalsHotCache.invalidate(loaderCode, windows.get(0).fromTime(), windows.get(windows.size() - 1).toTime());
+
+    List<SubWindowOutcome> outcomes = catchUpCoordinator.execute(
+        loader, windows, window -> executeSubWindow(loader, window), SubWindowOutcome::succeeded);
+
+    // Advance across the contiguous completed prefix only
+    int completed = 0;
+    long recordsLoaded = 0;
+    long recordsIngested = 0;
+    LoadHistory lastHistory = null;
+    while (completed < outcomes.size() && outcomes.get(completed) != null && outcomes.get(completed).succeeded()) {
+      SubWindowOutcome outcome = outcomes.get(completed);
+      recordsLoaded += outcome.result().getRecordsLoaded();
+      recordsIngested += outcome.result().getRecordsIngested();
+      lastHistory = outcome.history();
+      completed++;
+    }
+    SubWindowOutcome failure = completed < outcomes.size() ? outcomes.get(completed) : null;
+    for (int i = completed + 1; i < outcomes.size(); i++) {
+      SubWindowOutcome outcome = outcomes.get(i);
+      if (outcome != null && outcome.succeeded()) {
+        discardSubWindow(outcome);
+      }
+    }
+
+    boolean cancelled = Thread.currentThread().isInterrupted();
+    boolean failed = completed < windows.size() && !cancelled;
+
+    if (completed > 0) {
+      Instant advancedTo = windows.get(completed - 1).toTime();
+      loader.setLastLoadTimestamp(advancedTo);
+      trackZeroRecordRuns(loader, recordsLoaded, windows.get(0).fromTime(), advancedTo);
+    }
+    if (failed) {
+      loader.setLoadStatus(LoadStatus.FAILED);
+      loader.setFailedSince(Instant.now());
+    } else {
+      loader.setLoadStatus(LoadStatus.IDLE);
+      loader.setFailedSince(null);
+    }
+    saveLoaderAfterSuccess(loader);
+
+    // Gap detection: only the kept prefix counts as covered
+    for (int i = 0; i < completed; i++) {
+      gapScannerService.onLoadCompleted(loader, outcomes.get(i).history());
+    }
+    if (completed > 0) {
+      refreshRollups(loaderCode, windows.get(0).fromTime(), windows.get(completed - 1).toTime());
+    }
+
+    Instant endTime = Instant.now();
+    loaderMetrics.recordExecution(loaderCode, failed || cancelled ? "FAILED" : "SUCCESS");
+    loaderMetrics.recordExecutionTime(loaderCode, Duration.between(startTime, endTime));
+    loaderMetrics.recordRecordsLoaded(loaderCode, recordsLoaded);
+    loaderMetrics.recordRecordsIngested(loaderCode, recordsIngested);
+    loaderMetrics.decrementRunningLoaders();
+
+    log.info("Catch-up completed | loaderCode={} | subWindows={}/{} | lastLoad={} | duration={}ms | loaded={} | ingested={}{}",
+        loaderCode, completed, windows.size(), loader.getLastLoadTimestamp(),
+        Duration.between(startTime, endTime).toMillis(), recordsLoaded, recordsIngested,
+        failed ? " | status=FAILED" : cancelled ? " | status=CANCELLED" : "");
+
+    return failure != null ? failure.history() : lastHistory;
+  }
+
+  /**
+   * Loads one catch-up sub-window with its own LoadHistory. Never throws for pipeline
+   * failures; they are recorded in the history and returned.
+   */
+  private SubWindowOutcome executeSubWindow(Loader loader, TimeWindow window) {
+    Instant startedAt = Instant.now();
+    LoadHistory history = loadHistoryRepository.save(createRunningHistory(loader, startedAt, window));
+    try {
+      LoadExecutionResult result = executeLoaderReal(loader, window, history.getId(), null);
+      updateHistorySuccess(history, result, startedAt, Instant.now());
+      return new SubWindowOutcome(window, history, result, null);
+    } catch (Exception e) {
+      log.error("Catch-up sub-window failed | loaderCode={} | window: {} to {}",
+          loader.getLoaderCode(), window.fromTime(), window.toTime(), e);
+      updateHistoryFailure(history, e, startedAt, Instant.now());
+      return new SubWindowOutcome(window, history, null, e);
+    }
+  }
+
+  /**
+   * Rolls back a completed sub-window that lies beyond the completed prefix.
+   */
+  private void discardSubWindow(SubWindowOutcome outcome) {
+    LoadHistory history = outcome.history();
+    long deleted = signalsPurger.purgeLoad(history.getLoaderCode(), history.getId(),
+        outcome.window().fromTime(), outcome.window().toTime());
+    history.setStatus(LoadExecutionStatus.FAILED);
+    history.setErrorMessage("Discarded: an earlier catch-up sub-window did not complete; window will be reloaded");
+    loadHistoryRepository.save(history);
+    log.info("Catch-up: discarded sub-window {} to {} ({} signals removed) - will be reloaded",
+        outcome.window().fromTime(), outcome.window().toTime(), deleted);
+  }
+
+  /**
+   * Recomputes the hourly/daily rollups of a loaded range. The signals are already committed,
+   * so a failure is only logged; the buckets are recomputed by the next load of the range.
+   */
+  private void refreshRollups(String loaderCode, Instant from, Instant to) {
+    try {
+      signalsRollupService.refresh(loaderCode, from, to);
+    } catch (Exception e) {
+      log.warn("Failed to refresh signal rollups | loaderCode={} | range: {} to {}", loaderCode, from, to, e);
+    }
+  }
+
+  /**
+   * Outcome of a catch-up sub-window.
+   */
+  private record SubWindowOutcome(TimeWindow window, LoadHistory history, LoadExecutionResult result, Exception error) {
+    boolean succeeded() {
+      return error == null;
+    }
+  }
+
   /**
    * Creates initial LoadHistory record with RUNNING status.
    */
@@ -339,19 +541,30 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
    * <ol>
    *   <li><b>Round 6</b>: Calculate time window (TimeWindowCalculator)</li>
    *   <li><b>Round 7</b>: Build executable SQL (QueryParameterReplacer)</li>
-   *   <li>Execute query against source database (SourceDbManager)</li>
-   *   <li><b>Round 8</b>: Transform results (DataTransformer)</li>
-   *   <li>Set load_history_id for orphan cleanup tracking</li>
-   *   <li>Ingest to signals_history (SignalsHistoryRepository)</li>
+   *   <li>Apply purge strategy for the window</li>
+   *   <li>Stream query results from source database (SourceDbManager), and per chunk:
+   *     <ul>
+   *       <li><b>Round 8</b>: Transform rows (DataTransformer)</li>
+   *       <li>Set load_history_id for orphan cleanup tracking</li>
+   *       <li>Drop rows repeating a key already seen by this load, in this or an earlier chunk
+   *           (unless duplicates are skipped at insert)</li>
+   *       <li>Ingest to signals_history (SignalsBulkWriter)</li>
+   *       <li>Stage the chunk for the hot window (SignalsHotCache), if the loader has one</li>
+   *     </ul>
+   *   </li>
    * </ol>
    *
+   * <p>Record counts and the actual min/max timestamps are accumulated per chunk.
+   *
    * @param loader the loader to execute
    * @param window time window for this execution
    * @param loadHistoryId load_history.id to link signals for orphan cleanup
+   * @param hotStage hot window stage receiving the ingested chunks (null for none)
    * @return execution result with counts
    * @throws Exception if any step fails
    */
-  private LoadExecutionResult executeLoaderReal(Loader loader, TimeWindow window, Long loadHistoryId) throws Exception {
+  private LoadExecutionResult executeLoaderReal(Loader loader, TimeWindow window, Long loadHistoryId,
+                                                SignalsHotCache.Stage hotStage) throws Exception {
     String loaderCode = loader.getLoaderCode();
     log.debug("Starting real execution for loader: {} | loadHistoryId={}", loaderCode, loadHistoryId);
 
@@ -362,51 +575,49 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
     log.info("Built executable SQL for {} (timezone offset: {} hours): {}",
         loaderCode, timezoneOffset != null ? timezoneOffset : 0, executableSql);
 
-    // Step 3: Execute query against source database
-    String sourceDbCode = loader.getSourceDatabase().getDbCode();
-    List<Map<String, Object>> rows = sourceDbManager.runQuery(sourceDbCode, executableSql);
-    log.info("Query executed for {}: {} rows returned from source DB '{}'",
-        loaderCode, rows.size(), sourceDbCode);
-
-    // Build LoaderQueryResult
-    LoaderQueryResult queryResult = new LoaderQueryResult(
-        window.fromTime(),
-        window.toTime(),
-        rows,
-        rows.size()
-    );
-
-    // Step 4: Transform results (Round 8 + Issue #2.1: Timezone normalization)
-    List<SignalsHistory> signals = dataTransformer.transform(loaderCode, queryResult, timezoneOffset);
-    log.debug("Transformed {} rows for {}: {} SignalsHistory entities created (timezone offset: {} hours)",
-        rows.size(), loaderCode, signals.size(), timezoneOffset != null ? timezoneOffset : 0);
-
-    // Step 4.5: Set load_history_id on all signals for orphan cleanup tracking
-    signals.forEach(signal -> signal.setLoadHistoryId(loadHistoryId));
-    log.debug("Set load_history_id={} on {} signals for orphan cleanup", loadHistoryId, signals.size());
-
-    // Step 4.6: Apply purge strategy (check for duplicates BEFORE insert)
+    // Step 3: Apply purge strategy (check for duplicates BEFORE the first chunk is written)
     applyPurgeStrategy(loader, window);
 
-    // Step 5: Ingest to signals_history table
-    List<SignalsHistory> ingested = signalsHistoryRepository.saveAll(signals);
-    log.debug("Ingested {} signals for {} to signals_history table",
-        ingested.size(), loaderCode);
-
-    // Step 6: Calculate actual time range from loaded data (for finalized scan capture)
-    Instant actualFromTime = null;
-    Instant actualToTime = null;
-    if (!signals.isEmpty()) {
-      actualFromTime = signals.stream()
-          .map(SignalsHistory::getLoadTimeStamp)
-          .filter(ts -> ts != null)
-          .min(Instant::compareTo)
-          .orElse(null);
-      actualToTime = signals.stream()
-          .map(SignalsHistory::getLoadTimeStamp)
-          .filter(ts -> ts != null)
-          .max(Instant::compareTo)
-          .orElse(null);
+    // Steps 4-5: Stream source rows -> transform chunk -> ingest chunk
+    boolean skipDuplicates = loader.getPurgeStrategy()
+        == com.tiqmo.monitoring.loader.domain.loader.entity.PurgeStrategy.SKIP_DUPLICATES;
+    String sourceDbCode = loader.getSourceDatabase().getDbCode();
+    StreamingLoadStats stats = new StreamingLoadStats();
+    SignalsBulkWriter.SeenKeys seenKeys = new SignalsBulkWriter.SeenKeys();
+
+    long rowsRead = sourceDbManager.streamChunks(
+        sourceDbCode,
+        executableSql,
+        SourceQueryOptions.forLoader(loader),
+        executionProperties.getStreamChunkSize(),
+        ColumnResolutionPlan.batchReaders(executionProperties.getStreamChunkSize()),
+        batch -> {
+          // Round 8 + Issue #2.1: Transform chunk with timezone normalization
+          // (rows were read straight from the result set into a columnar batch)
+          List<SignalsHistory> signals = dataTransformer.transformBatch(loaderCode, batch, timezoneOffset);
+
+          // Set load_history_id on all signals for orphan cleanup tracking
+          signals.forEach(signal -> signal.setLoadHistoryId(loadHistoryId));
+
+          // A key the source returns twice may span chunks; keep its first row only
+          List<SignalsHistory> rows = skipDuplicates ? signals : seenKeys.retainUnseen(signals);
+          long ingested = signalsBulkWriter.writeUnique(rows, skipDuplicates);
+          stats.accept(rows, ingested);
+          if (hotStage != null) {
+            hotStage.add(rows);
+          }
+
+          log.debug("Ingested chunk for {}: {} rows -> {} signals (total ingested: {})",
+              loaderCode, batch.size(), ingested, stats.recordsIngested);
+        });
+
+    log.info("Query streamed for {}: {} rows read from source DB '{}', {} signals ingested",
+        loaderCode, rowsRead, sourceDbCode, stats.recordsIngested);
+
+    // Step 6: Actual time range from loaded data (for finalized scan capture)
+    Instant actualFromTime = stats.actualFromTime;
+    Instant actualToTime = stats.actualToTime;
+    if (actualFromTime != null) {
       log.debug("Actual time range for {}: from={}, to={} (vs queried: {} to {})",
           loaderCode, actualFromTime, actualToTime, window.fromTime(), window.toTime());
     }
@@ -417,19 +628,19 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
         .queryToTime(window.toTime())
         .actualFromTime(actualFromTime)
         .actualToTime(actualToTime)
-        .recordsLoaded((long) rows.size())
-        .recordsIngested((long) ingested.size())
+        .recordsLoaded(rowsRead)
+        .recordsIngested(stats.recordsIngested)
         .build();
   }
 
   /**
    * Applies purge strategy for scheduled loads (matching backfill behavior).
    *
-   * <p>Checks loader.purgeStrategy and acts accordingly:
+   * <p>Checks loader.purgeStrategy and acts accordingly on the query window {@code [from, to)}:
    * <ul>
-   *   <li>FAIL_ON_DUPLICATE: Throw exception if data exists in time window</li>
+   *   <li>FAIL_ON_DUPLICATE: Throw exception if data exists in time window (EXISTS probe)</li>
    *   <li>PURGE_AND_RELOAD: Delete existing data before insert (NOT recommended for scheduled loads)</li>
-   *   <li>SKIP_DUPLICATES: No action (duplicates handled by unique constraints)</li>
+   *   <li>SKIP_DUPLICATES: No action (rows already stored are skipped at insert by the unique key)</li>
    * </ul>
    *
    * @param loader Loader with purge_strategy configuration
@@ -440,23 +651,21 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
     com.tiqmo.monitoring.loader.domain.loader.entity.PurgeStrategy strategy = loader.getPurgeStrategy();
     String loaderCode = loader.getLoaderCode();
 
-    log.debug("Applying purge strategy {} for scheduled load | loaderCode={} | timeRange=[{}, {}]",
+    log.debug("Applying purge strategy {} for scheduled load | loaderCode={} | timeRange=[{}, {})",
         strategy, loaderCode, window.fromTime(), window.toTime());
 
     switch (strategy) {
       case FAIL_ON_DUPLICATE:
         // Check if data exists in this time window
-        List<SignalsHistory> existing = signalsHistoryRepository
-            .findByLoaderCodeAndLoadTimeStampBetween(loaderCode, window.fromTime(), window.toTime());
-        if (!existing.isEmpty()) {
-          log.error("FAIL_ON_DUPLICATE: Found {} existing records for {} in range [{}, {}]",
-              existing.size(), loaderCode, window.fromTime(), window.toTime());
+        if (signalsPurger.hasSignals(loaderCode, window.fromTime(), window.toTime())) {
+          log.error("FAIL_ON_DUPLICATE: Found existing records for {} in range [{}, {})",
+              loaderCode, window.fromTime(), window.toTime());
           throw new com.tiqmo.monitoring.loader.exception.BusinessException(
               com.tiqmo.monitoring.loader.dto.common.ErrorCode.BACKFILL_DUPLICATE_DATA,
-              String.format("Duplicate data detected: Found %d existing records for %s in time window. " +
+              String.format("Duplicate data detected: Found existing records for %s in time window. " +
                   "This typically indicates: (1) concurrent execution, (2) retry without clearing old data, " +
                   "or (3) orphaned data from previous failure. Use backfill with PURGE_AND_RELOAD to clean up.",
-                  existing.size(), loaderCode)
+                  loaderCode)
           );
         }
         log.debug("FAIL_ON_DUPLICATE: No duplicates found for {}", loaderCode);
@@ -464,8 +673,7 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
 
       case PURGE_AND_RELOAD:
         // Delete existing data in this time window
-        long deleted = signalsHistoryRepository.deleteByLoaderCodeAndLoadTimeStampBetween(
-            loaderCode, window.fromTime(), window.toTime());
+        long deleted = signalsPurger.purge(loaderCode, window.fromTime(), window.toTime());
         if (deleted > 0) {
           log.warn("PURGE_AND_RELOAD: Deleted {} existing records for {} before scheduled load",
               deleted, loaderCode);
@@ -473,7 +681,7 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
         break;
 
       case SKIP_DUPLICATES:
-        // No action - duplicates will be handled by database unique constraints (if any)
+        // No action - rows already stored are skipped by ON CONFLICT DO NOTHING at insert
         log.debug("SKIP_DUPLICATES: Proceeding with insert for {}", loaderCode);
         break;
 
@@ -529,6 +737,31 @@ public class DefaultLoadExecutorService implements LoadExecutorService {
 
   // ====================================================================================
 
+  /**
+   * Running totals of a streamed execution, updated once per chunk.
+   */
+  private static final class StreamingLoadStats {
+    private long recordsIngested;
+    private Instant actualFromTime;
+    private Instant actualToTime;
+
+    void accept(List<SignalsHistory> signals, long ingestedInChunk) {
+      recordsIngested += ingestedInChunk;
+      for (SignalsHistory signal : signals) {
+        Instant ts = signal.getLoadTimeStamp();
+        if (ts == null) {
+          continue;
+        }
+        if (actualFromTime == null || ts.isBefore(actualFromTime)) {
+          actualFromTime = ts;
+        }
+        if (actualToTime == null || ts.isAfter(actualToTime)) {
+          actualToTime = ts;
+        }
+      }
+    }
+  }
+
   /**
    * Result of loader execution (internal DTO).
    */
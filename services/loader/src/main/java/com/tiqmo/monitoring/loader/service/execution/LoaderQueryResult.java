@@ -8,8 +8,13 @@ import java.util.Map;
  * Represents the result of executing a loader SQL query.
  *
  * <p>This is a simple DTO that holds the raw query results before transformation
- * to SignalsHistory entities. Each row is represented as a Map of column names
- * to values.
+ * to SignalsHistory entities, in one of two forms:
+ * <ul>
+ *   <li><b>Columnar</b> ({@link #columnar}): rows read from the source result set with a
+ *       {@link ColumnResolutionPlan} into a {@link ColumnarSignalBatch} (primitive arrays,
+ *       dictionary-encoded segments). Used by the load and backfill paths.</li>
+ *   <li><b>Row maps</b>: each row is a Map of column names to values (ad-hoc queries, tests).</li>
+ * </ul>
  *
  * <p><b>Expected Columns:</b>
  * <ul>
@@ -33,8 +38,9 @@ import java.util.Map;
  *
  * @param queryFromTime Start of query time window (for metadata)
  * @param queryToTime End of query time window (for metadata)
- * @param rows Query result rows (each row is a Map of column name → value)
+ * @param rows Query result rows (each row is a Map of column name → value); empty for columnar results
  * @param rowCount Number of rows returned
+ * @param columns Columnar rows, or null for row map results
  *
  * @author Hassan Rawashdeh
  * @since 1.0.0
@@ -43,7 +49,8 @@ public record LoaderQueryResult(
     Instant queryFromTime,
     Instant queryToTime,
     List<Map<String, Object>> rows,
-    long rowCount
+    long rowCount,
+    ColumnarSignalBatch columns
 ) {
 
   /**
@@ -66,10 +73,38 @@ public record LoaderQueryResult(
     }
   }
 
+  /**
+   * Creates a LoaderQueryResult of row maps.
+   *
+   * @throws IllegalArgumentException if required fields are null
+   */
+  public LoaderQueryResult(Instant queryFromTime, Instant queryToTime, List<Map<String, Object>> rows, long rowCount) {
+    this(queryFromTime, queryToTime, rows, rowCount, null);
+  }
+
+  /**
+   * Creates a columnar LoaderQueryResult.
+   *
+   * @throws IllegalArgumentException if required fields are null
+   */
+  public static LoaderQueryResult columnar(Instant queryFromTime, Instant queryToTime, ColumnarSignalBatch columns) {
+    if (columns == null) {
+      throw new IllegalArgumentException("columns cannot be null");
+    }
+    return new LoaderQueryResult(queryFromTime, queryToTime, List.of(), columns.size(), columns);
+  }
+
+  /**
+   * Returns true if rows are held in columnar form.
+   */
+  public boolean isColumnar() {
+    return columns != null;
+  }
+
   /**
    * Returns true if result has no rows.
    */
   public boolean isEmpty() {
-    return rows.isEmpty();
+    return columns != null ? columns.isEmpty() : rows.isEmpty();
   }
 }
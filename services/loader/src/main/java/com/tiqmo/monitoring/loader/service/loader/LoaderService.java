@@ -384,6 +384,7 @@ public class LoaderService {
                 .sourceTimezoneOffsetHours(e.getSourceTimezoneOffsetHours())
                 .consecutiveZeroRecordRuns(e.getConsecutiveZeroRecordRuns())
                 .aggregationPeriodSeconds(e.getAggregationPeriodSeconds())
+                .queryTimeoutSeconds(e.getQueryTimeoutSeconds())
                 .createdAt(e.getCreatedAt())
                 .updatedAt(e.getUpdatedAt())
                 .createdBy(null) // TODO: Audit user tracking not yet implemented
@@ -456,6 +457,7 @@ public class LoaderService {
                 .purgeStrategy(purgeStrategy)
                 .sourceTimezoneOffsetHours(d.getSourceTimezoneOffsetHours() != null ? d.getSourceTimezoneOffsetHours() : 0)
                 .aggregationPeriodSeconds(d.getAggregationPeriodSeconds())
+                .queryTimeoutSeconds(d.getQueryTimeoutSeconds())
                 .build();
     }
 
@@ -5,6 +5,7 @@ import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderExecutionLock;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderExecutionLockRepository;
 import com.tiqmo.monitoring.loader.infra.ReplicaNameProvider;
 import com.tiqmo.monitoring.loader.infra.config.LockingProperties;
+import com.tiqmo.monitoring.loader.infra.db.SourceQueryRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
@@ -21,9 +23,22 @@ import java.util.concurrent.Future;
 /**
  * Default implementation of LockManager.
  *
- * <p>Uses database-backed locking with {@link LoaderExecutionLock} entity.
+ * <p>Uses database-backed leases with {@link LoaderExecutionLock} entity.
  * Enforces per-loader and global concurrency limits.
  *
+ * <p><b>Acquisition:</b> A loader with {@code maxParallelExecutions = N} has N lease slots
+ * ({@code loaderCode#0 .. loaderCode#N-1}). Acquiring inserts a lock row claiming a slot with
+ * {@code INSERT ... ON CONFLICT DO NOTHING}; the unique {@code lease_key} makes the per-loader
+ * limit atomic across replicas, and the default single-slot loader needs one round trip.
+ * If every slot is held, expired leases of the loader are taken over and the slots retried.
+ * The global limit is checked inside the same statement (exact unless replicas race for
+ * the last free global slots).
+ *
+ * <p><b>Leases:</b> {@link #renewLeases()} extends the leases of executions registered on
+ * this replica. A crashed pod stops renewing, so its loaders can be taken over after
+ * {@code leaseSeconds}. An execution whose lease was lost (e.g. long GC pause or database
+ * outage) is cancelled, since another replica may already run it.
+ *
  * <p>Tracks active execution threads for timeout and cancellation support.
  *
  * @author Hassan Rawashdeh
@@ -34,11 +49,10 @@ import java.util.concurrent.Future;
 @RequiredArgsConstructor
 public class DefaultLockManager implements LockManager {
 
-  private static final int GLOBAL_LIMIT = 100;
-
   private final LoaderExecutionLockRepository lockRepository;
   private final ReplicaNameProvider replicaNameProvider;
   private final LockingProperties lockingProperties;
+  private final SourceQueryRegistry sourceQueryRegistry;
 
   /**
    * Thread registry: Maps lockId to Future for active executions.
@@ -54,53 +68,63 @@ public class DefaultLockManager implements LockManager {
     }
 
     String loaderCode = loader.getLoaderCode();
-    int maxParallel = loader.getMaxParallelExecutions();
+    Integer configuredMaxParallel = loader.getMaxParallelExecutions();
+    int maxParallel = configuredMaxParallel != null && configuredMaxParallel > 0 ? configuredMaxParallel : 1;
 
     log.debug("Attempting to acquire lock for loader: {} (max parallel: {})",
         loaderCode, maxParallel);
 
-    // 1. Check per-loader limit
-    long activeLocks = lockRepository.countByLoaderCodeAndReleased(loaderCode, false);
-    if (activeLocks >= maxParallel) {
-      log.debug("Loader {} has reached max parallel executions ({}/{})",
-          loaderCode, activeLocks, maxParallel);
-      return Optional.empty();
-    }
-
-    // 2. Check global limit
-    long totalActiveLocks = lockRepository.countByReleased(false);
-    if (totalActiveLocks >= GLOBAL_LIMIT) {
-      log.debug("Global concurrency limit reached ({}/{})",
-          totalActiveLocks, GLOBAL_LIMIT);
-      return Optional.empty();
-    }
-
-    // 3. Acquire lock
     String lockId = UUID.randomUUID().toString();
     String replicaName = replicaNameProvider.getReplicaName();
     Instant acquiredAt = Instant.now();
+    Instant leaseExpiresAt = acquiredAt.plusSeconds(lockingProperties.getLeaseSeconds());
 
-    LoaderExecutionLock lockEntity = LoaderExecutionLock.builder()
-        .loaderCode(loaderCode)
-        .lockId(lockId)
-        .replicaName(replicaName)
-        .acquiredAt(acquiredAt)
-        .released(false)
-        .build();
+    // 1. Claim a free slot (per-loader limit enforced by uq_lock_lease_key)
+    Optional<String> leaseKey = claimSlot(lockId, loaderCode, replicaName, maxParallel, acquiredAt, leaseExpiresAt);
 
-    lockRepository.save(lockEntity);
+    // 2. All slots held: take over expired leases (crashed pods) and retry
+    if (leaseKey.isEmpty()) {
+      int expired = lockRepository.releaseExpiredLeases(loaderCode, acquiredAt);
+      if (expired > 0) {
+        log.warn("Took over {} expired lease(s) of loader {} (holder stopped renewing)", expired, loaderCode);
+        leaseKey = claimSlot(lockId, loaderCode, replicaName, maxParallel, acquiredAt, leaseExpiresAt);
+      }
+    }
 
-    log.info("Lock acquired for loader: {} by replica: {} (lockId: {})",
-        loaderCode, replicaName, lockId);
+    if (leaseKey.isEmpty()) {
+      log.debug("Loader {} has reached max parallel executions ({}) or global limit ({}) reached",
+          loaderCode, maxParallel, lockingProperties.getGlobalLimit());
+      return Optional.empty();
+    }
+
+    log.info("Lock acquired for loader: {} by replica: {} (lockId: {}, slot: {}, lease until: {})",
+        loaderCode, replicaName, lockId, leaseKey.get(), leaseExpiresAt);
 
     return Optional.of(LoaderLock.builder()
         .lockId(lockId)
         .loaderCode(loaderCode)
         .replicaName(replicaName)
         .acquiredAt(acquiredAt)
+        .leaseExpiresAt(leaseExpiresAt)
         .build());
   }
 
+  /**
+   * Tries each lease slot of the loader in order; returns the claimed slot key.
+   */
+  private Optional<String> claimSlot(String lockId, String loaderCode, String replicaName, int maxParallel,
+                                     Instant acquiredAt, Instant leaseExpiresAt) {
+    for (int slot = 0; slot < maxParallel; slot++) {
+      String leaseKey = loaderCode + "#" + slot;
+      int inserted = lockRepository.insertLease(lockId, loaderCode, replicaName, leaseKey,
+          acquiredAt, leaseExpiresAt, lockingProperties.getGlobalLimit());
+      if (inserted > 0) {
+        return Optional.of(leaseKey);
+      }
+    }
+    return Optional.empty();
+  }
+
   @Override
   @Transactional
   public void releaseLock(LoaderLock lock) {
@@ -127,6 +151,44 @@ public class DefaultLockManager implements LockManager {
     }
   }
 
+  @Override
+  @Transactional
+  public int renewLeases() {
+    if (activeExecutions.isEmpty()) {
+      return 0;
+    }
+
+    Set<String> lockIds = Set.copyOf(activeExecutions.keySet());
+    Instant now = Instant.now();
+    int renewed = lockRepository.renewLeases(lockIds, now, now.plusSeconds(lockingProperties.getLeaseSeconds()));
+
+    if (renewed < lockIds.size()) {
+      cancelLostLeases(lockIds);
+    }
+
+    log.trace("Renewed {}/{} lease(s)", renewed, lockIds.size());
+    return renewed;
+  }
+
+  /**
+   * Cancels local executions whose lock is no longer held (released by the reaper or taken
+   * over by another replica after the lease expired).
+   */
+  private void cancelLostLeases(Set<String> lockIds) {
+    for (LoaderExecutionLock lock : lockRepository.findByLockIdIn(lockIds)) {
+      if (!Boolean.TRUE.equals(lock.getReleased())) {
+        continue;
+      }
+      Future<?> future = activeExecutions.remove(lock.getLockId());
+      if (future != null && !future.isDone()) {
+        log.error("Lease lost for lock: {} (loader: {}) - cancelling local execution",
+            lock.getLockId(), lock.getLoaderCode());
+        sourceQueryRegistry.cancelByLoader(lock.getLoaderCode(), "lease lost " + lock.getLockId());
+        future.cancel(true);
+      }
+    }
+  }
+
   @Override
   @Transactional
   public int cleanupStaleLocks() {
@@ -134,9 +196,8 @@ public class DefaultLockManager implements LockManager {
     Instant staleThreshold = Instant.now().minusSeconds(thresholdHours * 3600);
     Instant releasedAt = Instant.now();
 
-    // Find stale locks before releasing them (to get lockIds for thread cancellation)
-    List<LoaderExecutionLock> staleLocks = lockRepository.findByReleasedAndAcquiredAtBefore(
-        false, staleThreshold);
+    // Find expired/stale locks before releasing them (to get lockIds for thread cancellation)
+    List<LoaderExecutionLock> staleLocks = lockRepository.findExpired(releasedAt, staleThreshold);
 
     if (staleLocks.isEmpty()) {
       return 0;
@@ -152,6 +213,9 @@ public class DefaultLockManager implements LockManager {
         log.warn("Cancelling hung execution thread for stale lock: {} (loader: {}, acquired: {})",
             lockId, lock.getLoaderCode(), lock.getAcquiredAt());
 
+        // Stop the source query first - an interrupt alone leaves it running on the source
+        sourceQueryRegistry.cancelByLoader(lock.getLoaderCode(), "stale lock " + lockId);
+
         boolean cancelled = future.cancel(true); // Interrupt the thread
         if (cancelled) {
           cancelledThreads++;
@@ -168,7 +232,7 @@ public class DefaultLockManager implements LockManager {
     int cleaned = lockRepository.cleanupStaleLocks(staleThreshold, releasedAt);
 
     if (cleaned > 0) {
-      log.warn("Cleaned up {} stale lock(s) (older than {} hours) and cancelled {} hung thread(s)",
+      log.warn("Cleaned up {} stale lock(s) (lease expired or older than {} hours) and cancelled {} hung thread(s)",
           cleaned, thresholdHours, cancelledThreads);
     }
 
@@ -38,4 +38,9 @@ public class LoaderLock {
    * When the lock was acquired.
    */
   private Instant acquiredAt;
+
+  /**
+   * Lease expiry at acquisition (extended by heartbeats while the execution runs).
+   */
+  private Instant leaseExpiresAt;
 }
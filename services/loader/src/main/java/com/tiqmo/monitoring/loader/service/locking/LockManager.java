@@ -18,11 +18,15 @@ import java.util.concurrent.Future;
  * <p><b>Concurrency Limits:</b>
  * <ul>
  *   <li>Per-loader: {@code loader.maxParallelExecutions} (default: 1)</li>
- *   <li>Global: 100 concurrent executions across all loaders</li>
+ *   <li>Global: {@code loader.locking.global-limit} (default: 100) concurrent executions across all loaders</li>
  * </ul>
  *
- * <p><b>Stale Lock Cleanup:</b> Locks older than 2 hours are automatically
- * released (handles crashed pods that couldn't release locks).
+ * <p><b>Leases:</b> Locks are leases ({@code loader.locking.lease-seconds}) renewed by
+ * {@link #renewLeases()} while the execution runs. A lease that is not renewed (crashed pod)
+ * is taken over by the next acquisition attempt.
+ *
+ * <p><b>Stale Lock Cleanup:</b> Locks with an expired lease, and locks older than 2 hours,
+ * are automatically released (handles crashed pods that couldn't release locks).
  *
  * @author Hassan Rawashdeh
  * @since 1.0.0
@@ -32,10 +36,11 @@ public interface LockManager {
   /**
    * Attempts to acquire execution lock for a loader.
    *
-   * <p>Checks:
+   * <p>Checks (atomically, in the insert of the lock record):
    * <ol>
-   *   <li>Per-loader limit: Active locks &lt; {@code loader.maxParallelExecutions}</li>
-   *   <li>Global limit: Total active locks &lt; 100</li>
+   *   <li>Per-loader limit: a free lease slot among {@code loader.maxParallelExecutions}
+   *       (slots with an expired lease are taken over)</li>
+   *   <li>Global limit: Total active locks &lt; {@code loader.locking.global-limit}</li>
    *   <li>If both pass: Creates lock record with unique lockId</li>
    * </ol>
    *
@@ -79,13 +84,25 @@ public interface LockManager {
    */
   void releaseLock(String lockId);
 
+  /**
+   * Renews the leases of all executions registered on this replica (heartbeat).
+   *
+   * <p>Executions whose lease was lost meanwhile (released by the reaper or taken over by
+   * another replica) are cancelled.
+   *
+   * <p>Should be called every {@code loader.locking.heartbeat-interval-seconds}.
+   *
+   * @return number of renewed leases
+   */
+  int renewLeases();
+
   /**
    * Cleans up stale locks from crashed pods.
    *
    * <p>Releases locks that are:
    * <ul>
    *   <li>Not yet released ({@code released = false})</li>
-   *   <li>Acquired more than 2 hours ago</li>
+   *   <li>Past their lease expiry, or acquired more than 2 hours ago</li>
    * </ul>
    *
    * <p>Should be called periodically by scheduler service.
@@ -0,0 +1,100 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring mapping loader codes to replica names.
+ *
+ * <p>Each replica is placed on the ring at {@code virtualNodes} points; a key belongs to the
+ * first replica point at or after its hash. Adding or removing a replica only moves the keys
+ * of that replica's ring segments (about {@code 1/N} of the loaders), so the remaining
+ * replicas keep their assignments.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public final class ConsistentHashRing {
+
+  private static final ConsistentHashRing EMPTY = new ConsistentHashRing(new TreeMap<>(), new TreeSet<>());
+
+  private final TreeMap<Long, String> ring;
+  private final SortedSet<String> members;
+
+  private ConsistentHashRing(TreeMap<Long, String> ring, SortedSet<String> members) {
+    this.ring = ring;
+    this.members = members;
+  }
+
+  /**
+   * Builds a ring of the given replicas.
+   *
+   * @param replicaNames live replica names
+   * @param virtualNodes ring points per replica
+   * @return the ring (empty if there are no replicas)
+   */
+  public static ConsistentHashRing of(Collection<String> replicaNames, int virtualNodes) {
+    if (replicaNames.isEmpty()) {
+      return EMPTY;
+    }
+    TreeMap<Long, String> ring = new TreeMap<>();
+    TreeSet<String> members = new TreeSet<>(replicaNames);
+    int points = Math.max(1, virtualNodes);
+    for (String replicaName : members) {
+      for (int i = 0; i < points; i++) {
+        // On the (unlikely) collision the lexicographically smaller replica wins on every node
+        ring.merge(hash(replicaName + "#" + i), replicaName, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+      }
+    }
+    return new ConsistentHashRing(ring, members);
+  }
+
+  /**
+   * Replica owning the given key, or null if the ring is empty.
+   */
+  public String ownerOf(String key) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+    return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+  }
+
+  /**
+   * Replica names on the ring, sorted.
+   */
+  public List<String> members() {
+    return List.copyOf(members);
+  }
+
+  public boolean isEmpty() {
+    return members.isEmpty();
+  }
+
+  public int size() {
+    return members.size();
+  }
+
+  /**
+   * 64-bit FNV-1a followed by the MurmurHash3 finalizer (spreads similar codes such as
+   * {@code LOADER_1}, {@code LOADER_2} across the whole ring).
+   */
+  static long hash(String key) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b & 0xff;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
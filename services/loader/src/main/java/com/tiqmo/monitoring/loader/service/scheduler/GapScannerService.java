@@ -1,12 +1,18 @@
 package com.tiqmo.monitoring.loader.service.scheduler;
 
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJob;
+import com.tiqmo.monitoring.loader.domain.loader.entity.GapScanCheckpoint;
 import com.tiqmo.monitoring.loader.domain.loader.entity.LoadExecutionStatus;
 import com.tiqmo.monitoring.loader.domain.loader.entity.LoadHistory;
 import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
 import com.tiqmo.monitoring.loader.domain.loader.entity.PurgeStrategy;
+import com.tiqmo.monitoring.loader.domain.loader.repo.BackfillJobRepository;
+import com.tiqmo.monitoring.loader.domain.loader.repo.GapScanCheckpointRepository;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoadHistoryRepository;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
+import com.tiqmo.monitoring.loader.infra.config.GapScanProperties;
 import com.tiqmo.monitoring.loader.service.backfill.BackfillService;
+import com.tiqmo.monitoring.loader.service.execution.TimeWindow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -15,21 +21,34 @@ import org.springframework.stereotype.Service;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Automated Gap Scanner Service - Detects and fills data gaps.
  *
- * <p><b>Gap Detection Scenarios:</b>
+ * <p><b>Coverage index:</b> Every successful load adds the range it covered to the loader's
+ * {@link LoaderCoverageIndex} (committed backfill chunks do the same). A hole between covered
+ * ranges is a gap:
  * <ul>
- *   <li><b>Partial Load:</b> actual_from_time != query_from_time OR actual_to_time != query_to_time</li>
- *   <li><b>No Data Loaded:</b> actual_from_time IS NULL (zero records loaded despite query success)</li>
- *   <li><b>Timeline Gaps:</b> Gap between consecutive successful loads (previous actual_to_time < current actual_from_time)</li>
+ *   <li><b>Partial Load:</b> data starts after the query window start, or ends before its end
+ *       (the load covers {@code [actual_from_time, actual_to_time + aggregation period)})</li>
+ *   <li><b>No Data Loaded:</b> zero records despite query success covers the whole query window
+ *       (likely source downtime, not a gap)</li>
+ *   <li><b>Timeline Gaps:</b> a range between consecutive successful loads that nothing covered</li>
  * </ul>
  *
- * <p><b>Recovery Strategy:</b>
- * Automatically submits backfill jobs with PURGE_AND_RELOAD for detected gaps.
+ * <p><b>Detection:</b> A gap is reported by {@link #onLoadCompleted} as soon as the load after it
+ * completes. The scheduled scan folds only load_history rows added since its checkpoint into the
+ * index (rows whose completion was not recorded, e.g. the replica stopped) and re-submits open
+ * holes whose backfill did not complete.
  *
- * <p><b>Schedule:</b> Runs every 6 hours to detect and recover gaps.
+ * <p><b>Recovery Strategy:</b>
+ * Automatically submits backfill jobs with PURGE_AND_RELOAD for detected gaps. Repeated
+ * submissions for the same gap are coalesced with the pending job.
  *
  * @author Hassan Rawashdeh
  * @since 1.0.0
@@ -39,61 +58,62 @@ import java.util.List;
 @RequiredArgsConstructor
 public class GapScannerService {
 
+    private static final String CHECKPOINT_NAME = "GAP_SCANNER";
+
     private final LoadHistoryRepository loadHistoryRepository;
     private final LoaderRepository loaderRepository;
     private final BackfillService backfillService;
+    private final BackfillJobRepository backfillJobRepository;
+    private final GapScanCheckpointRepository checkpointRepository;
+    private final LoaderCoverageIndex coverageIndex;
+    private final GapScanProperties properties;
 
     /**
-     * Minimum gap size to trigger backfill (5 minutes).
-     * Prevents backfill spam for tiny gaps due to clock skew or rounding.
+     * Records a successful load in the coverage index and backfills the gap before it, if any.
+     *
+     * @param loader Loader that completed
+     * @param history Successful execution
      */
-    private static final Duration MIN_GAP_SIZE = Duration.ofMinutes(5);
+    public void onLoadCompleted(Loader loader, LoadHistory history) {
+        if (!properties.isEnabled()) {
+            return;
+        }
 
-    /**
-     * Lookback window for gap detection (7 days).
-     * Only scans recent history to avoid overwhelming backfill queue.
-     */
-    private static final Duration GAP_SCAN_LOOKBACK = Duration.ofDays(7);
+        try {
+            recordCoverage(loader, history);
+        } catch (Exception e) {
+            log.error("Gap Scanner: Failed to record coverage for {} (history {}): {}",
+                loader.getLoaderCode(), history.getId(), e.getMessage(), e);
+        }
+    }
 
     /**
-     * Gap scanning scheduler - runs every 6 hours.
+     * Gap scanning scheduler.
      *
-     * <p>Scans load_history for gaps in the last 7 days and submits backfill jobs.
+     * <p>Folds new load_history rows into the coverage index, then submits backfill jobs for
+     * coverage holes in the lookback window.
      */
-    @Scheduled(cron = "0 0 */6 * * ?") // Every 6 hours
+    @Scheduled(fixedDelayString = "${loader.gap-scan.scan-interval-seconds:60}",
+               initialDelayString = "${loader.gap-scan.scan-interval-seconds:60}",
+               timeUnit = TimeUnit.SECONDS)
     public void scanForGaps() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
         try {
-            log.info("Gap Scanner: Starting automated gap detection scan");
-
-            Instant scanSince = Instant.now().minus(GAP_SCAN_LOOKBACK);
-            int gapsDetected = 0;
-            int backfillsSubmitted = 0;
-
-            // Scan each enabled loader
-            List<Loader> loaders = loaderRepository.findAllByEnabledTrue();
-            log.debug("Gap Scanner: Scanning {} enabled loaders for gaps since {}", loaders.size(), scanSince);
-
-            for (Loader loader : loaders) {
-                try {
-                    int loaderGaps = scanLoaderForGaps(loader, scanSince);
-                    if (loaderGaps > 0) {
-                        gapsDetected += loaderGaps;
-                        backfillsSubmitted += loaderGaps;
-                        log.info("Gap Scanner: Detected and submitted {} gap(s) for loader {}",
-                            loaderGaps, loader.getLoaderCode());
-                    }
-                } catch (Exception e) {
-                    log.error("Gap Scanner: Error scanning loader {}: {}",
-                        loader.getLoaderCode(), e.getMessage(), e);
-                    // Continue with next loader
-                }
-            }
+            Instant scanSince = Instant.now().minus(Duration.ofDays(properties.getLookbackDays()));
+            Map<String, Loader> loaders = loaderRepository.findAllByEnabledTrue().stream()
+                .collect(Collectors.toMap(Loader::getLoaderCode, Function.identity()));
+
+            int folded = foldNewHistory(loaders, scanSince);
+            int submitted = submitOpenHoles(loaders, scanSince);
 
-            if (gapsDetected > 0) {
-                log.warn("Gap Scanner: Detected {} gap(s) across {} loaders, submitted {} backfill job(s)",
-                    gapsDetected, loaders.size(), backfillsSubmitted);
+            if (submitted > 0) {
+                log.warn("Gap Scanner: Submitted backfill for {} open gap(s) across {} loaders ({} new history rows)",
+                    submitted, loaders.size(), folded);
             } else {
-                log.info("Gap Scanner: No gaps detected in recent history");
+                log.debug("Gap Scanner: No open gaps ({} new history rows)", folded);
             }
 
         } catch (Exception e) {
@@ -102,102 +122,126 @@ public class GapScannerService {
     }
 
     /**
-     * Scans a single loader for gaps in recent history.
+     * Folds load_history rows added since the checkpoint into the coverage index.
      *
-     * <p>Detects three types of gaps:
-     * <ol>
-     *   <li><b>Partial Load:</b> Queried time range larger than actual loaded range</li>
-     *   <li><b>Zero Record Load:</b> Query succeeded but no data loaded (actual_from_time IS NULL)</li>
-     *   <li><b>Timeline Gap:</b> Gap between consecutive successful loads</li>
-     * </ol>
-     *
-     * @param loader Loader to scan
-     * @param scanSince Only scan history since this timestamp
-     * @return Number of gaps detected and backfills submitted
+     * @param loaders Enabled loaders by code
+     * @param scanSince Start of the lookback window (initial checkpoint)
+     * @return Number of history rows read
      */
-    private int scanLoaderForGaps(Loader loader, Instant scanSince) {
-        String loaderCode = loader.getLoaderCode();
-        int gapsFound = 0;
-
-        // Get recent load history for this loader (ordered by start time)
-        List<LoadHistory> history = loadHistoryRepository
-            .findByLoaderCodeAndStartTimeAfter(loaderCode, scanSince);
+    private int foldNewHistory(Map<String, Loader> loaders, Instant scanSince) {
+        GapScanCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+            .orElseGet(() -> GapScanCheckpoint.builder()
+                .scanName(CHECKPOINT_NAME)
+                .lastHistoryId(loadHistoryRepository.findFirstByStartTimeAfterOrderByIdAsc(scanSince)
+                    .map(first -> first.getId() - 1)
+                    .orElse(0L))
+                .build());
+
+        int batchSize = Math.max(1, properties.getHistoryBatchSize());
+        long lastId = checkpoint.getLastHistoryId();
+        int read = 0;
+        List<LoadHistory> batch;
+        do {
+            batch = loadHistoryRepository.findAfterId(lastId, batchSize);
+            for (LoadHistory history : batch) {
+                Loader loader = loaders.get(history.getLoaderCode());
+                if (loader != null && history.getStatus() == LoadExecutionStatus.SUCCESS) {
+                    recordCoverage(loader, history);
+                }
+                lastId = history.getId();
+            }
+            read += batch.size();
+        } while (batch.size() == batchSize);
 
-        if (history.isEmpty()) {
-            log.trace("Gap Scanner: No recent history for loader {}", loaderCode);
-            return 0;
+        if (read > 0 || checkpoint.getUpdatedAt() == null) {
+            checkpoint.setLastHistoryId(lastId);
+            checkpoint.setUpdatedAt(Instant.now());
+            checkpointRepository.save(checkpoint);
         }
+        return read;
+    }
 
-        log.debug("Gap Scanner: Analyzing {} history records for loader {}", history.size(), loaderCode);
-
-        LoadHistory previousLoad = null;
+    /**
+     * Submits backfill jobs for coverage holes that no active job covers.
+     *
+     * @param loaders Enabled loaders by code
+     * @param scanSince Start of the lookback window
+     * @return Number of gaps submitted
+     */
+    private int submitOpenHoles(Map<String, Loader> loaders, Instant scanSince) {
+        Instant failedSince = Instant.now().minus(Duration.ofHours(properties.getFailedRetryHours()));
+        int submitted = 0;
 
-        for (LoadHistory currentLoad : history) {
-            // Only analyze SUCCESS loads (FAILED loads already trigger auto-backfill)
-            if (currentLoad.getStatus() != LoadExecutionStatus.SUCCESS) {
-                previousLoad = currentLoad;
+        for (Map.Entry<String, List<TimeWindow>> entry : coverageIndex.findHoles(scanSince).entrySet()) {
+            String loaderCode = entry.getKey();
+            if (!loaders.containsKey(loaderCode)) {
                 continue;
             }
 
-            // Scenario 1: Partial Load Detection
-            // Check if actual loaded range is smaller than queried range
-            if (currentLoad.getActualFromTime() != null && currentLoad.getActualToTime() != null) {
-                Instant queryFrom = currentLoad.getQueryFromTime();
-                Instant queryTo = currentLoad.getQueryToTime();
-                Instant actualFrom = currentLoad.getActualFromTime();
-                Instant actualTo = currentLoad.getActualToTime();
-
-                // Check for gap at start of window
-                Duration startGap = Duration.between(queryFrom, actualFrom);
-                if (startGap.compareTo(MIN_GAP_SIZE) > 0) {
-                    log.warn("Gap Scanner: Detected START gap for {} | queried: {} | actual: {} | gap: {} minutes",
-                        loaderCode, queryFrom, actualFrom, startGap.toMinutes());
-
-                    submitGapBackfill(loaderCode, queryFrom, actualFrom, "START_GAP");
-                    gapsFound++;
-                }
-
-                // Check for gap at end of window
-                Duration endGap = Duration.between(actualTo, queryTo);
-                if (endGap.compareTo(MIN_GAP_SIZE) > 0) {
-                    log.warn("Gap Scanner: Detected END gap for {} | actual: {} | queried: {} | gap: {} minutes",
-                        loaderCode, actualTo, queryTo, endGap.toMinutes());
-
-                    submitGapBackfill(loaderCode, actualTo, queryTo, "END_GAP");
-                    gapsFound++;
+            List<BackfillJob> activeJobs = backfillJobRepository.findActiveJobsByLoader(loaderCode);
+            for (TimeWindow hole : entry.getValue()) {
+                if (!isBackfillWorthy(hole)
+                    || isCoveredByActiveJob(activeJobs, hole)
+                    || backfillJobRepository.countRecentlyFailedOverlapping(loaderCode,
+                        hole.fromTime().getEpochSecond(), hole.toTime().getEpochSecond(), failedSince) > 0) {
+                    continue;
                 }
+                submitGapBackfill(loaderCode, hole.fromTime(), hole.toTime(), "OPEN_GAP");
+                submitted++;
             }
+        }
+        return submitted;
+    }
 
-            // Scenario 2: Zero Record Load (no actual data despite successful query)
-            if (currentLoad.getActualFromTime() == null && currentLoad.getActualToTime() == null
-                && currentLoad.getRecordsLoaded() != null && currentLoad.getRecordsLoaded() == 0) {
-                log.debug("Gap Scanner: Loader {} had zero-record load for window {} to {} (possible downtime, skipping gap backfill)",
-                    loaderCode, currentLoad.getQueryFromTime(), currentLoad.getQueryToTime());
-                // NOTE: Don't submit backfill for zero-record loads - likely source downtime
-                // The loader will naturally retry this window on next execution
-            }
-
-            // Scenario 3: Timeline Gap Detection (gap between consecutive successful loads)
-            if (previousLoad != null
-                && previousLoad.getStatus() == LoadExecutionStatus.SUCCESS
-                && previousLoad.getActualToTime() != null
-                && currentLoad.getActualFromTime() != null) {
-
-                Duration timelineGap = Duration.between(previousLoad.getActualToTime(), currentLoad.getActualFromTime());
+    /**
+     * Adds the range covered by a successful load to the index; submits the hole before it.
+     */
+    private void recordCoverage(Loader loader, LoadHistory history) {
+        Optional<TimeWindow> covered = coveredRange(loader, history);
+        if (covered.isEmpty()) {
+            return;
+        }
 
-                if (timelineGap.compareTo(MIN_GAP_SIZE) > 0) {
-                    log.warn("Gap Scanner: Detected TIMELINE gap for {} | previous ended: {} | current started: {} | gap: {} minutes",
-                        loaderCode, previousLoad.getActualToTime(), currentLoad.getActualFromTime(), timelineGap.toMinutes());
+        Optional<TimeWindow> gap = coverageIndex.record(
+            loader.getLoaderCode(), covered.get().fromTime(), covered.get().toTime());
 
-                    submitGapBackfill(loaderCode, previousLoad.getActualToTime(), currentLoad.getActualFromTime(), "TIMELINE_GAP");
-                    gapsFound++;
-                }
-            }
+        Instant lookback = Instant.now().minus(Duration.ofDays(properties.getLookbackDays()));
+        if (gap.isPresent() && gap.get().toTime().isAfter(lookback) && isBackfillWorthy(gap.get())) {
+            Instant gapFrom = gap.get().fromTime().isBefore(lookback) ? lookback : gap.get().fromTime();
+            log.warn("Gap Scanner: Detected gap for {} | covered until: {} | next load from: {} | gap: {} minutes",
+                loader.getLoaderCode(), gapFrom, gap.get().toTime(),
+                Duration.between(gapFrom, gap.get().toTime()).toMinutes());
+            submitGapBackfill(loader.getLoaderCode(), gapFrom, gap.get().toTime(), "TIMELINE_GAP");
+        }
+    }
 
-            previousLoad = currentLoad;
+    /**
+     * Range of the data timeline covered by a successful load.
+     *
+     * <p>Loaded data covers {@code [actual_from_time, actual_to_time + aggregation period)}; a
+     * zero-record load covers its query window (source downtime is not backfilled).
+     */
+    static Optional<TimeWindow> coveredRange(Loader loader, LoadHistory history) {
+        if (history.getActualFromTime() != null && history.getActualToTime() != null) {
+            int period = loader.getAggregationPeriodSeconds() != null && loader.getAggregationPeriodSeconds() > 0
+                ? loader.getAggregationPeriodSeconds() : 1;
+            return Optional.of(new TimeWindow(history.getActualFromTime(), history.getActualToTime().plusSeconds(period)));
         }
+        if (history.getRecordsLoaded() != null && history.getRecordsLoaded() == 0
+            && history.getQueryFromTime() != null && history.getQueryToTime() != null) {
+            return Optional.of(new TimeWindow(history.getQueryFromTime(), history.getQueryToTime()));
+        }
+        return Optional.empty();
+    }
+
+    private boolean isBackfillWorthy(TimeWindow gap) {
+        return gap.getDurationSeconds() >= properties.getMinGapSeconds();
+    }
 
-        return gapsFound;
+    private static boolean isCoveredByActiveJob(List<BackfillJob> activeJobs, TimeWindow hole) {
+        long from = hole.fromTime().getEpochSecond();
+        long to = hole.toTime().getEpochSecond();
+        return activeJobs.stream().anyMatch(job -> job.getFromTimeEpoch() <= from && to <= job.getToTimeEpoch());
     }
 
     /**
@@ -210,18 +254,11 @@ public class GapScannerService {
      */
     private void submitGapBackfill(String loaderCode, Instant fromTime, Instant toTime, String reason) {
         try {
-            // Check if backfill already exists for this window
-            long activeJobs = backfillService.countActiveJobsByLoader(loaderCode);
-            if (activeJobs > 5) {
-                log.warn("Gap Scanner: Skipping backfill for {} - already has {} active backfill jobs",
-                    loaderCode, activeJobs);
-                return;
-            }
-
+            // Overlapping, adjacent and repeated gaps are coalesced with active jobs on submission
             log.info("Gap Scanner: Submitting backfill for {} | reason: {} | window: {} to {}",
                 loaderCode, reason, fromTime, toTime);
 
-            backfillService.submitBackfillJob(
+            BackfillJob job = backfillService.submitBackfillJob(
                 loaderCode,
                 fromTime,
                 toTime,
@@ -229,7 +266,7 @@ public class GapScannerService {
                 "SYSTEM_GAP_SCANNER_" + reason
             );
 
-            log.info("Gap Scanner: Backfill submitted successfully for {} ({})", loaderCode, reason);
+            log.info("Gap Scanner: Backfill submitted successfully for {} ({}) | jobId={}", loaderCode, reason, job.getId());
 
         } catch (Exception e) {
             log.error("Gap Scanner: Failed to submit backfill for {} ({}): {}",
@@ -0,0 +1,124 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+/**
+ * Tracks loader executions dispatched to the loader thread pool on this replica.
+ *
+ * <p>Used by the non-blocking dispatch mode of {@link LoaderSchedulerService}:
+ * <ul>
+ *   <li>Per-loader in-flight count (enforces {@code maxParallelExecutions} locally)</li>
+ *   <li>Total in-flight count (prevents queueing more work than the pool can run)</li>
+ *   <li>Start time per execution (used by the timeout watchdog)</li>
+ * </ul>
+ *
+ * <p><b>Metric:</b> <code>loader_inflight_executions</code> (Gauge) - executions currently
+ * dispatched and not yet completed on this replica.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class InFlightExecutionTracker {
+
+  /**
+   * In-flight executions keyed by lockId.
+   */
+  private final Map<String, InFlightExecution> executions = new ConcurrentHashMap<>();
+
+  public InFlightExecutionTracker(MeterRegistry meterRegistry) {
+    Gauge.builder("loader_inflight_executions", executions, Map::size)
+        .description("Loader executions dispatched and not yet completed on this replica")
+        .register(meterRegistry);
+  }
+
+  /**
+   * A dispatched loader execution.
+   *
+   * @param lockId lock held by this execution
+   * @param loaderCode loader being executed
+   * @param startedAt dispatch time (used for timeout enforcement)
+   * @param future handle used to cancel the execution
+   */
+  public record InFlightExecution(String lockId, String loaderCode, Instant startedAt, Future<?> future) {
+
+    /**
+     * Returns true if this execution has been running for at least the given timeout.
+     */
+    public boolean isOverdue(Duration timeout, Instant now) {
+      return Duration.between(startedAt, now).compareTo(timeout) >= 0;
+    }
+  }
+
+  /**
+   * Registers a dispatched execution.
+   */
+  public void register(String lockId, String loaderCode, Future<?> future) {
+    executions.put(lockId, new InFlightExecution(lockId, loaderCode, Instant.now(), future));
+    log.trace("Registered in-flight execution | lockId={} | loaderCode={} | inFlight={}",
+        lockId, loaderCode, executions.size());
+  }
+
+  /**
+   * Removes a completed (or cancelled) execution.
+   *
+   * @return true if the execution was tracked
+   */
+  public boolean complete(String lockId) {
+    InFlightExecution removed = executions.remove(lockId);
+    if (removed != null) {
+      log.trace("Completed in-flight execution | lockId={} | loaderCode={} | inFlight={}",
+          lockId, removed.loaderCode(), executions.size());
+    }
+    return removed != null;
+  }
+
+  /**
+   * Total number of in-flight executions on this replica.
+   */
+  public int count() {
+    return executions.size();
+  }
+
+  /**
+   * Number of in-flight executions for a single loader on this replica.
+   */
+  public int count(String loaderCode) {
+    return (int) executions.values().stream()
+        .filter(e -> e.loaderCode().equals(loaderCode))
+        .count();
+  }
+
+  /**
+   * In-flight execution counts grouped by loader code (sorted by loader code).
+   */
+  public Map<String, Integer> countsByLoader() {
+    Map<String, Integer> counts = new TreeMap<>();
+    for (InFlightExecution execution : executions.values()) {
+      counts.merge(execution.loaderCode(), 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  /**
+   * Returns executions that have been running for at least the given timeout.
+   */
+  public List<InFlightExecution> findOverdue(Duration timeout) {
+    Instant now = Instant.now();
+    return executions.values().stream()
+        .filter(e -> e.isOverdue(timeout, now))
+        .toList();
+  }
+}
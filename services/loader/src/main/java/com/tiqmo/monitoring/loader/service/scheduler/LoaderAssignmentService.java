@@ -0,0 +1,273 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderReplica;
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderReplicaRepository;
+import com.tiqmo.monitoring.loader.infra.ReplicaNameProvider;
+import com.tiqmo.monitoring.loader.infra.config.AssignmentProperties;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide loader assignment across replicas.
+ *
+ * <p>Without assignment every replica schedules every due loader and the lock table decides,
+ * so the replica that ticks first takes most of the work and the others produce failed lock
+ * attempts. With assignment each loader has one owner:
+ *
+ * <p><b>Membership:</b> Every replica upserts its {@link LoaderReplica} row (heartbeat, in-flight
+ * executions, pool size) every {@code heartbeatIntervalSeconds}. Replicas with a heartbeat within
+ * {@code membershipTimeoutSeconds} form the ring; a crashed pod drops out after the timeout and
+ * a stopped pod removes its row on shutdown.
+ *
+ * <p><b>Ownership:</b> {@code loaderCode} is mapped to a replica by a {@link ConsistentHashRing}
+ * with virtual nodes, so loaders spread evenly and only about {@code 1/N} of them move when a
+ * replica joins or leaves. Replicas schedule their own loaders only; the lock still guards
+ * against overlaps while membership views converge.
+ *
+ * <p><b>Work stealing:</b> A replica may take a loader it does not own when the loader is overdue
+ * by at least {@code stealAfterSeconds}, its owner is overloaded (pool full or utilization above
+ * {@code overloadFactor} x cluster average) and this replica is below the cluster average.
+ *
+ * <p>A single replica, or a replica that has not joined the ring yet (e.g. database unavailable),
+ * schedules every loader as before.
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li><code>loader_cluster_replicas</code> (Gauge) - live replicas on the ring</li>
+ *   <li><code>loader_assignment_stolen_total</code> (Counter) - loaders taken from overloaded owners</li>
+ * </ul>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class LoaderAssignmentService {
+
+  private final LoaderReplicaRepository replicaRepository;
+  private final ReplicaNameProvider replicaNameProvider;
+  private final InFlightExecutionTracker inFlightTracker;
+  private final ExecutionProperties executionProperties;
+  private final AssignmentProperties properties;
+  private final Counter stolen;
+
+  private final Instant startedAt = Instant.now();
+
+  /**
+   * Membership snapshot of the last heartbeat.
+   */
+  private volatile ClusterView view = ClusterView.EMPTY;
+
+  public LoaderAssignmentService(LoaderReplicaRepository replicaRepository,
+                                 ReplicaNameProvider replicaNameProvider,
+                                 InFlightExecutionTracker inFlightTracker,
+                                 ExecutionProperties executionProperties,
+                                 AssignmentProperties properties,
+                                 MeterRegistry meterRegistry) {
+    this.replicaRepository = replicaRepository;
+    this.replicaNameProvider = replicaNameProvider;
+    this.inFlightTracker = inFlightTracker;
+    this.executionProperties = executionProperties;
+    this.properties = properties;
+    Gauge.builder("loader_cluster_replicas", this, s -> s.view.ring().size())
+        .description("Live loader replicas on the assignment ring")
+        .register(meterRegistry);
+    this.stolen = Counter.builder("loader_assignment_stolen_total")
+        .description("Loaders executed by a replica other than their owner (work stealing)")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Live replicas, the ring built from them and their average utilization.
+   */
+  record ClusterView(ConsistentHashRing ring, Map<String, LoaderReplica> replicas, double averageUtilization) {
+    static final ClusterView EMPTY = new ClusterView(ConsistentHashRing.of(List.of(), 1), Map.of(), 0.0);
+  }
+
+  /**
+   * Publishes this replica's heartbeat and load, then refreshes the membership view.
+   */
+  @Scheduled(fixedDelayString = "${loader.assignment.heartbeat-interval-seconds:10}",
+             initialDelay = 0,
+             timeUnit = TimeUnit.SECONDS)
+  @Transactional
+  public void heartbeat() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    Instant now = Instant.now();
+    String self = replicaNameProvider.getReplicaName();
+
+    LoaderReplica replica = replicaRepository.findById(self)
+        .orElseGet(() -> LoaderReplica.builder().replicaName(self).startedAt(startedAt).build());
+    replica.setHeartbeatAt(now);
+    replica.setInFlightExecutions(inFlightTracker.count());
+    replica.setCapacity(executionProperties.getThreadPoolSize());
+    replicaRepository.save(replica);
+
+    // Forget replicas that have been gone for much longer than the membership timeout
+    replicaRepository.deleteByHeartbeatAtBefore(now.minusSeconds(10L * properties.getMembershipTimeoutSeconds()));
+
+    refreshView(replicaRepository.findByHeartbeatAtAfterOrderByReplicaName(
+        now.minusSeconds(properties.getMembershipTimeoutSeconds())));
+  }
+
+  /**
+   * Leaves the cluster on shutdown so the remaining replicas take over immediately.
+   */
+  @PreDestroy
+  public void leave() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      replicaRepository.deleteById(replicaNameProvider.getReplicaName());
+      log.info("Replica {} left the loader cluster", replicaNameProvider.getReplicaName());
+    } catch (Exception e) {
+      log.warn("Failed to deregister replica {} (dropped after membership timeout): {}",
+          replicaNameProvider.getReplicaName(), e.getMessage());
+    }
+  }
+
+  void refreshView(List<LoaderReplica> liveReplicas) {
+    Map<String, LoaderReplica> replicas = new LinkedHashMap<>();
+    double totalUtilization = 0;
+    for (LoaderReplica replica : liveReplicas) {
+      replicas.put(replica.getReplicaName(), replica);
+      totalUtilization += replica.utilization();
+    }
+
+    ClusterView previous = view;
+    List<String> members = List.copyOf(new TreeSet<>(replicas.keySet()));
+    ConsistentHashRing ring = previous.ring().members().equals(members)
+        ? previous.ring()
+        : ConsistentHashRing.of(members, properties.getVirtualNodes());
+    if (ring != previous.ring()) {
+      log.info("Loader cluster membership changed | replicas={} (was {})", ring.members(), previous.ring().members());
+    }
+
+    double averageUtilization = replicas.isEmpty() ? 0.0 : totalUtilization / replicas.size();
+    view = new ClusterView(ring, Map.copyOf(replicas), averageUtilization);
+  }
+
+  /**
+   * Decides whether this replica should run a due loader.
+   *
+   * @param loader the due loader
+   * @param now scheduler tick time
+   * @return true if the loader is owned by this replica, stolen from an overloaded owner,
+   *         or assignment does not apply (disabled, single replica, not on the ring yet)
+   */
+  public boolean shouldSchedule(Loader loader, Instant now) {
+    if (!properties.isEnabled()) {
+      return true;
+    }
+
+    ClusterView current = view;
+    String self = replicaNameProvider.getReplicaName();
+    if (current.ring().size() <= 1 || !current.replicas().containsKey(self)) {
+      return true;
+    }
+
+    String owner = current.ring().ownerOf(loader.getLoaderCode());
+    if (self.equals(owner)) {
+      return true;
+    }
+
+    // Work stealing: overdue loader of an overloaded owner, and this replica has spare capacity
+    Instant dueAt = LoaderDueQueue.nextDueAt(loader);
+    if (dueAt == null || Duration.between(dueAt, now).getSeconds() < properties.getStealAfterSeconds()) {
+      return false;
+    }
+    LoaderReplica ownerReplica = current.replicas().get(owner);
+    if (ownerReplica == null || !isOverloaded(ownerReplica, current.averageUtilization())) {
+      return false;
+    }
+    if (localUtilization() >= current.averageUtilization() && inFlightTracker.count() > 0) {
+      return false;
+    }
+
+    stolen.increment();
+    log.info("Stealing loader {} from overloaded replica {} (in flight {}/{}, overdue since {})",
+        loader.getLoaderCode(), owner, ownerReplica.getInFlightExecutions(), ownerReplica.getCapacity(), dueAt);
+    return true;
+  }
+
+  /**
+   * Delay before a loader owned by another replica is looked at again (the owner normally
+   * runs it in the meantime and the due queue resync picks up its new due time).
+   */
+  public Duration getDeferDelay() {
+    return Duration.ofSeconds(properties.getStealAfterSeconds());
+  }
+
+  /**
+   * Name of this replica.
+   */
+  public String getReplicaName() {
+    return replicaNameProvider.getReplicaName();
+  }
+
+  /**
+   * Owner of a loader, or null if the ring is empty.
+   */
+  public String ownerOf(String loaderCode) {
+    return view.ring().ownerOf(loaderCode);
+  }
+
+  /**
+   * Live replicas of the last heartbeat, ordered by name.
+   */
+  public List<LoaderReplica> getLiveReplicas() {
+    return new ArrayList<>(new TreeMap<>(view.replicas()).values());
+  }
+
+  /**
+   * Groups loader codes by owning replica (every live replica is present, possibly empty).
+   */
+  public Map<String, List<String>> assign(Collection<String> loaderCodes) {
+    ConsistentHashRing ring = view.ring();
+    Map<String, List<String>> assignments = new TreeMap<>();
+    ring.members().forEach(member -> assignments.put(member, new ArrayList<>()));
+    for (String loaderCode : loaderCodes) {
+      String owner = ring.ownerOf(loaderCode);
+      if (owner != null) {
+        assignments.get(owner).add(loaderCode);
+      }
+    }
+    assignments.values().forEach(codes -> codes.sort(String::compareTo));
+    return assignments;
+  }
+
+  private boolean isOverloaded(LoaderReplica replica, double averageUtilization) {
+    int capacity = replica.getCapacity() != null ? replica.getCapacity() : 0;
+    int inFlight = replica.getInFlightExecutions() != null ? replica.getInFlightExecutions() : 0;
+    return inFlight >= capacity
+        || (averageUtilization > 0 && replica.utilization() > averageUtilization * properties.getOverloadFactor());
+  }
+
+  private double localUtilization() {
+    int capacity = Math.max(1, executionProperties.getThreadPoolSize());
+    return inFlightTracker.count() / (double) capacity;
+  }
+}
@@ -0,0 +1,145 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderCoverage;
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderCoverageRepository;
+import com.tiqmo.monitoring.loader.service.execution.TimeWindow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persisted per-loader coverage index (interval set of loaded time ranges).
+ *
+ * <p>Completed loads {@link #record} and committed backfill chunks {@link #extend} their range: overlapping or
+ * adjacent rows of the loader are merged into one, so the index stays at one row per loader plus
+ * one per open gap. Recording returns the hole directly before the new range, which lets a gap be
+ * detected the moment the load after it completes.
+ *
+ * <p>Concurrent recordings for the same loader may leave overlapping rows; readers take the
+ * union and the next recording that touches them merges them.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoaderCoverageIndex {
+
+  private final LoaderCoverageRepository coverageRepository;
+
+  /**
+   * Adds {@code [from, to)} to the loader's coverage.
+   *
+   * @param loaderCode Loader code
+   * @param from Start of the loaded range
+   * @param to End of the loaded range (exclusive)
+   * @return Uncovered range between the preceding covered range and the new one, if the new
+   *         range starts right after it (not reported again when the range is extended)
+   */
+  @Transactional
+  public Optional<TimeWindow> record(String loaderCode, Instant from, Instant to) {
+    return merge(loaderCode, from, to, false);
+  }
+
+  /**
+   * Adds {@code [from, to)} to the loader's coverage if it overlaps or touches covered data.
+   *
+   * <p>Used for backfilled ranges: a backfill filling a gap in time order always touches the
+   * coverage before it, while a backfill of history the loader never covered does not open
+   * new gaps towards the loader's timeline.
+   *
+   * @param loaderCode Loader code
+   * @param from Start of the loaded range
+   * @param to End of the loaded range (exclusive)
+   */
+  @Transactional
+  public void extend(String loaderCode, Instant from, Instant to) {
+    merge(loaderCode, from, to, true);
+  }
+
+  private Optional<TimeWindow> merge(String loaderCode, Instant from, Instant to, boolean extendOnly) {
+    if (from == null || to == null || !to.isAfter(from)) {
+      return Optional.empty();
+    }
+
+    long fromEpoch = from.getEpochSecond();
+    long toEpoch = to.getEpochSecond();
+    List<LoaderCoverage> touching = coverageRepository.findTouching(loaderCode, fromEpoch, toEpoch);
+
+    if (extendOnly && touching.isEmpty()) {
+      return Optional.empty();
+    }
+
+    if (touching.size() == 1
+        && touching.get(0).getFromEpoch() <= fromEpoch && toEpoch <= touching.get(0).getToEpoch()) {
+      return Optional.empty(); // Already covered
+    }
+
+    long mergedFrom = fromEpoch;
+    long mergedTo = toEpoch;
+    for (LoaderCoverage range : touching) {
+      mergedFrom = Math.min(mergedFrom, range.getFromEpoch());
+      mergedTo = Math.max(mergedTo, range.getToEpoch());
+    }
+    if (!touching.isEmpty()) {
+      coverageRepository.deleteByIds(touching.stream().map(LoaderCoverage::getId).toList());
+    }
+    coverageRepository.save(LoaderCoverage.builder()
+        .loaderCode(loaderCode)
+        .fromEpoch(mergedFrom)
+        .toEpoch(mergedTo)
+        .updatedAt(Instant.now())
+        .build());
+
+    log.trace("Coverage of {} extended by [{}, {}) to [{}, {})",
+        loaderCode, from, to, Instant.ofEpochSecond(mergedFrom), Instant.ofEpochSecond(mergedTo));
+
+    if (mergedFrom < fromEpoch) {
+      return Optional.empty(); // Extends a range; any hole before it was reported already
+    }
+    long holeTo = mergedFrom;
+    return coverageRepository.findFirstByLoaderCodeAndToEpochLessThanOrderByToEpochDesc(loaderCode, mergedFrom)
+        .map(previous -> new TimeWindow(Instant.ofEpochSecond(previous.getToEpoch()), Instant.ofEpochSecond(holeTo)));
+  }
+
+  /**
+   * Holes in the coverage of all loaders, between covered ranges ending after {@code since}.
+   *
+   * <p>Only holes with covered data on both sides are returned: the start of a loader's
+   * timeline and the range it has not reached yet are not gaps.
+   *
+   * @param since Holes ending before this are ignored; holes across it are clipped
+   * @return Holes per loader code, in time order
+   */
+  @Transactional(readOnly = true)
+  public Map<String, List<TimeWindow>> findHoles(Instant since) {
+    long sinceEpoch = since.getEpochSecond();
+    Map<String, List<TimeWindow>> holes = new LinkedHashMap<>();
+
+    String loaderCode = null;
+    long coveredTo = Long.MIN_VALUE;
+    for (LoaderCoverage range : coverageRepository.findCoveredSince(sinceEpoch)) {
+      if (!range.getLoaderCode().equals(loaderCode)) {
+        loaderCode = range.getLoaderCode();
+        coveredTo = range.getToEpoch();
+        continue;
+      }
+      long holeFrom = Math.max(coveredTo, sinceEpoch);
+      if (range.getFromEpoch() > holeFrom) {
+        holes.computeIfAbsent(loaderCode, code -> new ArrayList<>())
+            .add(new TimeWindow(Instant.ofEpochSecond(holeFrom), Instant.ofEpochSecond(range.getFromEpoch())));
+      }
+      coveredTo = Math.max(coveredTo, range.getToEpoch());
+    }
+    return holes;
+  }
+}
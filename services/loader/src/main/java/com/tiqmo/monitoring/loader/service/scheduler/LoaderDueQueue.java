@@ -0,0 +1,242 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadStatus;
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.events.LoaderChangedEvent;
+import com.tiqmo.monitoring.workflow.domain.VersionStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory queue of schedulable loaders ordered by next due time.
+ *
+ * <p>Replaces the full-table scan of every scheduler tick: {@link LoaderSchedulerService}
+ * peeks the head of the queue and only loads loaders whose due time has passed.
+ *
+ * <p><b>Due time</b> ({@link #nextDueAt(Loader)}):
+ * <ul>
+ *   <li>Never executed: due immediately</li>
+ *   <li>Otherwise: {@code lastLoadTimestamp + minIntervalSeconds}</li>
+ *   <li>FAILED: no later than {@code failedSince + 20 minutes} (auto-recovery)</li>
+ *   <li>Disabled, PAUSED or not ACTIVE: not queued</li>
+ * </ul>
+ *
+ * <p><b>Refresh:</b>
+ * <ul>
+ *   <li>Full rebuild on the first scheduler tick</li>
+ *   <li>Incremental on every local loader change ({@link LoaderChangedEvent}, applied
+ *       after commit)</li>
+ *   <li>Periodic resync of loaders changed on other replicas (scheduler)</li>
+ * </ul>
+ * Entries may be stale (e.g. another replica ran the loader); the scheduler re-checks every
+ * polled loader against the database and re-queues it with its actual due time.
+ *
+ * <p><b>Metric:</b> <code>loader_scheduler_queued_loaders</code> (Gauge) - loaders in the queue.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class LoaderDueQueue {
+
+  /**
+   * Auto-recovery threshold for FAILED loaders (see {@link LoaderSchedulerService#recoverFailedLoaders()}).
+   */
+  static final Duration FAILED_RECOVERY_THRESHOLD = Duration.ofMinutes(20);
+
+  /**
+   * Current entry per loader id. Heap entries not present here are stale and skipped.
+   */
+  private final Map<Long, Entry> entries = new HashMap<>();
+
+  private final PriorityQueue<Entry> heap = new PriorityQueue<>(
+      Comparator.comparing(Entry::dueAt).thenComparingLong(Entry::sequence));
+
+  private long sequence;
+  private boolean initialized;
+
+  public LoaderDueQueue(MeterRegistry meterRegistry) {
+    Gauge.builder("loader_scheduler_queued_loaders", this, LoaderDueQueue::size)
+        .description("Loaders waiting in the scheduler due queue on this replica")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Computes the next due time of a loader.
+   *
+   * @param loader the loader
+   * @return next due time, or null if the loader must not be scheduled
+   */
+  public static Instant nextDueAt(Loader loader) {
+    if (!loader.isEnabled()
+        || loader.getVersionStatus() != VersionStatus.ACTIVE
+        || loader.getLoadStatus() == LoadStatus.PAUSED) {
+      return null;
+    }
+
+    Instant lastLoadTimestamp = loader.getLastLoadTimestamp();
+    Integer minIntervalSeconds = loader.getMinIntervalSeconds();
+    Instant dueAt = lastLoadTimestamp == null
+        ? Instant.EPOCH
+        : lastLoadTimestamp.plusSeconds(minIntervalSeconds != null ? minIntervalSeconds : 0);
+
+    if (loader.getLoadStatus() == LoadStatus.FAILED && loader.getFailedSince() != null) {
+      Instant recoveryAt = loader.getFailedSince().plus(FAILED_RECOVERY_THRESHOLD);
+      if (recoveryAt.isBefore(dueAt)) {
+        dueAt = recoveryAt;
+      }
+    }
+    return dueAt;
+  }
+
+  /**
+   * Replaces the queue content with the given loaders.
+   */
+  public synchronized void rebuild(Collection<Loader> loaders) {
+    entries.clear();
+    heap.clear();
+    for (Loader loader : loaders) {
+      Instant dueAt = nextDueAt(loader);
+      if (dueAt != null) {
+        put(loader.getId(), loader.getLoaderCode(), dueAt);
+      }
+    }
+    initialized = true;
+    log.info("Scheduler due queue rebuilt | loaders={} | nextDueAt={}", entries.size(), peekDueAt());
+  }
+
+  /**
+   * Queues the loader at its next due time, or removes it if it must not be scheduled.
+   */
+  public void upsert(Loader loader) {
+    Instant dueAt = nextDueAt(loader);
+    if (dueAt == null) {
+      remove(loader.getId());
+    } else {
+      schedule(loader.getId(), loader.getLoaderCode(), dueAt);
+    }
+  }
+
+  /**
+   * Queues (or re-queues) a loader at the given time.
+   */
+  public synchronized void schedule(Long loaderId, String loaderCode, Instant dueAt) {
+    put(loaderId, loaderCode, dueAt);
+  }
+
+  /**
+   * Queues a loader at the given time unless it is already queued.
+   */
+  public synchronized void scheduleIfAbsent(Long loaderId, String loaderCode, Instant dueAt) {
+    if (!entries.containsKey(loaderId)) {
+      put(loaderId, loaderCode, dueAt);
+    }
+  }
+
+  /**
+   * Removes a loader from the queue.
+   */
+  public synchronized void remove(Long loaderId) {
+    if (entries.remove(loaderId) != null) {
+      compactIfNeeded();
+    }
+  }
+
+  /**
+   * Removes and returns the ids of all loaders due at {@code now}, earliest first.
+   * Polled loaders are no longer queued until they are re-scheduled.
+   */
+  public synchronized List<Long> pollDue(Instant now) {
+    List<Long> due = new ArrayList<>();
+    while (!heap.isEmpty() && !heap.peek().dueAt().isAfter(now)) {
+      Entry entry = heap.poll();
+      if (entries.get(entry.loaderId()) == entry) {
+        entries.remove(entry.loaderId());
+        due.add(entry.loaderId());
+      }
+    }
+    return due;
+  }
+
+  /**
+   * Earliest due time in the queue.
+   */
+  public synchronized Optional<Instant> nextDueAt() {
+    return Optional.ofNullable(peekDueAt());
+  }
+
+  /**
+   * Whether the queue has been built at least once.
+   */
+  public synchronized boolean isInitialized() {
+    return initialized;
+  }
+
+  /**
+   * Number of queued loaders.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Applies a local loader change once its transaction has committed.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onLoaderChanged(LoaderChangedEvent event) {
+    Loader loader = event.loader();
+    if (loader.getId() == null) {
+      return;
+    }
+    Instant dueAt = event.removed() ? null : nextDueAt(loader);
+    if (dueAt == null) {
+      remove(loader.getId());
+      log.trace("Scheduler due queue: removed loader {}", loader.getLoaderCode());
+    } else {
+      schedule(loader.getId(), loader.getLoaderCode(), dueAt);
+      log.trace("Scheduler due queue: loader {} due at {}", loader.getLoaderCode(), dueAt);
+    }
+  }
+
+  private void put(Long loaderId, String loaderCode, Instant dueAt) {
+    Entry entry = new Entry(loaderId, loaderCode, dueAt, sequence++);
+    entries.put(loaderId, entry);
+    heap.add(entry);
+    compactIfNeeded();
+  }
+
+  private Instant peekDueAt() {
+    while (!heap.isEmpty() && entries.get(heap.peek().loaderId()) != heap.peek()) {
+      heap.poll();
+    }
+    return heap.isEmpty() ? null : heap.peek().dueAt();
+  }
+
+  /**
+   * Drops superseded heap entries once they outnumber the live ones.
+   */
+  private void compactIfNeeded() {
+    if (heap.size() > 2 * entries.size() + 64) {
+      heap.clear();
+      heap.addAll(entries.values());
+    }
+  }
+
+  private record Entry(Long loaderId, String loaderCode, Instant dueAt, long sequence) {
+  }
+}
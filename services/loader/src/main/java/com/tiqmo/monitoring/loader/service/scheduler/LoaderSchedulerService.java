@@ -8,9 +8,13 @@ import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderExecutionLockReposit
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
 import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
 import com.tiqmo.monitoring.loader.infra.config.LockingProperties;
+import com.tiqmo.monitoring.loader.infra.db.SourceQueryRegistry;
 import com.tiqmo.monitoring.loader.service.execution.LoadExecutorService;
 import com.tiqmo.monitoring.loader.service.locking.LoaderLock;
 import com.tiqmo.monitoring.loader.service.locking.LockManager;
+import com.tiqmo.monitoring.loader.service.signals.SignalsPurger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -23,8 +27,15 @@ import java.time.Instant;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -42,20 +53,44 @@ import java.util.concurrent.TimeoutException;
  *
  * <p><b>Execution Flow:</b>
  * <pre>
- * 1. Recover FAILED loaders (if failedSince + 20 minutes < now)
- * 2. Find all enabled loaders
+ * 1. Poll due loader ids from the {@link LoaderDueQueue} (no database access if none is due)
+ * 2. Load only those loaders (enabled and ACTIVE)
  * 3. Sort by priority (IDLE > RUNNING > FAILED)
  * 4. For each loader:
- *    a. Check if due for execution (based on lastLoadTimestamp + minIntervalSeconds)
- *    b. Try to acquire lock (prevents duplicate execution across replicas)
- *    c. If lock acquired, execute via LoadExecutorService
- *    d. Release lock
+ *    a. Recover if FAILED (failedSince + 20 minutes < now)
+ *    b. Re-check if due (the queue entry may be stale) - if not, re-queue at the actual due time
+ *    c. Skip loaders assigned to another replica ({@link LoaderAssignmentService})
+ *    d. Try to acquire lock (prevents duplicate execution across replicas)
+ *    e. If lock acquired, execute via LoadExecutorService
+ *    f. Release lock
+ * 5. Loaders that could not be dispatched are re-queued after {@code schedulerRetryDelaySeconds}
  * </pre>
  *
+ * <p><b>Due Queue:</b> Built from the loader table on the first tick, then kept current by
+ * loader change events (create, approve, pause/resume, timestamp adjustment, execution
+ * progress) and by a periodic resync of rows updated on other replicas
+ * ({@link #resyncDueQueue()}). Scheduling cost grows with the number of due loaders,
+ * not with the number of loaders.
+ *
+ * <p><b>Dispatch Modes</b> ({@code loader.execution.dispatch-mode}):
+ * <ul>
+ *   <li><b>ASYNC</b> (default): The tick acquires the lock and hands the loader to the
+ *       thread pool without waiting. A completion callback unregisters the execution and
+ *       releases the lock; {@link #enforceExecutionTimeouts()} cancels overdue executions.
+ *       Local in-flight counts ({@link InFlightExecutionTracker}) cap each loader at
+ *       {@code maxParallelExecutions} and the replica at the pool size.</li>
+ *   <li><b>BLOCKING</b>: Legacy behaviour - waits for each execution (with timeout)
+ *       before processing the next loader.</li>
+ * </ul>
+ *
  * <p><b>Scheduling Configuration:</b>
  * <ul>
- *   <li>Main scheduler: Runs every 10 seconds (fixedDelay = 10000ms)</li>
- *   <li>Lock cleanup: Runs every 30 minutes (fixedDelay = 1800000ms)</li>
+ *   <li>Main scheduler: Ticks every second ({@code scheduler-tick-ms}), peeking the due queue</li>
+ *   <li>Due queue resync: Every 30 seconds ({@code scheduler-resync-seconds})</li>
+ *   <li>Lease heartbeat: Every 10 seconds ({@code loader.locking.heartbeat-interval-seconds}),
+ *       on its own thread</li>
+ *   <li>Lock cleanup: Every 30 seconds ({@code loader.locking.reaper-interval-seconds})</li>
+ *   <li>Timeout watchdog: Runs every minute (fixedDelay = 60000ms, ASYNC mode only)</li>
  * </ul>
  *
  * @author Hassan Rawashdeh
@@ -78,12 +113,36 @@ public class LoaderSchedulerService {
   private final ExecutionProperties executionProperties;
   private final LockingProperties lockingProperties;
 
-  private final com.tiqmo.monitoring.loader.domain.signals.repo.SignalsHistoryRepository signalsHistoryRepository;
+  private final SignalsPurger signalsPurger;
+
+  private final InFlightExecutionTracker inFlightTracker;
+
+  private final SourceQueryRegistry sourceQueryRegistry;
+
+  private final LoaderDueQueue dueQueue;
+
+  private final LoaderAssignmentService assignmentService;
 
   /**
    * Round 12: Auto-recovery threshold for FAILED loaders (20 minutes).
    */
-  private static final Duration FAILED_RECOVERY_THRESHOLD = Duration.ofMinutes(20);
+  private static final Duration FAILED_RECOVERY_THRESHOLD = LoaderDueQueue.FAILED_RECOVERY_THRESHOLD;
+
+  /**
+   * Start of the last due-queue rebuild/resync (lower bound of the next resync).
+   */
+  private volatile Instant lastQueueSyncAt;
+
+  /**
+   * Start of the last successful orphaned-signals cleanup (lower bound of the next one).
+   */
+  private volatile Instant lastOrphanCleanupAt;
+
+  /**
+   * Overlap of consecutive orphaned-signals cleanups, covering loads that failed while the
+   * previous cleanup ran.
+   */
+  private static final Duration ORPHAN_CLEANUP_OVERLAP = Duration.ofHours(1);
 
   /**
    * Load history retention period (30 days).
@@ -92,11 +151,22 @@ public class LoaderSchedulerService {
   private static final int LOAD_HISTORY_RETENTION_DAYS = 30;
 
   /**
-   * Main scheduling loop - runs every 10 seconds.
+   * Thread of the lease heartbeat. The {@code @Scheduled} jobs share Spring's single scheduler
+   * thread, which a BLOCKING tick or a long cleanup holds for longer than a lease; renewals
+   * queued behind them would let the leases of running executions expire.
+   */
+  private final ScheduledExecutorService leaseHeartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "loader-lease-heartbeat");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Main scheduling loop - ticks every second and only touches due loaders.
    *
    * <p>Coordinates Rounds 10-12:
    * <ul>
-   *   <li>Round 12: Recover FAILED loaders</li>
+   *   <li>Round 12: Recover FAILED loaders (when their recovery time is due)</li>
    *   <li>Round 10: Basic scheduling logic</li>
    *   <li>Round 11: Priority-based execution</li>
    * </ul>
@@ -104,59 +174,60 @@ public class LoaderSchedulerService {
    * <p><b>SECURITY:</b> Only executes ACTIVE loaders (unified approval workflow).
    * DRAFT and PENDING_APPROVAL loaders are skipped to prevent unauthorized code execution.
    */
-  @Scheduled(fixedDelay = 10000, initialDelay = 5000)
+  @Scheduled(fixedDelayString = "${loader.execution.scheduler-tick-ms:1000}", initialDelay = 5000)
   public void scheduleLoaders() {
     try {
-      log.trace("Entering scheduleLoaders() | processId={} | contextId={}",
-              MDC.get("processId"), MDC.get("contextId"));
-      log.debug("Scheduler: Starting scheduling cycle");
-
-      // Round 12: Auto-recover FAILED loaders
-      log.trace("Executing recoverFailedLoaders()");
-      recoverFailedLoaders();
+      if (!dueQueue.isInitialized()) {
+        rebuildDueQueue();
+      }
 
-      // SECURITY: Find all enabled AND ACTIVE loaders only (unified approval workflow)
-      log.trace("Querying for enabled and ACTIVE loaders");
-      List<Loader> enabledLoaders = loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE);
-      if (enabledLoaders.isEmpty()) {
-        log.debug("Scheduler: No enabled and ACTIVE loaders found");
-        log.trace("Exiting scheduleLoaders() | reason=no_loaders");
+      Instant now = Instant.now();
+      List<Long> dueIds = dueQueue.pollDue(now);
+      if (dueIds.isEmpty()) {
+        log.trace("Scheduler: No loader due | queued={} | nextDueAt={}",
+                dueQueue.size(), dueQueue.nextDueAt().orElse(null));
         return;
       }
 
-      log.debug("Scheduler: Found {} enabled and ACTIVE loader(s)", enabledLoaders.size());
-      log.trace("Loader codes: {}", enabledLoaders.stream().map(Loader::getLoaderCode).toList());
+      log.trace("Entering scheduleLoaders() | processId={} | contextId={} | due={}",
+              MDC.get("processId"), MDC.get("contextId"), dueIds.size());
+
+      // SECURITY: Load due loaders only if still enabled AND ACTIVE (unified approval workflow)
+      List<Loader> dueLoaders = loaderRepository.findAllByIdInAndEnabledTrueAndVersionStatus(
+          dueIds, VersionStatus.ACTIVE);
+      if (dueLoaders.size() < dueIds.size()) {
+        log.debug("Scheduler: {} due loader(s) no longer enabled/ACTIVE - dropped from queue",
+                dueIds.size() - dueLoaders.size());
+      }
 
       // Round 11: Sort by priority (IDLE > RUNNING > FAILED)
-      log.trace("Sorting loaders by priority (IDLE > RUNNING > FAILED)");
-      List<Loader> sortedLoaders = sortByPriority(enabledLoaders);
+      List<Loader> sortedLoaders = sortByPriority(dueLoaders);
 
-      // Round 10: Process each loader
-      int processed = 0, executed = 0, skipped = 0;
+      // Round 10: Process each due loader
+      int processed = 0, dispatched = 0, requeued = 0;
       for (Loader loader : sortedLoaders) {
         MDC.put("loaderCode", loader.getLoaderCode());
         try {
           log.trace("Processing loader {} (status: {}, lastLoad: {})",
                   loader.getLoaderCode(), loader.getLoadStatus(), loader.getLastLoadTimestamp());
-          processLoader(loader);
-          processed++;
-          if (loader.getLoadStatus() == LoadStatus.RUNNING) {
-            executed++;
+          if (processLoader(loader, now)) {
+            dispatched++;
           } else {
-            skipped++;
+            requeued++;
           }
+          processed++;
         } catch (Exception e) {
           log.error("Scheduler: Error processing loader {} | correlationId={} | error={}",
               loader.getLoaderCode(), MDC.get("correlationId"), e.getMessage(), e);
+          requeueForRetry(loader);
           // Continue with next loader
         } finally {
           MDC.remove("loaderCode");
         }
       }
 
-      log.info("Scheduler: Scheduling cycle complete | processed={} | executed={} | skipped={}",
-              processed, executed, skipped);
-      log.trace("Exiting scheduleLoaders() | success=true");
+      log.debug("Scheduler: Scheduling cycle complete | processed={} | dispatched={} | requeued={} | queued={}",
+              processed, dispatched, requeued, dueQueue.size());
 
     } catch (Exception e) {
       log.error("Scheduler: Unexpected error in scheduling cycle | processId={}",
@@ -165,15 +236,143 @@ public class LoaderSchedulerService {
   }
 
   /**
-   * Round 13: Stale Lock Cleanup - runs every 30 minutes.
+   * Rebuilds the due queue from all enabled and ACTIVE loaders.
+   *
+   * <p>Runs on the first scheduler tick; afterwards the queue is maintained incrementally.
+   */
+  public void rebuildDueQueue() {
+    Instant startedAt = Instant.now();
+    dueQueue.rebuild(loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE));
+    lastQueueSyncAt = startedAt;
+  }
+
+  /**
+   * Due queue resync - runs every 30 seconds.
+   *
+   * <p>Local changes reach the queue immediately through loader change events; this picks up
+   * loaders created, approved, paused, resumed or adjusted on other replicas (rows with
+   * {@code updated_at} after the previous sync, with one resync interval of overlap for clock
+   * skew). Also recovers FAILED loaders that are not in the queue (see
+   * {@link #recoverFailedLoaders()}).
+   */
+  @Scheduled(fixedDelayString = "${loader.execution.scheduler-resync-seconds:30}",
+             initialDelayString = "${loader.execution.scheduler-resync-seconds:30}",
+             timeUnit = TimeUnit.SECONDS)
+  public void resyncDueQueue() {
+    try {
+      Instant previousSync = lastQueueSyncAt;
+      if (previousSync == null) {
+        return; // Not built yet - the first tick rebuilds it
+      }
+
+      Instant startedAt = Instant.now();
+      Instant since = previousSync.minusSeconds(executionProperties.getSchedulerResyncSeconds());
+      List<Loader> changed = loaderRepository.findAllUpdatedSince(since);
+      changed.forEach(dueQueue::upsert);
+      lastQueueSyncAt = startedAt;
+
+      if (!changed.isEmpty()) {
+        log.debug("Scheduler: Due queue resynced | changed={} | queued={}", changed.size(), dueQueue.size());
+      }
+
+      recoverFailedLoaders();
+
+    } catch (Exception e) {
+      log.error("Scheduler: Error during due queue resync", e);
+    }
+  }
+
+  /**
+   * Execution timeout watchdog - runs every minute.
+   *
+   * <p>In ASYNC dispatch mode nothing waits on the execution future, so timeouts are
+   * enforced here: executions running longer than {@code executionTimeoutHours} are
+   * cancelled (thread interrupted). Cancellation triggers the completion callback,
+   * which unregisters the execution and releases its lock.
+   */
+  @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+  public void enforceExecutionTimeouts() {
+    try {
+      int timeoutHours = executionProperties.getExecutionTimeoutHours();
+      List<InFlightExecutionTracker.InFlightExecution> overdue =
+          inFlightTracker.findOverdue(Duration.ofHours(timeoutHours));
+
+      for (InFlightExecutionTracker.InFlightExecution execution : overdue) {
+        log.error("Scheduler: Loader {} execution timed out after {} hours - cancelling | lockId={}",
+            execution.loaderCode(), timeoutHours, execution.lockId());
+        // Interrupting the thread does not stop a running source query - cancel it on the source first
+        sourceQueryRegistry.cancelByLoader(execution.loaderCode(), "execution timeout");
+        execution.future().cancel(true); // Interrupt the thread
+      }
+
+      log.trace("Exiting enforceExecutionTimeouts() | inFlight={} | cancelled={}",
+          inFlightTracker.count(), overdue.size());
+
+    } catch (Exception e) {
+      log.error("Scheduler: Error during execution timeout enforcement", e);
+    }
+  }
+
+  /**
+   * Number of loader executions currently in flight on this replica.
+   */
+  public int getInFlightCount() {
+    return inFlightTracker.count();
+  }
+
+  /**
+   * In-flight execution counts per loader on this replica.
+   */
+  public Map<String, Integer> getInFlightCountsByLoader() {
+    return inFlightTracker.countsByLoader();
+  }
+
+  /**
+   * Starts the lease heartbeat on its own thread, every {@code loader.locking.heartbeat-interval-seconds}.
+   */
+  @PostConstruct
+  public void startLeaseHeartbeat() {
+    long interval = Math.max(1, lockingProperties.getHeartbeatIntervalSeconds());
+    leaseHeartbeat.scheduleWithFixedDelay(this::renewLockLeases, interval, interval, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops the lease heartbeat.
+   */
+  @PreDestroy
+  public void stopLeaseHeartbeat() {
+    leaseHeartbeat.shutdownNow();
+  }
+
+  /**
+   * Lease heartbeat - runs every 10 seconds ({@code loader.locking.heartbeat-interval-seconds})
+   * on the heartbeat thread ({@link #startLeaseHeartbeat()}).
+   *
+   * <p>Renews the leases of executions running on this replica so other replicas do not
+   * take them over. Executions whose lease was lost are cancelled by the LockManager.
+   */
+  public void renewLockLeases() {
+    try {
+      int renewed = lockManager.renewLeases();
+      log.trace("Renewed {} lock lease(s)", renewed);
+    } catch (Exception e) {
+      log.error("Error renewing lock leases", e);
+    }
+  }
+
+  /**
+   * Round 13: Stale Lock Cleanup - runs every 30 seconds ({@code loader.locking.reaper-interval-seconds}).
    *
    * <p>Releases locks that were acquired but never released due to pod crashes.
-   * The LockManager will release locks older than 2 hours.
+   * The LockManager will release locks whose lease expired and locks older than 2 hours.
    *
    * <p>This is a safety mechanism to prevent abandoned locks from blocking
-   * loader execution indefinitely when pods crash or are terminated abruptly.
+   * loader execution and inflating the global lock count when pods crash or are
+   * terminated abruptly. (Acquisition takes over expired leases of the loader itself.)
    */
-  @Scheduled(fixedDelay = 1800000, initialDelay = 60000)  // 30 minutes, 1 minute initial delay
+  @Scheduled(fixedDelayString = "${loader.locking.reaper-interval-seconds:30}",
+             initialDelay = 60,
+             timeUnit = TimeUnit.SECONDS)
   public void cleanupStaleLocks() {
     try {
       log.trace("Entering cleanupStaleLocks() | processId={}", MDC.get("processId"));
@@ -202,55 +401,67 @@ public class LoaderSchedulerService {
    * <p>Resets FAILED loaders to IDLE if they've been FAILED for more than 20 minutes.
    * This allows automatic retry after a cooling-off period.
    *
-   * <p>Package-private for integration testing.
+   * <p>Queued loaders are recovered when their recovery time comes due in the scheduler
+   * tick; this sweep (run with the due queue resync) covers the rest with a targeted query.
    */
   public void recoverFailedLoaders() {
     log.trace("Entering recoverFailedLoaders() | processId={}", MDC.get("processId"));
 
-    log.trace("Fetching all loaders from repository");
-    List<Loader> allLoaders = loaderRepository.findAll();
     Instant now = Instant.now();
+    List<Loader> expired = loaderRepository.findAllByLoadStatusAndFailedSinceBefore(
+        LoadStatus.FAILED, now.minus(FAILED_RECOVERY_THRESHOLD));
 
     int recovered = 0;
-    int stillFailed = 0;
-
-    for (Loader loader : allLoaders) {
-      if (loader.getLoadStatus() == LoadStatus.FAILED && loader.getFailedSince() != null) {
-        MDC.put("loaderCode", loader.getLoaderCode());
-        try {
-          Duration failedDuration = Duration.between(loader.getFailedSince(), now);
-          log.trace("Checking FAILED loader {} | failedSince={} | failedDuration={}min",
-                  loader.getLoaderCode(), loader.getFailedSince(), failedDuration.toMinutes());
-
-          if (failedDuration.compareTo(FAILED_RECOVERY_THRESHOLD) > 0) {
-            log.info("Round 12: Auto-recovering FAILED loader {} (failed for {} minutes) | processId={}",
-                loader.getLoaderCode(), failedDuration.toMinutes(), MDC.get("processId"));
-
-            loader.setLoadStatus(LoadStatus.IDLE);
-            loader.setFailedSince(null);
-            loaderRepository.save(loader);
-            recovered++;
-
-            log.info("Round 12: Loader {} reset to IDLE and ready for execution | processId={}",
-                loader.getLoaderCode(), MDC.get("processId"));
-          } else {
-            stillFailed++;
-            log.trace("Loader {} still within recovery threshold ({}min remaining)",
-                    loader.getLoaderCode(),
-                    FAILED_RECOVERY_THRESHOLD.minus(failedDuration).toMinutes());
-          }
-        } finally {
-          MDC.remove("loaderCode");
+    for (Loader loader : expired) {
+      MDC.put("loaderCode", loader.getLoaderCode());
+      try {
+        if (recoverIfExpired(loader, now)) {
+          recovered++;
         }
+      } finally {
+        MDC.remove("loaderCode");
       }
     }
 
-    if (recovered > 0 || stillFailed > 0) {
-      log.debug("Round 12: Recovery summary | recovered={} | stillFailed={}", recovered, stillFailed);
+    if (recovered > 0) {
+      log.debug("Round 12: Recovery summary | recovered={}", recovered);
     }
     log.trace("Exiting recoverFailedLoaders() | recovered={} | success=true", recovered);
   }
 
+  /**
+   * Round 12: Resets the loader to IDLE if it has been FAILED for longer than the threshold.
+   *
+   * @return true if the loader was recovered
+   */
+  private boolean recoverIfExpired(Loader loader, Instant now) {
+    if (loader.getLoadStatus() != LoadStatus.FAILED || loader.getFailedSince() == null) {
+      return false;
+    }
+
+    Duration failedDuration = Duration.between(loader.getFailedSince(), now);
+    log.trace("Checking FAILED loader {} | failedSince={} | failedDuration={}min",
+            loader.getLoaderCode(), loader.getFailedSince(), failedDuration.toMinutes());
+
+    if (failedDuration.compareTo(FAILED_RECOVERY_THRESHOLD) <= 0) {
+      log.trace("Loader {} still within recovery threshold ({}min remaining)",
+              loader.getLoaderCode(),
+              FAILED_RECOVERY_THRESHOLD.minus(failedDuration).toMinutes());
+      return false;
+    }
+
+    log.info("Round 12: Auto-recovering FAILED loader {} (failed for {} minutes) | processId={}",
+        loader.getLoaderCode(), failedDuration.toMinutes(), MDC.get("processId"));
+
+    loader.setLoadStatus(LoadStatus.IDLE);
+    loader.setFailedSince(null);
+    loaderRepository.save(loader);
+
+    log.info("Round 12: Loader {} reset to IDLE and ready for execution | processId={}",
+        loader.getLoaderCode(), MDC.get("processId"));
+    return true;
+  }
+
   /**
    * Round 11: Priority Scheduling.
    *
@@ -284,33 +495,61 @@ public class LoaderSchedulerService {
   }
 
   /**
-   * Round 10: Process a single loader.
+   * Round 10: Process a single due loader.
    *
    * <p>Checks if loader is due for execution and attempts to execute if eligible.
-   * Executes in thread pool with configured timeout.
+   * In ASYNC mode the execution is dispatched and this method returns immediately;
+   * in BLOCKING mode it waits for the execution with the configured timeout.
+   *
+   * <p>A loader that is not dispatched goes back to the due queue: at its actual due time
+   * if the queue entry was stale, or after the retry delay if it could not be dispatched.
+   * PAUSED loaders are not re-queued (resuming them queues them again).
    *
    * @param loader the loader to process
+   * @param now tick time
+   * @return true if the loader was executed (or dispatched)
    */
-  private void processLoader(Loader loader) {
+  private boolean processLoader(Loader loader, Instant now) {
     String loaderCode = loader.getLoaderCode();
 
+    // Round 12: Recover FAILED loader whose cooling-off period is over
+    recoverIfExpired(loader, now);
+
     // Round 15: Skip PAUSED loaders
     if (loader.getLoadStatus() == LoadStatus.PAUSED) {
       log.trace("Scheduler: Loader {} is PAUSED, skipping execution", loaderCode);
-      return;
+      return false;
     }
 
-    // Check if loader is due for execution
+    // Check if loader is due for execution (queue entry may be stale, e.g. run by another replica)
     if (!isDueForExecution(loader)) {
       log.trace("Scheduler: Loader {} not due for execution yet", loaderCode);
-      return;
+      dueQueue.upsert(loader);
+      return false;
+    }
+
+    // Cluster assignment: loaders owned by another replica are left to it (unless stolen)
+    if (!assignmentService.shouldSchedule(loader, now)) {
+      log.trace("Scheduler: Loader {} is assigned to replica {}, skipping",
+          loaderCode, assignmentService.ownerOf(loaderCode));
+      dueQueue.schedule(loader.getId(), loaderCode, now.plus(assignmentService.getDeferDelay()));
+      return false;
+    }
+
+    if (executionProperties.getDispatchMode() == ExecutionProperties.DispatchMode.ASYNC) {
+      if (dispatchLoader(loader)) {
+        return true;
+      }
+      requeueForRetry(loader);
+      return false;
     }
 
     // Try to acquire lock
     Optional<LoaderLock> lockOpt = lockManager.tryAcquireLock(loader);
     if (lockOpt.isEmpty()) {
       log.debug("Scheduler: Could not acquire lock for loader {} (already locked)", loaderCode);
-      return;
+      requeueForRetry(loader);
+      return false;
     }
 
     LoaderLock lock = lockOpt.get();
@@ -341,6 +580,7 @@ public class LoaderSchedulerService {
       } catch (TimeoutException e) {
         log.error("Scheduler: Loader {} execution timed out after {} hours - cancelling",
             loaderCode, timeoutHours);
+        sourceQueryRegistry.cancelByLoader(loaderCode, "execution timeout");
         future.cancel(true); // Interrupt the thread
       } catch (Exception e) {
         log.error("Scheduler: Loader {} execution failed: {}", loaderCode, e.getMessage(), e);
@@ -351,7 +591,123 @@ public class LoaderSchedulerService {
       lockManager.unregisterExecution(lockId);
       lockManager.releaseLock(lock);
       log.debug("Scheduler: Released lock for loader {}", loaderCode);
+      requeueAfterExecution(loader);
     }
+    return true;
+  }
+
+  /**
+   * ASYNC dispatch: acquire the lock and hand the loader to the thread pool without waiting.
+   *
+   * <p>Skips the loader (without touching the lock table) when this replica already runs
+   * {@code maxParallelExecutions} executions of it, or when every pool thread is busy.
+   * The execution is registered with the LockManager and the in-flight tracker BEFORE it is
+   * submitted, so the completion callback can never run ahead of registration.
+   *
+   * @param loader the loader to dispatch
+   * @return true if the loader was dispatched
+   */
+  private boolean dispatchLoader(Loader loader) {
+    String loaderCode = loader.getLoaderCode();
+
+    Integer configuredMaxParallel = loader.getMaxParallelExecutions();
+    int maxParallel = configuredMaxParallel != null && configuredMaxParallel > 0 ? configuredMaxParallel : 1;
+    int inFlightForLoader = inFlightTracker.count(loaderCode);
+    if (inFlightForLoader >= maxParallel) {
+      log.debug("Scheduler: Loader {} already has {}/{} execution(s) in flight, skipping",
+          loaderCode, inFlightForLoader, maxParallel);
+      return false;
+    }
+
+    int poolSize = executionProperties.getThreadPoolSize();
+    if (inFlightTracker.count() >= poolSize) {
+      log.debug("Scheduler: Executor saturated ({}/{} in flight), deferring loader {} to next cycle",
+          inFlightTracker.count(), poolSize, loaderCode);
+      return false;
+    }
+
+    Optional<LoaderLock> lockOpt = lockManager.tryAcquireLock(loader);
+    if (lockOpt.isEmpty()) {
+      log.debug("Scheduler: Could not acquire lock for loader {} (already locked)", loaderCode);
+      return false;
+    }
+
+    LoaderLock lock = lockOpt.get();
+    String lockId = lock.getLockId();
+
+    log.info("Scheduler: Dispatching loader {} (status: {}, last run: {})",
+        loaderCode, loader.getLoadStatus(), loader.getLastLoadTimestamp());
+
+    FutureTask<Void> task = new FutureTask<>(() -> {
+      loadExecutorService.executeLoader(loader);
+      return null;
+    }) {
+      @Override
+      protected void done() {
+        onExecutionComplete(loader, lock, this);
+      }
+    };
+
+    inFlightTracker.register(lockId, loaderCode, task);
+    lockManager.registerExecution(lockId, task);
+
+    try {
+      executorService.execute(task);
+    } catch (RejectedExecutionException e) {
+      log.error("Scheduler: Executor rejected loader {} - releasing lock", loaderCode, e);
+      task.cancel(false); // Triggers done() -> lock released
+    }
+    return true;
+  }
+
+  /**
+   * ASYNC dispatch completion callback (runs on the executing or cancelling thread).
+   *
+   * <p>Logs the outcome, then always unregisters the execution and releases the lock.
+   */
+  private void onExecutionComplete(Loader loader, LoaderLock lock, Future<Void> future) {
+    String loaderCode = loader.getLoaderCode();
+    String lockId = lock.getLockId();
+    try {
+      future.get();
+      log.info("Scheduler: Successfully executed loader {}", loaderCode);
+    } catch (CancellationException e) {
+      log.warn("Scheduler: Loader {} execution was cancelled | lockId={}", loaderCode, lockId);
+    } catch (ExecutionException e) {
+      log.error("Scheduler: Loader {} execution failed: {}",
+          loaderCode, e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      try {
+        lockManager.unregisterExecution(lockId);
+        lockManager.releaseLock(lock);
+        log.debug("Scheduler: Released lock for loader {}", loaderCode);
+      } catch (Exception e) {
+        log.error("Scheduler: Failed to release lock for loader {} | lockId={}", loaderCode, lockId, e);
+      } finally {
+        inFlightTracker.complete(lockId);
+        requeueAfterExecution(loader);
+      }
+    }
+  }
+
+  /**
+   * Re-queues a due loader that could not be dispatched after the retry delay.
+   */
+  private void requeueForRetry(Loader loader) {
+    dueQueue.schedule(loader.getId(), loader.getLoaderCode(),
+        Instant.now().plusSeconds(executionProperties.getSchedulerRetryDelaySeconds()));
+  }
+
+  /**
+   * Makes sure an executed loader is queued again. Normally the execution's own loader
+   * update has already queued it at its next due time; this covers executions that ended
+   * without updating the loader (e.g. cancelled).
+   */
+  private void requeueAfterExecution(Loader loader) {
+    dueQueue.scheduleIfAbsent(loader.getId(), loader.getLoaderCode(),
+        Instant.now().plusSeconds(executionProperties.getSchedulerRetryDelaySeconds()));
   }
 
   /**
@@ -428,15 +784,22 @@ public class LoaderSchedulerService {
    *
    * <p><b>Detection:</b> Direct FK relationship via load_history_id
    * <p><b>Safety:</b> Only deletes signals from confirmed FAILED loads
-   * <p><b>Performance:</b> Uses indexed load_history_id column
+   * <p><b>Performance:</b> Only loads that failed since the previous cleanup are visited
+   * (the first run after startup looks back {@link #LOAD_HISTORY_RETENTION_DAYS} days), and each
+   * load's signals are deleted within its query window, i.e. from the partitions of that window
    */
   @Scheduled(cron = "0 0 * * * ?") // Every hour at :00
   public void cleanupOrphanedSignals() {
     try {
-      log.debug("Starting orphaned signals cleanup");
+      Instant startedAt = Instant.now();
+      Instant since = lastOrphanCleanupAt != null
+          ? lastOrphanCleanupAt.minus(ORPHAN_CLEANUP_OVERLAP)
+          : startedAt.minus(Duration.ofDays(LOAD_HISTORY_RETENTION_DAYS));
+
+      log.debug("Starting orphaned signals cleanup | failedSince={}", since);
 
-      // Method 1: Direct delete with subquery (most efficient)
-      long deleted = signalsHistoryRepository.deleteByLoadHistoryIdInFailedLoads();
+      long deleted = signalsPurger.purgeFailedLoads(since);
+      lastOrphanCleanupAt = startedAt;
 
       if (deleted > 0) {
         log.warn("Cleaned up {} orphaned signal(s) from FAILED loads", deleted);
@@ -0,0 +1,129 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.infra.config.IngestProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Allocates segment_codes from per-loader blocks reserved in {@code signals.segment_code_allocator}.
+ *
+ * <p>A block of {@code loader.ingest.segment-code-block-size} codes is reserved with one atomic
+ * upsert on the loader's counter row:
+ * <pre>
+ * INSERT INTO signals.segment_code_allocator AS a (loader_code, next_code) VALUES (?, 1 + n)
+ * ON CONFLICT (loader_code) DO UPDATE SET next_code = a.next_code + n
+ * RETURNING next_code
+ * </pre>
+ * Replicas never receive overlapping blocks, and no reservation scans segment_combination.
+ * Codes are handed out from the in-memory block until it is exhausted.
+ *
+ * <p>Reservations run in their own transaction so the counter row lock is released
+ * immediately rather than held until the caller's transaction commits.
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li><code>loader_segment_code_reservations_total</code> (Counter) - blocks reserved</li>
+ * </ul>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SegmentCodeAllocator {
+
+  private static final String RESERVE_SQL = """
+      INSERT INTO signals.segment_code_allocator AS a (loader_code, next_code, updated_at)
+      VALUES (?, ?, NOW())
+      ON CONFLICT (loader_code) DO UPDATE
+        SET next_code = a.next_code + ?, updated_at = NOW()
+      RETURNING next_code""";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate reserveTransaction;
+  private final int blockSize;
+  private final Counter reservations;
+
+  /**
+   * Unused part of the last reserved block per loader.
+   */
+  private final Map<String, CodeBlock> blocks = new ConcurrentHashMap<>();
+
+  public SegmentCodeAllocator(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              IngestProperties ingestProperties,
+                              MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.reserveTransaction = new TransactionTemplate(transactionManager);
+    this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.blockSize = Math.max(1, ingestProperties.getSegmentCodeBlockSize());
+    this.reservations = Counter.builder("loader_segment_code_reservations_total")
+        .description("Segment code blocks reserved from segment_code_allocator")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Allocates {@code count} unused segment_codes for a loader.
+   *
+   * <p>Codes are unique across replicas but not necessarily contiguous.
+   *
+   * @param loaderCode the loader code
+   * @param count number of codes to allocate
+   * @return the allocated codes in ascending order
+   */
+  public long[] allocate(String loaderCode, int count) {
+    long[] codes = new long[count];
+    if (count == 0) {
+      return codes;
+    }
+
+    CodeBlock block = blocks.computeIfAbsent(loaderCode, k -> new CodeBlock());
+    synchronized (block) {
+      int filled = 0;
+      while (filled < count) {
+        if (block.next >= block.end) {
+          // Reserve at least what the caller still needs in one round trip
+          int size = Math.max(blockSize, count - filled);
+          block.end = reserve(loaderCode, size);
+          block.next = block.end - size;
+        }
+        while (filled < count && block.next < block.end) {
+          codes[filled++] = block.next++;
+        }
+      }
+    }
+    return codes;
+  }
+
+  /**
+   * Reserves {@code size} codes and returns the exclusive end of the reserved range.
+   */
+  private long reserve(String loaderCode, int size) {
+    Long end = reserveTransaction.execute(status ->
+        jdbcTemplate.queryForObject(RESERVE_SQL, Long.class, loaderCode, 1L + size, size));
+    if (end == null) {
+      throw new IllegalStateException("segment_code_allocator returned no next_code for loader " + loaderCode);
+    }
+
+    reservations.increment();
+    log.debug("Reserved segment_codes {} - {} for loader {}", end - size, end - 1, loaderCode);
+    return end;
+  }
+
+  /**
+   * Unused codes [next, end) of a loader's last reserved block. Guarded by itself.
+   */
+  private static final class CodeBlock {
+    private long next;
+    private long end;
+  }
+}
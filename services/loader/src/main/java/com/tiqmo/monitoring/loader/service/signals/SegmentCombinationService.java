@@ -1,13 +1,21 @@
-// src/main/java/com/tiqmo/monitoring/loader/service/signals/SegmentCombinationService.java
 package com.tiqmo.monitoring.loader.service.signals;
 
 import com.tiqmo.monitoring.loader.domain.signals.entity.SegmentCombination;
-import com.tiqmo.monitoring.loader.domain.signals.entity.SegmentCombinationId;
 import com.tiqmo.monitoring.loader.domain.signals.repo.SegmentCombinationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for managing segment combinations with auto-incrementing segment codes.
@@ -15,21 +23,25 @@ import org.springframework.transaction.annotation.Transactional;
  * <p><b>Segment Lookup/Creation Flow:</b>
  * <ol>
  *   <li>Extract 10 segment values from query result</li>
- *   <li>Look up segment_combination by (loader_code + seg1-seg10)</li>
- *   <li>If found: return existing segment_code</li>
+ *   <li>Look up the combination in the loader's in-memory dictionary
+ *       ({@link SegmentDictionaryCache}, warmed from segment_combination on first use)</li>
+ *   <li>If found: return existing segment_code (no DB call)</li>
  *   <li>If not found:
  *     <ul>
- *       <li>Get max segment_code for this loader</li>
- *       <li>Create new entry with segment_code = max + 1 (or 1 if first)</li>
- *       <li>Save to database</li>
- *       <li>Return new segment_code</li>
+ *       <li>Allocate segment_codes for all new combinations of the chunk from the loader's
+ *           reserved block ({@link SegmentCodeAllocator})</li>
+ *       <li>Insert them with a single multi-row {@code INSERT ... ON CONFLICT DO NOTHING}</li>
+ *       <li>Add them to the dictionary and return the new segment_codes</li>
  *     </ul>
  *   </li>
  * </ol>
  *
  * <p><b>Thread Safety:</b>
- * Uses @Transactional with PESSIMISTIC_WRITE lock to ensure thread-safe segment_code generation
- * across multiple replicas/pods.
+ * Creation is serialized per loader dictionary within a replica. Across replicas, allocated
+ * segment_codes never overlap, and the unique index over (loader_code, segment1..segment10)
+ * makes a concurrently created tuple a no-op insert: its segment_code is then read back from
+ * the database so every replica converges on the same code. On a primary key violation the
+ * dictionary is refreshed from the database and creation retried once.
  *
  * @author Hassan Rawashdeh
  * @since 1.0.0
@@ -39,7 +51,15 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class SegmentCombinationService {
 
+  /**
+   * Rows per multi-row INSERT (12 bind parameters per row).
+   */
+  private static final int INSERT_BATCH_SIZE = 500;
+
   private final SegmentCombinationRepository repository;
+  private final SegmentDictionaryCache dictionaryCache;
+  private final SegmentCodeAllocator codeAllocator;
+  private final JdbcTemplate jdbcTemplate;
 
   /**
    * Gets or creates a segment combination for the given loader and segment values.
@@ -60,54 +80,197 @@ public class SegmentCombinationService {
    * @param seg10 segment 10 value (nullable)
    * @return the segment_code (existing or newly created)
    */
-  @Transactional
   public Long getOrCreateSegmentCode(
       String loaderCode,
       String seg1, String seg2, String seg3, String seg4, String seg5,
       String seg6, String seg7, String seg8, String seg9, String seg10
   ) {
-    // 1. Try to find existing combination
-    var existing = repository.findByLoaderCodeAndSegments(
-        loaderCode, seg1, seg2, seg3, seg4, seg5, seg6, seg7, seg8, seg9, seg10
-    );
-
-    if (existing.isPresent()) {
-      Long segmentCode = existing.get().getId().getSegmentCode();
-      log.debug("Found existing segment_code {} for loader {} with segments [{}, {}, {}, {}, {}, {}, {}, {}, {}, {}]",
-          segmentCode, loaderCode, seg1, seg2, seg3, seg4, seg5, seg6, seg7, seg8, seg9, seg10);
-      return segmentCode;
+    SegmentValues values = new SegmentValues(seg1, seg2, seg3, seg4, seg5, seg6, seg7, seg8, seg9, seg10);
+    return resolveSegmentCodes(loaderCode, List.of(values)).get(values);
+  }
+
+  /**
+   * Resolves segment_codes for all segment combinations of a chunk.
+   *
+   * <p>Known combinations are served from the loader's dictionary; all unknown
+   * combinations are created together.
+   *
+   * @param loaderCode the loader code
+   * @param values segment values of the chunk (duplicates allowed)
+   * @return segment_code for every distinct combination in {@code values}
+   */
+  public Map<SegmentValues, Long> resolveSegmentCodes(String loaderCode, Collection<SegmentValues> values) {
+    SegmentDictionaryCache.LoaderDictionary dictionary = dictionaryCache.get(loaderCode, this::loadDictionary);
+
+    Map<SegmentValues, Long> resolved = new HashMap<>();
+    Set<SegmentValues> missing = new LinkedHashSet<>();
+
+    for (SegmentValues segmentValues : values) {
+      if (resolved.containsKey(segmentValues) || missing.contains(segmentValues)) {
+        continue;
+      }
+      Long code = dictionary.lookup(segmentValues);
+      if (code != null) {
+        resolved.put(segmentValues, code);
+      } else {
+        missing.add(segmentValues);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      resolved.putAll(createMissing(dictionary, missing));
+    }
+
+    return resolved;
+  }
+
+  /**
+   * Creates the missing combinations (serialized per loader within this replica).
+   */
+  private Map<SegmentValues, Long> createMissing(SegmentDictionaryCache.LoaderDictionary dictionary,
+                                                 Set<SegmentValues> missing) {
+    String loaderCode = dictionary.getLoaderCode();
+
+    synchronized (dictionary) {
+      Map<SegmentValues, Long> result = new HashMap<>();
+      List<SegmentValues> toCreate = collectUnknown(dictionary, missing, result);
+      if (toCreate.isEmpty()) {
+        return result;
+      }
+
+      Map<SegmentValues, Long> created;
+      try {
+        created = insertNew(loaderCode, toCreate);
+      } catch (DataIntegrityViolationException e) {
+        // segment_code(s) already taken (e.g. written by a replica not using the allocator) - refresh and retry once
+        log.warn("Segment code conflict for loader {} - refreshing dictionary and retrying: {}",
+            loaderCode, e.getMessage());
+        dictionary.putAll(loadDictionary(loaderCode));
+        toCreate = collectUnknown(dictionary, missing, result);
+        created = toCreate.isEmpty() ? Map.of() : insertNew(loaderCode, toCreate);
+      }
+
+      dictionary.putAll(created);
+      result.putAll(created);
+      return result;
+    }
+  }
+
+  /**
+   * Moves combinations already present in the dictionary into {@code result}
+   * and returns the ones that still need to be created.
+   */
+  private List<SegmentValues> collectUnknown(SegmentDictionaryCache.LoaderDictionary dictionary,
+                                             Set<SegmentValues> candidates,
+                                             Map<SegmentValues, Long> result) {
+    List<SegmentValues> unknown = new ArrayList<>();
+    for (SegmentValues segmentValues : candidates) {
+      Long code = dictionary.peek(segmentValues);
+      if (code != null) {
+        result.put(segmentValues, code);
+      } else {
+        unknown.add(segmentValues);
+      }
+    }
+    return unknown;
+  }
+
+  /**
+   * Allocates segment_codes and inserts the combinations with multi-row INSERTs.
+   *
+   * <p>Tuples another replica created in the meantime are skipped by the insert
+   * and resolved to the stored segment_code instead.
+   */
+  private Map<SegmentValues, Long> insertNew(String loaderCode, List<SegmentValues> toCreate) {
+    long[] codes = codeAllocator.allocate(loaderCode, toCreate.size());
+
+    Map<SegmentValues, Long> created = new LinkedHashMap<>();
+    for (int i = 0; i < toCreate.size(); i++) {
+      created.put(toCreate.get(i), codes[i]);
+    }
+
+    List<Map.Entry<SegmentValues, Long>> entries = new ArrayList<>(created.entrySet());
+    int inserted = 0;
+    for (int from = 0; from < entries.size(); from += INSERT_BATCH_SIZE) {
+      List<Map.Entry<SegmentValues, Long>> batch =
+          entries.subList(from, Math.min(from + INSERT_BATCH_SIZE, entries.size()));
+      inserted += insertBatch(loaderCode, batch);
+    }
+
+    if (inserted < created.size()) {
+      log.info("{} of {} new segment combination(s) for loader {} were created concurrently - "
+          + "using stored segment_codes", created.size() - inserted, created.size(), loaderCode);
+      adoptStoredCodes(loaderCode, created);
     }
 
-    // 2. No existing combination - create new one with auto-incremented segment_code
-    Long maxSegmentCode = repository.findMaxSegmentCodeByLoaderCode(loaderCode).orElse(0L);
-    Long newSegmentCode = maxSegmentCode + 1;
-
-    log.info("Creating new segment_code {} for loader {} with segments [{}, {}, {}, {}, {}, {}, {}, {}, {}, {}]",
-        newSegmentCode, loaderCode, seg1, seg2, seg3, seg4, seg5, seg6, seg7, seg8, seg9, seg10);
-
-    // 3. Build and save new combination
-    SegmentCombinationId id = new SegmentCombinationId(loaderCode, newSegmentCode);
-    SegmentCombination newCombination = SegmentCombination.builder()
-        .id(id)
-        .segment1(seg1)
-        .segment2(seg2)
-        .segment3(seg3)
-        .segment4(seg4)
-        .segment5(seg5)
-        .segment6(seg6)
-        .segment7(seg7)
-        .segment8(seg8)
-        .segment9(seg9)
-        .segment10(seg10)
-        .build();
-
-    repository.save(newCombination);
-
-    return newSegmentCode;
+    log.info("Created {} new segment_code(s) for loader {}", inserted, loaderCode);
+    return created;
+  }
+
+  /**
+   * Replaces allocated codes with the stored ones for tuples whose insert was skipped.
+   */
+  private void adoptStoredCodes(String loaderCode, Map<SegmentValues, Long> created) {
+    Map<SegmentValues, Long> stored = loadDictionary(loaderCode);
+    for (Map.Entry<SegmentValues, Long> entry : created.entrySet()) {
+      Long storedCode = stored.get(entry.getKey());
+      if (storedCode == null) {
+        throw new DataIntegrityViolationException(
+            "Segment combination for loader " + loaderCode + " was neither inserted nor found: " + entry.getKey());
+      }
+      entry.setValue(storedCode);
+    }
+  }
+
+  private int insertBatch(String loaderCode, List<Map.Entry<SegmentValues, Long>> batch) {
+    StringBuilder sql = new StringBuilder("INSERT INTO signals.segment_combination "
+        + "(loader_code, segment_code, segment1, segment2, segment3, segment4, segment5, "
+        + "segment6, segment7, segment8, segment9, segment10) VALUES ");
+    List<Object> args = new ArrayList<>(batch.size() * 12);
+
+    for (int i = 0; i < batch.size(); i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+
+      SegmentValues v = batch.get(i).getKey();
+      args.add(loaderCode);
+      args.add(batch.get(i).getValue());
+      args.add(v.seg1());
+      args.add(v.seg2());
+      args.add(v.seg3());
+      args.add(v.seg4());
+      args.add(v.seg5());
+      args.add(v.seg6());
+      args.add(v.seg7());
+      args.add(v.seg8());
+      args.add(v.seg9());
+      args.add(v.seg10());
+    }
+
+    sql.append(" ON CONFLICT (loader_code, segment1, segment2, segment3, segment4, segment5, "
+        + "segment6, segment7, segment8, segment9, segment10) DO NOTHING");
+
+    return jdbcTemplate.update(sql.toString(), args.toArray());
+  }
+
+  /**
+   * Loads all existing combinations of a loader (dictionary warm-up).
+   */
+  private Map<SegmentValues, Long> loadDictionary(String loaderCode) {
+    List<SegmentCombination> combinations = repository.findAllByLoaderCode(loaderCode);
+    Map<SegmentValues, Long> codes = new HashMap<>(Math.max(16, combinations.size() * 2));
+    for (SegmentCombination combination : combinations) {
+      codes.put(SegmentValues.of(combination), combination.getId().getSegmentCode());
+    }
+    return codes;
   }
 
   /**
    * DTO for passing 10 segment values as a single object.
+   *
+   * <p>Also the dictionary key: record equality/hash over all 10 values (nulls included).
    */
   public record SegmentValues(
       String seg1, String seg2, String seg3, String seg4, String seg5,
@@ -120,6 +283,17 @@ public class SegmentCombinationService {
       return new SegmentValues(null, null, null, null, null, null, null, null, null, null);
     }
 
+    /**
+     * Creates a SegmentValues from a stored combination.
+     */
+    public static SegmentValues of(SegmentCombination combination) {
+      return new SegmentValues(
+          combination.getSegment1(), combination.getSegment2(), combination.getSegment3(),
+          combination.getSegment4(), combination.getSegment5(), combination.getSegment6(),
+          combination.getSegment7(), combination.getSegment8(), combination.getSegment9(),
+          combination.getSegment10());
+    }
+
     /**
      * Checks if all segment values are null.
      */
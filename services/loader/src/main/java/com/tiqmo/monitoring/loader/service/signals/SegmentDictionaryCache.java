@@ -0,0 +1,166 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.infra.config.IngestProperties;
+import com.tiqmo.monitoring.loader.service.signals.SegmentCombinationService.SegmentValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-loader in-memory dictionary of segment combinations (10 segment values → segment_code).
+ *
+ * <p>Each loader's dictionary is warmed from the database on first use and kept up to date
+ * as new combinations are created, so steady-state row transformation makes no DB calls.
+ *
+ * <p><b>Eviction:</b> At most {@code loader.ingest.segment-cache-max-loaders} dictionaries are
+ * kept; the least recently used loader is evicted when the limit is exceeded and re-warmed
+ * on its next execution.
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li><code>loader_segment_cache_lookups_total{result=hit|miss}</code> (Counter)</li>
+ *   <li><code>loader_segment_cache_loaders</code> (Gauge) - dictionaries currently cached</li>
+ * </ul>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SegmentDictionaryCache {
+
+  private final int maxLoaders;
+
+  /**
+   * Loader dictionaries in access order (LRU). Guarded by {@code this}.
+   */
+  private final LinkedHashMap<String, LoaderDictionary> dictionaries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final Counter hits;
+  private final Counter misses;
+
+  public SegmentDictionaryCache(IngestProperties ingestProperties, MeterRegistry meterRegistry) {
+    this.maxLoaders = Math.max(1, ingestProperties.getSegmentCacheMaxLoaders());
+    this.hits = Counter.builder("loader_segment_cache_lookups_total")
+        .description("Segment dictionary lookups by result")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("loader_segment_cache_lookups_total")
+        .description("Segment dictionary lookups by result")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("loader_segment_cache_loaders", this, SegmentDictionaryCache::size)
+        .description("Loader segment dictionaries currently cached")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the dictionary for a loader, warming it with {@code warmer} if not cached.
+   *
+   * <p>Warming runs outside the cache lock; if two threads warm the same loader
+   * concurrently, the first dictionary stored wins.
+   *
+   * @param loaderCode the loader code
+   * @param warmer loads all existing combinations for the loader
+   * @return the loader's dictionary
+   */
+  public LoaderDictionary get(String loaderCode, Function<String, Map<SegmentValues, Long>> warmer) {
+    synchronized (this) {
+      LoaderDictionary cached = dictionaries.get(loaderCode);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    Map<SegmentValues, Long> existing = warmer.apply(loaderCode);
+    LoaderDictionary warmed = new LoaderDictionary(loaderCode, existing);
+
+    synchronized (this) {
+      LoaderDictionary raced = dictionaries.putIfAbsent(loaderCode, warmed);
+      if (raced != null) {
+        return raced;
+      }
+      evictIfNeeded();
+    }
+
+    log.info("Warmed segment dictionary for loader {} with {} combination(s)", loaderCode, existing.size());
+    return warmed;
+  }
+
+  /**
+   * Drops a loader's dictionary (next access re-warms it from the database).
+   */
+  public synchronized void invalidate(String loaderCode) {
+    if (dictionaries.remove(loaderCode) != null) {
+      log.debug("Invalidated segment dictionary for loader {}", loaderCode);
+    }
+  }
+
+  /**
+   * Number of loader dictionaries currently cached.
+   */
+  public synchronized int size() {
+    return dictionaries.size();
+  }
+
+  private void evictIfNeeded() {
+    while (dictionaries.size() > maxLoaders) {
+      var eldest = dictionaries.entrySet().iterator().next();
+      dictionaries.remove(eldest.getKey());
+      log.debug("Evicted segment dictionary for cold loader {} ({} combination(s))",
+          eldest.getKey(), eldest.getValue().size());
+    }
+  }
+
+  /**
+   * Segment dictionary of a single loader.
+   */
+  public final class LoaderDictionary {
+
+    private final String loaderCode;
+    private final Map<SegmentValues, Long> codes;
+
+    private LoaderDictionary(String loaderCode, Map<SegmentValues, Long> existing) {
+      this.loaderCode = loaderCode;
+      this.codes = new ConcurrentHashMap<>(existing);
+    }
+
+    public String getLoaderCode() {
+      return loaderCode;
+    }
+
+    /**
+     * Returns the segment_code for the given values, or null if unknown.
+     */
+    public Long lookup(SegmentValues values) {
+      Long code = codes.get(values);
+      (code != null ? hits : misses).increment();
+      return code;
+    }
+
+    /**
+     * Returns the segment_code for the given values without recording a lookup metric.
+     */
+    public Long peek(SegmentValues values) {
+      return codes.get(values);
+    }
+
+    /**
+     * Adds newly created combinations.
+     */
+    public void putAll(Map<SegmentValues, Long> created) {
+      codes.putAll(created);
+    }
+
+    public int size() {
+      return codes.size();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Aggregation functions of a downsampled signal bucket, each filling one signal field:
+ * <ul>
+ *   <li><b>COUNT:</b> {@code recCount} = SUM(rec_count)</li>
+ *   <li><b>MIN:</b> {@code minVal} = MIN(min_val)</li>
+ *   <li><b>MAX:</b> {@code maxVal} = MAX(max_val)</li>
+ *   <li><b>SUM:</b> {@code sumVal} = SUM(sum_val)</li>
+ *   <li><b>AVG:</b> {@code avgVal} = SUM(sum_val) / SUM(rec_count)</li>
+ * </ul>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+public enum SignalAggregate {
+
+  COUNT, MIN, MAX, SUM, AVG;
+
+  /**
+   * Parses a comma-separated list of aggregates (case-insensitive).
+   *
+   * @param csv Aggregates, e.g. {@code "min,max,avg"}; null or blank for all
+   * @return Selected aggregates
+   * @throws BusinessException if an aggregate is unknown
+   */
+  public static Set<SignalAggregate> parse(String csv) {
+    if (csv == null || csv.isBlank()) {
+      return EnumSet.allOf(SignalAggregate.class);
+    }
+    Set<SignalAggregate> aggregates = EnumSet.noneOf(SignalAggregate.class);
+    for (String name : csv.split(",")) {
+      if (name.isBlank()) {
+        continue;
+      }
+      try {
+        aggregates.add(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+      } catch (IllegalArgumentException e) {
+        throw new BusinessException(
+            ErrorCode.VALIDATION_INVALID_VALUE,
+            "Unknown aggregate '" + name.trim() + "' (expected count, min, max, sum or avg)",
+            "agg"
+        );
+      }
+    }
+    return aggregates.isEmpty() ? EnumSet.allOf(SignalAggregate.class) : aggregates;
+  }
+
+  /**
+   * Clears the fields of aggregates that were not selected.
+   *
+   * @param bucket Downsampled bucket
+   * @param aggregates Selected aggregates
+   */
+  public static void retainOnly(SignalsHistory bucket, Set<SignalAggregate> aggregates) {
+    if (!aggregates.contains(COUNT)) {
+      bucket.setRecCount(null);
+    }
+    if (!aggregates.contains(MIN)) {
+      bucket.setMinVal(null);
+    }
+    if (!aggregates.contains(MAX)) {
+      bucket.setMaxVal(null);
+    }
+    if (!aggregates.contains(SUM)) {
+      bucket.setSumVal(null);
+    }
+    if (!aggregates.contains(AVG)) {
+      bucket.setAvgVal(null);
+    }
+  }
+}
@@ -0,0 +1,326 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signals of one loader stored column-wise in primitive arrays, as a ring that grows up to a
+ * fixed capacity and drops rows from its head.
+ *
+ * <p>A row takes {@value #BYTES_PER_SIGNAL} bytes: load_time_stamp (epoch microseconds, the
+ * precision of PostgreSQL timestamps), segment (index into a dictionary of the segment codes
+ * seen), rec_count, min/max/avg/sum, load_history_id and a null mask. No entity is kept, so the
+ * rows cost no object headers, boxed values or references for the GC to trace.
+ *
+ * <p>Not thread-safe.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+final class SignalColumns {
+
+  static final int BYTES_PER_SIGNAL = 8 + 4 + 8 + 4 * 8 + 8 + 1;
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private static final int NO_SEGMENT = -1;
+
+  private static final byte NULL_REC_COUNT = 1;
+  private static final byte NULL_MIN = 1 << 1;
+  private static final byte NULL_MAX = 1 << 2;
+  private static final byte NULL_AVG = 1 << 3;
+  private static final byte NULL_SUM = 1 << 4;
+  private static final byte NULL_LOAD_HISTORY_ID = 1 << 5;
+
+  private final int maxCapacity;
+
+  private long[] timestamps;
+  private int[] segments;
+  private long[] recCounts;
+  private double[] minVals;
+  private double[] maxVals;
+  private double[] avgVals;
+  private double[] sumVals;
+  private long[] loadHistoryIds;
+  private byte[] nulls;
+
+  private int head;
+  private int size;
+
+  private final List<String> segmentCodes = new ArrayList<>();
+  private final Map<String, Integer> segmentIds = new HashMap<>();
+
+  SignalColumns(int maxCapacity) {
+    this.maxCapacity = Math.max(1, maxCapacity);
+    allocate(Math.min(INITIAL_CAPACITY, this.maxCapacity));
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isFull() {
+    return size == maxCapacity;
+  }
+
+  /**
+   * Bytes held by the column arrays (allocated capacity, not just the rows in use).
+   */
+  long bytes() {
+    return (long) timestamps.length * BYTES_PER_SIGNAL;
+  }
+
+  /**
+   * Appends a signal at the tail.
+   *
+   * @return false if the ring is at capacity (nothing appended)
+   */
+  boolean add(SignalsHistory signal) {
+    if (!reserve()) {
+      return false;
+    }
+    int slot = slot(size);
+    byte nullMask = 0;
+    timestamps[slot] = toMicros(signal.getLoadTimeStamp());
+    segments[slot] = segmentId(signal.getSegmentCode());
+    if (signal.getRecCount() != null) {
+      recCounts[slot] = signal.getRecCount();
+    } else {
+      nullMask |= NULL_REC_COUNT;
+    }
+    nullMask |= put(minVals, slot, signal.getMinVal(), NULL_MIN);
+    nullMask |= put(maxVals, slot, signal.getMaxVal(), NULL_MAX);
+    nullMask |= put(avgVals, slot, signal.getAvgVal(), NULL_AVG);
+    nullMask |= put(sumVals, slot, signal.getSumVal(), NULL_SUM);
+    if (signal.getLoadHistoryId() != null) {
+      loadHistoryIds[slot] = signal.getLoadHistoryId();
+    } else {
+      nullMask |= NULL_LOAD_HISTORY_ID;
+    }
+    nulls[slot] = nullMask;
+    size++;
+    return true;
+  }
+
+  /**
+   * Appends row {@code index} of {@code source} at the tail.
+   *
+   * @return false if the ring is at capacity (nothing appended)
+   */
+  boolean add(SignalColumns source, int index) {
+    if (!reserve()) {
+      return false;
+    }
+    int from = source.slot(index);
+    int to = slot(size);
+    int sourceSegment = source.segments[from];
+    timestamps[to] = source.timestamps[from];
+    segments[to] = sourceSegment == NO_SEGMENT
+        ? NO_SEGMENT : segmentId(source.segmentCodes.get(sourceSegment));
+    recCounts[to] = source.recCounts[from];
+    minVals[to] = source.minVals[from];
+    maxVals[to] = source.maxVals[from];
+    avgVals[to] = source.avgVals[from];
+    sumVals[to] = source.sumVals[from];
+    loadHistoryIds[to] = source.loadHistoryIds[from];
+    nulls[to] = source.nulls[from];
+    size++;
+    return true;
+  }
+
+  /**
+   * Removes the head row.
+   */
+  void removeFirst() {
+    head = (head + 1) % timestamps.length;
+    size--;
+  }
+
+  /**
+   * Timestamp (epoch microseconds) of row {@code index}, counted from the head.
+   */
+  long timestampAt(int index) {
+    return timestamps[slot(index)];
+  }
+
+  /**
+   * Dictionary index of the segment of row {@code index}.
+   */
+  int segmentAt(int index) {
+    return segments[slot(index)];
+  }
+
+  /**
+   * Dictionary index of a segment code.
+   *
+   * @return index, or {@link Integer#MIN_VALUE} if no row has had that segment code
+   */
+  int segmentIdOf(String segmentCode) {
+    return segmentCode == null ? NO_SEGMENT : segmentIds.getOrDefault(segmentCode, Integer.MIN_VALUE);
+  }
+
+  /**
+   * First row with a timestamp at or after {@code micros}; rows must be in time order.
+   *
+   * @return row index, or {@link #size()} if there is none
+   */
+  int firstAtOrAfter(long micros) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (timestampAt(mid) < micros) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Row indices in timestamp order (stable; rows in the same order are returned as is).
+   */
+  int[] timeOrder() {
+    int[] order = new int[size];
+    boolean sorted = true;
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+      sorted &= i == 0 || timestampAt(i - 1) <= timestampAt(i);
+    }
+    if (!sorted) {
+      mergeSort(order, new int[size], 0, size);
+    }
+    return order;
+  }
+
+  /**
+   * Row {@code index} as a detached entity (no id or createdAt; these are not cached).
+   */
+  SignalsHistory toSignal(int index, String loaderCode) {
+    int slot = slot(index);
+    byte nullMask = nulls[slot];
+    return SignalsHistory.builder()
+        .loaderCode(loaderCode)
+        .loadTimeStamp(fromMicros(timestamps[slot]))
+        .segmentCode(segments[slot] == NO_SEGMENT ? null : segmentCodes.get(segments[slot]))
+        .recCount((nullMask & NULL_REC_COUNT) != 0 ? null : recCounts[slot])
+        .minVal((nullMask & NULL_MIN) != 0 ? null : minVals[slot])
+        .maxVal((nullMask & NULL_MAX) != 0 ? null : maxVals[slot])
+        .avgVal((nullMask & NULL_AVG) != 0 ? null : avgVals[slot])
+        .sumVal((nullMask & NULL_SUM) != 0 ? null : sumVals[slot])
+        .loadHistoryId((nullMask & NULL_LOAD_HISTORY_ID) != 0 ? null : loadHistoryIds[slot])
+        .build();
+  }
+
+  static long toMicros(Instant instant) {
+    return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+  }
+
+  static Instant fromMicros(long micros) {
+    return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+  }
+
+  private int slot(int index) {
+    int slot = head + index;
+    return slot < timestamps.length ? slot : slot - timestamps.length;
+  }
+
+  /**
+   * Makes room for one more row, growing the arrays (doubling, up to the capacity) if needed.
+   */
+  private boolean reserve() {
+    if (size < timestamps.length) {
+      return true;
+    }
+    if (size == maxCapacity) {
+      return false;
+    }
+    int capacity = (int) Math.min((long) timestamps.length * 2, maxCapacity);
+    long[] oldTimestamps = timestamps;
+    int[] oldSegments = segments;
+    long[] oldRecCounts = recCounts;
+    double[] oldMinVals = minVals;
+    double[] oldMaxVals = maxVals;
+    double[] oldAvgVals = avgVals;
+    double[] oldSumVals = sumVals;
+    long[] oldLoadHistoryIds = loadHistoryIds;
+    byte[] oldNulls = nulls;
+    int oldHead = head;
+    allocate(capacity);
+    for (int i = 0; i < size; i++) {
+      int from = (oldHead + i) % oldTimestamps.length;
+      timestamps[i] = oldTimestamps[from];
+      segments[i] = oldSegments[from];
+      recCounts[i] = oldRecCounts[from];
+      minVals[i] = oldMinVals[from];
+      maxVals[i] = oldMaxVals[from];
+      avgVals[i] = oldAvgVals[from];
+      sumVals[i] = oldSumVals[from];
+      loadHistoryIds[i] = oldLoadHistoryIds[from];
+      nulls[i] = oldNulls[from];
+    }
+    return true;
+  }
+
+  private void allocate(int capacity) {
+    timestamps = new long[capacity];
+    segments = new int[capacity];
+    recCounts = new long[capacity];
+    minVals = new double[capacity];
+    maxVals = new double[capacity];
+    avgVals = new double[capacity];
+    sumVals = new double[capacity];
+    loadHistoryIds = new long[capacity];
+    nulls = new byte[capacity];
+    head = 0;
+  }
+
+  private int segmentId(String segmentCode) {
+    if (segmentCode == null) {
+      return NO_SEGMENT;
+    }
+    return segmentIds.computeIfAbsent(segmentCode, code -> {
+      segmentCodes.add(code);
+      return segmentCodes.size() - 1;
+    });
+  }
+
+  private static byte put(double[] column, int slot, Double value, byte nullBit) {
+    if (value == null) {
+      return nullBit;
+    }
+    column[slot] = value;
+    return 0;
+  }
+
+  private void mergeSort(int[] order, int[] buffer, int from, int to) {
+    if (to - from < 2) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    mergeSort(order, buffer, from, mid);
+    mergeSort(order, buffer, mid, to);
+    if (timestampAt(order[mid - 1]) <= timestampAt(order[mid])) {
+      return;
+    }
+    System.arraycopy(order, from, buffer, from, to - from);
+    int left = from;
+    int right = mid;
+    int out = from;
+    while (left < mid && right < to) {
+      order[out++] = timestampAt(buffer[right]) < timestampAt(buffer[left]) ? buffer[right++] : buffer[left++];
+    }
+    while (left < mid) {
+      order[out++] = buffer[left++];
+    }
+    while (right < to) {
+      order[out++] = buffer[right++];
+    }
+  }
+}
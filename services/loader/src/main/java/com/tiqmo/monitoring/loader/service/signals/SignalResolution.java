@@ -0,0 +1,54 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Resolutions signals are stored at: raw signals_history rows and the hourly / daily rollups
+ * maintained by {@link SignalsRollupService}.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Getter
+public enum SignalResolution {
+
+  RAW(null, Duration.ZERO),
+  HOURLY("signals.signals_rollup_hourly", Duration.ofHours(1)),
+  DAILY("signals.signals_rollup_daily", Duration.ofDays(1));
+
+  /**
+   * Rollup table (null for RAW).
+   */
+  private final String table;
+
+  /**
+   * Bucket width (zero for RAW).
+   */
+  private final Duration bucket;
+
+  SignalResolution(String table, Duration bucket) {
+    this.table = table;
+    this.bucket = bucket;
+  }
+
+  /**
+   * Coarsest resolution whose buckets are not wider than the requested step.
+   *
+   * @param stepSeconds Requested step between points in seconds (null or non-positive for raw)
+   * @return Resolution to read
+   */
+  public static SignalResolution forStep(Long stepSeconds) {
+    SignalResolution coarsest = RAW;
+    if (stepSeconds == null || stepSeconds <= 0) {
+      return coarsest;
+    }
+    for (SignalResolution resolution : values()) {
+      if (resolution.bucket.getSeconds() <= stepSeconds) {
+        coarsest = resolution;
+      }
+    }
+    return coarsest;
+  }
+}
@@ -0,0 +1,416 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.infra.config.IngestProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk writer for signals_history that bypasses per-entity JPA persistence.
+ *
+ * <p>{@link SignalsHistory} uses IDENTITY ids, which disables Hibernate insert batching:
+ * {@code saveAll} issues one INSERT round trip per row and reads every generated id back.
+ * This writer inserts rows without loading ids and returns only the inserted count.
+ *
+ * <p><b>Write paths:</b>
+ * <ul>
+ *   <li><b>PostgreSQL:</b> {@code COPY signals.signals_history (...) FROM STDIN (FORMAT BINARY)},
+ *       streamed through the driver's copy API (one round trip per call)</li>
+ *   <li><b>Other databases</b> (or {@code loader.ingest.copy-enabled=false}): multi-row
+ *       {@code INSERT ... VALUES (...), (...)} statements of {@code insert-batch-size} rows</li>
+ * </ul>
+ *
+ * <p><b>Skipping duplicates</b> ({@code SKIP_DUPLICATES} purge strategy): rows whose
+ * (loader_code, segment_code, load_time_stamp) already exist are dropped by the
+ * {@code uq_signals_loader_time_segment} unique key via {@code ON CONFLICT DO NOTHING}. COPY
+ * cannot skip conflicts, so on PostgreSQL rows are copied into a session temp table and moved
+ * with one {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}; the multi-row INSERT path
+ * appends the clause to each statement. The returned count excludes skipped rows.
+ *
+ * <p><b>Without skipping</b>, a row whose key is already stored fails the whole write (and the
+ * caller's transaction) with a {@code DataIntegrityViolationException}; the purge strategy is
+ * expected to have cleared the window. Rows repeating a key within the batch itself (e.g. a
+ * source query returning a segment twice for one timestamp) do not fail it: only the first of
+ * them is written, as with {@code ON CONFLICT DO NOTHING}, and the others are logged and dropped.
+ * A load written in several calls (one per streamed chunk) filters its chunks through one
+ * {@link SeenKeys} and writes them with {@link #writeUnique}, so a key repeated across chunks is
+ * dropped the same way. Keys compare timestamps at microsecond precision and null segment codes
+ * as equal, matching the {@code NULLS NOT DISTINCT} unique key.
+ *
+ * <p><b>Partitions:</b> the daily partitions of the batch's time span are created first
+ * ({@link SignalsPartitionManager#ensurePartitions}), so backfills of past days do not pile up
+ * in the default partition.
+ *
+ * <p>Uses the current transaction's connection when called inside {@code @Transactional}.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SignalsBulkWriter {
+
+  private static final String TABLE = "signals.signals_history";
+
+  private static final String COLUMNS =
+      "loader_code, load_time_stamp, segment_code, rec_count, max_val, min_val, avg_val, sum_val, load_history_id";
+
+  private static final int COLUMN_COUNT = 9;
+
+  private static final String COPY_SQL = "COPY " + TABLE + " (" + COLUMNS + ") FROM STDIN (FORMAT BINARY)";
+
+  /**
+   * Session temp table receiving COPY rows that are inserted skipping duplicates.
+   */
+  private static final String STAGE_TABLE = "signals_history_stage";
+
+  private static final String CREATE_STAGE_SQL = "CREATE TEMP TABLE IF NOT EXISTS " + STAGE_TABLE
+      + " AS SELECT " + COLUMNS + " FROM " + TABLE + " WITH NO DATA";
+
+  private static final String STAGE_COPY_SQL =
+      "COPY " + STAGE_TABLE + " (" + COLUMNS + ") FROM STDIN (FORMAT BINARY)";
+
+  private static final String STAGE_INSERT_SQL = "INSERT INTO " + TABLE + " (" + COLUMNS + ") SELECT "
+      + COLUMNS + " FROM " + STAGE_TABLE + " ON CONFLICT DO NOTHING";
+
+  private static final String ON_CONFLICT_DO_NOTHING = " ON CONFLICT DO NOTHING";
+
+  /**
+   * Binary COPY signature: "PGCOPY\n\377\r\n\0".
+   */
+  private static final byte[] COPY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+  /**
+   * PostgreSQL timestamp epoch (2000-01-01T00:00:00Z) in Unix seconds.
+   */
+  private static final long PG_EPOCH_SECONDS = 946_684_800L;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IngestProperties ingestProperties;
+  private final SignalsPartitionManager partitionManager;
+
+  /**
+   * Inserts signals into signals_history.
+   *
+   * <p>Fails if a row's (loader_code, segment_code, load_time_stamp) is already stored;
+   * repeated keys within the batch are written once.
+   *
+   * @param signals signals to insert (ids are ignored and not populated)
+   * @return number of rows inserted (excluding repeated keys within the batch)
+   */
+  public long write(List<SignalsHistory> signals) {
+    return write(signals, false);
+  }
+
+  /**
+   * Inserts signals into signals_history, optionally skipping rows that already exist.
+   *
+   * @param signals signals to insert (ids are ignored and not populated)
+   * @param skipDuplicates drop rows whose (loader_code, segment_code, load_time_stamp) exists
+   * @return number of rows inserted (excluding skipped duplicates)
+   */
+  public long write(List<SignalsHistory> signals, boolean skipDuplicates) {
+    if (signals == null || signals.isEmpty()) {
+      return 0;
+    }
+    return writeUnique(skipDuplicates ? signals : new SeenKeys().retainUnseen(signals), skipDuplicates);
+  }
+
+  /**
+   * Inserts signals that do not repeat a key among themselves, e.g. filtered by a
+   * {@link SeenKeys} shared by all writes of one load.
+   *
+   * <p>Unlike {@link #write(List, boolean)}, a repeated key in {@code signals} fails the write
+   * unless {@code skipDuplicates} is set.
+   *
+   * @param signals signals to insert (ids are ignored and not populated)
+   * @param skipDuplicates drop rows whose (loader_code, segment_code, load_time_stamp) exists
+   * @return number of rows inserted (excluding skipped duplicates)
+   */
+  public long writeUnique(List<SignalsHistory> signals, boolean skipDuplicates) {
+    if (signals == null || signals.isEmpty()) {
+      return 0;
+    }
+
+    long startNanos = System.nanoTime();
+
+    ensurePartitions(signals);
+
+    Long inserted = jdbcTemplate.execute((ConnectionCallback<Long>) conn -> {
+      if (ingestProperties.isCopyEnabled() && conn.isWrapperFor(PGConnection.class)) {
+        return skipDuplicates
+            ? copyBinarySkippingDuplicates(conn, signals)
+            : copyBinary(conn, signals, COPY_SQL);
+      }
+      return insertMultiRow(conn, signals, skipDuplicates);
+    });
+
+    long rows = inserted != null ? inserted : 0;
+    if (skipDuplicates && rows < signals.size()) {
+      log.debug("Skipped {} duplicate signal(s)", signals.size() - rows);
+    }
+    log.debug("Bulk wrote {} signal(s) in {}ms", rows, (System.nanoTime() - startNanos) / 1_000_000);
+    return rows;
+  }
+
+  /**
+   * Unique key of a row as the database compares it: microsecond timestamps, null segment codes equal.
+   */
+  private record RowKey(String loaderCode, Long loadTimeMicros, String segmentCode) {
+  }
+
+  /**
+   * Keys of the signals seen so far by one load (or one request), used to drop rows repeating a
+   * key before they reach the unique index. Not thread-safe.
+   */
+  public static final class SeenKeys {
+
+    private final Set<RowKey> keys = new HashSet<>();
+
+    /**
+     * Records the keys of {@code signals} and returns the rows whose key was not seen before.
+     *
+     * @param signals next rows of the load
+     * @return the first row of each unseen key ({@code signals} itself if none was seen)
+     */
+    public List<SignalsHistory> retainUnseen(List<SignalsHistory> signals) {
+      List<SignalsHistory> unseen = null;
+      for (int i = 0; i < signals.size(); i++) {
+        SignalsHistory signal = signals.get(i);
+        Instant timestamp = signal.getLoadTimeStamp();
+        RowKey key = new RowKey(signal.getLoaderCode(),
+            timestamp != null ? SignalColumns.toMicros(timestamp) : null, signal.getSegmentCode());
+        if (keys.add(key)) {
+          if (unseen != null) {
+            unseen.add(signal);
+          }
+        } else if (unseen == null) {
+          unseen = new ArrayList<>(signals.subList(0, i));
+        }
+      }
+      if (unseen == null) {
+        return signals;
+      }
+      log.warn("Dropped {} signal(s) repeating a (loader_code, load_time_stamp, segment_code) key",
+          signals.size() - unseen.size());
+      return unseen;
+    }
+  }
+
+  private void ensurePartitions(List<SignalsHistory> signals) {
+    Instant first = null;
+    Instant last = null;
+    for (SignalsHistory signal : signals) {
+      Instant timestamp = signal.getLoadTimeStamp();
+      if (timestamp == null) {
+        continue;
+      }
+      if (first == null || timestamp.isBefore(first)) {
+        first = timestamp;
+      }
+      if (last == null || timestamp.isAfter(last)) {
+        last = timestamp;
+      }
+    }
+    partitionManager.ensurePartitions(first, last);
+  }
+
+  // ====================================================================================
+  // PostgreSQL binary COPY
+  // ====================================================================================
+
+  private long copyBinarySkippingDuplicates(Connection conn, List<SignalsHistory> signals) throws SQLException {
+    try (Statement statement = conn.createStatement()) {
+      statement.execute(CREATE_STAGE_SQL);
+      statement.execute("TRUNCATE " + STAGE_TABLE);
+      copyBinary(conn, signals, STAGE_COPY_SQL);
+      int inserted = statement.executeUpdate(STAGE_INSERT_SQL);
+      statement.execute("TRUNCATE " + STAGE_TABLE);
+      return inserted;
+    }
+  }
+
+  private long copyBinary(Connection conn, List<SignalsHistory> signals, String copySql) throws SQLException {
+    PGCopyOutputStream copyOut = new PGCopyOutputStream(conn.unwrap(PGConnection.class), copySql);
+    try {
+      DataOutputStream out = new DataOutputStream(copyOut);
+
+      // Header: signature, flags, header extension length
+      out.write(COPY_SIGNATURE);
+      out.writeInt(0);
+      out.writeInt(0);
+
+      for (SignalsHistory signal : signals) {
+        out.writeShort(COLUMN_COUNT);
+        writeText(out, signal.getLoaderCode());
+        writeTimestamp(out, signal.getLoadTimeStamp());
+        writeText(out, signal.getSegmentCode());
+        writeInt8(out, signal.getRecCount());
+        writeFloat8(out, signal.getMaxVal());
+        writeFloat8(out, signal.getMinVal());
+        writeFloat8(out, signal.getAvgVal());
+        writeFloat8(out, signal.getSumVal());
+        writeInt8(out, signal.getLoadHistoryId());
+      }
+
+      // Trailer
+      out.writeShort(-1);
+      out.flush();
+
+      return copyOut.endCopy();
+
+    } catch (IOException e) {
+      throw new SQLException("COPY into " + TABLE + " failed: " + e.getMessage(), e);
+    } finally {
+      // Leave the connection usable if the copy did not complete
+      if (copyOut.isActive()) {
+        copyOut.cancelCopy();
+      }
+    }
+  }
+
+  private static void writeText(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeTimestamp(DataOutputStream out, Instant value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    long micros = Math.addExact(
+        Math.multiplyExact(value.getEpochSecond() - PG_EPOCH_SECONDS, 1_000_000L),
+        value.getNano() / 1_000L);
+    out.writeInt(8);
+    out.writeLong(micros);
+  }
+
+  private static void writeInt8(DataOutputStream out, Long value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(8);
+    out.writeLong(value);
+  }
+
+  private static void writeFloat8(DataOutputStream out, Double value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(8);
+    out.writeDouble(value);
+  }
+
+  // ====================================================================================
+  // Multi-row INSERT (portable fallback)
+  // ====================================================================================
+
+  private long insertMultiRow(Connection conn, List<SignalsHistory> signals, boolean skipDuplicates)
+      throws SQLException {
+    int batchSize = Math.max(1, ingestProperties.getInsertBatchSize());
+    long inserted = 0;
+
+    PreparedStatement fullBatchStatement = null;
+
+    try {
+      for (int from = 0; from < signals.size(); from += batchSize) {
+        List<SignalsHistory> batch = signals.subList(from, Math.min(from + batchSize, signals.size()));
+
+        if (batch.size() == batchSize) {
+          // Reuse the full-size statement for every full batch
+          if (fullBatchStatement == null) {
+            fullBatchStatement = conn.prepareStatement(buildInsertSql(batchSize, skipDuplicates));
+          }
+          bindRows(fullBatchStatement, batch);
+          inserted += fullBatchStatement.executeUpdate();
+        } else {
+          try (PreparedStatement ps = conn.prepareStatement(buildInsertSql(batch.size(), skipDuplicates))) {
+            bindRows(ps, batch);
+            inserted += ps.executeUpdate();
+          }
+        }
+      }
+    } finally {
+      if (fullBatchStatement != null) {
+        fullBatchStatement.close();
+      }
+    }
+
+    return inserted;
+  }
+
+  private static String buildInsertSql(int rows, boolean skipDuplicates) {
+    StringBuilder sql = new StringBuilder(64 + rows * 22)
+        .append("INSERT INTO ").append(TABLE).append(" (").append(COLUMNS).append(") VALUES ");
+    for (int i = 0; i < rows; i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append("(?, ?, ?, ?, ?, ?, ?, ?, ?)");
+    }
+    if (skipDuplicates) {
+      sql.append(ON_CONFLICT_DO_NOTHING);
+    }
+    return sql.toString();
+  }
+
+  private static void bindRows(PreparedStatement ps, List<SignalsHistory> batch) throws SQLException {
+    int p = 1;
+    for (SignalsHistory signal : batch) {
+      ps.setString(p++, signal.getLoaderCode());
+      ps.setTimestamp(p++, signal.getLoadTimeStamp() != null ? Timestamp.from(signal.getLoadTimeStamp()) : null);
+      ps.setString(p++, signal.getSegmentCode());
+      setLong(ps, p++, signal.getRecCount());
+      setDouble(ps, p++, signal.getMaxVal());
+      setDouble(ps, p++, signal.getMinVal());
+      setDouble(ps, p++, signal.getAvgVal());
+      setDouble(ps, p++, signal.getSumVal());
+      setLong(ps, p++, signal.getLoadHistoryId());
+    }
+  }
+
+  private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+    if (value == null) {
+      ps.setNull(index, Types.BIGINT);
+    } else {
+      ps.setLong(index, value);
+    }
+  }
+
+  private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+    if (value == null) {
+      ps.setNull(index, Types.DOUBLE);
+    } else {
+      ps.setDouble(index, value);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Downsamples a loader's signals into fixed-width time buckets in the database.
+ *
+ * <p>One {@code GROUP BY date_bin(...)} query per request returns at most one row per bucket and
+ * segment, so the payload is bounded by the bucket count however many signals the range holds.
+ * Buckets aggregate like the rollups ({@link SignalsRollupService}): SUM(rec_count),
+ * MIN(min_val), MAX(max_val), SUM(sum_val) and avg_val = sum_val / rec_count.
+ *
+ * <p><b>Source:</b> the coarsest resolution whose buckets tile the requested width (e.g. the
+ * daily rollup for a 7-day bucket, the hourly rollup for a 6-hour bucket), otherwise raw
+ * signals_history rows. Buckets are aligned to UTC (same origin as the rollups).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SignalsDownsampler {
+
+  private static final String SELECT_SQL = "SELECT loader_code,"
+      + " date_bin(? * INTERVAL '1 second', %2$s, " + SignalsRollupService.ORIGIN + ") AS bucket_start,"
+      + " segment_code,"
+      + " SUM(rec_count) AS rec_count, MIN(min_val) AS min_val, MAX(max_val) AS max_val, SUM(sum_val) AS sum_val,"
+      + " SUM(sum_val) / NULLIF(SUM(rec_count), 0) AS avg_val"
+      + " FROM %1$s"
+      + " WHERE loader_code = ? AND %2$s >= ? AND %2$s <= ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Signals of the loader in {@code [from, to]}, aggregated into buckets of {@code bucketSeconds}.
+   *
+   * @param loaderCode Loader code
+   * @param segmentCode Segment code (null for all segments)
+   * @param from Start of the range
+   * @param to End of the range
+   * @param bucketSeconds Bucket width in seconds
+   * @return One signal per bucket and segment (bucket start as {@code loadTimeStamp}), in time order
+   */
+  public List<SignalsHistory> downsample(String loaderCode, String segmentCode, Instant from, Instant to,
+                                         long bucketSeconds) {
+    SignalResolution source = sourceFor(bucketSeconds);
+    String table = source == SignalResolution.RAW ? "signals.signals_history" : source.getTable();
+    String timeColumn = source == SignalResolution.RAW ? "load_time_stamp" : "bucket_start";
+    Instant sourceFrom = source == SignalResolution.RAW ? from : SignalsRollupService.floor(from, source);
+
+    List<Object> args = new ArrayList<>(List.of(
+        bucketSeconds, loaderCode, Timestamp.from(sourceFrom), Timestamp.from(to)));
+    StringBuilder sql = new StringBuilder(SELECT_SQL.formatted(table, timeColumn));
+    if (segmentCode != null) {
+      sql.append(" AND segment_code = ?");
+      args.add(segmentCode);
+    }
+    sql.append(" GROUP BY 1, 2, 3 ORDER BY 2, 3");
+
+    long startNanos = System.nanoTime();
+    List<SignalsHistory> buckets = jdbcTemplate.query(sql.toString(), SignalsRollupService.BUCKET_MAPPER, args.toArray());
+    log.debug("Downsampled {} in [{}, {}] to {} bucket(s) of {}s from {} in {}ms",
+        loaderCode, from, to, buckets.size(), bucketSeconds, source, (System.nanoTime() - startNanos) / 1_000_000);
+    return buckets;
+  }
+
+  /**
+   * Coarsest resolution whose buckets tile a bucket of the given width.
+   *
+   * @param bucketSeconds Bucket width in seconds
+   * @return Resolution to aggregate from
+   */
+  static SignalResolution sourceFor(long bucketSeconds) {
+    SignalResolution source = SignalResolution.RAW;
+    for (SignalResolution resolution : SignalResolution.values()) {
+      long width = resolution.getBucket().getSeconds();
+      if (width > 0 && bucketSeconds % width == 0) {
+        source = resolution;
+      }
+    }
+    return source;
+  }
+}
@@ -0,0 +1,57 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Wire formats of {@link SignalsExporter}.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Getter
+public enum SignalsExportFormat {
+
+  /**
+   * One JSON object per line; a trailing {@code {"nextCursor": "..."}} line when the page is full.
+   */
+  NDJSON("application/x-ndjson", "ndjson"),
+
+  /**
+   * RFC 4180 with a header row; a trailing {@code # nextCursor=...} line when the page is full.
+   */
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String extension;
+
+  SignalsExportFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  /**
+   * Parses a format name (case-insensitive).
+   *
+   * @param name Format name; null or blank for NDJSON
+   * @return Export format
+   * @throws BusinessException if the format is unknown
+   */
+  public static SignalsExportFormat parse(String name) {
+    if (name == null || name.isBlank()) {
+      return NDJSON;
+    }
+    try {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new BusinessException(
+          ErrorCode.VALIDATION_INVALID_VALUE,
+          "Unknown export format '" + name.trim() + "' (expected ndjson or csv)",
+          "format"
+      );
+    }
+  }
+}
@@ -0,0 +1,279 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.tiqmo.monitoring.loader.dto.common.KeysetCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a loader's raw signals to an output stream as NDJSON or CSV.
+ *
+ * <p>Rows are read through a server-side cursor ({@value #FETCH_SIZE} rows per round trip, inside
+ * a read-only transaction so the PostgreSQL driver keeps the cursor open) and written straight
+ * from the {@link ResultSet}; no entities or lists are built, so memory stays constant however
+ * large the range is.
+ *
+ * <p><b>Pagination:</b> rows are ordered by (load_time_stamp, id). With a limit, one extra row is
+ * read to detect a further page, and the export ends with a continuation token holding the
+ * (load_time_stamp, id) of the last row written. The next page seeks strictly past it: the
+ * predicate {@code load_time_stamp >= ? AND (load_time_stamp > ? OR id > ?)} starts on the
+ * uq_signals_loader_time_segment range instead of skipping an offset.
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li><code>loader_signals_exported_rows</code> (Counter) - rows written by exports</li>
+ * </ul>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SignalsExporter {
+
+  /**
+   * Rows fetched per cursor round trip.
+   */
+  static final int FETCH_SIZE = 1_000;
+
+  static final String[] COLUMNS = {
+      "id", "loader_code", "load_time_stamp", "segment_code",
+      "rec_count", "min_val", "max_val", "avg_val", "sum_val"
+  };
+
+  private static final String SELECT_SQL = "SELECT " + String.join(", ", COLUMNS)
+      + " FROM signals.signals_history"
+      + " WHERE loader_code = ? AND load_time_stamp >= ? AND load_time_stamp <= ?";
+
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter exportedRows;
+
+  public SignalsExporter(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.exportedRows = Counter.builder("loader_signals_exported_rows")
+        .description("Signals written by streaming exports")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Writes the loader's signals in {@code [from, to]} to {@code out}, in (load_time_stamp, id) order.
+   *
+   * @param loaderCode Loader code
+   * @param segmentCode Segment code (null for all segments)
+   * @param from Start of the range
+   * @param to End of the range
+   * @param after Continuation of a previous page (null for the first page)
+   * @param limit Maximum rows to write (null for the whole range)
+   * @param format Wire format
+   * @param out Stream to write to (flushed, not closed)
+   * @return Cursor of the next page, or null if the range is exhausted
+   * @throws IOException if writing to {@code out} fails
+   */
+  public KeysetCursor export(String loaderCode, String segmentCode, Instant from, Instant to,
+                             KeysetCursor after, Integer limit, SignalsExportFormat format,
+                             OutputStream out) throws IOException {
+    List<Object> args = new ArrayList<>(List.of(loaderCode, Timestamp.from(from), Timestamp.from(to)));
+    StringBuilder sql = new StringBuilder(SELECT_SQL);
+    if (segmentCode != null) {
+      sql.append(" AND segment_code = ?");
+      args.add(segmentCode);
+    }
+    if (after != null) {
+      Timestamp afterTimestamp = Timestamp.from(after.timestamp());
+      sql.append(" AND load_time_stamp >= ? AND (load_time_stamp > ? OR id > ?)");
+      args.add(afterTimestamp);
+      args.add(afterTimestamp);
+      args.add(after.id());
+    }
+    sql.append(" ORDER BY load_time_stamp, id");
+    if (limit != null) {
+      sql.append(" LIMIT ?");
+      args.add(limit + 1);
+    }
+
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    RowWriter rows = format == SignalsExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+    long startNanos = System.nanoTime();
+    ExportState state = new ExportState();
+    try {
+      rows.header();
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+        PreparedStatement ps = con.prepareStatement(sql.toString());
+        ps.setFetchSize(FETCH_SIZE);
+        new ArgumentPreparedStatementSetter(args.toArray()).setValues(ps);
+        return ps;
+      }, (RowCallbackHandler) rs -> {
+        if (limit != null && state.written == limit) {
+          state.more = true;
+          return;
+        }
+        try {
+          rows.row(rs);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        state.lastTimestamp = rs.getTimestamp("load_time_stamp").toInstant();
+        state.lastId = rs.getLong("id");
+        state.written++;
+      }));
+      KeysetCursor next = state.more ? new KeysetCursor(state.lastTimestamp, state.lastId) : null;
+      rows.trailer(next);
+      writer.flush();
+      log.debug("Exported {} signal(s) of {} in [{}, {}] as {} in {}ms (more={})",
+          state.written, loaderCode, from, to, format, (System.nanoTime() - startNanos) / 1_000_000, state.more);
+      return next;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      exportedRows.increment(state.written);
+    }
+  }
+
+  private static final class ExportState {
+    private long written;
+    private boolean more;
+    private Instant lastTimestamp;
+    private long lastId;
+  }
+
+  private interface RowWriter {
+    void header() throws IOException;
+
+    void row(ResultSet rs) throws IOException, SQLException;
+
+    void trailer(KeysetCursor next) throws IOException;
+  }
+
+  private static final class NdjsonRowWriter implements RowWriter {
+    private final JsonGenerator json;
+
+    private NdjsonRowWriter(Writer writer) throws IOException {
+      this.json = JSON.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      this.json.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void header() {
+    }
+
+    @Override
+    public void row(ResultSet rs) throws IOException, SQLException {
+      json.writeStartObject();
+      json.writeNumberField("id", rs.getLong("id"));
+      json.writeStringField("loaderCode", rs.getString("loader_code"));
+      json.writeStringField("loadTimeStamp", rs.getTimestamp("load_time_stamp").toInstant().toString());
+      json.writeStringField("segmentCode", rs.getString("segment_code"));
+      writeNumber("recCount", rs.getObject("rec_count", Long.class));
+      writeNumber("minVal", rs.getObject("min_val", Double.class));
+      writeNumber("maxVal", rs.getObject("max_val", Double.class));
+      writeNumber("avgVal", rs.getObject("avg_val", Double.class));
+      writeNumber("sumVal", rs.getObject("sum_val", Double.class));
+      json.writeEndObject();
+      json.writeRaw('\n');
+    }
+
+    @Override
+    public void trailer(KeysetCursor next) throws IOException {
+      if (next != null) {
+        json.writeStartObject();
+        json.writeStringField("nextCursor", next.encode());
+        json.writeEndObject();
+        json.writeRaw('\n');
+      }
+      json.flush();
+    }
+
+    private void writeNumber(String field, Number value) throws IOException {
+      if (value == null) {
+        json.writeNullField(field);
+      } else if (value instanceof Long longValue) {
+        json.writeNumberField(field, longValue);
+      } else {
+        json.writeNumberField(field, value.doubleValue());
+      }
+    }
+  }
+
+  private static final class CsvRowWriter implements RowWriter {
+    private final Writer writer;
+
+    private CsvRowWriter(Writer writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void header() throws IOException {
+      writer.write(String.join(",", COLUMNS));
+      writer.write("\r\n");
+    }
+
+    @Override
+    public void row(ResultSet rs) throws IOException, SQLException {
+      writer.write(Long.toString(rs.getLong("id")));
+      writer.write(',');
+      writeText(rs.getString("loader_code"));
+      writer.write(',');
+      writer.write(rs.getTimestamp("load_time_stamp").toInstant().toString());
+      writer.write(',');
+      writeText(rs.getString("segment_code"));
+      for (int i = 4; i < COLUMNS.length; i++) {
+        writer.write(',');
+        Object value = rs.getObject(COLUMNS[i], i == 4 ? Long.class : Double.class);
+        if (value != null) {
+          writer.write(value.toString());
+        }
+      }
+      writer.write("\r\n");
+    }
+
+    @Override
+    public void trailer(KeysetCursor next) throws IOException {
+      if (next != null) {
+        writer.write("# nextCursor=" + next.encode() + "\r\n");
+      }
+    }
+
+    private void writeText(String value) throws IOException {
+      if (value == null) {
+        return;
+      }
+      if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+        writer.write(value);
+        return;
+      }
+      writer.write('"');
+      writer.write(value.replace("\"", "\"\""));
+      writer.write('"');
+    }
+  }
+}
@@ -0,0 +1,375 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
+import com.tiqmo.monitoring.loader.infra.config.SignalsHotCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory hot window of each queried loader's most recent raw signals.
+ *
+ * <p><b>Coverage:</b> a loader's window holds every signal of the loader in
+ * {@code [coveredFrom, coveredTo)} ({@link SignalColumns}, in time order). It is filled
+ * write-through by the scheduled loads of this replica: the executor stages each chunk it
+ * ingests ({@link #stage}) and the staged signals are appended once the load has completed
+ * ({@link #commit}), extending {@code coveredTo} to the end of the load window. A load that does
+ * not continue the window (gap, reload of an earlier window, rows skipped as duplicates or
+ * outside the window) restarts it at the load's window instead. Signals older than
+ * {@code window} before {@code coveredTo}, or beyond {@code max-signals-per-loader}, are evicted
+ * from the head.
+ *
+ * <p><b>Invalidation:</b> other writes and deletes of a loader's signals (failed loads, catch-up,
+ * backfill chunks, ingest API, purges, orphan cleanup, partition retention; see
+ * {@link SignalsWrittenEvent}) drop its window unless they end before it. Changes made through
+ * other replicas are not seen; their ranges are only refreshed once evicted.
+ *
+ * <p><b>Reads:</b> {@link #read} returns the window's part of a range; the caller reads the rest
+ * (before {@code coveredFrom}, and from {@code coveredTo} on, where a load may be in flight) from
+ * the database. A loader gets a window on its first read; the least recently read window is
+ * dropped beyond {@code max-loaders}.
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li><code>loader_signals_hot_cache_reads_total</code> (Counter, tag result=hit|partial|miss) -
+ *       raw signal reads served entirely, partly or not at all from memory</li>
+ *   <li><code>loader_signals_hot_cache_hit_ratio</code> (Gauge) - hits over all reads</li>
+ *   <li><code>loader_signals_hot_cache_bytes</code> (Gauge) - memory held by the windows' columns</li>
+ *   <li><code>loader_signals_hot_cache_signals</code> (Gauge) - signals held</li>
+ *   <li><code>loader_signals_hot_cache_loaders</code> (Gauge) - loaders with a window</li>
+ * </ul>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SignalsHotCache {
+
+  private final SignalsHotCacheProperties properties;
+  private final Map<String, HotWindow> windows = new ConcurrentHashMap<>();
+  private final Counter hits;
+  private final Counter partialHits;
+  private final Counter misses;
+
+  public SignalsHotCache(SignalsHotCacheProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.hits = readCounter(meterRegistry, "hit");
+    this.partialHits = readCounter(meterRegistry, "partial");
+    this.misses = readCounter(meterRegistry, "miss");
+    Gauge.builder("loader_signals_hot_cache_hit_ratio", this, SignalsHotCache::hitRatio)
+        .description("Raw signal reads served entirely from the hot window, over all reads")
+        .register(meterRegistry);
+    Gauge.builder("loader_signals_hot_cache_bytes", this, SignalsHotCache::bytes)
+        .description("Memory held by the hot window columns")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("loader_signals_hot_cache_signals", this, SignalsHotCache::signals)
+        .description("Signals held in the hot window")
+        .register(meterRegistry);
+    Gauge.builder("loader_signals_hot_cache_loaders", windows, Map::size)
+        .description("Loaders with a hot window on this replica")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Reads the part of {@code [from, to]} covered by the loader's window, registering the loader
+   * for write-through on its first read.
+   *
+   * @param loaderCode Loader code
+   * @param segmentCode Segment code (null for all segments)
+   * @param from Start of the range (inclusive)
+   * @param to End of the range (inclusive)
+   * @return Covered part of the range, or null if none of it is covered
+   */
+  public HotRead read(String loaderCode, String segmentCode, Instant from, Instant to) {
+    if (!properties.isEnabled()) {
+      return null;
+    }
+    HotRead read = windowFor(loaderCode).read(segmentCode, SignalColumns.toMicros(from), SignalColumns.toMicros(to));
+    if (read == null) {
+      misses.increment();
+    } else if (read.covers(from, to)) {
+      hits.increment();
+    } else {
+      partialHits.increment();
+    }
+    return read;
+  }
+
+  /**
+   * Starts staging the signals of a scheduled load of the loader.
+   *
+   * @param loaderCode Loader code
+   * @return Stage to pass ingested chunks to, or null if the loader has no window
+   */
+  public Stage stage(String loaderCode) {
+    if (!properties.isEnabled()) {
+      return null;
+    }
+    HotWindow window = windows.get(loaderCode);
+    return window != null ? window.stage(properties.getMaxSignalsPerLoader()) : null;
+  }
+
+  /**
+   * Appends a completed load's staged signals to its loader's window.
+   *
+   * @param stage Stage of the load (null for none)
+   * @param from Start of the load window (inclusive)
+   * @param to End of the load window (exclusive)
+   * @param ingested Signals the load inserted into signals_history
+   */
+  public void commit(Stage stage, Instant from, Instant to, long ingested) {
+    if (stage == null) {
+      return;
+    }
+    stage.window.commit(stage, SignalColumns.toMicros(from), SignalColumns.toMicros(to), ingested,
+        properties.getWindow().toNanos() / 1_000);
+  }
+
+  /**
+   * Drops the loader's window if {@code [from, to)} does not end before it.
+   *
+   * @param loaderCode Loader code
+   * @param from Start of the written range (inclusive)
+   * @param to End of the written range (exclusive)
+   */
+  public void invalidate(String loaderCode, Instant from, Instant to) {
+    HotWindow window = windows.get(loaderCode);
+    if (window != null && window.invalidate(SignalColumns.toMicros(to))) {
+      log.debug("Hot window of {} dropped after a write in [{}, {})", loaderCode, from, to);
+    }
+  }
+
+  /**
+   * Drops the written range once the write has committed.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onSignalsWritten(SignalsWrittenEvent event) {
+    invalidate(event.loaderCode(), event.fromTime(), event.toTime());
+  }
+
+  double hitRatio() {
+    double total = hits.count() + partialHits.count() + misses.count();
+    return total == 0 ? 0 : hits.count() / total;
+  }
+
+  long bytes() {
+    long bytes = 0;
+    for (HotWindow window : windows.values()) {
+      bytes += window.bytes();
+    }
+    return bytes;
+  }
+
+  long signals() {
+    long signals = 0;
+    for (HotWindow window : windows.values()) {
+      signals += window.size();
+    }
+    return signals;
+  }
+
+  private HotWindow windowFor(String loaderCode) {
+    HotWindow window = windows.get(loaderCode);
+    if (window == null) {
+      window = windows.computeIfAbsent(loaderCode, code -> new HotWindow(code, properties.getMaxSignalsPerLoader()));
+      evictLeastRecentlyRead(loaderCode);
+    }
+    window.lastReadNanos = System.nanoTime();
+    return window;
+  }
+
+  private void evictLeastRecentlyRead(String keep) {
+    while (windows.size() > Math.max(1, properties.getMaxLoaders())) {
+      HotWindow oldest = null;
+      for (HotWindow window : windows.values()) {
+        if (!window.loaderCode.equals(keep) && (oldest == null || window.lastReadNanos - oldest.lastReadNanos < 0)) {
+          oldest = window;
+        }
+      }
+      if (oldest == null || !windows.remove(oldest.loaderCode, oldest)) {
+        return;
+      }
+      log.debug("Hot window of {} dropped (least recently read)", oldest.loaderCode);
+    }
+  }
+
+  private static Counter readCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("loader_signals_hot_cache_reads_total")
+        .description("Raw signal reads by how much of the range the hot window served")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Part of a range read from a hot window.
+   *
+   * @param signals Signals of the covered part, in time order (id and createdAt are not cached)
+   * @param coveredFrom Start of the window's coverage (inclusive)
+   * @param coveredTo End of the window's coverage (exclusive)
+   */
+  public record HotRead(List<SignalsHistory> signals, Instant coveredFrom, Instant coveredTo) {
+
+    /**
+     * Whether the whole of {@code [from, to]} was read from memory.
+     */
+    public boolean covers(Instant from, Instant to) {
+      return !from.isBefore(coveredFrom) && to.isBefore(coveredTo);
+    }
+  }
+
+  /**
+   * Signals ingested by one scheduled load, held until the load completes. Used by one thread.
+   */
+  public static final class Stage {
+    private final HotWindow window;
+    private final long generation;
+    private final SignalColumns rows;
+    private boolean overflowed;
+
+    private Stage(HotWindow window, long generation, int capacity) {
+      this.window = window;
+      this.generation = generation;
+      this.rows = new SignalColumns(capacity);
+    }
+
+    /**
+     * Stages a chunk of ingested signals.
+     */
+    public void add(List<SignalsHistory> signals) {
+      for (SignalsHistory signal : signals) {
+        if (overflowed || signal.getLoadTimeStamp() == null) {
+          continue;
+        }
+        overflowed = !rows.add(signal);
+      }
+    }
+  }
+
+  /**
+   * One loader's window. All access to the rows is synchronized on the window.
+   */
+  private static final class HotWindow {
+    private final String loaderCode;
+    private final int capacity;
+    private SignalColumns rows;
+    private boolean covered;
+    private long coveredFrom;
+    private long coveredTo;
+    private long generation;
+    private volatile long lastReadNanos;
+
+    private HotWindow(String loaderCode, int capacity) {
+      this.loaderCode = loaderCode;
+      this.capacity = capacity;
+      this.rows = new SignalColumns(capacity);
+    }
+
+    synchronized Stage stage(int stageCapacity) {
+      return new Stage(this, generation, stageCapacity);
+    }
+
+    synchronized HotRead read(String segmentCode, long from, long to) {
+      if (!covered || to < coveredFrom || from >= coveredTo) {
+        return null;
+      }
+      boolean allSegments = segmentCode == null;
+      int segment = allSegments ? 0 : rows.segmentIdOf(segmentCode);
+      List<SignalsHistory> signals = new ArrayList<>();
+      for (int i = rows.firstAtOrAfter(Math.max(from, coveredFrom)); i < rows.size(); i++) {
+        if (rows.timestampAt(i) > to) {
+          break;
+        }
+        if (allSegments || rows.segmentAt(i) == segment) {
+          signals.add(rows.toSignal(i, loaderCode));
+        }
+      }
+      return new HotRead(signals, SignalColumns.fromMicros(coveredFrom), SignalColumns.fromMicros(coveredTo));
+    }
+
+    synchronized void commit(Stage stage, long from, long to, long ingested, long windowMicros) {
+      if (stage.generation != generation) {
+        log.debug("Hot window of {}: load [{}, {}) not cached (window dropped while it ran)",
+            loaderCode, SignalColumns.fromMicros(from), SignalColumns.fromMicros(to));
+        return;
+      }
+      SignalColumns staged = stage.rows;
+      int[] order = staged.timeOrder();
+      boolean complete = !stage.overflowed && staged.size() == ingested
+          && (order.length == 0
+              || staged.timestampAt(order[0]) >= from && staged.timestampAt(order[order.length - 1]) < to);
+      if (!complete) {
+        // Rows skipped as duplicates, outside the window or beyond capacity: the window cannot
+        // tell what signals_history holds for this range
+        reset();
+        log.debug("Hot window of {} dropped: load [{}, {}) staged {} of {} ingested signal(s)",
+            loaderCode, SignalColumns.fromMicros(from), SignalColumns.fromMicros(to), staged.size(), ingested);
+        return;
+      }
+      if (!covered || from != coveredTo) {
+        reset();
+        covered = true;
+        coveredFrom = from;
+      }
+      for (int index : order) {
+        if (rows.isFull()) {
+          evictOldest();
+        }
+        rows.add(staged, index);
+      }
+      coveredTo = to;
+      evictBefore(to - windowMicros);
+    }
+
+    synchronized boolean invalidate(long to) {
+      if (covered && to <= coveredFrom) {
+        return false;
+      }
+      reset();
+      return true;
+    }
+
+    synchronized long bytes() {
+      return rows.bytes();
+    }
+
+    synchronized int size() {
+      return rows.size();
+    }
+
+    /**
+     * Evicts the oldest timestamp (all its rows, so the coverage stays complete).
+     */
+    private void evictOldest() {
+      long oldest = rows.timestampAt(0);
+      while (rows.size() > 0 && rows.timestampAt(0) == oldest) {
+        rows.removeFirst();
+      }
+      coveredFrom = Math.max(coveredFrom, oldest + 1);
+    }
+
+    private void evictBefore(long cutoff) {
+      while (rows.size() > 0 && rows.timestampAt(0) < cutoff) {
+        rows.removeFirst();
+      }
+      coveredFrom = Math.max(coveredFrom, Math.min(cutoff, coveredTo));
+    }
+
+    private void reset() {
+      rows = new SignalColumns(capacity);
+      covered = false;
+      generation++;
+    }
+  }
+}
@@ -5,13 +5,16 @@ import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
 import com.tiqmo.monitoring.loader.domain.signals.repo.SignalsHistoryRepository;
 import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
 import com.tiqmo.monitoring.loader.dto.signals.BulkSignalsRequest;
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
 import com.tiqmo.monitoring.loader.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -28,6 +31,9 @@ import java.util.List;
 @Slf4j
 public class SignalsIngestService {
     private final SignalsHistoryRepository repo;
+    private final SignalsBulkWriter bulkWriter;
+    private final SignalsRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Appends a single signal to history.
@@ -54,6 +60,7 @@ public class SignalsIngestService {
             // createdAt is now auto-managed by PostgreSQL DEFAULT NOW()
             log.trace("Persisting signal to database | loaderCode={}", signal.getLoaderCode());
             SignalsHistory saved = repo.save(signal);
+            signalsWritten(signal.getLoaderCode(), List.of(signal));
             log.info("Signal saved | id={} | correlationId={}", saved.getId(), MDC.get("correlationId"));
             log.trace("Exiting append() | id={} | success=true", saved.getId());
 
@@ -67,9 +74,13 @@ public class SignalsIngestService {
     /**
      * Appends multiple signals in bulk.
      *
+     * <p>Signals repeating the (load_time_stamp, segment_code) of an earlier signal of the request
+     * are dropped; only the first of them is written.
+     *
      * @param loaderCode Loader code for all signals
      * @param signalDataList List of signal data
-     * @return List of saved signals
+     * @return List of written signals, without dropped repeats (ids are not populated - written
+     *         via {@link SignalsBulkWriter})
      * @throws BusinessException if validation fails
      */
     @Transactional
@@ -114,17 +125,41 @@ public class SignalsIngestService {
 
             // createdAt is now auto-managed by PostgreSQL DEFAULT NOW()
             log.trace("Persisting {} signals to database | loaderCode={}", signals.size(), loaderCode);
-            List<SignalsHistory> saved = repo.saveAll(signals);
-            log.info("Bulk append completed | savedCount={} | correlationId={}", saved.size(), MDC.get("correlationId"));
-            log.trace("Exiting bulkAppend() | savedCount={} | success=true", saved.size());
+            List<SignalsHistory> rows = new SignalsBulkWriter.SeenKeys().retainUnseen(signals);
+            long written = bulkWriter.writeUnique(rows, false);
+            signalsWritten(loaderCode, rows);
+            log.info("Bulk append completed | savedCount={} | droppedRepeats={} | correlationId={}",
+                    written, signals.size() - rows.size(), MDC.get("correlationId"));
+            log.trace("Exiting bulkAppend() | savedCount={} | success=true", written);
 
-            return saved;
+            return rows;
 
         } finally {
             MDC.remove("loaderCode");
         }
     }
 
+    /**
+     * Recomputes the hourly/daily rollups over the time span of appended signals, and drops the
+     * span from the loader's hot window once the transaction commits.
+     */
+    private void signalsWritten(String loaderCode, List<SignalsHistory> signals) {
+        Instant first = null;
+        Instant last = null;
+        for (SignalsHistory signal : signals) {
+            Instant timestamp = signal.getLoadTimeStamp();
+            if (timestamp == null) {
+                continue;
+            }
+            first = first == null || timestamp.isBefore(first) ? timestamp : first;
+            last = last == null || timestamp.isAfter(last) ? timestamp : last;
+        }
+        if (first != null) {
+            rollupService.refresh(loaderCode, first, last.plusSeconds(1));
+            eventPublisher.publishEvent(new SignalsWrittenEvent(loaderCode, first, last.plusSeconds(1)));
+        }
+    }
+
     /**
      * Validates a signal before saving.
      *
@@ -0,0 +1,471 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
+import com.tiqmo.monitoring.loader.infra.config.PartitionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Lifecycle of the daily partitions of signals_history.
+ *
+ * <p>signals_history is range-partitioned on load_time_stamp, one partition per UTC day
+ * ({@code signals_history_pYYYYMMDD}); rows of days without a partition land in
+ * {@code signals_history_default}. Partitions are created and dropped through the
+ * {@code signals.create_signals_partition} / {@code signals.drop_signals_partition} functions
+ * (see migration V31), since the application role does not own the table.
+ *
+ * <p><b>Creation:</b>
+ * <ul>
+ *   <li>Maintenance pre-creates partitions up to {@code loader.partitions.premake-days} ahead</li>
+ *   <li>{@link #ensurePartitions} creates the partitions of the days a write touches (backfills
+ *       of past days), up to {@code history-days} back. Creating a day moves its rows out of
+ *       the default partition</li>
+ * </ul>
+ *
+ * <p><b>Maintenance</b> runs on one replica at a time: the run holds a transaction-level
+ * advisory lock, and replicas that do not get it skip the run. Every replica still reloads the
+ * attached partitions from the catalog on each scheduled run, so its view loses the days another
+ * replica's retention dropped or detached. Purges do not rely on that view alone
+ * ({@link #isAttached}).
+ *
+ * <p><b>Retention</b> (per loader, {@code loader.partitions.retention-days}): a partition is
+ * dropped (or detached) once it is expired for every loader. Until then, the rows of loaders it
+ * is expired for are deleted from that partition only. Expired ranges are published as
+ * {@link SignalsWrittenEvent}s, so no in-memory hot window keeps serving them.
+ *
+ * <p>Partition DDL runs in its own transaction with a short lock timeout: a failure (e.g. the
+ * caller's own transaction holding the default partition) never aborts the caller's transaction,
+ * and the rows then simply go to the default partition. A day whose creation failed is not
+ * retried for {@link #CREATE_RETRY_DELAY}, so writes do not pay for a failing DDL transaction
+ * (and its second pooled connection) each time.
+ *
+ * <p>The partition functions are looked up once, on first use. Without them (H2, schemas not
+ * managed by Flyway) partitions are left alone: no DDL is attempted and purges delete rows.
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li><code>loader_signals_partitions</code> (Gauge) - daily partitions attached</li>
+ *   <li><code>loader_signals_partitions_expired_total</code> (Counter) - partitions dropped or detached</li>
+ * </ul>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SignalsPartitionManager {
+
+  static final String PARTITION_PREFIX = "signals_history_p";
+
+  static final String DEFAULT_PARTITION = "signals_history_default";
+
+  private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+  static final String LIST_SQL = """
+      SELECT c.relname
+      FROM pg_catalog.pg_inherits i
+      JOIN pg_catalog.pg_class c ON c.oid = i.inhrelid
+      JOIN pg_catalog.pg_class p ON p.oid = i.inhparent
+      JOIN pg_catalog.pg_namespace n ON n.oid = p.relnamespace
+      WHERE n.nspname = 'signals' AND p.relname = 'signals_history'""";
+
+  static final String CREATE_SQL = "SELECT signals.create_signals_partition(?)";
+
+  static final String DROP_SQL = "SELECT signals.drop_signals_partition(?, ?)";
+
+  static final String ATTACHED_SQL = "SELECT EXISTS (" + LIST_SQL + " AND c.relname = ?)";
+
+  static final String MAINTENANCE_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('signals_partitions.maintenance'))";
+
+  static final String FUNCTIONS_SQL = "SELECT to_regprocedure('signals.create_signals_partition(date)') IS NOT NULL";
+
+  /**
+   * Time before the creation of a day's partition is attempted again after a failure.
+   */
+  static final Duration CREATE_RETRY_DELAY = Duration.ofMinutes(10);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate ddlTransaction;
+  private final TransactionTemplate maintenanceTransaction;
+  private final LoaderRepository loaderRepository;
+  private final PartitionProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Counter expiredPartitions;
+
+  /**
+   * Days with an attached partition (loaded from the catalog on first use).
+   */
+  private final NavigableSet<LocalDate> partitions = new ConcurrentSkipListSet<>();
+
+  /**
+   * Days whose partition creation failed, with the time of the failure.
+   */
+  private final Map<LocalDate, Instant> failedDays = new ConcurrentHashMap<>();
+
+  private volatile boolean loaded;
+
+  /**
+   * Whether the partition functions exist; null until looked up.
+   */
+  private volatile Boolean available;
+
+  public SignalsPartitionManager(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 LoaderRepository loaderRepository,
+                                 PartitionProperties properties,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.ddlTransaction = new TransactionTemplate(transactionManager);
+    this.ddlTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.maintenanceTransaction = new TransactionTemplate(transactionManager);
+    this.loaderRepository = loaderRepository;
+    this.properties = properties;
+    this.eventPublisher = eventPublisher;
+    Gauge.builder("loader_signals_partitions", partitions, Set::size)
+        .description("Daily signals_history partitions attached")
+        .register(meterRegistry);
+    this.expiredPartitions = Counter.builder("loader_signals_partitions_expired_total")
+        .description("signals_history partitions dropped or detached by retention")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Partition maintenance: pre-creates upcoming partitions and applies retention.
+   *
+   * <p>Scheduled on every replica: each one reloads the attached partitions, then the replica
+   * holding the maintenance advisory lock runs it and the others skip it. Retention deletes
+   * commit with the run.
+   */
+  @Scheduled(cron = "${loader.partitions.maintenance-cron:0 15 * * * ?}")
+  public void maintain() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    try {
+      if (!isAvailable()) {
+        return;
+      }
+      maintenanceTransaction.executeWithoutResult(status -> {
+        refresh();
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(MAINTENANCE_LOCK_SQL, Boolean.class))) {
+          log.debug("Signals partition maintenance running on another replica, skipped");
+          return;
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        int created = ensureDays(today.minusDays(1), today.plusDays(Math.max(0, properties.getPremakeDays())));
+        RetentionResult retention = applyRetention(today);
+
+        if (created > 0 || retention.partitionsExpired() > 0 || retention.rowsDeleted() > 0) {
+          log.info("Signals partitions maintained | created={} | expired={} | rowsDeleted={} | partitions={}",
+              created, retention.partitionsExpired(), retention.rowsDeleted(), partitions.size());
+        } else {
+          log.debug("Signals partitions maintained | partitions={}", partitions.size());
+        }
+      });
+    } catch (Exception e) {
+      log.error("Error during signals partition maintenance", e);
+    }
+  }
+
+  /**
+   * Creates missing partitions for the days of {@code [first, last]}.
+   *
+   * <p>Only days from {@code history-days} before today to {@code premake-days} after it are
+   * created; rows outside that horizon stay in the default partition.
+   *
+   * @param first Earliest timestamp to be written
+   * @param last Latest timestamp to be written
+   */
+  public void ensurePartitions(Instant first, Instant last) {
+    if (!properties.isEnabled() || first == null || last == null) {
+      return;
+    }
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    LocalDate from = max(day(first), today.minusDays(Math.max(0, properties.getHistoryDays())));
+    LocalDate to = min(day(last), today.plusDays(Math.max(0, properties.getPremakeDays())));
+    if (!from.isAfter(to) && isAvailable()) {
+      ensureDays(from, to);
+    }
+  }
+
+  /**
+   * Days whose partition lies entirely within {@code [from, to)}.
+   *
+   * @param from Start of the range (inclusive)
+   * @param to End of the range (exclusive)
+   * @return Partitioned days in order
+   */
+  public List<LocalDate> partitionsWithin(Instant from, Instant to) {
+    if (!to.isAfter(from) || !isAvailable()) {
+      return List.of();
+    }
+    loadIfNeeded();
+    LocalDate firstWhole = start(day(from)).equals(from) ? day(from) : day(from).plusDays(1);
+    LocalDate lastWhole = day(to).minusDays(1);
+    if (firstWhole.isAfter(lastWhole)) {
+      return List.of();
+    }
+    return new ArrayList<>(partitions.subSet(firstWhole, true, lastWhole, true));
+  }
+
+  /**
+   * Whether a day's partition is still attached, read from the catalog (a cached day may have
+   * been dropped or detached by another replica's retention since the last refresh). A day found
+   * detached is forgotten.
+   *
+   * @param day UTC day
+   * @return true if {@code signals_history_pYYYYMMDD} is a partition of signals_history
+   */
+  public boolean isAttached(LocalDate day) {
+    boolean attached = Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(ATTACHED_SQL, Boolean.class, partitionName(day)));
+    if (!attached) {
+      partitions.remove(day);
+    }
+    return attached;
+  }
+
+  /**
+   * Reloads the attached partitions from the catalog.
+   */
+  public void refresh() {
+    Set<LocalDate> days = jdbcTemplate.queryForList(LIST_SQL, String.class).stream()
+        .map(SignalsPartitionManager::parseDay)
+        .filter(day -> day != null)
+        .collect(Collectors.toCollection(TreeSet::new));
+    partitions.retainAll(days);
+    partitions.addAll(days);
+    loaded = true;
+  }
+
+  /**
+   * Applies per-loader retention.
+   *
+   * @param today Current UTC day
+   * @return Partitions expired and rows deleted from partitions that are kept
+   */
+  RetentionResult applyRetention(LocalDate today) {
+    List<String> loaderCodes = loaderRepository.findAllLoaderCodes();
+
+    // Whole partitions: expired for the default and for every loader
+    int expired = 0;
+    int maxRetention = maxRetentionDays(loaderCodes);
+    if (maxRetention > 0) {
+      LocalDate cutoff = today.minusDays(maxRetention);
+      for (LocalDate day : new ArrayList<>(partitions.headSet(cutoff, false))) {
+        if (dropPartition(day)) {
+          expired++;
+          for (String loaderCode : loaderCodes) {
+            eventPublisher.publishEvent(new SignalsWrittenEvent(loaderCode, start(day), start(day.plusDays(1))));
+          }
+        }
+      }
+    }
+
+    // Rows of loaders with a shorter retention, partition by partition
+    long deleted = 0;
+    for (String loaderCode : loaderCodes) {
+      int retention = properties.retentionDaysFor(loaderCode);
+      if (retention <= 0) {
+        continue;
+      }
+      LocalDate cutoff = today.minusDays(retention);
+      for (LocalDate day : partitions.headSet(cutoff, false)) {
+        deleted += expire(loaderCode, start(day), start(day.plusDays(1)),
+            deleteLoaderRows(partitionName(day), loaderCode, null));
+      }
+      deleted += expire(loaderCode, Instant.EPOCH, start(cutoff),
+          deleteLoaderRows(DEFAULT_PARTITION, loaderCode, start(cutoff)));
+    }
+    return new RetentionResult(expired, deleted);
+  }
+
+  /**
+   * Outcome of a retention run.
+   */
+  record RetentionResult(int partitionsExpired, long rowsDeleted) {
+  }
+
+  /**
+   * Longest retention of the default and all loaders; 0 if any of them keeps signals forever.
+   */
+  int maxRetentionDays(List<String> loaderCodes) {
+    int max = properties.getDefaultRetentionDays();
+    if (max <= 0) {
+      return 0;
+    }
+    for (String loaderCode : loaderCodes) {
+      int retention = properties.retentionDaysFor(loaderCode);
+      if (retention <= 0) {
+        return 0;
+      }
+      max = Math.max(max, retention);
+    }
+    return max;
+  }
+
+  /**
+   * Publishes the expiry of a loader's signals in {@code [from, to)} if any were removed.
+   *
+   * @return {@code removed}
+   */
+  private long expire(String loaderCode, Instant from, Instant to, long removed) {
+    if (removed > 0) {
+      eventPublisher.publishEvent(new SignalsWrittenEvent(loaderCode, from, to));
+    }
+    return removed;
+  }
+
+  private long deleteLoaderRows(String partition, String loaderCode, Instant before) {
+    String predicate = "loader_code = ?" + (before != null ? " AND load_time_stamp < ?" : "");
+    Object[] args = before != null ? new Object[]{loaderCode, Timestamp.from(before)} : new Object[]{loaderCode};
+
+    Boolean exists = jdbcTemplate.queryForObject(
+        "SELECT EXISTS (SELECT 1 FROM signals." + partition + " WHERE " + predicate + " LIMIT 1)", Boolean.class, args);
+    if (!Boolean.TRUE.equals(exists)) {
+      return 0;
+    }
+    int deleted = jdbcTemplate.update("DELETE FROM signals." + partition + " WHERE " + predicate, args);
+    log.info("Retention: deleted {} expired signal(s) of {} from {}", deleted, loaderCode, partition);
+    return deleted;
+  }
+
+  private int ensureDays(LocalDate from, LocalDate to) {
+    loadIfNeeded();
+    int created = 0;
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      if (!partitions.contains(day) && createPartition(day)) {
+        created++;
+      }
+    }
+    return created;
+  }
+
+  private boolean createPartition(LocalDate day) {
+    Instant failedAt = failedDays.get(day);
+    if (failedAt != null && Instant.now().isBefore(failedAt.plus(CREATE_RETRY_DELAY))) {
+      return false;
+    }
+    try {
+      Boolean created = ddlTransaction.execute(status ->
+          jdbcTemplate.queryForObject(CREATE_SQL, Boolean.class, Date.valueOf(day)));
+      partitions.add(day);
+      failedDays.remove(day);
+      if (Boolean.TRUE.equals(created)) {
+        log.info("Created signals partition {}", partitionName(day));
+        return true;
+      }
+    } catch (Exception e) {
+      failedDays.put(day, Instant.now());
+      log.warn("Failed to create signals partition {} (rows go to the default partition, retry in {}): {}",
+          partitionName(day), CREATE_RETRY_DELAY, e.getMessage());
+    }
+    return false;
+  }
+
+  private boolean dropPartition(LocalDate day) {
+    try {
+      Boolean dropped = ddlTransaction.execute(status ->
+          jdbcTemplate.queryForObject(DROP_SQL, Boolean.class, Date.valueOf(day), properties.isDetachExpired()));
+      partitions.remove(day);
+      if (Boolean.TRUE.equals(dropped)) {
+        expiredPartitions.increment();
+        log.info("Retention: {} signals partition {}",
+            properties.isDetachExpired() ? "detached" : "dropped", partitionName(day));
+        return true;
+      }
+    } catch (Exception e) {
+      log.error("Failed to expire signals partition {}: {}", partitionName(day), e.getMessage());
+    }
+    return false;
+  }
+
+  private void loadIfNeeded() {
+    if (!loaded) {
+      refresh();
+    }
+  }
+
+  /**
+   * Whether signals_history is partitioned through the partition functions (looked up once).
+   * Other database errors are not cached, the lookup is repeated on next use.
+   */
+  boolean isAvailable() {
+    Boolean result = available;
+    if (result == null) {
+      try {
+        result = Boolean.TRUE.equals(jdbcTemplate.queryForObject(FUNCTIONS_SQL, Boolean.class));
+      } catch (BadSqlGrammarException e) {
+        result = false;
+      }
+      if (!result) {
+        log.warn("Function signals.create_signals_partition not found; signals partitions are not managed");
+      }
+      available = result;
+    }
+    return result;
+  }
+
+  /**
+   * Table name of a day's partition (without schema).
+   */
+  public static String partitionName(LocalDate day) {
+    return PARTITION_PREFIX + PARTITION_DAY.format(day);
+  }
+
+  static LocalDate parseDay(String partitionName) {
+    if (partitionName == null || !partitionName.matches(PARTITION_PREFIX + "\\d{8}")) {
+      return null;
+    }
+    return LocalDate.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_DAY);
+  }
+
+  /**
+   * Start of a UTC day.
+   */
+  public static Instant start(LocalDate day) {
+    return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+  }
+
+  private static LocalDate day(Instant instant) {
+    return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+  }
+
+  private static LocalDate max(LocalDate a, LocalDate b) {
+    return a.isAfter(b) ? a : b;
+  }
+
+  private static LocalDate min(LocalDate a, LocalDate b) {
+    return a.isBefore(b) ? a : b;
+  }
+}
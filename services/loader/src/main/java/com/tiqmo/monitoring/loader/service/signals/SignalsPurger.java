@@ -0,0 +1,200 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Set-based existence checks and purges of a loader's signals over a half-open time range.
+ *
+ * <p>Purge strategies only need to know whether a range holds data and to remove it; neither
+ * needs the rows themselves:
+ * <ul>
+ *   <li><b>Duplicate detection:</b> {@code SELECT EXISTS (... LIMIT 1)} stops at the first index
+ *       entry of the {@code uq_signals_loader_time_segment} key instead of reading or counting the range</li>
+ *   <li><b>Purge:</b> set-based statements over the range, without loading entities or the
+ *       persistence context</li>
+ * </ul>
+ *
+ * <p><b>Partitions:</b> days of the range covered by a whole daily partition
+ * ({@link SignalsPartitionManager}) are purged with a DELETE of the loader's rows in that
+ * partition alone, once the catalog confirms the partition is still attached; a day whose
+ * partition was dropped or detached since is deleted by time range instead. The rest of the range is one DELETE with time bounds, which PostgreSQL prunes
+ * to the partitions it touches. Partitions are never truncated: TRUNCATE takes an ACCESS
+ * EXCLUSIVE lock and is not MVCC-safe, so snapshots taken before it (exports streaming through a
+ * cursor, REPEATABLE READ readers) would see the partition empty.
+ * Purges of one load's signals (catch-up rollback, orphan cleanup) are bounded by the load's
+ * query window for the same reason.
+ *
+ * <p>Ranges are {@code [from, to)}, matching the source query window of scheduled loads and
+ * backfill chunks, so purging a window never touches the first timestamp of the next one.
+ *
+ * <p>Purges that delete rows publish a {@link SignalsWrittenEvent} for the range, which drops the
+ * loader's in-memory hot window ({@link SignalsHotCache}) once the delete has committed.
+ *
+ * <p><b>Rollups:</b> {@link #purge} leaves the rollups to the caller, which reloads the range and
+ * refreshes them afterwards. Deletes of a load's signals ({@link #purgeLoad},
+ * {@link #purgeFailedLoads}) refresh the rollups of the load's window themselves when they
+ * removed rows.
+ *
+ * <p>Uses the current transaction's connection when called inside {@code @Transactional}.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SignalsPurger {
+
+  private static final String TABLE = "signals.signals_history";
+
+  private static final String RANGE_PREDICATE =
+      "loader_code = ? AND load_time_stamp >= ? AND load_time_stamp < ?";
+
+  private static final String EXISTS_SQL =
+      "SELECT EXISTS (SELECT 1 FROM " + TABLE + " WHERE " + RANGE_PREDICATE + " LIMIT 1)";
+
+  private static final String DELETE_SQL = "DELETE FROM " + TABLE + " WHERE " + RANGE_PREDICATE;
+
+  private static final String DELETE_LOAD_SQL = "DELETE FROM " + TABLE
+      + " WHERE load_history_id = ? AND load_time_stamp >= ? AND load_time_stamp < ?";
+
+  private static final String FAILED_LOADS_SQL = """
+      SELECT id, loader_code, query_from_time, query_to_time
+      FROM loader.load_history
+      WHERE status = 'FAILED' AND COALESCE(end_time, start_time) >= ?
+      ORDER BY id""";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final SignalsPartitionManager partitionManager;
+  private final SignalsRollupService rollupService;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public SignalsPurger(JdbcTemplate jdbcTemplate,
+                       SignalsPartitionManager partitionManager,
+                       SignalsRollupService rollupService,
+                       ApplicationEventPublisher eventPublisher) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.partitionManager = partitionManager;
+    this.rollupService = rollupService;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Whether the loader has any signal in {@code [from, to)}.
+   *
+   * @param loaderCode Loader code
+   * @param from Start of the range (inclusive)
+   * @param to End of the range (exclusive)
+   * @return true if at least one signal exists
+   */
+  public boolean hasSignals(String loaderCode, Instant from, Instant to) {
+    if (!to.isAfter(from)) {
+      return false;
+    }
+    Boolean exists = jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class,
+        loaderCode, Timestamp.from(from), Timestamp.from(to));
+    return Boolean.TRUE.equals(exists);
+  }
+
+  /**
+   * Deletes the loader's signals in {@code [from, to)}.
+   *
+   * @param loaderCode Loader code
+   * @param from Start of the range (inclusive)
+   * @param to End of the range (exclusive)
+   * @return Number of signals deleted
+   */
+  public long purge(String loaderCode, Instant from, Instant to) {
+    if (!to.isAfter(from)) {
+      return 0;
+    }
+    long startNanos = System.nanoTime();
+
+    long deleted = 0;
+    Instant cursor = from;
+    for (LocalDate day : partitionManager.partitionsWithin(from, to)) {
+      Instant dayStart = SignalsPartitionManager.start(day);
+      if (cursor.isBefore(dayStart)) {
+        deleted += deleteRange(loaderCode, cursor, dayStart);
+      }
+      Instant dayEnd = SignalsPartitionManager.start(day.plusDays(1));
+      deleted += partitionManager.isAttached(day)
+          ? purgePartition(SignalsPartitionManager.partitionName(day), loaderCode)
+          : deleteRange(loaderCode, dayStart, dayEnd);
+      cursor = dayEnd;
+    }
+    if (cursor.isBefore(to)) {
+      deleted += deleteRange(loaderCode, cursor, to);
+    }
+    if (deleted > 0) {
+      eventPublisher.publishEvent(new SignalsWrittenEvent(loaderCode, from, to));
+    }
+
+    log.debug("Purged {} signal(s) of {} in [{}, {}) in {}ms",
+        deleted, loaderCode, from, to, (System.nanoTime() - startNanos) / 1_000_000);
+    return deleted;
+  }
+
+  /**
+   * Deletes the signals written by one load execution and refreshes the rollups of its window.
+   *
+   * @param loaderCode Loader code of the execution
+   * @param loadHistoryId load_history.id of the execution
+   * @param from Start of the load's query window (inclusive)
+   * @param to End of the load's query window (exclusive)
+   * @return Number of signals deleted
+   */
+  public long purgeLoad(String loaderCode, Long loadHistoryId, Instant from, Instant to) {
+    long deleted = jdbcTemplate.update(DELETE_LOAD_SQL, loadHistoryId, Timestamp.from(from), Timestamp.from(to));
+    if (deleted > 0) {
+      rollupService.refresh(loaderCode, from, to);
+      eventPublisher.publishEvent(new SignalsWrittenEvent(loaderCode, from, to));
+    }
+    return deleted;
+  }
+
+  /**
+   * Deletes orphaned signals of FAILED loads that ended since {@code since}.
+   *
+   * <p>Each load's signals are deleted within its query window only, so every delete touches
+   * the partitions of that window instead of probing the load_history_id index of all of them.
+   *
+   * @param since Oldest end time of failed loads to clean up
+   * @return Number of signals deleted
+   */
+  public long purgeFailedLoads(Instant since) {
+    List<FailedLoad> failedLoads = jdbcTemplate.query(FAILED_LOADS_SQL, (rs, rowNum) -> new FailedLoad(
+        rs.getLong("id"),
+        rs.getString("loader_code"),
+        rs.getTimestamp("query_from_time").toInstant(),
+        rs.getTimestamp("query_to_time").toInstant()), Timestamp.from(since));
+
+    long deleted = 0;
+    for (FailedLoad load : failedLoads) {
+      deleted += purgeLoad(load.loaderCode(), load.id(), load.queryFromTime(), load.queryToTime());
+    }
+    return deleted;
+  }
+
+  private record FailedLoad(long id, String loaderCode, Instant queryFromTime, Instant queryToTime) {
+  }
+
+  private long deleteRange(String loaderCode, Instant from, Instant to) {
+    return jdbcTemplate.update(DELETE_SQL, loaderCode, Timestamp.from(from), Timestamp.from(to));
+  }
+
+  /**
+   * Removes the loader's rows from a whole partition.
+   */
+  private long purgePartition(String partition, String loaderCode) {
+    return jdbcTemplate.update("DELETE FROM signals." + partition + " WHERE loader_code = ?", loaderCode);
+  }
+}
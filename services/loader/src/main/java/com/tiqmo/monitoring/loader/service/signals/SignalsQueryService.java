@@ -2,8 +2,10 @@
 package com.tiqmo.monitoring.loader.service.signals;
 
 import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.domain.signals.repo.SignalPoint;
 import com.tiqmo.monitoring.loader.domain.signals.repo.SignalsHistoryRepository;
 import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.dto.common.KeysetCursor;
 import com.tiqmo.monitoring.loader.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +14,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for querying signals history data.
@@ -20,6 +24,23 @@ import java.util.List;
  * <p>Provides read-only query operations for signal data with time range
  * filtering and comprehensive logging.
  *
+ * <p><b>Resolution:</b> queries with a {@code step} are served from the coarsest rollup whose
+ * buckets fit in the step ({@link SignalResolution#forStep}): hourly or daily buckets from
+ * {@link SignalsRollupService} instead of every raw row of the range.
+ *
+ * <p><b>Downsampling:</b> queries with {@code maxPoints} and/or {@code bucket} are aggregated into
+ * fixed-width buckets in the database ({@link SignalsDownsampler}), at most {@link #MAX_POINTS}
+ * buckets per segment whatever the range.
+ *
+ * <p><b>Hot window:</b> raw range queries take the part of the range covered by the loader's
+ * {@link SignalsHotCache} window from memory and read only the rest from the database (before
+ * the window, and from the end of the last completed load on), so a refresh of the last hours
+ * reads no more than the load in flight.
+ *
+ * <p><b>Paging:</b> {@link #page} reads raw signals in (load_time_stamp, id) order as
+ * {@link SignalPoint} projections, seeking past a {@link KeysetCursor} rather than skipping an
+ * offset, so a deep page costs the same as the first.
+ *
  * @author Hassan Rawashdeh
  * @since 1.0.0
  */
@@ -29,6 +50,73 @@ import java.util.List;
 @Slf4j
 public class SignalsQueryService {
     private final SignalsHistoryRepository repo;
+    private final SignalsRollupService rollupService;
+    private final SignalsDownsampler downsampler;
+    private final SignalsHotCache hotCache;
+
+    /**
+     * Upper bound of buckets per segment returned by a downsampled query.
+     */
+    static final int MAX_POINTS = 10_000;
+
+    /**
+     * Signals per page when no limit is given.
+     */
+    static final int DEFAULT_PAGE_SIZE = 1_000;
+
+    /**
+     * Upper bound of signals per page.
+     */
+    static final int MAX_PAGE_SIZE = 10_000;
+
+    /**
+     * Resolution a query with the given step is served at.
+     *
+     * @param stepSeconds Requested step between points in seconds (null for raw signals)
+     * @return Resolution to read
+     */
+    public SignalResolution resolutionFor(Long stepSeconds) {
+        return SignalResolution.forStep(stepSeconds);
+    }
+
+    /**
+     * Queries signals by loader code within a time range at the resolution of the step.
+     *
+     * @param loaderCode Loader code
+     * @param fromEpoch Start time (epoch seconds)
+     * @param toEpoch End time (epoch seconds)
+     * @param stepSeconds Requested step between points in seconds (null for raw signals)
+     * @return Signals, or rollup buckets (bucket start as timestamp) for a coarse step
+     * @throws BusinessException if validation fails
+     */
+    public List<SignalsHistory> byLoaderBetween(String loaderCode, long fromEpoch, long toEpoch, Long stepSeconds) {
+        SignalResolution resolution = resolutionFor(stepSeconds);
+        if (resolution == SignalResolution.RAW) {
+            return byLoaderBetween(loaderCode, fromEpoch, toEpoch);
+        }
+        return rollupsBetween(resolution, loaderCode, null, fromEpoch, toEpoch);
+    }
+
+    /**
+     * Queries signals by loader code and segment code within a time range at the resolution of the step.
+     *
+     * @param loaderCode Loader code
+     * @param segmentCode Segment code
+     * @param fromEpoch Start time (epoch seconds)
+     * @param toEpoch End time (epoch seconds)
+     * @param stepSeconds Requested step between points in seconds (null for raw signals)
+     * @return Signals, or rollup buckets (bucket start as timestamp) for a coarse step
+     * @throws BusinessException if validation fails
+     */
+    public List<SignalsHistory> byLoaderAndSegmentBetween(String loaderCode, String segmentCode,
+                                                           long fromEpoch, long toEpoch, Long stepSeconds) {
+        SignalResolution resolution = resolutionFor(stepSeconds);
+        if (resolution == SignalResolution.RAW) {
+            return byLoaderAndSegmentBetween(loaderCode, segmentCode, fromEpoch, toEpoch);
+        }
+        validateSegmentCode(segmentCode);
+        return rollupsBetween(resolution, loaderCode, segmentCode, fromEpoch, toEpoch);
+    }
 
     /**
      * Queries signals by loader code within a time range.
@@ -60,8 +148,7 @@ public class SignalsQueryService {
 
             log.debug("Executing repository query | loaderCode={} | fromTime={} | toTime={}",
                     loaderCode, fromTime, toTime);
-            List<SignalsHistory> results = repo.findByLoaderCodeAndLoadTimeStampBetween(
-                loaderCode, fromTime, toTime);
+            List<SignalsHistory> results = readRaw(loaderCode, null, fromTime, toTime);
 
             log.info("Query completed | loaderCode={} | resultCount={} | correlationId={}",
                     loaderCode, results.size(), MDC.get("correlationId"));
@@ -108,8 +195,7 @@ public class SignalsQueryService {
 
             log.debug("Executing repository query | loaderCode={} | segmentCode={} | fromTime={} | toTime={}",
                     loaderCode, segmentCode, fromTime, toTime);
-            List<SignalsHistory> results = repo.findByLoaderCodeAndSegmentCodeAndLoadTimeStampBetween(
-                loaderCode, segmentCode, fromTime, toTime);
+            List<SignalsHistory> results = readRaw(loaderCode, segmentCode, fromTime, toTime);
 
             log.info("Query completed | loaderCode={} | segmentCode={} | resultCount={} | correlationId={}",
                 loaderCode, segmentCode, results.size(), MDC.get("correlationId"));
@@ -123,6 +209,221 @@ public class SignalsQueryService {
         }
     }
 
+    /**
+     * Reads a loader's raw signals (optionally one segment) in {@code [fromTime, toTime]}: the part
+     * covered by the hot window from memory, the rest from the database.
+     */
+    private List<SignalsHistory> readRaw(String loaderCode, String segmentCode, Instant fromTime, Instant toTime) {
+        SignalsHotCache.HotRead hot = hotCache.read(loaderCode, segmentCode, fromTime, toTime);
+        if (hot == null) {
+            return readDatabase(loaderCode, segmentCode, fromTime, toTime);
+        }
+        if (hot.covers(fromTime, toTime)) {
+            log.debug("Served from hot window | loaderCode={} | resultCount={}", loaderCode, hot.signals().size());
+            return hot.signals();
+        }
+
+        List<SignalsHistory> results = new ArrayList<>();
+        if (fromTime.isBefore(hot.coveredFrom())) {
+            results.addAll(segmentCode != null
+                ? repo.findByLoaderCodeAndSegmentCodeAndLoadTimeStampGreaterThanEqualAndLoadTimeStampLessThan(
+                    loaderCode, segmentCode, fromTime, hot.coveredFrom())
+                : repo.findByLoaderCodeAndLoadTimeStampGreaterThanEqualAndLoadTimeStampLessThan(
+                    loaderCode, fromTime, hot.coveredFrom()));
+        }
+        results.addAll(hot.signals());
+        if (!toTime.isBefore(hot.coveredTo())) {
+            results.addAll(readDatabase(loaderCode, segmentCode, hot.coveredTo(), toTime));
+        }
+        log.debug("Merged hot window and database | loaderCode={} | covered=[{}, {}) | fromMemory={} | resultCount={}",
+            loaderCode, hot.coveredFrom(), hot.coveredTo(), hot.signals().size(), results.size());
+        return results;
+    }
+
+    private List<SignalsHistory> readDatabase(String loaderCode, String segmentCode, Instant fromTime, Instant toTime) {
+        return segmentCode != null
+            ? repo.findByLoaderCodeAndSegmentCodeAndLoadTimeStampBetween(loaderCode, segmentCode, fromTime, toTime)
+            : repo.findByLoaderCodeAndLoadTimeStampBetween(loaderCode, fromTime, toTime);
+    }
+
+    /**
+     * Reads one page of a loader's signals (optionally one segment) within a time range.
+     *
+     * @param loaderCode Loader code
+     * @param segmentCode Segment code (null for all segments)
+     * @param fromEpoch Start time (epoch seconds)
+     * @param toEpoch End time (epoch seconds)
+     * @param after Position of the previous page's last signal (null for the first page)
+     * @param limit Maximum signals in the page (null for {@link #DEFAULT_PAGE_SIZE})
+     * @return Signals in (loadTimeStamp, id) order and the cursor of the next page
+     * @throws BusinessException if validation fails
+     */
+    public SignalsPage page(String loaderCode, String segmentCode, long fromEpoch, long toEpoch,
+                            KeysetCursor after, Integer limit) {
+        MDC.put("loaderCode", loaderCode);
+
+        try {
+            validateLoaderCode(loaderCode);
+            if (segmentCode != null) {
+                validateSegmentCode(segmentCode);
+            }
+            validateTimeRange(fromEpoch, toEpoch);
+            int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+            if (size < 1 || size > MAX_PAGE_SIZE) {
+                throw new BusinessException(
+                    ErrorCode.VALIDATION_INVALID_VALUE,
+                    "limit must be between 1 and " + MAX_PAGE_SIZE,
+                    "limit"
+                );
+            }
+
+            // Seek position: strictly after the previous page's last signal, or the range start
+            Instant afterTime = Instant.ofEpochSecond(fromEpoch);
+            long afterId = Long.MIN_VALUE;
+            if (after != null && !after.timestamp().isBefore(afterTime)) {
+                afterTime = after.timestamp();
+                afterId = after.id();
+            }
+            Instant toTime = Instant.ofEpochSecond(toEpoch);
+
+            // One extra signal tells whether another page follows
+            List<SignalPoint> signals = segmentCode != null
+                ? repo.findPointsAfter(loaderCode, segmentCode, afterTime, afterId, toTime, size + 1)
+                : repo.findPointsAfter(loaderCode, afterTime, afterId, toTime, size + 1);
+            KeysetCursor next = null;
+            if (signals.size() > size) {
+                signals = signals.subList(0, size);
+                SignalPoint last = signals.get(size - 1);
+                next = new KeysetCursor(last.loadTimeStamp(), last.id());
+            }
+
+            log.info("Page query completed | loaderCode={} | segmentCode={} | resultCount={} | more={} | correlationId={}",
+                loaderCode, segmentCode, signals.size(), next != null, MDC.get("correlationId"));
+            return new SignalsPage(signals, next);
+
+        } finally {
+            MDC.remove("loaderCode");
+        }
+    }
+
+    /**
+     * One page of a paged query.
+     *
+     * @param signals Signals in (loadTimeStamp, id) order
+     * @param next Cursor of the next page (null on the last page)
+     */
+    public record SignalsPage(List<SignalPoint> signals, KeysetCursor next) {
+    }
+
+    /**
+     * Queries signals of a loader (optionally one segment) aggregated into time buckets.
+     *
+     * <p>The bucket width is {@code bucketSeconds}, widened as needed so that the range yields at
+     * most {@code maxPoints} (and at most {@link #MAX_POINTS}) buckets per segment. A width derived
+     * from {@code maxPoints} alone is rounded up to whole hours or days once it exceeds one, so it
+     * is served from the rollups.
+     *
+     * @param loaderCode Loader code
+     * @param segmentCode Segment code (null for all segments)
+     * @param fromEpoch Start time (epoch seconds)
+     * @param toEpoch End time (epoch seconds)
+     * @param bucketSeconds Requested bucket width in seconds (null to derive it from maxPoints)
+     * @param maxPoints Maximum buckets per segment (null for {@link #MAX_POINTS})
+     * @param aggregates Aggregates to fill in each bucket (others are left null)
+     * @return Downsampled query with the bucket width used
+     * @throws BusinessException if validation fails
+     */
+    public DownsampledSignals downsampled(String loaderCode, String segmentCode, long fromEpoch, long toEpoch,
+                                          Long bucketSeconds, Integer maxPoints, Set<SignalAggregate> aggregates) {
+        MDC.put("loaderCode", loaderCode);
+
+        try {
+            validateLoaderCode(loaderCode);
+            if (segmentCode != null) {
+                validateSegmentCode(segmentCode);
+            }
+            validateTimeRange(fromEpoch, toEpoch);
+            if (bucketSeconds != null && bucketSeconds <= 0) {
+                throw new BusinessException(
+                    ErrorCode.VALIDATION_INVALID_VALUE,
+                    "Bucket must be a positive number of seconds",
+                    "bucket"
+                );
+            }
+            if (maxPoints != null && maxPoints < 2) {
+                throw new BusinessException(
+                    ErrorCode.VALIDATION_INVALID_VALUE,
+                    "maxPoints must be at least 2",
+                    "maxPoints"
+                );
+            }
+
+            long width = bucketWidth(toEpoch - fromEpoch, bucketSeconds, maxPoints);
+            List<SignalsHistory> buckets = downsampler.downsample(loaderCode, segmentCode,
+                Instant.ofEpochSecond(fromEpoch), Instant.ofEpochSecond(toEpoch), width);
+            buckets.forEach(bucket -> SignalAggregate.retainOnly(bucket, aggregates));
+
+            log.info("Downsampled query completed | loaderCode={} | segmentCode={} | bucket={}s | resultCount={} | correlationId={}",
+                loaderCode, segmentCode, width, buckets.size(), MDC.get("correlationId"));
+            return new DownsampledSignals(width, buckets);
+
+        } finally {
+            MDC.remove("loaderCode");
+        }
+    }
+
+    /**
+     * Result of a downsampled query.
+     *
+     * @param bucketSeconds Bucket width used
+     * @param signals One signal per bucket and segment (bucket start as timestamp)
+     */
+    public record DownsampledSignals(long bucketSeconds, List<SignalsHistory> signals) {
+    }
+
+    /**
+     * Bucket width for a range: the requested width, widened to keep the bucket count bounded.
+     *
+     * <p>A range of {@code span} seconds touches at most {@code span / width + 1} aligned buckets.
+     */
+    static long bucketWidth(long span, Long bucketSeconds, Integer maxPoints) {
+        int points = maxPoints != null ? Math.min(maxPoints, MAX_POINTS) : MAX_POINTS;
+        long minWidth = Math.max(1, Math.ceilDiv(span, points - 1));
+        if (bucketSeconds != null) {
+            return Math.max(bucketSeconds, minWidth);
+        }
+        for (SignalResolution resolution : List.of(SignalResolution.DAILY, SignalResolution.HOURLY)) {
+            long rollup = resolution.getBucket().getSeconds();
+            if (minWidth > rollup) {
+                return Math.ceilDiv(minWidth, rollup) * rollup;
+            }
+        }
+        return minWidth;
+    }
+
+    /**
+     * Reads rollup buckets of a loader (optionally one segment) within a time range.
+     */
+    private List<SignalsHistory> rollupsBetween(SignalResolution resolution, String loaderCode, String segmentCode,
+                                                long fromEpoch, long toEpoch) {
+        MDC.put("loaderCode", loaderCode);
+
+        try {
+            validateLoaderCode(loaderCode);
+            validateTimeRange(fromEpoch, toEpoch);
+
+            List<SignalsHistory> results = rollupService.find(resolution, loaderCode, segmentCode,
+                Instant.ofEpochSecond(fromEpoch), Instant.ofEpochSecond(toEpoch));
+
+            log.info("Rollup query completed | loaderCode={} | segmentCode={} | resolution={} | resultCount={} | correlationId={}",
+                loaderCode, segmentCode, resolution, results.size(), MDC.get("correlationId"));
+            return results;
+
+        } finally {
+            MDC.remove("loaderCode");
+        }
+    }
+
     /**
      * Validates loader code.
      *
@@ -0,0 +1,181 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hourly and daily rollups of signals_history (migration V32).
+ *
+ * <p>Each rollup row aggregates one loader's signals of one segment over a UTC hour or day:
+ * {@code SUM(rec_count)}, {@code MIN(min_val)}, {@code MAX(max_val)}, {@code SUM(sum_val)} and
+ * {@code avg_val = sum_val / rec_count}, recomputed from the sums rather than averaged.
+ *
+ * <p><b>Refresh:</b> after a successful load or backfill chunk, {@link #refresh} recomputes the
+ * buckets its range touched: hours from signals_history, then days from the hourly rollup.
+ * Buckets are deleted and re-inserted, so a refresh is idempotent and also reflects purges and
+ * reloads of the range. Refreshes of one loader are serialized by a transaction-level advisory
+ * lock.
+ *
+ * <p><b>Deletes:</b> loads and backfills refresh the ranges they purge and reload; catch-up
+ * rollbacks and orphan cleanup refresh the windows of the loads whose signals they delete
+ * ({@link SignalsPurger#purgeLoad}, {@link SignalsPurger#purgeFailedLoads}). Partition retention
+ * does not: rollups outlive the raw signals they were computed from, so long ranges can still
+ * be read at hourly or daily steps after the raw signals expired.
+ *
+ * <p><b>Reads:</b> {@link #find} returns rollup buckets shaped as signals (bucket start as
+ * {@code loadTimeStamp}) for {@link SignalsQueryService}.
+ *
+ * <p>Joins the caller's transaction (backfill chunk), otherwise runs in its own.
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li><code>loader_signals_rollup_refresh</code> (Timer) - rollup refreshes</li>
+ * </ul>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SignalsRollupService {
+
+  private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext(?))";
+
+  /**
+   * Buckets are aligned to UTC hours and days, independent of the session time zone.
+   */
+  static final String ORIGIN = "TIMESTAMPTZ '2000-01-01 00:00:00+00'";
+
+  private static final String DELETE_SQL =
+      "DELETE FROM %s WHERE loader_code = ? AND bucket_start >= ? AND bucket_start < ?";
+
+  static final String AGGREGATES =
+      "SUM(rec_count), MIN(min_val), MAX(max_val), SUM(sum_val), SUM(sum_val) / NULLIF(SUM(rec_count), 0)";
+
+  private static final String INSERT_COLUMNS =
+      "loader_code, bucket_start, segment_code, rec_count, min_val, max_val, sum_val, avg_val, sample_count";
+
+  static final String HOURLY_SQL = "INSERT INTO " + SignalResolution.HOURLY.getTable() + " (" + INSERT_COLUMNS + ")"
+      + " SELECT loader_code, date_bin(INTERVAL '1 hour', load_time_stamp, " + ORIGIN + "), segment_code, "
+      + AGGREGATES + ", COUNT(*)"
+      + " FROM signals.signals_history"
+      + " WHERE loader_code = ? AND load_time_stamp >= ? AND load_time_stamp < ?"
+      + " GROUP BY 1, 2, 3";
+
+  static final String DAILY_SQL = "INSERT INTO " + SignalResolution.DAILY.getTable() + " (" + INSERT_COLUMNS + ")"
+      + " SELECT loader_code, date_bin(INTERVAL '1 day', bucket_start, " + ORIGIN + "), segment_code, "
+      + AGGREGATES + ", SUM(sample_count)"
+      + " FROM " + SignalResolution.HOURLY.getTable()
+      + " WHERE loader_code = ? AND bucket_start >= ? AND bucket_start < ?"
+      + " GROUP BY 1, 2, 3";
+
+  private static final String SELECT_SQL =
+      "SELECT loader_code, bucket_start, segment_code, rec_count, min_val, max_val, sum_val, avg_val"
+      + " FROM %s WHERE loader_code = ? AND bucket_start >= ? AND bucket_start <= ?";
+
+  /**
+   * Maps a bucket row (loader_code, bucket_start, segment_code and the aggregates) to a signal.
+   */
+  static final RowMapper<SignalsHistory> BUCKET_MAPPER = (rs, rowNum) -> SignalsHistory.builder()
+      .loaderCode(rs.getString("loader_code"))
+      .loadTimeStamp(rs.getTimestamp("bucket_start").toInstant())
+      .segmentCode(rs.getString("segment_code"))
+      .recCount(rs.getObject("rec_count", Long.class))
+      .minVal(rs.getObject("min_val", Double.class))
+      .maxVal(rs.getObject("max_val", Double.class))
+      .sumVal(rs.getObject("sum_val", Double.class))
+      .avgVal(rs.getObject("avg_val", Double.class))
+      .build();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Timer refreshTimer;
+
+  public SignalsRollupService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.refreshTimer = Timer.builder("loader_signals_rollup_refresh")
+        .description("Hourly/daily signal rollup refreshes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Recomputes the loader's hourly and daily buckets overlapping {@code [from, to)}.
+   *
+   * @param loaderCode Loader code
+   * @param from Start of the loaded range (inclusive)
+   * @param to End of the loaded range (exclusive)
+   */
+  public void refresh(String loaderCode, Instant from, Instant to) {
+    if (from == null || to == null || !to.isAfter(from)) {
+      return;
+    }
+    Instant hourFrom = floor(from, SignalResolution.HOURLY);
+    Instant hourTo = ceil(to, SignalResolution.HOURLY);
+    Instant dayFrom = floor(from, SignalResolution.DAILY);
+    Instant dayTo = ceil(to, SignalResolution.DAILY);
+
+    refreshTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+      jdbcTemplate.query(LOCK_SQL, rs -> { }, "signals_rollup." + loaderCode);
+
+      jdbcTemplate.update(DELETE_SQL.formatted(SignalResolution.HOURLY.getTable()),
+          loaderCode, Timestamp.from(hourFrom), Timestamp.from(hourTo));
+      int hours = jdbcTemplate.update(HOURLY_SQL, loaderCode, Timestamp.from(hourFrom), Timestamp.from(hourTo));
+
+      jdbcTemplate.update(DELETE_SQL.formatted(SignalResolution.DAILY.getTable()),
+          loaderCode, Timestamp.from(dayFrom), Timestamp.from(dayTo));
+      int days = jdbcTemplate.update(DAILY_SQL, loaderCode, Timestamp.from(dayFrom), Timestamp.from(dayTo));
+
+      log.debug("Refreshed signal rollups of {} for [{}, {}): {} hourly / {} daily bucket(s)",
+          loaderCode, hourFrom, hourTo, hours, days);
+    }));
+  }
+
+  /**
+   * Rollup buckets of the loader overlapping {@code [from, to]}, ordered by time and segment.
+   *
+   * @param resolution HOURLY or DAILY
+   * @param loaderCode Loader code
+   * @param segmentCode Segment code (null for all segments)
+   * @param from Start of the range
+   * @param to End of the range
+   * @return Buckets as signals: {@code loadTimeStamp} is the bucket start, ids are not set
+   */
+  public List<SignalsHistory> find(SignalResolution resolution, String loaderCode, String segmentCode,
+                                   Instant from, Instant to) {
+    if (resolution.getTable() == null) {
+      throw new IllegalArgumentException("No rollup table for resolution " + resolution);
+    }
+    String sql = SELECT_SQL.formatted(resolution.getTable());
+    Timestamp bucketFrom = Timestamp.from(floor(from, resolution));
+    if (segmentCode != null) {
+      return jdbcTemplate.query(sql + " AND segment_code = ? ORDER BY bucket_start",
+          BUCKET_MAPPER, loaderCode, bucketFrom, Timestamp.from(to), segmentCode);
+    }
+    return jdbcTemplate.query(sql + " ORDER BY bucket_start, segment_code",
+        BUCKET_MAPPER, loaderCode, bucketFrom, Timestamp.from(to));
+  }
+
+  static Instant floor(Instant instant, SignalResolution resolution) {
+    long bucketSeconds = resolution.getBucket().getSeconds();
+    return Instant.ofEpochSecond(Math.floorDiv(instant.getEpochSecond(), bucketSeconds) * bucketSeconds);
+  }
+
+  static Instant ceil(Instant instant, SignalResolution resolution) {
+    Instant floor = floor(instant, resolution);
+    return floor.equals(instant) ? floor : floor.plus(resolution.getBucket());
+  }
+}
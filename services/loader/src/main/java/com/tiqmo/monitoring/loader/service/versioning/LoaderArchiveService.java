@@ -124,6 +124,7 @@ public class LoaderArchiveService extends AbstractArchiveService<Loader> {
                 .purgeStrategy(archive.getPurgeStrategy())
                 .enabled(archive.isEnabled())
                 .aggregationPeriodSeconds(archive.getAggregationPeriodSeconds())
+                .queryTimeoutSeconds(archive.getQueryTimeoutSeconds())
                 .createdAt(archive.getCreatedAt())
                 .updatedAt(archive.getUpdatedAt())
                 .versionStatus(archive.getVersionStatus())
@@ -60,6 +60,7 @@ public class LoaderDraftService extends AbstractDraftService<Loader> {
         target.setSourceTimezoneOffsetHours(source.getSourceTimezoneOffsetHours());
         target.setEnabled(source.isEnabled());
         target.setAggregationPeriodSeconds(source.getAggregationPeriodSeconds());
+        target.setQueryTimeoutSeconds(source.getQueryTimeoutSeconds());
         target.setPurgeStrategy(source.getPurgeStrategy());
 
         // Update source database reference
@@ -102,6 +102,7 @@ public class LoaderRejectionService extends AbstractRejectionService<Loader> {
                 .purgeStrategy(archive.getPurgeStrategy())
                 .enabled(archive.isEnabled())
                 .aggregationPeriodSeconds(archive.getAggregationPeriodSeconds())
+                .queryTimeoutSeconds(archive.getQueryTimeoutSeconds())
                 .createdAt(archive.getCreatedAt())
                 .updatedAt(archive.getUpdatedAt())
                 .versionStatus(archive.getVersionStatus())
@@ -24,6 +24,8 @@ CREATE TABLE loader.source_databases (
     db_name VARCHAR(255) NOT NULL,
     user_name VARCHAR(255) NOT NULL,
     pass_word VARCHAR(512),  -- Encrypted (AES-256-GCM)
+    query_timeout_seconds INTEGER,  -- NULL = global default
+    fetch_size INTEGER,             -- NULL = global default
 
     CONSTRAINT chk_db_type CHECK (db_type IN ('MYSQL', 'POSTGRESQL'))
 );
@@ -42,6 +44,7 @@ CREATE TABLE loader.loader (
     max_interval_seconds INTEGER NOT NULL DEFAULT 60,
     max_query_period_seconds INTEGER NOT NULL DEFAULT 432000,  -- 5 days
     max_parallel_executions INTEGER NOT NULL DEFAULT 1,
+    query_timeout_seconds INTEGER,  -- NULL = source database / global default
 
     -- Runtime state
     last_load_timestamp TIMESTAMP,
@@ -185,8 +188,15 @@ CREATE TABLE signals.segment_combination (
     CONSTRAINT pk_segment_combination PRIMARY KEY (loader_code, segment_code)
 );
 
--- Index for fast lookup by loader_code + 10 segment values
-CREATE INDEX idx_segment_combination_lookup ON signals.segment_combination(
+-- Unique segment tuple per loader (also the lookup index)
+CREATE UNIQUE INDEX uq_segment_combination_tuple ON signals.segment_combination(
     loader_code, segment1, segment2, segment3, segment4, segment5,
     segment6, segment7, segment8, segment9, segment10
+) NULLS NOT DISTINCT;
+
+-- Per-loader segment_code counter (replicas reserve blocks of codes)
+CREATE TABLE signals.segment_code_allocator (
+    loader_code VARCHAR(64) PRIMARY KEY,
+    next_code BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
 );
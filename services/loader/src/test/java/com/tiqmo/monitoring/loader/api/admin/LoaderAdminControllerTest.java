@@ -2,6 +2,7 @@ package com.tiqmo.monitoring.loader.api.admin;
 
 import com.tiqmo.monitoring.loader.api.admin.LoaderAdminController.AdjustTimestampRequest;
 import com.tiqmo.monitoring.loader.api.admin.LoaderAdminController.AdjustTimestampResponse;
+import com.tiqmo.monitoring.loader.api.admin.LoaderAdminController.ClusterAssignmentResponse;
 import com.tiqmo.monitoring.loader.api.admin.LoaderAdminController.ExecutionHistoryResponse;
 import com.tiqmo.monitoring.loader.api.admin.LoaderAdminController.LoaderStatusResponse;
 import com.tiqmo.monitoring.loader.api.admin.LoaderAdminController.PauseResumeResponse;
@@ -9,9 +10,15 @@ import com.tiqmo.monitoring.loader.domain.loader.entity.LoadExecutionStatus;
 import com.tiqmo.monitoring.loader.domain.loader.entity.LoadHistory;
 import com.tiqmo.monitoring.loader.domain.loader.entity.LoadStatus;
 import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderReplica;
 import com.tiqmo.monitoring.loader.domain.loader.entity.SourceDatabase;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoadHistoryRepository;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
+import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.dto.common.KeysetCursor;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
+import com.tiqmo.monitoring.loader.service.scheduler.LoaderAssignmentService;
+import com.tiqmo.monitoring.workflow.domain.VersionStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,10 +30,16 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,11 +57,14 @@ class LoaderAdminControllerTest {
   @Mock
   private LoadHistoryRepository loadHistoryRepository;
 
+  @Mock
+  private LoaderAssignmentService assignmentService;
+
   private LoaderAdminController controller;
 
   @BeforeEach
   void setUp() {
-    controller = new LoaderAdminController(loaderRepository, loadHistoryRepository);
+    controller = new LoaderAdminController(loaderRepository, loadHistoryRepository, assignmentService);
   }
 
   // ==================== Adjust Timestamp Tests ====================
@@ -455,14 +471,14 @@ class LoaderAdminControllerTest {
     // Given
     LoadHistory history1 = createTestLoadHistory(1L, "WALLET_TRANS", LoadExecutionStatus.SUCCESS);
     LoadHistory history2 = createTestLoadHistory(2L, "WALLET_TRANS", LoadExecutionStatus.SUCCESS);
-    List<LoadHistory> historyList = List.of(history1, history2);
 
-    when(loadHistoryRepository.findByLoaderCodeOrderByStartTimeDesc("WALLET_TRANS", 100))
-        .thenReturn(historyList);
+    when(loadHistoryRepository.findSummariesBefore(
+        eq("WALLET_TRANS"), isNull(), isNull(), eq(Instant.EPOCH), any(), eq(Long.MAX_VALUE), eq(101)))
+        .thenReturn(List.of(history1, history2));
 
     // When
     ResponseEntity<List<ExecutionHistoryResponse>> response =
-        controller.queryExecutionHistory("WALLET_TRANS", null, null, null, null, 100);
+        controller.queryExecutionHistory("WALLET_TRANS", null, null, null, null, 100, null);
 
     // Then
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -470,8 +486,7 @@ class LoaderAdminControllerTest {
     assertThat(response.getBody()).hasSize(2);
     assertThat(response.getBody().get(0).loaderCode()).isEqualTo("WALLET_TRANS");
     assertThat(response.getBody().get(0).status()).isEqualTo("SUCCESS");
-
-    verify(loadHistoryRepository).findByLoaderCodeOrderByStartTimeDesc("WALLET_TRANS", 100);
+    assertThat(response.getHeaders().containsKey(LoaderAdminController.NEXT_CURSOR_HEADER)).isFalse();
   }
 
   @Test
@@ -479,14 +494,14 @@ class LoaderAdminControllerTest {
     // Given
     LoadHistory history1 = createTestLoadHistory(1L, "WALLET_TRANS", LoadExecutionStatus.FAILED);
     LoadHistory history2 = createTestLoadHistory(2L, "USER_ACTIVITY", LoadExecutionStatus.FAILED);
-    List<LoadHistory> historyList = List.of(history1, history2);
 
-    when(loadHistoryRepository.findByStatusOrderByStartTimeDesc(LoadExecutionStatus.FAILED, 100))
-        .thenReturn(historyList);
+    when(loadHistoryRepository.findSummariesBefore(
+        isNull(), eq(LoadExecutionStatus.FAILED), isNull(), eq(Instant.EPOCH), any(), eq(Long.MAX_VALUE), eq(101)))
+        .thenReturn(List.of(history1, history2));
 
     // When
     ResponseEntity<List<ExecutionHistoryResponse>> response =
-        controller.queryExecutionHistory(null, null, null, LoadExecutionStatus.FAILED, null, 100);
+        controller.queryExecutionHistory(null, null, null, LoadExecutionStatus.FAILED, null, 100, null);
 
     // Then
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -494,23 +509,21 @@ class LoaderAdminControllerTest {
     assertThat(response.getBody()).hasSize(2);
     assertThat(response.getBody().get(0).status()).isEqualTo("FAILED");
     assertThat(response.getBody().get(1).status()).isEqualTo("FAILED");
-
-    verify(loadHistoryRepository).findByStatusOrderByStartTimeDesc(LoadExecutionStatus.FAILED, 100);
   }
 
   @Test
   void queryExecutionHistory_shouldReturnHistory_byLoaderCodeAndStatus() {
     // Given
     LoadHistory history = createTestLoadHistory(1L, "WALLET_TRANS", LoadExecutionStatus.SUCCESS);
-    List<LoadHistory> historyList = List.of(history);
 
-    when(loadHistoryRepository.findByLoaderCodeAndStatusOrderByStartTimeDesc(
-        "WALLET_TRANS", LoadExecutionStatus.SUCCESS, 50))
-        .thenReturn(historyList);
+    when(loadHistoryRepository.findSummariesBefore(
+        eq("WALLET_TRANS"), eq(LoadExecutionStatus.SUCCESS), isNull(), eq(Instant.EPOCH), any(),
+        eq(Long.MAX_VALUE), eq(51)))
+        .thenReturn(List.of(history));
 
     // When
     ResponseEntity<List<ExecutionHistoryResponse>> response =
-        controller.queryExecutionHistory("WALLET_TRANS", null, null, LoadExecutionStatus.SUCCESS, null, 50);
+        controller.queryExecutionHistory("WALLET_TRANS", null, null, LoadExecutionStatus.SUCCESS, null, 50, null);
 
     // Then
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -518,9 +531,6 @@ class LoaderAdminControllerTest {
     assertThat(response.getBody()).hasSize(1);
     assertThat(response.getBody().get(0).loaderCode()).isEqualTo("WALLET_TRANS");
     assertThat(response.getBody().get(0).status()).isEqualTo("SUCCESS");
-
-    verify(loadHistoryRepository).findByLoaderCodeAndStatusOrderByStartTimeDesc(
-        "WALLET_TRANS", LoadExecutionStatus.SUCCESS, 50);
   }
 
   @Test
@@ -530,23 +540,76 @@ class LoaderAdminControllerTest {
     Instant toTime = Instant.parse("2025-11-01T23:59:59Z");
 
     LoadHistory history = createTestLoadHistory(1L, "WALLET_TRANS", LoadExecutionStatus.SUCCESS);
-    List<LoadHistory> historyList = List.of(history);
 
-    when(loadHistoryRepository.findByLoaderCodeAndStartTimeBetweenOrderByStartTimeDesc(
-        "WALLET_TRANS", fromTime, toTime))
-        .thenReturn(historyList);
+    when(loadHistoryRepository.findSummariesBefore(
+        "WALLET_TRANS", null, null, fromTime, toTime, Long.MAX_VALUE, 101))
+        .thenReturn(List.of(history));
 
     // When
     ResponseEntity<List<ExecutionHistoryResponse>> response =
-        controller.queryExecutionHistory("WALLET_TRANS", fromTime, toTime, null, null, 100);
+        controller.queryExecutionHistory("WALLET_TRANS", fromTime, toTime, null, null, 100, null);
 
     // Then
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
     assertThat(response.getBody()).isNotNull();
     assertThat(response.getBody()).hasSize(1);
+  }
 
-    verify(loadHistoryRepository).findByLoaderCodeAndStartTimeBetweenOrderByStartTimeDesc(
-        "WALLET_TRANS", fromTime, toTime);
+  @Test
+  void queryExecutionHistory_shouldReturnNextCursor_whenMoreRecordsMatch() {
+    // Given - one record more than the limit
+    LoadHistory history1 = createTestLoadHistory(7L, "WALLET_TRANS", LoadExecutionStatus.SUCCESS);
+    LoadHistory history2 = createTestLoadHistory(6L, "WALLET_TRANS", LoadExecutionStatus.SUCCESS);
+
+    when(loadHistoryRepository.findSummariesBefore(
+        isNull(), isNull(), isNull(), eq(Instant.EPOCH), any(), eq(Long.MAX_VALUE), eq(2)))
+        .thenReturn(List.of(history1, history2));
+
+    // When
+    ResponseEntity<List<ExecutionHistoryResponse>> response =
+        controller.queryExecutionHistory(null, null, null, null, null, 1, null);
+
+    // Then - the page ends at the first record, which the cursor points at
+    assertThat(response.getBody()).hasSize(1);
+    assertThat(response.getHeaders().getFirst(LoaderAdminController.NEXT_CURSOR_HEADER))
+        .isEqualTo(new KeysetCursor(history1.getStartTime(), 7L).encode());
+  }
+
+  @Test
+  void queryExecutionHistory_shouldSeekBeforeCursor() {
+    // Given
+    Instant lastStart = Instant.parse("2025-11-01T10:00:00Z");
+    String cursor = new KeysetCursor(lastStart, 42L).encode();
+
+    when(loadHistoryRepository.findSummariesBefore(
+        "WALLET_TRANS", null, null, Instant.EPOCH, lastStart, 42L, 101))
+        .thenReturn(List.of());
+
+    // When
+    ResponseEntity<List<ExecutionHistoryResponse>> response =
+        controller.queryExecutionHistory("WALLET_TRANS", null, null, null, null, 100, cursor);
+
+    // Then
+    assertThat(response.getBody()).isEmpty();
+    verify(loadHistoryRepository).findSummariesBefore(
+        "WALLET_TRANS", null, null, Instant.EPOCH, lastStart, 42L, 101);
+  }
+
+  @Test
+  void queryExecutionHistory_shouldRejectCursor_afterStartTimeTo() {
+    // Given - a cursor from a wider query than this one
+    Instant startTimeTo = Instant.parse("2025-11-01T00:00:00Z");
+    String cursor = new KeysetCursor(startTimeTo.plusSeconds(3600), 42L).encode();
+
+    // When / Then
+    assertThatThrownBy(() ->
+        controller.queryExecutionHistory("WALLET_TRANS", null, startTimeTo, null, null, 100, cursor))
+        .isInstanceOf(BusinessException.class)
+        .satisfies(e -> {
+          assertThat(((BusinessException) e).getErrorCode()).isEqualTo(ErrorCode.VALIDATION_INVALID_VALUE);
+          assertThat(((BusinessException) e).getField()).isEqualTo("cursor");
+        });
+    verifyNoInteractions(loadHistoryRepository);
   }
 
   @Test
@@ -554,52 +617,88 @@ class LoaderAdminControllerTest {
     // Given
     LoadHistory history1 = createTestLoadHistory(1L, "WALLET_TRANS", LoadExecutionStatus.SUCCESS);
     LoadHistory history2 = createTestLoadHistory(2L, "USER_ACTIVITY", LoadExecutionStatus.SUCCESS);
-    List<LoadHistory> historyList = List.of(history1, history2);
 
-    when(loadHistoryRepository.findRecentExecutions(100))
-        .thenReturn(historyList);
+    when(loadHistoryRepository.findSummariesBefore(
+        isNull(), isNull(), isNull(), eq(Instant.EPOCH), any(), eq(Long.MAX_VALUE), eq(101)))
+        .thenReturn(List.of(history1, history2));
 
     // When
     ResponseEntity<List<ExecutionHistoryResponse>> response =
-        controller.queryExecutionHistory(null, null, null, null, null, null);
+        controller.queryExecutionHistory(null, null, null, null, null, null, null);
 
     // Then
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
     assertThat(response.getBody()).isNotNull();
     assertThat(response.getBody()).hasSize(2);
-
-    verify(loadHistoryRepository).findRecentExecutions(100);
   }
 
   @Test
   void queryExecutionHistory_shouldCapLimit_atMaximum() {
     // Given
-    when(loadHistoryRepository.findRecentExecutions(1000))
+    when(loadHistoryRepository.findSummariesBefore(any(), any(), any(), any(), any(), anyLong(), anyInt()))
         .thenReturn(List.of());
 
     // When
     ResponseEntity<List<ExecutionHistoryResponse>> response =
-        controller.queryExecutionHistory(null, null, null, null, null, 5000); // Request 5000
+        controller.queryExecutionHistory(null, null, null, null, null, 5000, null); // Request 5000
 
     // Then
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
-    // Should be capped at 1000
-    verify(loadHistoryRepository).findRecentExecutions(1000);
+    // Should be capped at 1000 (plus the look-ahead record)
+    verify(loadHistoryRepository).findSummariesBefore(any(), any(), any(), any(), any(), anyLong(), eq(1001));
   }
 
   @Test
   void queryExecutionHistory_shouldDefaultLimit_whenNull() {
     // Given
-    when(loadHistoryRepository.findRecentExecutions(100))
+    when(loadHistoryRepository.findSummariesBefore(any(), any(), any(), any(), any(), anyLong(), anyInt()))
         .thenReturn(List.of());
 
     // When
     ResponseEntity<List<ExecutionHistoryResponse>> response =
-        controller.queryExecutionHistory(null, null, null, null, null, null);
+        controller.queryExecutionHistory(null, null, null, null, null, null, null);
+
+    // Then
+    verify(loadHistoryRepository).findSummariesBefore(any(), any(), any(), any(), any(), anyLong(), eq(101)); // Default is 100
+  }
+
+  // ==================== Cluster Assignment Tests ====================
+
+  @Test
+  void getAssignments_shouldListLiveReplicasWithTheirLoaders() {
+    // Given
+    Loader loader1 = createTestLoader("LOADER_1", null);
+    Loader loader2 = createTestLoader("LOADER_2", null);
+    when(loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE)).thenReturn(List.of(loader1, loader2));
+    when(assignmentService.assign(List.of("LOADER_1", "LOADER_2")))
+        .thenReturn(Map.of("pod-a", List.of("LOADER_2"), "pod-b", List.of("LOADER_1")));
+    when(assignmentService.getLiveReplicas()).thenReturn(List.of(replica("pod-a", 3), replica("pod-b", 0)));
+    when(assignmentService.getReplicaName()).thenReturn("pod-a");
+
+    // When
+    ResponseEntity<ClusterAssignmentResponse> response = controller.getAssignments();
 
     // Then
-    verify(loadHistoryRepository).findRecentExecutions(100); // Default is 100
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    ClusterAssignmentResponse body = response.getBody();
+    assertThat(body).isNotNull();
+    assertThat(body.replicaName()).isEqualTo("pod-a");
+    assertThat(body.replicas()).hasSize(2);
+    assertThat(body.replicas().get(0).replicaName()).isEqualTo("pod-a");
+    assertThat(body.replicas().get(0).inFlightExecutions()).isEqualTo(3);
+    assertThat(body.replicas().get(0).loaderCodes()).containsExactly("LOADER_2");
+    assertThat(body.replicas().get(1).loaderCodes()).containsExactly("LOADER_1");
+  }
+
+  private LoaderReplica replica(String name, int inFlight) {
+    return LoaderReplica.builder()
+        .replicaName(name)
+        .startedAt(Instant.now().minusSeconds(3600))
+        .heartbeatAt(Instant.now())
+        .inFlightExecutions(inFlight)
+        .capacity(10)
+        .build();
   }
 
   // ==================== Helper Methods ====================
@@ -0,0 +1,159 @@
+package com.tiqmo.monitoring.loader.infra.db;
+
+import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
+import com.tiqmo.monitoring.loader.infra.config.SourceConcurrencyProperties;
+import com.tiqmo.monitoring.loader.infra.config.SourcePoolProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SourceConcurrencyLimiter.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class SourceConcurrencyLimiterTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private SourceConcurrencyProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private SourceConcurrencyLimiter limiter;
+
+  @BeforeEach
+  void setUp() {
+    properties = new SourceConcurrencyProperties();
+    properties.setInitialLimit(2);
+    properties.setMaxLimit(4);
+    properties.setAcquireTimeoutMs(5_000);
+
+    meterRegistry = new SimpleMeterRegistry();
+    limiter = new SourceConcurrencyLimiter(properties, new SourcePoolProperties(), meterRegistry);
+  }
+
+  @Test
+  void acquire_shouldAdmitStalestWaiterFirst_whenSlotFreed() throws Exception {
+    // Given - limit 2 reached
+    SourceConcurrencyLimiter.Permit first = limiter.acquire("SRC", Instant.now());
+    limiter.acquire("SRC", Instant.now());
+
+    List<String> admitted = new CopyOnWriteArrayList<>();
+    CountDownLatch done = new CountDownLatch(2);
+    startWaiter("FRESH", Instant.parse("2025-01-01T12:00:00Z"), admitted, done);
+    awaitQueued(1);
+    startWaiter("STALE", Instant.parse("2025-01-01T08:00:00Z"), admitted, done);
+    awaitQueued(2);
+
+    // When - one slot is freed (fast query keeps the limit at 2)
+    first.onSuccess(FAST);
+    first.close();
+
+    // Then - the stalest waiter gets the slot
+    assertThat(waitFor(() -> admitted.size() == 1)).isTrue();
+    assertThat(admitted).containsExactly("STALE");
+    assertThat(gauge("loader_source_concurrency_queued")).isEqualTo(1.0);
+  }
+
+  @Test
+  void release_shouldIncreaseLimitAdditively_andBackOffOnCongestion() {
+    // Given / When - fast queries grow the limit to the max
+    for (int i = 0; i < 20; i++) {
+      SourceConcurrencyLimiter.Permit permit = limiter.acquire("SRC", null);
+      permit.onSuccess(FAST);
+      permit.close();
+    }
+    assertThat(gauge("loader_source_concurrency_limit")).isEqualTo(4.0);
+
+    // When - a query far above the baseline latency
+    SourceConcurrencyLimiter.Permit slow = limiter.acquire("SRC", null);
+    slow.onSuccess(SLOW);
+    slow.close();
+
+    // Then - multiplicative decrease (4 x 0.75)
+    assertThat(gauge("loader_source_concurrency_limit")).isEqualTo(3.0);
+  }
+
+  @Test
+  void release_shouldNotGoBelowMinLimit_onErrors() {
+    // When
+    for (int i = 0; i < 5; i++) {
+      SourceConcurrencyLimiter.Permit permit = limiter.acquire("SRC", null);
+      permit.onDropped();
+      permit.close();
+    }
+
+    // Then
+    assertThat(gauge("loader_source_concurrency_limit")).isEqualTo(1.0);
+    assertThat(gauge("loader_source_concurrency_in_flight")).isZero();
+  }
+
+  @Test
+  void acquire_shouldFailWithBusy_whenNoSlotWithinTimeout() {
+    // Given
+    properties.setAcquireTimeoutMs(50);
+    limiter.acquire("SRC", null);
+    limiter.acquire("SRC", null);
+
+    // When / Then
+    assertThatThrownBy(() -> limiter.acquire("SRC", null))
+        .isInstanceOf(BusinessException.class)
+        .satisfies(e -> assertThat(((BusinessException) e).getErrorCode()).isEqualTo(ErrorCode.SOURCE_DATABASE_BUSY));
+    assertThat(meterRegistry.get("loader_source_concurrency_rejections_total").counter().count()).isEqualTo(1.0);
+    assertThat(gauge("loader_source_concurrency_queued")).isZero();
+  }
+
+  @Test
+  void acquire_shouldBypassLimiter_whenDisabled() {
+    // Given
+    properties.setEnabled(false);
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      limiter.acquire("SRC", null);
+    }
+
+    // Then
+    assertThat(limiter.snapshot()).isEmpty();
+  }
+
+  private void startWaiter(String name, Instant staleSince, List<String> admitted, CountDownLatch done) {
+    Thread thread = new Thread(() -> {
+      limiter.acquire("SRC", staleSince);
+      admitted.add(name);
+      done.countDown();
+    });
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void awaitQueued(int queued) {
+    assertThat(waitFor(() -> gauge("loader_source_concurrency_queued") == queued)).isTrue();
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).tag("source", "SRC").gauge().value();
+  }
+
+  private static boolean waitFor(java.util.function.BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      if (condition.getAsBoolean()) {
+        return true;
+      }
+      Thread.onSpinWait();
+    }
+    return false;
+  }
+}
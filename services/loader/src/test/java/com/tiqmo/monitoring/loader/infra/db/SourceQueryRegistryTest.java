@@ -0,0 +1,105 @@
+package com.tiqmo.monitoring.loader.infra.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SourceQueryRegistry.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SourceQueryRegistryTest {
+
+  @Mock
+  private Statement loaderAStatement;
+
+  @Mock
+  private Statement loaderBStatement;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SourceQueryRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    registry = new SourceQueryRegistry(meterRegistry);
+  }
+
+  @Test
+  void cancelByLoader_shouldCancelOnlyThatLoadersStatements() throws Exception {
+    // Given
+    SourceQueryRegistry.Registration a = registry.register("SRC_1", "LOADER_A", loaderAStatement);
+    SourceQueryRegistry.Registration b = registry.register("SRC_1", "LOADER_B", loaderBStatement);
+
+    // When
+    int cancelled = registry.cancelByLoader("LOADER_A", "execution timeout");
+
+    // Then
+    assertThat(cancelled).isEqualTo(1);
+    verify(loaderAStatement).cancel();
+    verify(loaderBStatement, never()).cancel();
+    assertThat(a.isCancelled()).isTrue();
+    assertThat(b.isCancelled()).isFalse();
+    assertThat(meterRegistry.counter("loader_source_query_cancellations_total").count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void cancelBySource_shouldCancelEveryStatementOnSource_once() throws Exception {
+    // Given
+    registry.register("SRC_1", "LOADER_A", loaderAStatement);
+    registry.register("SRC_1", null, loaderBStatement);
+
+    // When
+    int first = registry.cancelBySource("SRC_1", "source removed");
+    int second = registry.cancelBySource("SRC_1", "source removed");
+
+    // Then
+    assertThat(first).isEqualTo(2);
+    assertThat(second).isZero();
+    verify(loaderAStatement, times(1)).cancel();
+    verify(loaderBStatement, times(1)).cancel();
+  }
+
+  @Test
+  void close_shouldRemoveStatement_soItIsNotCancelledAfterwards() throws Exception {
+    // Given
+    SourceQueryRegistry.Registration registration = registry.register("SRC_1", "LOADER_A", loaderAStatement);
+    assertThat(registry.snapshot()).singleElement()
+        .satisfies(q -> assertThat(q.loaderCode()).isEqualTo("LOADER_A"));
+
+    // When
+    registration.close();
+    int cancelled = registry.cancelByLoader("LOADER_A", "execution timeout");
+
+    // Then
+    assertThat(cancelled).isZero();
+    assertThat(registry.snapshot()).isEmpty();
+    verify(loaderAStatement, never()).cancel();
+  }
+
+  @Test
+  void cancelByLoader_shouldNotCount_whenDriverRejectsCancel() throws Exception {
+    // Given
+    doThrow(new SQLException("connection closed")).when(loaderAStatement).cancel();
+    registry.register("SRC_1", "LOADER_A", loaderAStatement);
+
+    // When
+    int cancelled = registry.cancelByLoader("LOADER_A", "stale lock");
+
+    // Then
+    assertThat(cancelled).isZero();
+    assertThat(meterRegistry.counter("loader_source_query_cancellations_total").count()).isZero();
+  }
+}
@@ -0,0 +1,160 @@
+package com.tiqmo.monitoring.loader.infra.db;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.SourceDatabase;
+import com.tiqmo.monitoring.loader.infra.config.SourcePoolProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SourceRegistry (incremental reload).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class SourceRegistryTest {
+
+  private EntityManager em;
+  private TypedQuery<SourceDatabase> query;
+  private SourceRegistry registry;
+
+  private final List<String> builtCodes = Collections.synchronizedList(new ArrayList<>());
+  private final Set<String> failingCodes = Collections.synchronizedSet(new HashSet<>());
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    em = mock(EntityManager.class);
+    query = mock(TypedQuery.class);
+    when(em.createQuery(anyString(), eq(SourceDatabase.class))).thenReturn(query);
+
+    SourcePoolProperties poolProperties = new SourcePoolProperties();
+    poolProperties.setDrainTimeoutMs(0);
+
+    registry = new SourceRegistry(mock(ApplicationEventPublisher.class), poolProperties,
+        new SourceQueryRegistry(new SimpleMeterRegistry())) {
+      @Override
+      HikariDataSource buildPool(SourceDatabase cfg) {
+        if (failingCodes.contains(cfg.getDbCode())) {
+          throw new IllegalStateException("unreachable");
+        }
+        builtCodes.add(cfg.getDbCode());
+        return mock(HikariDataSource.class);
+      }
+    };
+    ReflectionTestUtils.setField(registry, "em", em);
+  }
+
+  @AfterEach
+  void tearDown() {
+    registry.shutdown();
+  }
+
+  @Test
+  void loadAll_shouldRebuildOnlyAddedAndChangedSources() {
+    // Given
+    when(query.getResultList()).thenReturn(List.of(source("A", "pw"), source("B", "pw")));
+    registry.loadAll();
+    HikariDataSource poolA = registry.getPool("A");
+    HikariDataSource oldPoolB = registry.getPool("B");
+    builtCodes.clear();
+
+    // When - B's password changed, C added
+    when(query.getResultList()).thenReturn(List.of(source("A", "pw"), source("B", "new-pw"), source("C", "pw")));
+    SourceRegistry.ReloadSummary summary = registry.loadAll();
+
+    // Then
+    assertThat(builtCodes).containsExactlyInAnyOrder("B", "C");
+    assertThat(summary.unchanged()).containsExactly("A");
+    assertThat(summary.changed()).containsExactly("B");
+    assertThat(summary.added()).containsExactly("C");
+    assertThat(registry.getPool("A")).isSameAs(poolA);
+    assertThat(registry.getPool("B")).isNotSameAs(oldPoolB);
+    verify(oldPoolB, timeout(2_000)).close();
+    verify(poolA, never()).close();
+  }
+
+  @Test
+  void loadAll_shouldKeepPoolButRefreshConfig_whenOnlyNonPoolSettingsChange() {
+    // Given
+    when(query.getResultList()).thenReturn(List.of(source("A", "pw")));
+    registry.loadAll();
+    HikariDataSource poolA = registry.getPool("A");
+
+    // When
+    SourceDatabase updated = source("A", "pw");
+    updated.setQueryTimeoutSeconds(60);
+    when(query.getResultList()).thenReturn(List.of(updated));
+    registry.loadAll();
+
+    // Then
+    assertThat(registry.getPool("A")).isSameAs(poolA);
+    assertThat(registry.getConfig("A").getQueryTimeoutSeconds()).isEqualTo(60);
+  }
+
+  @Test
+  void loadAll_shouldRetireRemovedSources() {
+    // Given
+    when(query.getResultList()).thenReturn(List.of(source("A", "pw"), source("B", "pw")));
+    registry.loadAll();
+    HikariDataSource poolB = registry.getPool("B");
+
+    // When
+    when(query.getResultList()).thenReturn(List.of(source("A", "pw")));
+    SourceRegistry.ReloadSummary summary = registry.loadAll();
+
+    // Then
+    assertThat(summary.removed()).containsExactly("B");
+    assertThat(registry.getPools()).containsOnlyKeys("A");
+    assertThat(registry.getConfigs()).containsOnlyKeys("A");
+    verify(poolB, timeout(2_000)).close();
+  }
+
+  @Test
+  void loadAll_shouldKeepPreviousPool_whenChangedSourceFailsToBuild() {
+    // Given
+    when(query.getResultList()).thenReturn(List.of(source("A", "pw")));
+    registry.loadAll();
+    HikariDataSource poolA = registry.getPool("A");
+
+    // When
+    failingCodes.add("A");
+    when(query.getResultList()).thenReturn(List.of(source("A", "new-pw")));
+    SourceRegistry.ReloadSummary summary = registry.loadAll();
+
+    // Then
+    assertThat(summary.failed()).containsExactly("A");
+    assertThat(registry.getPool("A")).isSameAs(poolA);
+    assertThat(registry.getConfig("A").getPassWord()).isEqualTo("pw");
+    verify(poolA, never()).close();
+  }
+
+  private SourceDatabase source(String code, String password) {
+    return SourceDatabase.builder()
+        .dbCode(code)
+        .ip("10.0.0.1")
+        .port(5432)
+        .dbName("db")
+        .dbType(SourceDatabase.DbType.POSTGRESQL)
+        .userName("reader")
+        .passWord(password)
+        .build();
+  }
+}
@@ -202,7 +202,7 @@ public class AdminApiIntegrationTest extends BaseIntegrationTest {
 
         // When: Query all history
         ResponseEntity<List<ExecutionHistoryResponse>> response =
-                adminController.queryExecutionHistory(null, null, null, null, null, 100);
+                adminController.queryExecutionHistory(null, null, null, null, null, 100, null);
 
         // Then: All records returned
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -224,7 +224,7 @@ public class AdminApiIntegrationTest extends BaseIntegrationTest {
 
         // When: Query by loader code
         ResponseEntity<List<ExecutionHistoryResponse>> response =
-                adminController.queryExecutionHistory("LOADER_1", null, null, null, null, 100);
+                adminController.queryExecutionHistory("LOADER_1", null, null, null, null, 100, null);
 
         // Then: Only LOADER_1 records returned
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -248,7 +248,7 @@ public class AdminApiIntegrationTest extends BaseIntegrationTest {
         // When: Query by status
         ResponseEntity<List<ExecutionHistoryResponse>> response =
                 adminController.queryExecutionHistory(null, null, null, LoadExecutionStatus.FAILED,
-                        null, 100);
+                        null, 100, null);
 
         // Then: Only FAILED records returned
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -269,7 +269,7 @@ public class AdminApiIntegrationTest extends BaseIntegrationTest {
 
         // When: Query with limit=5
         ResponseEntity<List<ExecutionHistoryResponse>> response =
-                adminController.queryExecutionHistory(null, null, null, null, null, 5);
+                adminController.queryExecutionHistory(null, null, null, null, null, 5, null);
 
         // Then: Only 5 records returned
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -286,7 +286,7 @@ public class AdminApiIntegrationTest extends BaseIntegrationTest {
 
         // When: Query with limit > 1000
         ResponseEntity<List<ExecutionHistoryResponse>> response =
-                adminController.queryExecutionHistory(null, null, null, null, null, 5000);
+                adminController.queryExecutionHistory(null, null, null, null, null, 5000, null);
 
         // Then: Request succeeds (limit capped at 1000 internally)
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -310,7 +310,7 @@ public class AdminApiIntegrationTest extends BaseIntegrationTest {
         Instant fromTime = oneHourAgo;
         Instant toTime = now.minus(30, ChronoUnit.MINUTES);
         ResponseEntity<List<ExecutionHistoryResponse>> response =
-                adminController.queryExecutionHistory(null, fromTime, toTime, null, null, 100);
+                adminController.queryExecutionHistory(null, fromTime, toTime, null, null, 100, null);
 
         // Then: Only records in range returned
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -0,0 +1,112 @@
+package com.tiqmo.monitoring.loader.service.backfill;
+
+import com.tiqmo.monitoring.loader.infra.config.BackfillProperties;
+import com.tiqmo.monitoring.loader.service.execution.TimeWindow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BackfillChunkExecutor.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class BackfillChunkExecutorTest {
+
+  private BackfillChunkExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = new BackfillChunkExecutor(new BackfillProperties());
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void plan_shouldAlignChunkBoundaries_andEndAtRangeEnd() {
+    // When - 1h chunks from 00:30 to 03:15
+    List<TimeWindow> chunks = BackfillChunkExecutor.plan(at(1800), at(11700), 3600, 900);
+
+    // Then
+    assertThat(chunks).containsExactly(
+        new TimeWindow(at(1800), at(3600)),
+        new TimeWindow(at(3600), at(7200)),
+        new TimeWindow(at(7200), at(10800)),
+        new TimeWindow(at(10800), at(11700)));
+  }
+
+  @Test
+  void plan_shouldRoundChunkToAggregationPeriod() {
+    // When - 50min chunks on a 15min aggregation period -> 45min chunks
+    List<TimeWindow> chunks = BackfillChunkExecutor.plan(at(0), at(5400), 3000, 900);
+
+    // Then
+    assertThat(chunks).containsExactly(
+        new TimeWindow(at(0), at(2700)),
+        new TimeWindow(at(2700), at(5400)));
+  }
+
+  @Test
+  void plan_shouldReturnNothing_forEmptyRange() {
+    assertThat(BackfillChunkExecutor.plan(at(3600), at(3600), 3600, 1)).isEmpty();
+  }
+
+  @Test
+  void execute_shouldFetchAhead_andCommitInOrder() throws Exception {
+    // Given - first fetch waits until the second has started (both in flight)
+    List<TimeWindow> chunks = BackfillChunkExecutor.plan(at(0), at(3 * 3600), 3600, 1);
+    CountDownLatch secondStarted = new CountDownLatch(1);
+    List<TimeWindow> committed = new CopyOnWriteArrayList<>();
+
+    // When
+    executor.execute(chunks, 2, chunk -> {
+      if (chunk.fromTime().equals(at(3600))) {
+        secondStarted.countDown();
+      } else if (chunk.fromTime().equals(at(0))) {
+        assertThat(secondStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      }
+      return chunk.fromTime().getEpochSecond();
+    }, (chunk, data) -> {
+      assertThat(data).isEqualTo(chunk.fromTime().getEpochSecond());
+      committed.add(chunk);
+    });
+
+    // Then
+    assertThat(committed).containsExactlyElementsOf(chunks);
+  }
+
+  @Test
+  void execute_shouldStopAtFirstFailure() {
+    // Given
+    List<TimeWindow> chunks = BackfillChunkExecutor.plan(at(0), at(4 * 3600), 3600, 1);
+    List<TimeWindow> committed = new CopyOnWriteArrayList<>();
+
+    // When / Then
+    assertThatThrownBy(() -> executor.execute(chunks, 2, chunk -> {
+      if (chunk.fromTime().equals(at(3600))) {
+        throw new IllegalStateException("source down");
+      }
+      return chunk;
+    }, (chunk, data) -> committed.add(chunk)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("source down");
+    assertThat(committed).containsExactly(chunks.get(0));
+  }
+
+  private static Instant at(long epochSecond) {
+    return Instant.ofEpochSecond(epochSecond);
+  }
+}
@@ -0,0 +1,141 @@
+package com.tiqmo.monitoring.loader.service.backfill;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJob;
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJobStatus;
+import com.tiqmo.monitoring.loader.infra.config.BackfillProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BackfillJobRunner.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class BackfillJobRunnerTest {
+
+  @Mock
+  private BackfillService backfillService;
+
+  private BackfillProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private BackfillJobRunner runner;
+
+  @BeforeEach
+  void setUp() {
+    properties = new BackfillProperties();
+    properties.setWorkerThreads(2);
+    meterRegistry = new SimpleMeterRegistry();
+    runner = new BackfillJobRunner(backfillService, properties, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    runner.shutdown();
+  }
+
+  @Test
+  void poll_shouldRunClaimedJobs_onWorkerPool() {
+    // Given
+    when(backfillService.claimPendingJobs(2)).thenReturn(List.of(1L, 2L));
+    when(backfillService.runClaimedJob(1L)).thenReturn(job(1L, BackfillJobStatus.SUCCESS));
+    when(backfillService.runClaimedJob(2L)).thenReturn(job(2L, BackfillJobStatus.FAILED));
+
+    // When
+    runner.poll();
+
+    // Then
+    verify(backfillService, timeout(5000)).runClaimedJob(1L);
+    verify(backfillService, timeout(5000)).runClaimedJob(2L);
+    awaitIdle();
+    assertThat(meterRegistry.get("loader_backfill_jobs_total").tag("status", "SUCCESS").counter().count())
+        .isEqualTo(1.0);
+    assertThat(meterRegistry.get("loader_backfill_jobs_total").tag("status", "FAILED").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void poll_shouldClaimOnlyForIdleWorkers() throws Exception {
+    // Given - first job blocks one of the two workers
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(backfillService.claimPendingJobs(2)).thenReturn(List.of(1L));
+    when(backfillService.runClaimedJob(1L)).thenAnswer(invocation -> {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return job(1L, BackfillJobStatus.SUCCESS);
+    });
+    when(backfillService.claimPendingJobs(1)).thenReturn(List.of());
+
+    runner.poll();
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // When
+    runner.poll();
+
+    // Then
+    verify(backfillService).claimPendingJobs(1);
+    assertThat(runner.getInFlight()).isEqualTo(1);
+    assertThat(meterRegistry.get("loader_backfill_running_jobs").gauge().value()).isEqualTo(1.0);
+
+    release.countDown();
+    awaitIdle();
+  }
+
+  @Test
+  void poll_shouldDoNothing_whenRunnerDisabled() {
+    // Given
+    properties.setRunnerEnabled(false);
+
+    // When
+    runner.poll();
+
+    // Then
+    verify(backfillService, never()).claimPendingJobs(anyInt());
+  }
+
+  @Test
+  void heartbeat_shouldRenewRunningJobs_andRecoverAbandonedOnes() {
+    // When
+    runner.heartbeat();
+
+    // Then
+    verify(backfillService).renewRunningJobs();
+    verify(backfillService).recoverAbandonedJobs();
+  }
+
+  private void awaitIdle() {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (runner.getInFlight() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.onSpinWait();
+    }
+    assertThat(runner.getInFlight()).isZero();
+  }
+
+  private BackfillJob job(Long id, BackfillJobStatus status) {
+    return BackfillJob.builder()
+        .id(id)
+        .loaderCode("L1")
+        .fromTimeEpoch(0L)
+        .toTimeEpoch(3600L)
+        .status(status)
+        .build();
+  }
+}
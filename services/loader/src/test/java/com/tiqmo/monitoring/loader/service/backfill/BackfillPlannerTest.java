@@ -0,0 +1,186 @@
+package com.tiqmo.monitoring.loader.service.backfill;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJob;
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJobStatus;
+import com.tiqmo.monitoring.loader.domain.loader.entity.PurgeStrategy;
+import com.tiqmo.monitoring.loader.domain.loader.repo.BackfillJobRepository;
+import com.tiqmo.monitoring.loader.service.backfill.BackfillPlanner.Range;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BackfillPlanner.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class BackfillPlannerTest {
+
+  @Mock
+  private BackfillJobRepository backfillJobRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private BackfillPlanner planner;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    planner = new BackfillPlanner(backfillJobRepository, meterRegistry);
+    lenient().when(backfillJobRepository.save(any(BackfillJob.class))).thenAnswer(i -> i.getArgument(0));
+  }
+
+  @Test
+  void submit_shouldCreateJob_whenNothingActive() {
+    // Given
+    when(backfillJobRepository.lockActiveJobsByLoader("L1")).thenReturn(List.of());
+    BackfillJob request = request(0, 3600);
+
+    // When
+    BackfillJob result = planner.submit(request);
+
+    // Then
+    assertThat(result).isSameAs(request);
+    verify(backfillJobRepository).save(request);
+    assertThat(planner.getAvoidedSeconds()).isZero();
+  }
+
+  @Test
+  void submit_shouldReturnExistingJob_forDuplicateRequest() {
+    // Given
+    BackfillJob existing = job(1L, BackfillJobStatus.PENDING, 0, 3600, 0);
+    when(backfillJobRepository.lockActiveJobsByLoader("L1")).thenReturn(List.of(existing));
+
+    // When
+    BackfillJob result = planner.submit(request(0, 3600));
+
+    // Then - priority raised to the user request's
+    assertThat(result).isSameAs(existing);
+    assertThat(existing.getPriority()).isEqualTo(100);
+    assertThat(planner.getAvoidedSeconds()).isEqualTo(3600);
+    assertThat(meterRegistry.get("loader_backfill_coalesced_total").tag("outcome", "deduplicated").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void submit_shouldReturnCoveringJob_whenRangeNested() {
+    // Given
+    BackfillJob running = job(1L, BackfillJobStatus.RUNNING, 0, 7200, 100);
+    when(backfillJobRepository.lockActiveJobsByLoader("L1")).thenReturn(List.of(running));
+
+    // When
+    BackfillJob result = planner.submit(request(1800, 3600));
+
+    // Then
+    assertThat(result).isSameAs(running);
+    verify(backfillJobRepository, never()).save(any());
+    assertThat(planner.getAvoidedSeconds()).isEqualTo(1800);
+  }
+
+  @Test
+  void submit_shouldMergeOverlappingAndAdjacentPendingJobs_intoOldest() {
+    // Given - [0, 1h) and [2h, 3h) pending; request [30min, 2h) bridges them
+    BackfillJob oldest = job(1L, BackfillJobStatus.PENDING, 0, 3600, 0);
+    BackfillJob adjacent = job(2L, BackfillJobStatus.PENDING, 7200, 10800, 50);
+    when(backfillJobRepository.lockActiveJobsByLoader("L1")).thenReturn(List.of(oldest, adjacent));
+
+    // When
+    BackfillJob result = planner.submit(request(1800, 7200));
+
+    // Then
+    assertThat(result).isSameAs(oldest);
+    assertThat(oldest.getFromTimeEpoch()).isEqualTo(0L);
+    assertThat(oldest.getToTimeEpoch()).isEqualTo(10800L);
+    assertThat(oldest.getPriority()).isEqualTo(100);
+    assertThat(adjacent.getStatus()).isEqualTo(BackfillJobStatus.CANCELLED);
+    assertThat(adjacent.getErrorMessage()).contains("#1");
+    // 3600 + 3600 + 5400 requested, 10800 planned
+    assertThat(planner.getAvoidedSeconds()).isEqualTo(1800);
+  }
+
+  @Test
+  void submit_shouldCutOutRunningJobs() {
+    // Given - [1h, 2h) is being loaded
+    BackfillJob running = job(1L, BackfillJobStatus.RUNNING, 3600, 7200, 0);
+    when(backfillJobRepository.lockActiveJobsByLoader("L1")).thenReturn(List.of(running));
+
+    // When
+    BackfillJob result = planner.submit(request(0, 10800));
+
+    // Then - [0, 1h) and [2h, 3h) planned
+    assertThat(result.getFromTimeEpoch()).isEqualTo(0L);
+    assertThat(result.getToTimeEpoch()).isEqualTo(3600L);
+    ArgumentCaptor<BackfillJob> saved = ArgumentCaptor.forClass(BackfillJob.class);
+    verify(backfillJobRepository, times(2)).save(saved.capture());
+    assertThat(saved.getAllValues().get(1).getFromTimeEpoch()).isEqualTo(7200L);
+    assertThat(saved.getAllValues().get(1).getToTimeEpoch()).isEqualTo(10800L);
+    assertThat(planner.getAvoidedSeconds()).isEqualTo(3600);
+  }
+
+  @Test
+  void submit_shouldNotMergeJobsWithOtherPurgeStrategy() {
+    // Given
+    BackfillJob other = job(1L, BackfillJobStatus.PENDING, 0, 3600, 0);
+    other.setPurgeStrategy(PurgeStrategy.SKIP_DUPLICATES);
+    when(backfillJobRepository.lockActiveJobsByLoader("L1")).thenReturn(List.of(other));
+    BackfillJob request = request(0, 3600);
+
+    // When
+    BackfillJob result = planner.submit(request);
+
+    // Then
+    assertThat(result).isSameAs(request);
+    assertThat(other.getStatus()).isEqualTo(BackfillJobStatus.PENDING);
+  }
+
+  @Test
+  void union_shouldMergeOverlappingAndAdjacentRanges() {
+    assertThat(BackfillPlanner.union(List.of(new Range(50, 60), new Range(0, 10), new Range(10, 20), new Range(15, 30))))
+        .containsExactly(new Range(0, 30), new Range(50, 60));
+  }
+
+  @Test
+  void subtract_shouldReturnUncoveredPieces() {
+    assertThat(BackfillPlanner.subtract(new Range(0, 100), List.of(new Range(-10, 10), new Range(40, 60))))
+        .containsExactly(new Range(10, 40), new Range(60, 100));
+    assertThat(BackfillPlanner.subtract(new Range(20, 30), List.of(new Range(0, 100)))).isEmpty();
+  }
+
+  private BackfillJob request(long from, long to) {
+    return BackfillJob.builder()
+        .loaderCode("L1")
+        .fromTimeEpoch(from)
+        .toTimeEpoch(to)
+        .purgeStrategy(PurgeStrategy.PURGE_AND_RELOAD)
+        .status(BackfillJobStatus.PENDING)
+        .priority(100)
+        .requestedBy("admin")
+        .requestedAt(Instant.now())
+        .build();
+  }
+
+  private BackfillJob job(Long id, BackfillJobStatus status, long from, long to, int priority) {
+    BackfillJob job = request(from, to);
+    job.setId(id);
+    job.setStatus(status);
+    job.setPriority(priority);
+    job.setRequestedAt(Instant.ofEpochSecond(id));
+    return job;
+  }
+}
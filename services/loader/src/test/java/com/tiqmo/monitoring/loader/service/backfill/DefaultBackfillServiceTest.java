@@ -0,0 +1,399 @@
+package com.tiqmo.monitoring.loader.service.backfill;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJob;
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJobStatus;
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.domain.loader.entity.PurgeStrategy;
+import com.tiqmo.monitoring.loader.domain.loader.entity.SourceDatabase;
+import com.tiqmo.monitoring.loader.domain.loader.repo.BackfillJobRepository;
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
+import com.tiqmo.monitoring.loader.infra.ReplicaNameProvider;
+import com.tiqmo.monitoring.loader.infra.config.BackfillProperties;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
+import com.tiqmo.monitoring.loader.infra.db.SourceDbManager;
+import com.tiqmo.monitoring.loader.service.execution.ColumnarSignalBatch;
+import com.tiqmo.monitoring.loader.service.execution.DataTransformer;
+import com.tiqmo.monitoring.loader.service.execution.QueryParameterReplacer;
+import com.tiqmo.monitoring.loader.service.signals.SignalsBulkWriter;
+import com.tiqmo.monitoring.loader.service.signals.SignalsPurger;
+import com.tiqmo.monitoring.loader.service.signals.SignalsRollupService;
+import com.tiqmo.monitoring.loader.service.execution.TimeWindow;
+import com.tiqmo.monitoring.loader.service.scheduler.LoaderCoverageIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DefaultBackfillService.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class DefaultBackfillServiceTest {
+
+  @Mock
+  private BackfillJobRepository backfillJobRepository;
+
+  @Mock
+  private LoaderRepository loaderRepository;
+
+  @Mock
+  private SignalsPurger signalsPurger;
+
+  @Mock
+  private SignalsBulkWriter signalsBulkWriter;
+
+  @Mock
+  private SignalsRollupService signalsRollupService;
+
+  @Mock
+  private ReplicaNameProvider replicaNameProvider;
+
+  @Mock
+  private QueryParameterReplacer queryParameterReplacer;
+
+  @Mock
+  private DataTransformer dataTransformer;
+
+  @Mock
+  private SourceDbManager sourceDbManager;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Mock
+  private BackfillPlanner backfillPlanner;
+
+  @Mock
+  private LoaderCoverageIndex coverageIndex;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private BackfillProperties backfillProperties;
+  private BackfillChunkExecutor chunkExecutor;
+  private DefaultBackfillService service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    backfillProperties = new BackfillProperties();
+    backfillProperties.setChunkSeconds(1800);
+    chunkExecutor = new BackfillChunkExecutor(backfillProperties);
+    service = new DefaultBackfillService(backfillJobRepository, loaderRepository, signalsPurger,
+        signalsBulkWriter, signalsRollupService, replicaNameProvider, queryParameterReplacer, dataTransformer,
+        sourceDbManager, new ExecutionProperties(), backfillProperties, chunkExecutor, backfillPlanner, coverageIndex,
+        transactionTemplate, eventPublisher);
+    lenient().when(replicaNameProvider.getReplicaName()).thenReturn("replica-1");
+    lenient().when(backfillJobRepository.save(any(BackfillJob.class))).thenAnswer(i -> i.getArgument(0));
+    lenient().when(transactionTemplate.execute(any(TransactionCallback.class)))
+        .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+  }
+
+  @AfterEach
+  void tearDown() {
+    chunkExecutor.shutdown();
+  }
+
+  @Test
+  void priorityFor_shouldRankUsersAboveRecoveryAboveGapScanner() {
+    assertThat(service.priorityFor("admin@example.com")).isEqualTo(100);
+    assertThat(service.priorityFor(null)).isEqualTo(100);
+    assertThat(service.priorityFor("SYSTEM_AUTO_RECOVERY")).isEqualTo(50);
+    assertThat(service.priorityFor("SYSTEM_GAP_SCANNER_NO_HISTORY")).isEqualTo(0);
+  }
+
+  @Test
+  void submitBackfillJob_shouldSetPriorityFromRequester() {
+    // Given
+    when(loaderRepository.findByLoaderCode("L1")).thenReturn(Optional.of(loader()));
+    when(backfillPlanner.submit(any(BackfillJob.class))).thenAnswer(i -> i.getArgument(0));
+
+    // When
+    BackfillJob job = service.submitBackfillJob("L1", Instant.ofEpochSecond(0), Instant.ofEpochSecond(3600),
+        PurgeStrategy.PURGE_AND_RELOAD, "SYSTEM_AUTO_RECOVERY");
+
+    // Then
+    assertThat(job.getPriority()).isEqualTo(50);
+    assertThat(job.getStatus()).isEqualTo(BackfillJobStatus.PENDING);
+  }
+
+  @Test
+  void claimPendingJobs_shouldMarkLockedJobsRunning() {
+    // Given
+    when(backfillJobRepository.lockNextPendingJobIds(60, 3)).thenReturn(List.of(7L, 9L));
+
+    // When
+    List<Long> claimed = service.claimPendingJobs(3);
+
+    // Then
+    assertThat(claimed).containsExactly(7L, 9L);
+    verify(backfillJobRepository).markRunning(eq(List.of(7L, 9L)), eq("replica-1"), any(Instant.class));
+  }
+
+  @Test
+  void claimPendingJobs_shouldNotMarkAnything_whenNothingPending() {
+    // Given
+    when(backfillJobRepository.lockNextPendingJobIds(anyInt(), anyInt())).thenReturn(List.of());
+
+    // When / Then
+    assertThat(service.claimPendingJobs(2)).isEmpty();
+    verify(backfillJobRepository, never()).markRunning(any(), anyString(), any());
+  }
+
+  @Test
+  void runClaimedJob_shouldCommitChunksInOrder_andCheckpointEach() {
+    // Given - 1h range in two 30min chunks, each 10 source rows -> 3 signals
+    BackfillJob job = runningJob();
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(job));
+    when(loaderRepository.findByLoaderCode("L1")).thenReturn(Optional.of(loader()));
+    stubSource();
+    when(signalsPurger.purge(eq("L1"), any(), any())).thenReturn(4L);
+    when(signalsBulkWriter.write(any(), eq(false))).thenReturn(3L);
+
+    // When
+    BackfillJob result = service.runClaimedJob(5L);
+
+    // Then
+    assertThat(result.getStatus()).isEqualTo(BackfillJobStatus.SUCCESS);
+    assertThat(result.getRecordsPurged()).isEqualTo(8L);
+    assertThat(result.getRecordsLoaded()).isEqualTo(20L);
+    assertThat(result.getRecordsIngested()).isEqualTo(6L);
+    assertThat(result.getChunksCompleted()).isEqualTo(2);
+    assertThat(result.getChunksTotal()).isEqualTo(2);
+    assertThat(result.getCheckpointEpoch()).isEqualTo(3600L);
+    verify(signalsPurger).purge("L1", Instant.ofEpochSecond(0), Instant.ofEpochSecond(1800));
+    verify(signalsPurger).purge("L1", Instant.ofEpochSecond(1800), Instant.ofEpochSecond(3600));
+    verify(backfillJobRepository).updateCheckpoint(eq(5L), eq(1800L), eq(1), eq(4L), eq(10L), eq(3L), any(Instant.class));
+    verify(backfillJobRepository).updateCheckpoint(eq(5L), eq(3600L), eq(2), eq(8L), eq(20L), eq(6L), any(Instant.class));
+    verify(coverageIndex).extend("L1", Instant.ofEpochSecond(1800), Instant.ofEpochSecond(3600));
+    verify(signalsRollupService).refresh("L1", Instant.ofEpochSecond(1800), Instant.ofEpochSecond(3600));
+    verify(eventPublisher).publishEvent(
+        new SignalsWrittenEvent("L1", Instant.ofEpochSecond(1800), Instant.ofEpochSecond(3600)));
+  }
+
+  @Test
+  void runClaimedJob_shouldResumeFromCheckpoint() {
+    // Given - first chunk committed by an earlier attempt
+    BackfillJob job = runningJob();
+    job.setCheckpointEpoch(1800L);
+    job.setChunksCompleted(1);
+    job.setRecordsPurged(4L);
+    job.setRecordsLoaded(10L);
+    job.setRecordsIngested(3L);
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(job));
+    when(loaderRepository.findByLoaderCode("L1")).thenReturn(Optional.of(loader()));
+    stubSource();
+    when(signalsPurger.purge(eq("L1"), any(), any())).thenReturn(4L);
+    when(signalsBulkWriter.write(any(), eq(false))).thenReturn(3L);
+
+    // When
+    BackfillJob result = service.runClaimedJob(5L);
+
+    // Then - only the second chunk is loaded, counters continue
+    assertThat(result.getStatus()).isEqualTo(BackfillJobStatus.SUCCESS);
+    assertThat(result.getChunksTotal()).isEqualTo(2);
+    verify(queryParameterReplacer).replacePlaceholders(anyString(),
+        eq(new TimeWindow(Instant.ofEpochSecond(1800), Instant.ofEpochSecond(3600))), any(Integer.class));
+    verify(signalsPurger, never()).purge("L1", Instant.ofEpochSecond(0), Instant.ofEpochSecond(1800));
+    verify(backfillJobRepository).updateCheckpoint(eq(5L), eq(3600L), eq(2), eq(8L), eq(20L), eq(6L), any(Instant.class));
+  }
+
+  @Test
+  void runClaimedJob_shouldKeepCheckpoint_whenChunkFails() {
+    // Given - second chunk fails to ingest
+    BackfillJob job = runningJob();
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(job));
+    when(loaderRepository.findByLoaderCode("L1")).thenReturn(Optional.of(loader()));
+    stubSource();
+    when(signalsBulkWriter.write(any(), eq(false))).thenReturn(3L).thenThrow(new IllegalStateException("write failed"));
+
+    // When
+    BackfillJob result = service.runClaimedJob(5L);
+
+    // Then
+    assertThat(result.getStatus()).isEqualTo(BackfillJobStatus.FAILED);
+    assertThat(result.getErrorMessage()).contains("write failed");
+    assertThat(result.getCheckpointEpoch()).isEqualTo(1800L);
+    assertThat(result.getChunksCompleted()).isEqualTo(1);
+    verify(backfillJobRepository, never()).updateCheckpoint(eq(5L), eq(3600L), anyInt(), any(Long.class),
+        any(Long.class), any(Long.class), any(Instant.class));
+  }
+
+  @Test
+  void runClaimedJob_shouldFailChunk_whenDuplicatesAndFailOnDuplicate() {
+    // Given
+    BackfillJob job = runningJob();
+    job.setPurgeStrategy(PurgeStrategy.FAIL_ON_DUPLICATE);
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(job));
+    when(loaderRepository.findByLoaderCode("L1")).thenReturn(Optional.of(loader()));
+    stubSource();
+    when(signalsPurger.hasSignals(eq("L1"), any(), any())).thenReturn(true);
+
+    // When
+    BackfillJob result = service.runClaimedJob(5L);
+
+    // Then
+    assertThat(result.getStatus()).isEqualTo(BackfillJobStatus.FAILED);
+    assertThat(result.getCheckpointEpoch()).isNull();
+    verify(signalsBulkWriter, never()).write(any(), anyBoolean());
+  }
+
+  @Test
+  void runClaimedJob_shouldInsertSkippingDuplicates_whenSkipDuplicates() {
+    // Given
+    BackfillJob job = runningJob();
+    job.setPurgeStrategy(PurgeStrategy.SKIP_DUPLICATES);
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(job));
+    when(loaderRepository.findByLoaderCode("L1")).thenReturn(Optional.of(loader()));
+    stubSource();
+    when(signalsBulkWriter.write(any(), eq(true))).thenReturn(2L);
+
+    // When
+    BackfillJob result = service.runClaimedJob(5L);
+
+    // Then
+    assertThat(result.getStatus()).isEqualTo(BackfillJobStatus.SUCCESS);
+    assertThat(result.getRecordsIngested()).isEqualTo(4L);
+    verify(signalsPurger, never()).purge(anyString(), any(), any());
+    verify(signalsPurger, never()).hasSignals(anyString(), any(), any());
+  }
+
+  @Test
+  void runClaimedJob_shouldMarkFailed_whenLoaderMissing() {
+    // Given
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(runningJob()));
+    when(loaderRepository.findByLoaderCode("L1")).thenReturn(Optional.empty());
+
+    // When
+    BackfillJob result = service.runClaimedJob(5L);
+
+    // Then
+    assertThat(result.getStatus()).isEqualTo(BackfillJobStatus.FAILED);
+    assertThat(result.getErrorMessage()).contains("not found");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void executeBackfillJob_shouldReject_whenClaimedByRunner() {
+    // Given - PENDING when read, claimed by the runner before our update
+    BackfillJob job = runningJob();
+    job.setStatus(BackfillJobStatus.PENDING);
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(job));
+    doReturn(0).when(transactionTemplate).execute(any(TransactionCallback.class));
+
+    // When / Then
+    assertThatThrownBy(() -> service.executeBackfillJob(5L))
+        .isInstanceOf(BusinessException.class)
+        .hasMessageContaining("claimed");
+  }
+
+  @Test
+  void recoverAbandonedJobs_shouldRequeueThenFailExhausted() {
+    // Given
+    when(backfillJobRepository.requeueAbandonedJobs(any(), eq(3), any())).thenReturn(2);
+    when(backfillJobRepository.failAbandonedJobs(any(), eq(3), any(), anyString())).thenReturn(1);
+
+    // When
+    int recovered = service.recoverAbandonedJobs();
+
+    // Then
+    assertThat(recovered).isEqualTo(3);
+    ArgumentCaptor<Instant> staleBefore = ArgumentCaptor.forClass(Instant.class);
+    verify(backfillJobRepository).requeueAbandonedJobs(staleBefore.capture(), eq(3), any());
+    assertThat(staleBefore.getValue()).isBefore(Instant.now().minusSeconds(299));
+  }
+
+  @Test
+  void retryBackfillJob_shouldRequeueFailedJob_keepingCheckpoint() {
+    // Given
+    BackfillJob job = runningJob();
+    job.setStatus(BackfillJobStatus.FAILED);
+    job.setCheckpointEpoch(1800L);
+    job.setErrorMessage("boom");
+    job.setEndTime(Instant.now());
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(job));
+
+    // When
+    BackfillJob result = service.retryBackfillJob(5L);
+
+    // Then
+    assertThat(result.getStatus()).isEqualTo(BackfillJobStatus.PENDING);
+    assertThat(result.getCheckpointEpoch()).isEqualTo(1800L);
+    assertThat(result.getErrorMessage()).isNull();
+    assertThat(result.getEndTime()).isNull();
+  }
+
+  @Test
+  void retryBackfillJob_shouldReject_whenNotFailed() {
+    // Given
+    when(backfillJobRepository.findById(5L)).thenReturn(Optional.of(runningJob()));
+
+    // When / Then
+    assertThatThrownBy(() -> service.retryBackfillJob(5L))
+        .isInstanceOf(BusinessException.class)
+        .hasMessageContaining("FAILED");
+  }
+
+  private void stubSource() {
+    when(queryParameterReplacer.replacePlaceholders(anyString(), any(), any(Integer.class))).thenReturn("SELECT 1");
+    ColumnarSignalBatch batch = ColumnarSignalBatch.builder(0).build();
+    when(sourceDbManager.streamChunks(eq("SRC"), eq("SELECT 1"), any(), anyInt(), any(), any()))
+        .thenAnswer(invocation -> {
+          Consumer<ColumnarSignalBatch> consumer = invocation.getArgument(5);
+          consumer.accept(batch);
+          return 10L;
+        });
+    lenient().when(dataTransformer.transformBatch(eq("L1"), eq(batch), any())).thenReturn(List.of());
+  }
+
+  private BackfillJob runningJob() {
+    return BackfillJob.builder()
+        .id(5L)
+        .loaderCode("L1")
+        .fromTimeEpoch(0L)
+        .toTimeEpoch(3600L)
+        .purgeStrategy(PurgeStrategy.PURGE_AND_RELOAD)
+        .status(BackfillJobStatus.RUNNING)
+        .startTime(Instant.now())
+        .requestedBy("admin")
+        .build();
+  }
+
+  private Loader loader() {
+    return Loader.builder()
+        .id(1L)
+        .loaderCode("L1")
+        .loaderSql("SELECT * FROM t")
+        .sourceDatabase(SourceDatabase.builder().dbCode("SRC").build())
+        .build();
+  }
+}
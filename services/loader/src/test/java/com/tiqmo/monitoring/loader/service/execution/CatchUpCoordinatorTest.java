@@ -0,0 +1,173 @@
+package com.tiqmo.monitoring.loader.service.execution;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.domain.loader.entity.SourceDatabase;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
+import com.tiqmo.monitoring.loader.infra.db.SourceConcurrencyLimiter;
+import com.tiqmo.monitoring.loader.service.locking.LoaderLock;
+import com.tiqmo.monitoring.loader.service.locking.LockManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CatchUpCoordinator.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CatchUpCoordinatorTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-02T00:00:30Z");
+
+  @Mock
+  private LockManager lockManager;
+
+  @Mock
+  private SourceConcurrencyLimiter concurrencyLimiter;
+
+  private ExecutionProperties properties;
+  private CatchUpCoordinator coordinator;
+
+  @BeforeEach
+  void setUp() {
+    properties = new ExecutionProperties();
+    properties.setCatchUpLagWindows(4);
+    properties.setCatchUpMaxWindows(16);
+    properties.setCatchUpThreadPoolSize(4);
+    coordinator = new CatchUpCoordinator(properties, lockManager, concurrencyLimiter);
+    lenient().when(concurrencyLimiter.currentLimit("SRC")).thenReturn(Integer.MAX_VALUE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    coordinator.shutdown();
+  }
+
+  @Test
+  void plan_shouldSplitLagIntoAlignedSubWindows() {
+    // Given - 6 hours of lag starting mid-period, 1h query period, 1min aggregation
+    Loader loader = loader(Instant.parse("2025-01-01T18:10:00Z"), 3600, 60);
+
+    // When
+    List<TimeWindow> windows = coordinator.plan(loader, NOW);
+
+    // Then - first window ends on the next hour boundary, the last before now
+    assertThat(windows).hasSize(6);
+    assertThat(windows.get(0)).isEqualTo(new TimeWindow(
+        Instant.parse("2025-01-01T18:10:00Z"), Instant.parse("2025-01-01T19:00:00Z")));
+    assertThat(windows.get(5).toTime()).isEqualTo(Instant.parse("2025-01-02T00:00:00Z"));
+    for (int i = 1; i < windows.size(); i++) {
+      assertThat(windows.get(i).fromTime()).isEqualTo(windows.get(i - 1).toTime());
+    }
+  }
+
+  @Test
+  void plan_shouldReturnEmpty_whenLagBelowThreshold() {
+    // Given - 3 hours of lag, threshold 4 query periods
+    Loader loader = loader(NOW.minusSeconds(3 * 3600), 3600, 60);
+
+    // When / Then
+    assertThat(coordinator.plan(loader, NOW)).isEmpty();
+  }
+
+  @Test
+  void plan_shouldReturnEmpty_whenDisabled() {
+    // Given
+    properties.setCatchUpEnabled(false);
+    Loader loader = loader(NOW.minusSeconds(48 * 3600), 3600, 60);
+
+    // When / Then
+    assertThat(coordinator.plan(loader, NOW)).isEmpty();
+  }
+
+  @Test
+  void plan_shouldCapNumberOfSubWindows() {
+    // Given - 48 hours of lag, at most 16 windows
+    Loader loader = loader(Instant.parse("2024-12-31T00:00:00Z"), 3600, 60);
+
+    // When
+    List<TimeWindow> windows = coordinator.plan(loader, NOW);
+
+    // Then
+    assertThat(windows).hasSize(16);
+    assertThat(windows.get(15).toTime()).isEqualTo(Instant.parse("2024-12-31T16:00:00Z"));
+  }
+
+  @Test
+  void execute_shouldRunAllWindows_andReleaseExtraLocks() {
+    // Given - two extra slots available
+    Loader loader = loader(Instant.parse("2025-01-01T18:00:00Z"), 3600, 60);
+    loader.setMaxParallelExecutions(3);
+    LoaderLock extra1 = LoaderLock.builder().lockId("extra-1").loaderCode("L1").build();
+    LoaderLock extra2 = LoaderLock.builder().lockId("extra-2").loaderCode("L1").build();
+    when(lockManager.tryAcquireLock(loader)).thenReturn(Optional.of(extra1), Optional.of(extra2));
+    List<TimeWindow> windows = coordinator.plan(loader, NOW);
+
+    // When
+    List<Instant> results = coordinator.execute(loader, windows, TimeWindow::toTime, result -> true);
+
+    // Then
+    assertThat(results).containsExactlyElementsOf(windows.stream().map(TimeWindow::toTime).toList());
+    verify(lockManager).registerExecution(eq("extra-1"), any());
+    verify(lockManager).registerExecution(eq("extra-2"), any());
+    verify(lockManager).releaseLock(extra1);
+    verify(lockManager).releaseLock(extra2);
+  }
+
+  @Test
+  void execute_shouldStopStartingWindows_afterFailure() {
+    // Given - single worker (no extra slots), third window fails
+    Loader loader = loader(Instant.parse("2025-01-01T18:00:00Z"), 3600, 60);
+    List<TimeWindow> windows = coordinator.plan(loader, NOW);
+    Instant failing = windows.get(2).toTime();
+
+    // When
+    List<Boolean> results = coordinator.execute(loader, windows,
+        window -> !window.toTime().equals(failing), Boolean::booleanValue);
+
+    // Then
+    assertThat(results).containsExactly(true, true, false, null, null, null);
+    verify(lockManager, never()).tryAcquireLock(any());
+    verify(lockManager, never()).releaseLock(any(LoaderLock.class));
+  }
+
+  @Test
+  void parallelism_shouldBeBoundedBySourceLimit() {
+    // Given
+    Loader loader = loader(NOW, 3600, 60);
+    loader.setMaxParallelExecutions(8);
+    when(concurrencyLimiter.currentLimit("SRC")).thenReturn(2);
+
+    // When / Then
+    assertThat(coordinator.parallelism(loader, 10)).isEqualTo(2);
+  }
+
+  private Loader loader(Instant lastLoadTimestamp, int maxQueryPeriodSeconds, int aggregationPeriodSeconds) {
+    return Loader.builder()
+        .id(1L)
+        .loaderCode("L1")
+        .maxQueryPeriodSeconds(maxQueryPeriodSeconds)
+        .aggregationPeriodSeconds(aggregationPeriodSeconds)
+        .maxParallelExecutions(1)
+        .sourceDatabase(SourceDatabase.builder().dbCode("SRC").build())
+        .lastLoadTimestamp(lastLoadTimestamp)
+        .build();
+  }
+}
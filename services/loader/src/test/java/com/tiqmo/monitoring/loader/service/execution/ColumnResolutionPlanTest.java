@@ -0,0 +1,92 @@
+package com.tiqmo.monitoring.loader.service.execution;
+
+import com.tiqmo.monitoring.loader.service.signals.SegmentCombinationService.SegmentValues;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ColumnResolutionPlan.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class ColumnResolutionPlanTest {
+
+  @Test
+  void readInto_shouldReadTypedColumnsByPosition_fromResultSet() throws Exception {
+    // Given
+    String sql = "SELECT TIMESTAMP WITH TIME ZONE '2025-01-01 10:00:00+00' AS \"TS\", "
+        + "'USA' AS seg1, 7 AS segment_2, CAST(42 AS BIGINT) AS cnt, "
+        + "CAST(1.5 AS DOUBLE PRECISION) AS max_val, CAST(2.25 AS DECIMAL(10, 2)) AS total, "
+        + "CAST(NULL AS DOUBLE PRECISION) AS min_val";
+
+    try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:columnplan;MODE=PostgreSQL", "sa", "");
+         Statement st = conn.createStatement();
+         ResultSet rs = st.executeQuery(sql)) {
+
+      ColumnResolutionPlan plan = ColumnResolutionPlan.compile(rs.getMetaData());
+
+      // When
+      assertThat(rs.next()).isTrue();
+      ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(1);
+      plan.readInto(rs, 0, builder);
+      ColumnarSignalBatch batch = builder.build();
+
+      // Then
+      assertThat(batch.size()).isEqualTo(1);
+      assertThat(batch.loadTimeStamp(0)).isEqualTo(Instant.parse("2025-01-01T10:00:00Z"));
+      assertThat(batch.segments(0)).isEqualTo(new SegmentValues("USA", "7", null, null, null, null, null, null, null, null));
+      assertThat(batch.recCount(0)).isEqualTo(42L);
+      assertThat(batch.maxVal(0)).isEqualTo(1.5);
+      assertThat(batch.minVal(0)).isNull();
+      assertThat(batch.avgVal(0)).isNull();
+      assertThat(batch.sumVal(0)).isEqualTo(2.25);
+    }
+  }
+
+  @Test
+  void compile_shouldPreferEarlierNameVariation_andExactCaseMatch() {
+    // Given - "timestamp" outranks "ts" and "max_val" outranks "max", regardless of column order or case
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("ts", 1L);
+    row.put("TIMESTAMP", 1706353200L);
+    row.put("MAX_VAL", 9.0);
+    row.put("max", 1.0);
+    row.put("count", "12");
+
+    ColumnResolutionPlan plan = ColumnResolutionPlan.compile(row.keySet().toArray(String[]::new));
+
+    // When
+    ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(1);
+    plan.readInto(row, 0, builder);
+    ColumnarSignalBatch parsed = builder.build();
+
+    // Then
+    assertThat(parsed.loadTimeStamp(0)).isEqualTo(Instant.ofEpochSecond(1706353200L));
+    assertThat(parsed.maxVal(0)).isEqualTo(9.0);
+    assertThat(parsed.recCount(0)).isEqualTo(12L);
+    assertThat(plan.matches(row)).isTrue();
+    assertThat(plan.matches(Map.of("ts", 1L))).isFalse();
+  }
+
+  @Test
+  void readInto_shouldFail_whenTimestampMissing() {
+    // Given
+    ColumnResolutionPlan plan = ColumnResolutionPlan.compile("segment_1");
+
+    // When / Then
+    assertThatThrownBy(() -> plan.readInto(Map.of("segment_1", "SEG_001"), 3, ColumnarSignalBatch.builder(1)))
+        .isInstanceOf(DataTransformer.TransformationException.class)
+        .hasMessageContaining("Missing required field 'timestamp' in row 3");
+  }
+}
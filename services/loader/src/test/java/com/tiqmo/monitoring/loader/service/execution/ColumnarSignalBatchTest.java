@@ -0,0 +1,101 @@
+package com.tiqmo.monitoring.loader.service.execution;
+
+import com.tiqmo.monitoring.loader.service.signals.SegmentCombinationService.SegmentValues;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ColumnarSignalBatch.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class ColumnarSignalBatchTest {
+
+  @Test
+  void build_shouldDictionaryEncodeSegments_andKeepNulls() {
+    // Given
+    Instant ts = Instant.parse("2025-01-01T10:00:00.123456Z");
+    ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(4);
+
+    // When
+    builder.startRow(ts).segment(0, "USA").segment(2, "WEB").recCount(5).metric(ColumnarSignalBatch.MAX_VAL, 1.5);
+    builder.startRow(ts).segment(0, "UAE");
+    builder.startRow(ts).segment(0, "USA").segment(2, null).metric(ColumnarSignalBatch.SUM_VAL, 0.0);
+    ColumnarSignalBatch batch = builder.build();
+
+    // Then
+    assertThat(batch.size()).isEqualTo(3);
+    assertThat(batch.loadTimeStamp(0)).isEqualTo(ts);
+    assertThat(batch.segments(0)).isEqualTo(new SegmentValues("USA", null, "WEB", null, null, null, null, null, null, null));
+    assertThat(batch.segments(1)).isEqualTo(new SegmentValues("UAE", null, null, null, null, null, null, null, null, null));
+    assertThat(batch.segmentCardinality(0)).isEqualTo(2);
+    assertThat(batch.segmentCardinality(1)).isZero();
+    assertThat(batch.segment(0, 0)).isSameAs(batch.segment(0, 2));
+
+    assertThat(batch.recCount(0)).isEqualTo(5L);
+    assertThat(batch.recCount(1)).isNull();
+    assertThat(batch.maxVal(0)).isEqualTo(1.5);
+    assertThat(batch.maxVal(1)).isNull();
+    assertThat(batch.sumVal(2)).isEqualTo(0.0);
+  }
+
+  @Test
+  void builder_shouldGrowBeyondInitialCapacity() {
+    // Given
+    ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(1);
+    Instant base = Instant.parse("2025-01-01T00:00:00Z");
+
+    // When - first segment value appears after the initial arrays were sized
+    for (int i = 0; i < 100; i++) {
+      builder.startRow(base.plusSeconds(i)).metric(ColumnarSignalBatch.AVG_VAL, i);
+      if (i >= 50) {
+        builder.segment(9, "S" + (i % 3));
+      }
+    }
+    ColumnarSignalBatch batch = builder.build();
+
+    // Then
+    assertThat(batch.size()).isEqualTo(100);
+    assertThat(batch.loadTimeStamp(99)).isEqualTo(base.plusSeconds(99));
+    assertThat(batch.avgVal(99)).isEqualTo(99.0);
+    assertThat(batch.segment(9, 10)).isNull();
+    assertThat(batch.segment(9, 99)).isEqualTo("S0");
+    assertThat(batch.segmentCardinality(9)).isEqualTo(3);
+  }
+
+  @Test
+  void build_shouldResetBuilder_forNextChunk() {
+    // Given
+    ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(2);
+    builder.startRow(Instant.EPOCH).segment(0, "A");
+    ColumnarSignalBatch first = builder.build();
+
+    // When
+    builder.startRow(Instant.EPOCH.plusSeconds(1)).segment(0, "B");
+    ColumnarSignalBatch second = builder.build();
+
+    // Then - first batch is not affected by rows added afterwards
+    assertThat(builder.size()).isZero();
+    assertThat(first.size()).isEqualTo(1);
+    assertThat(first.segment(0, 0)).isEqualTo("A");
+    assertThat(second.segment(0, 0)).isEqualTo("B");
+    assertThat(second.segmentCardinality(0)).isEqualTo(1);
+  }
+
+  @Test
+  void builder_shouldRejectValuesBeforeFirstRow() {
+    // Given
+    ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(2);
+
+    // When / Then
+    assertThatThrownBy(() -> builder.metric(ColumnarSignalBatch.MIN_VAL, 1.0))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> builder.build().loadTimeStamp(0))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
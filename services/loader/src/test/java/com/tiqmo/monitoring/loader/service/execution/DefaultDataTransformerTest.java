@@ -9,6 +9,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,11 +36,13 @@ class DefaultDataTransformerTest {
 
   @BeforeEach
   void setUp() {
-    // Mock segment combination service to return segment code 1 for any combination (including nulls)
-    when(segmentCombinationService.getOrCreateSegmentCode(
-        any(), any(), any(), any(), any(), any(),
-        any(), any(), any(), any(), any()
-    )).thenReturn(1L);
+    // Mock segment combination service to return segment code 1 for every combination (including nulls)
+    when(segmentCombinationService.resolveSegmentCodes(any(), any())).thenAnswer(invocation -> {
+      Collection<SegmentCombinationService.SegmentValues> values = invocation.getArgument(1);
+      Map<SegmentCombinationService.SegmentValues, Long> codes = new HashMap<>();
+      values.forEach(v -> codes.put(v, 1L));
+      return codes;
+    });
 
     transformer = new DefaultDataTransformer(segmentCombinationService);
   }
@@ -3,17 +3,25 @@ package com.tiqmo.monitoring.loader.service.execution;
 import com.tiqmo.monitoring.loader.domain.loader.entity.*;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoadHistoryRepository;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
 import com.tiqmo.monitoring.loader.infra.ReplicaNameProvider;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
+import com.tiqmo.monitoring.loader.infra.config.SignalsHotCacheProperties;
+import com.tiqmo.monitoring.loader.service.signals.SignalsHotCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,9 +42,6 @@ class DefaultLoadExecutorServiceTest {
   @Mock
   private LoadHistoryRepository loadHistoryRepository;
 
-  @Mock
-  private com.tiqmo.monitoring.loader.domain.signals.repo.SignalsHistoryRepository signalsHistoryRepository;
-
   @Mock
   private ReplicaNameProvider replicaNameProvider;
 
@@ -58,6 +63,27 @@ class DefaultLoadExecutorServiceTest {
   @Mock
   private com.tiqmo.monitoring.loader.service.config.ConfigService configService;
 
+  @Mock
+  private com.tiqmo.monitoring.loader.service.signals.SignalsBulkWriter signalsBulkWriter;
+
+  @Mock
+  private com.tiqmo.monitoring.loader.service.signals.SignalsPurger signalsPurger;
+
+  @Mock
+  private com.tiqmo.monitoring.loader.service.signals.SignalsRollupService signalsRollupService;
+
+  @Mock
+  private CatchUpCoordinator catchUpCoordinator;
+
+  @Mock
+  private com.tiqmo.monitoring.loader.service.scheduler.GapScannerService gapScannerService;
+
+  @Spy
+  private ExecutionProperties executionProperties = new ExecutionProperties();
+
+  @Spy
+  private SignalsHotCache signalsHotCache = new SignalsHotCache(new SignalsHotCacheProperties(), new SimpleMeterRegistry());
+
   @InjectMocks
   private DefaultLoadExecutorService executorService;
 
@@ -110,13 +136,13 @@ class DefaultLoadExecutorServiceTest {
         Instant.now().minusSeconds(3600),
         Instant.now()
     );
-    when(timeWindowCalculator.calculateWindow(any(Loader.class))).thenReturn(testWindow);
+    lenient().when(timeWindowCalculator.calculateWindow(any(Loader.class))).thenReturn(testWindow);
     when(queryParameterReplacer.replacePlaceholders(anyString(), any(TimeWindow.class), any(Integer.class)))
         .thenReturn("SELECT * FROM test WHERE ts >= 123 AND ts < 456");
-    when(sourceDbManager.runQuery(anyString(), anyString())).thenReturn(java.util.List.of());
-    when(dataTransformer.transform(anyString(), any(LoaderQueryResult.class), any(Integer.class)))
+    when(sourceDbManager.streamChunks(anyString(), anyString(), any(), anyInt(), any(), any())).thenReturn(0L);
+    lenient().when(dataTransformer.transformBatch(anyString(), any(), any(Integer.class)))
         .thenReturn(java.util.List.of());
-    when(signalsHistoryRepository.saveAll(any())).thenReturn(java.util.List.of());
+    lenient().when(signalsBulkWriter.writeUnique(any(), anyBoolean())).thenReturn(0L);
     when(configService.getConfigAsInt(anyString(), anyString(), anyInt())).thenReturn(10);
 
     // Mock metrics (no-op for unit tests)
@@ -413,4 +439,226 @@ class DefaultLoadExecutorServiceTest {
 
     assertEquals("custom-replica-123", captor.getValue().getReplicaName());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testExecuteLoader_StreamsChunks_AccumulatesCountsAndActualRange() {
+    // Arrange
+    testLoader.setPurgeStrategy(PurgeStrategy.SKIP_DUPLICATES);
+    testLoader.setSourceTimezoneOffsetHours(0);
+
+    Instant t1 = Instant.parse("2025-01-01T00:00:00Z");
+    Instant t2 = Instant.parse("2025-01-01T00:05:00Z");
+    Instant t3 = Instant.parse("2025-01-01T00:10:00Z");
+
+    when(sourceDbManager.streamChunks(anyString(), anyString(), any(), anyInt(), any(), any()))
+        .thenAnswer(invocation -> {
+          Consumer<ColumnarSignalBatch> consumer = invocation.getArgument(5);
+          consumer.accept(batch(t2, t3));
+          consumer.accept(batch(t1));
+          return 3L;
+        });
+    when(dataTransformer.transformBatch(anyString(), any(), any(Integer.class)))
+        .thenReturn(List.of(signal(t2), signal(t3)), List.of(signal(t1)));
+    when(signalsBulkWriter.writeUnique(any(), eq(true))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
+
+    // Act
+    executorService.executeLoader(testLoader);
+
+    // Assert
+    verify(signalsBulkWriter, times(2)).writeUnique(any(), eq(true));
+    verify(signalsPurger, never()).hasSignals(anyString(), any(), any());
+
+    ArgumentCaptor<LoadHistory> captor = ArgumentCaptor.forClass(LoadHistory.class);
+    verify(loadHistoryRepository, atLeastOnce()).save(captor.capture());
+    LoadHistory finalHistory = captor.getAllValues().get(captor.getAllValues().size() - 1);
+
+    assertEquals(LoadExecutionStatus.SUCCESS, finalHistory.getStatus());
+    assertEquals(3L, finalHistory.getRecordsLoaded());
+    assertEquals(3L, finalHistory.getRecordsIngested());
+    assertEquals(t1, finalHistory.getActualFromTime());
+    assertEquals(t3, finalHistory.getActualToTime());
+  }
+
+  @Test
+  void testExecuteLoader_PurgeAndReload_PurgesQueryWindow() {
+    // Arrange
+    TimeWindow window = new TimeWindow(Instant.parse("2025-01-01T00:00:00Z"), Instant.parse("2025-01-01T01:00:00Z"));
+    testLoader.setPurgeStrategy(PurgeStrategy.PURGE_AND_RELOAD);
+    testLoader.setSourceTimezoneOffsetHours(0);
+    when(timeWindowCalculator.calculateWindow(any(Loader.class))).thenReturn(window);
+
+    // Act
+    executorService.executeLoader(testLoader);
+
+    // Assert
+    verify(signalsPurger).purge("TEST_LOADER", window.fromTime(), window.toTime());
+    verify(signalsPurger, never()).hasSignals(anyString(), any(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testExecuteLoader_AppendsIngestedSignalsToHotWindow() {
+    // Arrange - the loader has a hot window (it was queried before)
+    Instant from = Instant.parse("2025-01-01T00:00:00Z");
+    Instant to = Instant.parse("2025-01-01T00:15:00Z");
+    when(timeWindowCalculator.calculateWindow(any(Loader.class))).thenReturn(new TimeWindow(from, to));
+    testLoader.setPurgeStrategy(PurgeStrategy.SKIP_DUPLICATES);
+    testLoader.setSourceTimezoneOffsetHours(0);
+    assertNull(signalsHotCache.read("TEST_LOADER", null, from, to));
+
+    Instant t1 = from.plusSeconds(60);
+    Instant t2 = from.plusSeconds(300);
+    when(sourceDbManager.streamChunks(anyString(), anyString(), any(), anyInt(), any(), any()))
+        .thenAnswer(invocation -> {
+          Consumer<ColumnarSignalBatch> consumer = invocation.getArgument(5);
+          consumer.accept(batch(t2));
+          consumer.accept(batch(t1));
+          return 2L;
+        });
+    when(dataTransformer.transformBatch(anyString(), any(), any(Integer.class)))
+        .thenReturn(List.of(signal(t2)), List.of(signal(t1)));
+    when(signalsBulkWriter.writeUnique(any(), eq(true))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
+
+    // Act
+    executorService.executeLoader(testLoader);
+
+    // Assert - the load window is now read from memory, in time order
+    SignalsHotCache.HotRead read = signalsHotCache.read("TEST_LOADER", null, from, to.minusSeconds(1));
+    assertNotNull(read);
+    assertTrue(read.covers(from, to.minusSeconds(1)));
+    assertEquals(List.of(t1, t2), read.signals().stream().map(SignalsHistory::getLoadTimeStamp).toList());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testExecuteLoader_KeyRepeatedAcrossChunks_WritesItOnce() {
+    // Arrange - the source returns t1 in both stream chunks
+    testLoader.setPurgeStrategy(PurgeStrategy.PURGE_AND_RELOAD);
+    testLoader.setSourceTimezoneOffsetHours(0);
+
+    Instant t1 = Instant.parse("2025-01-01T00:00:00Z");
+    Instant t2 = Instant.parse("2025-01-01T00:05:00Z");
+    SignalsHistory first = signal(t1);
+    when(sourceDbManager.streamChunks(anyString(), anyString(), any(), anyInt(), any(), any()))
+        .thenAnswer(invocation -> {
+          Consumer<ColumnarSignalBatch> consumer = invocation.getArgument(5);
+          consumer.accept(batch(t1));
+          consumer.accept(batch(t2, t1));
+          return 3L;
+        });
+    when(dataTransformer.transformBatch(anyString(), any(), any(Integer.class)))
+        .thenReturn(List.of(first), List.of(signal(t2), signal(t1)));
+    when(signalsBulkWriter.writeUnique(any(), eq(false))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
+
+    // Act
+    executorService.executeLoader(testLoader);
+
+    // Assert - the second chunk is written without the repeated key
+    ArgumentCaptor<List<SignalsHistory>> written = ArgumentCaptor.forClass(List.class);
+    verify(signalsBulkWriter, times(2)).writeUnique(written.capture(), eq(false));
+    assertEquals(List.of(first), written.getAllValues().get(0));
+    assertEquals(List.of(t2), written.getAllValues().get(1).stream().map(SignalsHistory::getLoadTimeStamp).toList());
+
+    ArgumentCaptor<LoadHistory> captor = ArgumentCaptor.forClass(LoadHistory.class);
+    verify(loadHistoryRepository, atLeastOnce()).save(captor.capture());
+    LoadHistory finalHistory = captor.getAllValues().get(captor.getAllValues().size() - 1);
+    assertEquals(LoadExecutionStatus.SUCCESS, finalHistory.getStatus());
+    assertEquals(3L, finalHistory.getRecordsLoaded());
+    assertEquals(2L, finalHistory.getRecordsIngested());
+  }
+
+  @Test
+  void testExecuteLoader_Failure_DropsHotWindowOfTheWindow() {
+    // Arrange
+    testLoader.setSourceTimezoneOffsetHours(0);
+    when(sourceDbManager.streamChunks(anyString(), anyString(), any(), anyInt(), any(), any()))
+        .thenThrow(new RuntimeException("Source unavailable"));
+
+    // Act
+    executorService.executeLoader(testLoader);
+
+    // Assert
+    verify(signalsHotCache).invalidate(eq("TEST_LOADER"), any(Instant.class), any(Instant.class));
+    verify(signalsHotCache, never()).commit(any(), any(), any(), anyLong());
+  }
+
+  private ColumnarSignalBatch batch(Instant... loadTimeStamps) {
+    ColumnarSignalBatch.Builder builder = ColumnarSignalBatch.builder(loadTimeStamps.length);
+    for (Instant loadTimeStamp : loadTimeStamps) {
+      builder.startRow(loadTimeStamp);
+    }
+    return builder.build();
+  }
+
+  private SignalsHistory signal(Instant loadTimeStamp) {
+    SignalsHistory signal = new SignalsHistory();
+    signal.setLoaderCode("TEST_LOADER");
+    signal.setLoadTimeStamp(loadTimeStamp);
+    return signal;
+  }
+
+  @Test
+  void testExecuteLoader_CatchUp_AdvancesAcrossAllSubWindows() {
+    // Given - three sub-windows planned, run sequentially by the coordinator
+    Instant start = Instant.parse("2025-01-01T00:00:00Z");
+    List<TimeWindow> windows = catchUpWindows(start, 3);
+    when(catchUpCoordinator.plan(eq(testLoader), any(Instant.class))).thenReturn(windows);
+    stubCatchUpExecution();
+
+    // When
+    LoadHistory result = executorService.executeLoader(testLoader);
+
+    // Then
+    assertNotNull(result);
+    assertEquals(LoadExecutionStatus.SUCCESS, result.getStatus());
+    assertEquals(windows.get(2).toTime(), testLoader.getLastLoadTimestamp());
+    assertEquals(LoadStatus.IDLE, testLoader.getLoadStatus());
+    verify(timeWindowCalculator, never()).calculateWindow(any(Loader.class));
+    verify(loaderMetrics).recordExecution("TEST_LOADER", "SUCCESS");
+    verify(loaderMetrics).decrementRunningLoaders();
+    verify(signalsPurger, never()).purgeLoad(any(), any(), any(), any());
+    verify(signalsRollupService).refresh("TEST_LOADER", windows.get(0).fromTime(), windows.get(2).toTime());
+  }
+
+  @Test
+  void testExecuteLoader_CatchUp_StopsAtFailedSubWindow() {
+    // Given - the second of three sub-windows fails
+    Instant start = Instant.parse("2025-01-01T00:00:00Z");
+    List<TimeWindow> windows = catchUpWindows(start, 3);
+    when(catchUpCoordinator.plan(eq(testLoader), any(Instant.class))).thenReturn(windows);
+    stubCatchUpExecution();
+    doThrow(new RuntimeException("Source timeout"))
+        .when(queryParameterReplacer).replacePlaceholders(anyString(), eq(windows.get(1)), any(Integer.class));
+
+    // When
+    LoadHistory result = executorService.executeLoader(testLoader);
+
+    // Then - advanced across the first window only, the third is rolled back
+    assertEquals(LoadExecutionStatus.FAILED, result.getStatus());
+    assertEquals(windows.get(1).fromTime(), result.getQueryFromTime());
+    assertEquals(windows.get(0).toTime(), testLoader.getLastLoadTimestamp());
+    assertEquals(LoadStatus.FAILED, testLoader.getLoadStatus());
+    assertNotNull(testLoader.getFailedSince());
+    verify(signalsPurger).purgeLoad(any(), any(), eq(windows.get(2).fromTime()), eq(windows.get(2).toTime()));
+    verify(signalsRollupService).refresh("TEST_LOADER", windows.get(0).fromTime(), windows.get(0).toTime());
+    verify(loaderMetrics).recordExecution("TEST_LOADER", "FAILED");
+  }
+
+  private List<TimeWindow> catchUpWindows(Instant start, int count) {
+    List<TimeWindow> windows = new java.util.ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      windows.add(new TimeWindow(start.plusSeconds(3600L * i), start.plusSeconds(3600L * (i + 1))));
+    }
+    return windows;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stubCatchUpExecution() {
+    when(catchUpCoordinator.execute(eq(testLoader), anyList(), any(), any())).thenAnswer(invocation -> {
+      List<TimeWindow> windows = invocation.getArgument(1);
+      java.util.function.Function<TimeWindow, Object> runner = invocation.getArgument(2);
+      return windows.stream().map(runner).toList();
+    });
+  }
 }
@@ -4,19 +4,28 @@ import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
 import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderExecutionLock;
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderExecutionLockRepository;
 import com.tiqmo.monitoring.loader.infra.ReplicaNameProvider;
+import com.tiqmo.monitoring.loader.infra.config.LockingProperties;
+import com.tiqmo.monitoring.loader.infra.db.SourceQueryRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +44,12 @@ class DefaultLockManagerTest {
   @Mock
   private ReplicaNameProvider replicaNameProvider;
 
+  @Mock
+  private SourceQueryRegistry sourceQueryRegistry;
+
+  @Spy
+  private LockingProperties lockingProperties = new LockingProperties();
+
   @InjectMocks
   private DefaultLockManager lockManager;
 
@@ -48,14 +63,14 @@ class DefaultLockManagerTest {
         .maxParallelExecutions(2)  // Allow 2 parallel executions
         .build();
 
-    when(replicaNameProvider.getReplicaName()).thenReturn("test-replica");
+    lenient().when(replicaNameProvider.getReplicaName()).thenReturn("test-replica");
   }
 
   @Test
   void testTryAcquireLock_Success() {
     // Arrange
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false)).thenReturn(0L);
-    when(lockRepository.countByReleased(false)).thenReturn(50L);  // Under global limit
+    when(lockRepository.insertLease(any(), eq("TEST_LOADER"), eq("test-replica"), eq("TEST_LOADER#0"),
+        any(Instant.class), any(Instant.class), eq(100))).thenReturn(1);
 
     // Act
     Optional<LoaderLock> result = lockManager.tryAcquireLock(testLoader);
@@ -66,58 +81,81 @@ class DefaultLockManagerTest {
     assertEquals("test-replica", result.get().getReplicaName());
     assertNotNull(result.get().getLockId());
     assertNotNull(result.get().getAcquiredAt());
+    assertEquals(result.get().getAcquiredAt().plusSeconds(30), result.get().getLeaseExpiresAt());
 
-    verify(lockRepository).save(any(LoaderExecutionLock.class));
+    verify(lockRepository, times(1)).insertLease(any(), any(), any(), any(), any(), any(), anyInt());
+    verify(lockRepository, never()).releaseExpiredLeases(any(), any());
   }
 
   @Test
-  void testTryAcquireLock_CreatesLockEntity() {
-    // Arrange
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false)).thenReturn(0L);
-    when(lockRepository.countByReleased(false)).thenReturn(50L);
+  void testTryAcquireLock_ClaimsNextFreeSlot() {
+    // Arrange - slot 0 held, slot 1 free
+    when(lockRepository.insertLease(any(), any(), any(), eq("TEST_LOADER#0"), any(), any(), anyInt()))
+        .thenReturn(0);
+    when(lockRepository.insertLease(any(), any(), any(), eq("TEST_LOADER#1"), any(), any(), anyInt()))
+        .thenReturn(1);
 
     // Act
-    lockManager.tryAcquireLock(testLoader);
+    Optional<LoaderLock> result = lockManager.tryAcquireLock(testLoader);
 
     // Assert
-    ArgumentCaptor<LoaderExecutionLock> captor = ArgumentCaptor.forClass(LoaderExecutionLock.class);
-    verify(lockRepository).save(captor.capture());
-
-    LoaderExecutionLock savedLock = captor.getValue();
-    assertEquals("TEST_LOADER", savedLock.getLoaderCode());
-    assertEquals("test-replica", savedLock.getReplicaName());
-    assertFalse(savedLock.getReleased());
-    assertNotNull(savedLock.getLockId());
-    assertNotNull(savedLock.getAcquiredAt());
+    assertTrue(result.isPresent(), "Lock should be acquired on the second slot");
+    verify(lockRepository, never()).releaseExpiredLeases(any(), any());
   }
 
   @Test
   void testTryAcquireLock_PerLoaderLimitReached() {
-    // Arrange
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false))
-        .thenReturn(2L);  // Already at max (2)
-    when(lockRepository.countByReleased(false)).thenReturn(50L);
+    // Arrange - both slots held, no expired lease
+    when(lockRepository.insertLease(any(), any(), any(), any(), any(), any(), anyInt())).thenReturn(0);
+    when(lockRepository.releaseExpiredLeases(eq("TEST_LOADER"), any(Instant.class))).thenReturn(0);
 
     // Act
     Optional<LoaderLock> result = lockManager.tryAcquireLock(testLoader);
 
     // Assert
     assertFalse(result.isPresent(), "Lock should not be acquired (per-loader limit reached)");
-    verify(lockRepository, never()).save(any());
+    verify(lockRepository, times(2)).insertLease(any(), any(), any(), any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void testTryAcquireLock_TakesOverExpiredLease() {
+    // Arrange - both slots held; one holder stopped renewing
+    when(lockRepository.insertLease(any(), any(), any(), any(), any(), any(), anyInt()))
+        .thenReturn(0, 0, 1);
+    when(lockRepository.releaseExpiredLeases(eq("TEST_LOADER"), any(Instant.class))).thenReturn(1);
+
+    // Act
+    Optional<LoaderLock> result = lockManager.tryAcquireLock(testLoader);
+
+    // Assert
+    assertTrue(result.isPresent(), "Expired lease should be taken over");
+    verify(lockRepository).releaseExpiredLeases(eq("TEST_LOADER"), any(Instant.class));
   }
 
   @Test
   void testTryAcquireLock_GlobalLimitReached() {
-    // Arrange
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false)).thenReturn(0L);
-    when(lockRepository.countByReleased(false)).thenReturn(100L);  // At global limit
+    // Arrange - insert guarded by the global limit affects no row
+    lockingProperties.setGlobalLimit(10);
+    when(lockRepository.insertLease(any(), any(), any(), any(), any(), any(), eq(10))).thenReturn(0);
 
     // Act
     Optional<LoaderLock> result = lockManager.tryAcquireLock(testLoader);
 
     // Assert
     assertFalse(result.isPresent(), "Lock should not be acquired (global limit reached)");
-    verify(lockRepository, never()).save(any());
+  }
+
+  @Test
+  void testTryAcquireLock_DefaultsToSingleSlot() {
+    // Arrange
+    testLoader.setMaxParallelExecutions(null);
+
+    // Act
+    lockManager.tryAcquireLock(testLoader);
+
+    // Assert
+    verify(lockRepository).insertLease(any(), any(), any(), eq("TEST_LOADER#0"), any(), any(), anyInt());
+    verify(lockRepository, never()).insertLease(any(), any(), any(), eq("TEST_LOADER#1"), any(), any(), anyInt());
   }
 
   @Test
@@ -198,6 +236,7 @@ class DefaultLockManagerTest {
   @Test
   void testCleanupStaleLocks_Success() {
     // Arrange
+    when(lockRepository.findExpired(any(Instant.class), any(Instant.class))).thenReturn(List.of(staleLock()));
     when(lockRepository.cleanupStaleLocks(any(Instant.class), any(Instant.class)))
         .thenReturn(5);
 
@@ -212,18 +251,21 @@ class DefaultLockManagerTest {
   @Test
   void testCleanupStaleLocks_NoneFound() {
     // Arrange
-    when(lockRepository.cleanupStaleLocks(any(Instant.class), any(Instant.class)))
-        .thenReturn(0);
+    when(lockRepository.findExpired(any(Instant.class), any(Instant.class))).thenReturn(List.of());
 
     // Act
     int cleaned = lockManager.cleanupStaleLocks();
 
     // Assert
     assertEquals(0, cleaned, "Should return 0 when no stale locks found");
+    verify(lockRepository, never()).cleanupStaleLocks(any(), any());
   }
 
   @Test
   void testCleanupStaleLocks_UsesCorrectThreshold() {
+    // Arrange
+    when(lockRepository.findExpired(any(Instant.class), any(Instant.class))).thenReturn(List.of(staleLock()));
+
     // Act
     lockManager.cleanupStaleLocks();
 
@@ -271,8 +313,7 @@ class DefaultLockManagerTest {
   @Test
   void testAcquireReleaseCycle() {
     // Arrange
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false)).thenReturn(0L);
-    when(lockRepository.countByReleased(false)).thenReturn(50L);
+    when(lockRepository.insertLease(any(), any(), any(), any(), any(), any(), anyInt())).thenReturn(1);
     when(lockRepository.releaseLock(any(String.class), any(Instant.class))).thenReturn(1);
 
     // Act
@@ -282,16 +323,16 @@ class DefaultLockManagerTest {
     lockManager.releaseLock(lock.get());
 
     // Assert
-    verify(lockRepository).save(any(LoaderExecutionLock.class));
+    verify(lockRepository).insertLease(any(), any(), any(), any(), any(), any(), anyInt());
     verify(lockRepository).releaseLock(any(String.class), any(Instant.class));
   }
 
   @Test
   void testMultipleAcquire_UpToLimit() {
-    // Arrange
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false))
-        .thenReturn(0L, 1L, 2L);  // Sequential counts
-    when(lockRepository.countByReleased(false)).thenReturn(50L);
+    // Arrange - database accepts each slot once
+    Set<String> heldSlots = new HashSet<>();
+    when(lockRepository.insertLease(any(), any(), any(), any(), any(), any(), anyInt()))
+        .thenAnswer(invocation -> heldSlots.add(invocation.getArgument(3)) ? 1 : 0);
 
     // Act
     Optional<LoaderLock> lock1 = lockManager.tryAcquireLock(testLoader);
@@ -302,15 +343,13 @@ class DefaultLockManagerTest {
     assertTrue(lock1.isPresent(), "First lock should succeed");
     assertTrue(lock2.isPresent(), "Second lock should succeed");
     assertFalse(lock3.isPresent(), "Third lock should fail (limit=2)");
-
-    verify(lockRepository, times(2)).save(any(LoaderExecutionLock.class));
+    assertEquals(Set.of("TEST_LOADER#0", "TEST_LOADER#1"), heldSlots);
   }
 
   @Test
   void testLockIdUniqueness() {
     // Arrange
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false)).thenReturn(0L);
-    when(lockRepository.countByReleased(false)).thenReturn(50L);
+    when(lockRepository.insertLease(any(), any(), any(), any(), any(), any(), anyInt())).thenReturn(1);
 
     // Act
     Optional<LoaderLock> lock1 = lockManager.tryAcquireLock(testLoader);
@@ -324,38 +363,72 @@ class DefaultLockManagerTest {
   }
 
   @Test
-  void testGlobalLimit_EnforcedBeforeSave() {
+  void testReplicaName_RecordedInLock() {
     // Arrange
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false)).thenReturn(0L);
-    when(lockRepository.countByReleased(false)).thenReturn(99L, 100L);
+    when(replicaNameProvider.getReplicaName()).thenReturn("pod-123");
+    when(lockRepository.insertLease(any(), any(), eq("pod-123"), any(), any(), any(), anyInt())).thenReturn(1);
 
     // Act
-    Optional<LoaderLock> lock1 = lockManager.tryAcquireLock(testLoader);
-    Optional<LoaderLock> lock2 = lockManager.tryAcquireLock(testLoader);
+    Optional<LoaderLock> lock = lockManager.tryAcquireLock(testLoader);
 
     // Assert
-    assertTrue(lock1.isPresent(), "Should succeed when global count is 99");
-    assertFalse(lock2.isPresent(), "Should fail when global count is 100");
+    assertTrue(lock.isPresent());
+    assertEquals("pod-123", lock.get().getReplicaName());
+  }
+
+  @Test
+  void testRenewLeases_NoActiveExecutions() {
+    // Act
+    int renewed = lockManager.renewLeases();
 
-    verify(lockRepository, times(1)).save(any(LoaderExecutionLock.class));
+    // Assert
+    assertEquals(0, renewed);
+    verify(lockRepository, never()).renewLeases(any(), any(), any());
   }
 
   @Test
-  void testReplicaName_RecordedInLock() {
+  void testRenewLeases_ExtendsLeasesOfRegisteredExecutions() {
     // Arrange
-    when(replicaNameProvider.getReplicaName()).thenReturn("pod-123");
-    when(lockRepository.countByLoaderCodeAndReleased("TEST_LOADER", false)).thenReturn(0L);
-    when(lockRepository.countByReleased(false)).thenReturn(50L);
+    Future<?> future = mock(Future.class);
+    lockManager.registerExecution("lock-1", future);
+    when(lockRepository.renewLeases(eq(Set.of("lock-1")), any(Instant.class), any(Instant.class))).thenReturn(1);
 
     // Act
-    Optional<LoaderLock> lock = lockManager.tryAcquireLock(testLoader);
+    int renewed = lockManager.renewLeases();
 
     // Assert
-    assertTrue(lock.isPresent());
-    assertEquals("pod-123", lock.get().getReplicaName());
+    assertEquals(1, renewed);
+    verify(lockRepository, never()).findByLockIdIn(any());
+    verify(future, never()).cancel(anyBoolean());
+  }
+
+  @Test
+  void testRenewLeases_CancelsExecution_WhenLeaseLost() {
+    // Arrange
+    Future<?> future = mock(Future.class);
+    lockManager.registerExecution("lock-1", future);
+    when(lockRepository.renewLeases(any(), any(Instant.class), any(Instant.class))).thenReturn(0);
+    when(lockRepository.findByLockIdIn(any())).thenReturn(List.of(LoaderExecutionLock.builder()
+        .lockId("lock-1")
+        .loaderCode("TEST_LOADER")
+        .released(true)
+        .build()));
 
-    ArgumentCaptor<LoaderExecutionLock> captor = ArgumentCaptor.forClass(LoaderExecutionLock.class);
-    verify(lockRepository).save(captor.capture());
-    assertEquals("pod-123", captor.getValue().getReplicaName());
+    // Act
+    int renewed = lockManager.renewLeases();
+
+    // Assert
+    assertEquals(0, renewed);
+    verify(sourceQueryRegistry).cancelByLoader(eq("TEST_LOADER"), any());
+    verify(future).cancel(true);
+  }
+
+  private LoaderExecutionLock staleLock() {
+    return LoaderExecutionLock.builder()
+        .lockId("stale-lock")
+        .loaderCode("TEST_LOADER")
+        .acquiredAt(Instant.now().minusSeconds(3 * 3600))
+        .released(false)
+        .build();
   }
 }
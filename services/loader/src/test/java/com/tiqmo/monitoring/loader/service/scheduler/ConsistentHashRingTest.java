@@ -0,0 +1,68 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConsistentHashRing.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class ConsistentHashRingTest {
+
+  private static final List<String> LOADER_CODES = IntStream.range(0, 3000)
+      .mapToObj(i -> "LOADER_" + i)
+      .toList();
+
+  @Test
+  void ownerOf_shouldReturnNull_whenRingIsEmpty() {
+    assertThat(ConsistentHashRing.of(List.of(), 64).ownerOf("LOADER_1")).isNull();
+  }
+
+  @Test
+  void ownerOf_shouldSpreadLoadersEvenly() {
+    // Given
+    ConsistentHashRing ring = ConsistentHashRing.of(List.of("pod-a", "pod-b", "pod-c"), 128);
+
+    // When
+    Map<String, Integer> counts = new HashMap<>();
+    LOADER_CODES.forEach(code -> counts.merge(ring.ownerOf(code), 1, Integer::sum));
+
+    // Then - each replica within 25% of its fair share
+    assertThat(counts).containsOnlyKeys("pod-a", "pod-b", "pod-c");
+    assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(750, 1250));
+  }
+
+  @Test
+  void ownerOf_shouldOnlyMoveLoadersOfRemovedReplica() {
+    // Given
+    ConsistentHashRing before = ConsistentHashRing.of(List.of("pod-a", "pod-b", "pod-c"), 64);
+    ConsistentHashRing after = ConsistentHashRing.of(List.of("pod-a", "pod-c"), 64);
+
+    // When / Then - loaders of surviving replicas keep their owner
+    for (String code : LOADER_CODES) {
+      String previousOwner = before.ownerOf(code);
+      if (!previousOwner.equals("pod-b")) {
+        assertThat(after.ownerOf(code)).isEqualTo(previousOwner);
+      }
+    }
+  }
+
+  @Test
+  void of_shouldBeIndependentOfMemberOrder() {
+    // Given
+    ConsistentHashRing ring1 = ConsistentHashRing.of(List.of("pod-a", "pod-b"), 64);
+    ConsistentHashRing ring2 = ConsistentHashRing.of(List.of("pod-b", "pod-a"), 64);
+
+    // When / Then - every replica computes the same assignment
+    assertThat(ring1.members()).containsExactly("pod-a", "pod-b");
+    LOADER_CODES.forEach(code -> assertThat(ring1.ownerOf(code)).isEqualTo(ring2.ownerOf(code)));
+  }
+}
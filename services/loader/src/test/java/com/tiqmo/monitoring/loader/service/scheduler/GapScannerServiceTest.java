@@ -0,0 +1,173 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.BackfillJob;
+import com.tiqmo.monitoring.loader.domain.loader.entity.GapScanCheckpoint;
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadExecutionStatus;
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadHistory;
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.domain.loader.entity.PurgeStrategy;
+import com.tiqmo.monitoring.loader.domain.loader.repo.BackfillJobRepository;
+import com.tiqmo.monitoring.loader.domain.loader.repo.GapScanCheckpointRepository;
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoadHistoryRepository;
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
+import com.tiqmo.monitoring.loader.infra.config.GapScanProperties;
+import com.tiqmo.monitoring.loader.service.backfill.BackfillService;
+import com.tiqmo.monitoring.loader.service.execution.TimeWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GapScannerService.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class GapScannerServiceTest {
+
+  private static final Instant HOUR_AGO = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(1, ChronoUnit.HOURS);
+
+  @Mock
+  private LoadHistoryRepository loadHistoryRepository;
+
+  @Mock
+  private LoaderRepository loaderRepository;
+
+  @Mock
+  private BackfillService backfillService;
+
+  @Mock
+  private BackfillJobRepository backfillJobRepository;
+
+  @Mock
+  private GapScanCheckpointRepository checkpointRepository;
+
+  @Mock
+  private LoaderCoverageIndex coverageIndex;
+
+  private GapScannerService scanner;
+
+  @BeforeEach
+  void setUp() {
+    scanner = new GapScannerService(loadHistoryRepository, loaderRepository, backfillService,
+        backfillJobRepository, checkpointRepository, coverageIndex, new GapScanProperties());
+    lenient().when(backfillService.submitBackfillJob(anyString(), any(), any(), any(), anyString()))
+        .thenReturn(BackfillJob.builder().id(1L).build());
+  }
+
+  @Test
+  void onLoadCompleted_shouldRecordDataRange_andBackfillGapBeforeIt() {
+    // Given - data from 60min to 40min ago on a 60s period; coverage ended 80min ago
+    LoadHistory history = history(1L, HOUR_AGO, HOUR_AGO.plusSeconds(1200));
+    when(coverageIndex.record("L1", HOUR_AGO, HOUR_AGO.plusSeconds(1260)))
+        .thenReturn(Optional.of(new TimeWindow(HOUR_AGO.minusSeconds(1200), HOUR_AGO)));
+
+    // When
+    scanner.onLoadCompleted(loader(), history);
+
+    // Then
+    verify(backfillService).submitBackfillJob(eq("L1"), eq(HOUR_AGO.minusSeconds(1200)), eq(HOUR_AGO),
+        eq(PurgeStrategy.PURGE_AND_RELOAD), eq("SYSTEM_GAP_SCANNER_TIMELINE_GAP"));
+  }
+
+  @Test
+  void onLoadCompleted_shouldIgnoreTinyGap() {
+    // Given - 2 minute hole
+    LoadHistory history = history(1L, HOUR_AGO, HOUR_AGO.plusSeconds(1200));
+    when(coverageIndex.record(eq("L1"), any(), any()))
+        .thenReturn(Optional.of(new TimeWindow(HOUR_AGO.minusSeconds(120), HOUR_AGO)));
+
+    // When
+    scanner.onLoadCompleted(loader(), history);
+
+    // Then
+    verify(backfillService, never()).submitBackfillJob(anyString(), any(), any(), any(), anyString());
+  }
+
+  @Test
+  void scanForGaps_shouldFoldOnlyHistoryAfterCheckpoint_andAdvanceIt() {
+    // Given
+    when(loaderRepository.findAllByEnabledTrue()).thenReturn(List.of(loader()));
+    GapScanCheckpoint checkpoint = GapScanCheckpoint.builder()
+        .scanName("GAP_SCANNER").lastHistoryId(41L).updatedAt(Instant.now()).build();
+    when(checkpointRepository.findById("GAP_SCANNER")).thenReturn(Optional.of(checkpoint));
+    when(loadHistoryRepository.findAfterId(41L, 500)).thenReturn(List.of(
+        history(42L, HOUR_AGO, HOUR_AGO.plusSeconds(600)), history(43L, HOUR_AGO.plusSeconds(660), HOUR_AGO.plusSeconds(900))));
+    when(coverageIndex.record(eq("L1"), any(), any())).thenReturn(Optional.empty());
+    when(coverageIndex.findHoles(any())).thenReturn(Map.of());
+
+    // When
+    scanner.scanForGaps();
+
+    // Then
+    ArgumentCaptor<GapScanCheckpoint> saved = ArgumentCaptor.forClass(GapScanCheckpoint.class);
+    verify(checkpointRepository).save(saved.capture());
+    assertThat(saved.getValue().getLastHistoryId()).isEqualTo(43L);
+    verify(coverageIndex).record("L1", HOUR_AGO, HOUR_AGO.plusSeconds(660));
+  }
+
+  @Test
+  void scanForGaps_shouldSubmitOpenHoles_notCoveredByActiveOrFailedJobs() {
+    // Given - two holes; first is pending in a backfill job
+    TimeWindow pending = new TimeWindow(HOUR_AGO, HOUR_AGO.plusSeconds(600));
+    TimeWindow open = new TimeWindow(HOUR_AGO.plusSeconds(1200), HOUR_AGO.plusSeconds(1800));
+    when(loaderRepository.findAllByEnabledTrue()).thenReturn(List.of(loader()));
+    when(checkpointRepository.findById("GAP_SCANNER")).thenReturn(Optional.of(GapScanCheckpoint.builder()
+        .scanName("GAP_SCANNER").lastHistoryId(0L).updatedAt(Instant.now()).build()));
+    when(loadHistoryRepository.findAfterId(0L, 500)).thenReturn(List.of());
+    when(coverageIndex.findHoles(any())).thenReturn(Map.of("L1", List.of(pending, open)));
+    when(backfillJobRepository.findActiveJobsByLoader("L1")).thenReturn(List.of(BackfillJob.builder()
+        .fromTimeEpoch(pending.fromTime().getEpochSecond())
+        .toTimeEpoch(pending.toTime().getEpochSecond())
+        .build()));
+    when(backfillJobRepository.countRecentlyFailedOverlapping(eq("L1"), anyLong(), anyLong(), any())).thenReturn(0L);
+
+    // When
+    scanner.scanForGaps();
+
+    // Then
+    verify(backfillService).submitBackfillJob(eq("L1"), eq(open.fromTime()), eq(open.toTime()),
+        eq(PurgeStrategy.PURGE_AND_RELOAD), eq("SYSTEM_GAP_SCANNER_OPEN_GAP"));
+    verify(backfillService, never()).submitBackfillJob(anyString(), eq(pending.fromTime()), any(), any(), anyString());
+  }
+
+  private Loader loader() {
+    return Loader.builder()
+        .loaderCode("L1")
+        .aggregationPeriodSeconds(60)
+        .build();
+  }
+
+  private LoadHistory history(Long id, Instant actualFrom, Instant actualTo) {
+    return LoadHistory.builder()
+        .id(id)
+        .loaderCode("L1")
+        .status(LoadExecutionStatus.SUCCESS)
+        .queryFromTime(actualFrom)
+        .queryToTime(actualTo.plusSeconds(60))
+        .actualFromTime(actualFrom)
+        .actualToTime(actualTo)
+        .recordsLoaded(10L)
+        .build();
+  }
+}
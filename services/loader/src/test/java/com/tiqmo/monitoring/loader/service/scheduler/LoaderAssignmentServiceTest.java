@@ -0,0 +1,191 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadStatus;
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderReplica;
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderReplicaRepository;
+import com.tiqmo.monitoring.loader.infra.ReplicaNameProvider;
+import com.tiqmo.monitoring.loader.infra.config.AssignmentProperties;
+import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LoaderAssignmentService.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class LoaderAssignmentServiceTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+  private LoaderReplicaRepository replicaRepository;
+  private InFlightExecutionTracker inFlightTracker;
+  private AssignmentProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private LoaderAssignmentService service;
+
+  @BeforeEach
+  void setUp() {
+    replicaRepository = mock(LoaderReplicaRepository.class);
+    ReplicaNameProvider replicaNameProvider = mock(ReplicaNameProvider.class);
+    when(replicaNameProvider.getReplicaName()).thenReturn("pod-a");
+    inFlightTracker = new InFlightExecutionTracker(new SimpleMeterRegistry());
+    ExecutionProperties executionProperties = new ExecutionProperties();
+    executionProperties.setThreadPoolSize(10);
+    properties = new AssignmentProperties();
+    meterRegistry = new SimpleMeterRegistry();
+
+    service = new LoaderAssignmentService(replicaRepository, replicaNameProvider, inFlightTracker,
+        executionProperties, properties, meterRegistry);
+  }
+
+  @Test
+  void shouldSchedule_shouldAcceptEverything_whenSingleReplica() {
+    // Given
+    service.refreshView(List.of(replica("pod-a", 0)));
+
+    // When / Then
+    assertThat(service.shouldSchedule(loader("ANY", NOW), NOW)).isTrue();
+  }
+
+  @Test
+  void shouldSchedule_shouldAcceptEverything_whenNotOnRingYet() {
+    // Given - membership of other replicas known, this replica's heartbeat not written yet
+    service.refreshView(List.of(replica("pod-b", 0), replica("pod-c", 0)));
+
+    // When / Then
+    assertThat(service.shouldSchedule(loader("ANY", NOW), NOW)).isTrue();
+  }
+
+  @Test
+  void shouldSchedule_shouldOnlyAcceptOwnedLoaders() {
+    // Given
+    service.refreshView(List.of(replica("pod-a", 0), replica("pod-b", 0)));
+
+    // When
+    List<String> codes = IntStream.range(0, 100).mapToObj(i -> "LOADER_" + i).toList();
+    List<String> accepted = codes.stream()
+        .filter(code -> service.shouldSchedule(loader(code, NOW), NOW))
+        .toList();
+
+    // Then
+    assertThat(accepted).isNotEmpty().hasSizeLessThan(codes.size());
+    assertThat(accepted).allSatisfy(code -> assertThat(service.ownerOf(code)).isEqualTo("pod-a"));
+  }
+
+  @Test
+  void shouldSchedule_shouldStealOverdueLoader_whenOwnerIsOverloaded() {
+    // Given - pod-b pool full, pod-a idle
+    service.refreshView(List.of(replica("pod-a", 0), replica("pod-b", 10)));
+    String foreign = foreignLoaderCode();
+
+    // When / Then
+    assertThat(service.shouldSchedule(loader(foreign, NOW.minusSeconds(60)), NOW)).isTrue();
+    assertThat(meterRegistry.get("loader_assignment_stolen_total").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void shouldSchedule_shouldNotSteal_whenLoaderNotOverdueLongEnough() {
+    // Given
+    service.refreshView(List.of(replica("pod-a", 0), replica("pod-b", 10)));
+
+    // When / Then - due 10 seconds ago (< stealAfterSeconds)
+    assertThat(service.shouldSchedule(loader(foreignLoaderCode(), NOW.minusSeconds(10)), NOW)).isFalse();
+  }
+
+  @Test
+  void shouldSchedule_shouldNotSteal_whenOwnerIsNotOverloaded() {
+    // Given - owner busier than average, but within the overload factor and pool not full
+    properties.setOverloadFactor(5.0);
+    service.refreshView(List.of(replica("pod-a", 0), replica("pod-b", 2)));
+
+    // When / Then
+    assertThat(service.shouldSchedule(loader(foreignLoaderCode(), NOW.minusSeconds(60)), NOW)).isFalse();
+  }
+
+  @Test
+  void shouldSchedule_shouldNotSteal_whenThisReplicaIsBusy() {
+    // Given - both pools full
+    service.refreshView(List.of(replica("pod-a", 10), replica("pod-b", 10)));
+    IntStream.range(0, 10).forEach(i -> inFlightTracker.register("lock-" + i, "L" + i, new CompletableFuture<>()));
+
+    // When / Then
+    assertThat(service.shouldSchedule(loader(foreignLoaderCode(), NOW.minusSeconds(60)), NOW)).isFalse();
+  }
+
+  @Test
+  void heartbeat_shouldPublishLoadAndJoinRing() {
+    // Given
+    inFlightTracker.register("lock-1", "L1", new CompletableFuture<>());
+    when(replicaRepository.findById("pod-a")).thenReturn(Optional.empty());
+    when(replicaRepository.findByHeartbeatAtAfterOrderByReplicaName(any()))
+        .thenReturn(List.of(replica("pod-a", 1), replica("pod-b", 0)));
+
+    // When
+    service.heartbeat();
+
+    // Then
+    verify(replicaRepository).save(argThat(r -> r.getReplicaName().equals("pod-a")
+        && r.getInFlightExecutions() == 1 && r.getCapacity() == 10 && r.getHeartbeatAt() != null));
+    assertThat(service.getLiveReplicas()).extracting(LoaderReplica::getReplicaName).containsExactly("pod-a", "pod-b");
+    assertThat(meterRegistry.get("loader_cluster_replicas").gauge().value()).isEqualTo(2.0);
+  }
+
+  @Test
+  void assign_shouldGroupLoadersByOwner() {
+    // Given
+    service.refreshView(List.of(replica("pod-a", 0), replica("pod-b", 0), replica("pod-c", 0)));
+    List<String> codes = IntStream.range(0, 30).mapToObj(i -> "LOADER_" + i).toList();
+
+    // When
+    Map<String, List<String>> assignments = service.assign(codes);
+
+    // Then
+    assertThat(assignments).containsOnlyKeys("pod-a", "pod-b", "pod-c");
+    assertThat(assignments.values().stream().mapToInt(List::size).sum()).isEqualTo(30);
+    assignments.forEach((replica, owned) ->
+        assertThat(owned).allSatisfy(code -> assertThat(service.ownerOf(code)).isEqualTo(replica)));
+  }
+
+  private String foreignLoaderCode() {
+    return IntStream.range(0, 100).mapToObj(i -> "LOADER_" + i)
+        .filter(code -> "pod-b".equals(service.ownerOf(code)))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private LoaderReplica replica(String name, int inFlight) {
+    return LoaderReplica.builder()
+        .replicaName(name)
+        .startedAt(NOW.minusSeconds(3600))
+        .heartbeatAt(NOW)
+        .inFlightExecutions(inFlight)
+        .capacity(10)
+        .build();
+  }
+
+  private Loader loader(String code, Instant dueAt) {
+    return Loader.builder()
+        .id(1L)
+        .loaderCode(code)
+        .enabled(true)
+        .loadStatus(LoadStatus.IDLE)
+        .minIntervalSeconds(0)
+        .lastLoadTimestamp(dueAt)
+        .build();
+  }
+}
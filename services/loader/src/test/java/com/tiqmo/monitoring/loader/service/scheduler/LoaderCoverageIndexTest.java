@@ -0,0 +1,130 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoaderCoverage;
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderCoverageRepository;
+import com.tiqmo.monitoring.loader.service.execution.TimeWindow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LoaderCoverageIndex.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class LoaderCoverageIndexTest {
+
+  @Mock
+  private LoaderCoverageRepository coverageRepository;
+
+  @InjectMocks
+  private LoaderCoverageIndex coverageIndex;
+
+  @Test
+  void record_shouldMergeAdjacentRange_withoutReportingGap() {
+    // Given - [0, 100) covered
+    when(coverageRepository.findTouching("L1", 100, 200)).thenReturn(List.of(range(1L, 0, 100)));
+
+    // When
+    Optional<TimeWindow> gap = coverageIndex.record("L1", at(100), at(200));
+
+    // Then
+    assertThat(gap).isEmpty();
+    verify(coverageRepository).deleteByIds(List.of(1L));
+    ArgumentCaptor<LoaderCoverage> saved = ArgumentCaptor.forClass(LoaderCoverage.class);
+    verify(coverageRepository).save(saved.capture());
+    assertThat(saved.getValue().getFromEpoch()).isZero();
+    assertThat(saved.getValue().getToEpoch()).isEqualTo(200L);
+  }
+
+  @Test
+  void record_shouldReportHoleBeforeDetachedRange() {
+    // Given - [0, 100) covered, next load starts at 400
+    when(coverageRepository.findTouching("L1", 400, 500)).thenReturn(List.of());
+    when(coverageRepository.findFirstByLoaderCodeAndToEpochLessThanOrderByToEpochDesc("L1", 400L))
+        .thenReturn(Optional.of(range(1L, 0, 100)));
+
+    // When
+    Optional<TimeWindow> gap = coverageIndex.record("L1", at(400), at(500));
+
+    // Then
+    assertThat(gap).contains(new TimeWindow(at(100), at(400)));
+  }
+
+  @Test
+  void record_shouldDoNothing_whenAlreadyCovered() {
+    // Given
+    when(coverageRepository.findTouching("L1", 10, 20)).thenReturn(List.of(range(1L, 0, 100)));
+
+    // When
+    Optional<TimeWindow> gap = coverageIndex.record("L1", at(10), at(20));
+
+    // Then
+    assertThat(gap).isEmpty();
+    verify(coverageRepository, never()).save(any());
+  }
+
+  @Test
+  void extend_shouldIgnoreRangeDetachedFromCoverage() {
+    // Given
+    when(coverageRepository.findTouching("L1", 400, 500)).thenReturn(List.of());
+
+    // When
+    coverageIndex.extend("L1", at(400), at(500));
+
+    // Then
+    verify(coverageRepository, never()).save(any());
+    verify(coverageRepository, never()).findFirstByLoaderCodeAndToEpochLessThanOrderByToEpochDesc(anyString(), anyLong());
+  }
+
+  @Test
+  void findHoles_shouldReturnHolesBetweenRanges_perLoader() {
+    // Given - L1 has a hole [100, 200), L2 is contiguous (overlapping rows)
+    when(coverageRepository.findCoveredSince(50)).thenReturn(List.of(
+        range(1L, 0, 100, "L1"), range(2L, 200, 300, "L1"),
+        range(3L, 0, 150, "L2"), range(4L, 100, 300, "L2")));
+
+    // When
+    Map<String, List<TimeWindow>> holes = coverageIndex.findHoles(at(50));
+
+    // Then
+    assertThat(holes).containsOnlyKeys("L1");
+    assertThat(holes.get("L1")).containsExactly(new TimeWindow(at(100), at(200)));
+  }
+
+  private static LoaderCoverage range(Long id, long from, long to) {
+    return range(id, from, to, "L1");
+  }
+
+  private static LoaderCoverage range(Long id, long from, long to, String loaderCode) {
+    return LoaderCoverage.builder()
+        .id(id)
+        .loaderCode(loaderCode)
+        .fromEpoch(from)
+        .toEpoch(to)
+        .updatedAt(Instant.now())
+        .build();
+  }
+
+  private static Instant at(long epochSecond) {
+    return Instant.ofEpochSecond(epochSecond);
+  }
+}
@@ -0,0 +1,142 @@
+package com.tiqmo.monitoring.loader.service.scheduler;
+
+import com.tiqmo.monitoring.loader.domain.loader.entity.LoadStatus;
+import com.tiqmo.monitoring.loader.domain.loader.entity.Loader;
+import com.tiqmo.monitoring.loader.events.LoaderChangedEvent;
+import com.tiqmo.monitoring.workflow.domain.VersionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LoaderDueQueue.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class LoaderDueQueueTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+  private SimpleMeterRegistry meterRegistry;
+  private LoaderDueQueue queue;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    queue = new LoaderDueQueue(meterRegistry);
+  }
+
+  @Test
+  void pollDue_shouldReturnOnlyDueLoaders_earliestFirst() {
+    // Given
+    queue.rebuild(List.of(
+        loader(1L, NOW.minusSeconds(5), 10),   // due at NOW + 5s
+        loader(2L, NOW.minusSeconds(60), 10),  // due at NOW - 50s
+        loader(3L, null, 10)));                // never run - due immediately
+
+    // When
+    List<Long> due = queue.pollDue(NOW);
+
+    // Then
+    assertThat(due).containsExactly(3L, 2L);
+    assertThat(queue.size()).isEqualTo(1);
+    assertThat(queue.nextDueAt()).contains(NOW.plusSeconds(5));
+    assertThat(meterRegistry.get("loader_scheduler_queued_loaders").gauge().value()).isEqualTo(1.0);
+  }
+
+  @Test
+  void schedule_shouldReplacePreviousEntry() {
+    // Given
+    queue.schedule(1L, "L1", NOW.minusSeconds(1));
+
+    // When
+    queue.schedule(1L, "L1", NOW.plusSeconds(30));
+
+    // Then
+    assertThat(queue.pollDue(NOW)).isEmpty();
+    assertThat(queue.pollDue(NOW.plusSeconds(30))).containsExactly(1L);
+  }
+
+  @Test
+  void scheduleIfAbsent_shouldKeepExistingEntry() {
+    // Given
+    queue.schedule(1L, "L1", NOW.plusSeconds(60));
+
+    // When
+    queue.scheduleIfAbsent(1L, "L1", NOW);
+    queue.scheduleIfAbsent(2L, "L2", NOW);
+
+    // Then
+    assertThat(queue.pollDue(NOW)).containsExactly(2L);
+    assertThat(queue.nextDueAt()).contains(NOW.plusSeconds(60));
+  }
+
+  @Test
+  void upsert_shouldRemoveLoader_whenPausedDisabledOrNotActive() {
+    // Given
+    queue.rebuild(List.of(loader(1L, null, 10), loader(2L, null, 10), loader(3L, null, 10)));
+
+    Loader paused = loader(1L, null, 10);
+    paused.setLoadStatus(LoadStatus.PAUSED);
+    Loader disabled = loader(2L, null, 10);
+    disabled.setEnabled(false);
+    Loader draft = loader(3L, null, 10);
+    draft.setVersionStatus(VersionStatus.DRAFT);
+
+    // When
+    queue.upsert(paused);
+    queue.upsert(disabled);
+    queue.upsert(draft);
+
+    // Then
+    assertThat(queue.size()).isZero();
+    assertThat(queue.pollDue(NOW)).isEmpty();
+  }
+
+  @Test
+  void nextDueAt_shouldUseRecoveryTime_forFailedLoader() {
+    // Given - last run long ago but interval far away; failed 15 minutes ago
+    Loader failed = loader(1L, NOW, 3600);
+    failed.setLoadStatus(LoadStatus.FAILED);
+    failed.setFailedSince(NOW.minusSeconds(15 * 60));
+
+    // When / Then - recovered 20 minutes after failure
+    assertThat(LoaderDueQueue.nextDueAt(failed)).isEqualTo(NOW.plusSeconds(5 * 60));
+  }
+
+  @Test
+  void onLoaderChanged_shouldApplyEvent() {
+    // Given
+    Loader l1 = loader(1L, null, 60);
+    Loader l2 = loader(2L, null, 60);
+    Loader l3 = loader(3L, null, 60);
+    queue.onLoaderChanged(new LoaderChangedEvent(l1, false));
+    queue.onLoaderChanged(new LoaderChangedEvent(l2, false));
+    queue.onLoaderChanged(new LoaderChangedEvent(l3, false));
+
+    // When - L2 deleted, L3 paused
+    queue.onLoaderChanged(new LoaderChangedEvent(l2, true));
+    l3.setLoadStatus(LoadStatus.PAUSED);
+    queue.onLoaderChanged(new LoaderChangedEvent(l3, false));
+
+    // Then
+    assertThat(queue.pollDue(NOW)).containsExactly(1L);
+  }
+
+  private Loader loader(Long id, Instant lastLoadTimestamp, int minIntervalSeconds) {
+    return Loader.builder()
+        .id(id)
+        .loaderCode("L" + id)
+        .minIntervalSeconds(minIntervalSeconds)
+        .enabled(true)
+        .loadStatus(LoadStatus.IDLE)
+        .lastLoadTimestamp(lastLoadTimestamp)
+        .build();
+  }
+}
@@ -8,22 +8,31 @@ import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderExecutionLockReposit
 import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
 import com.tiqmo.monitoring.loader.infra.config.ExecutionProperties;
 import com.tiqmo.monitoring.loader.infra.config.LockingProperties;
+import com.tiqmo.monitoring.loader.infra.db.SourceQueryRegistry;
 import com.tiqmo.monitoring.loader.service.execution.LoadExecutorService;
 import com.tiqmo.monitoring.loader.service.locking.LoaderLock;
 import com.tiqmo.monitoring.loader.service.locking.LockManager;
+import com.tiqmo.monitoring.workflow.domain.VersionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -59,20 +68,32 @@ class LoaderSchedulerServiceTest {
   private LockingProperties lockingProperties;
 
   @Mock
-  private com.tiqmo.monitoring.loader.domain.signals.repo.SignalsHistoryRepository signalsHistoryRepository;
+  private com.tiqmo.monitoring.loader.service.signals.SignalsPurger signalsPurger;
 
   private ExecutorService executorService;
 
+  private InFlightExecutionTracker inFlightTracker;
+
+  private LoaderDueQueue dueQueue;
+
+  @Mock
+  private LoaderAssignmentService assignmentService;
+
   private LoaderSchedulerService scheduler;
 
+  private long nextLoaderId = 1;
+
   @BeforeEach
   void setUp() {
     executorService = Executors.newFixedThreadPool(2);
+    inFlightTracker = new InFlightExecutionTracker(new SimpleMeterRegistry());
+    dueQueue = new LoaderDueQueue(new SimpleMeterRegistry());
 
     // Set default property values
     when(executionProperties.getExecutionTimeoutHours()).thenReturn(2);
     when(lockingProperties.getStaleLockThresholdHours()).thenReturn(2);
     when(lockingProperties.getReleasedLockRetentionDays()).thenReturn(7);
+    lenient().when(assignmentService.shouldSchedule(any(), any())).thenReturn(true);
 
     scheduler = new LoaderSchedulerService(
         loaderRepository,
@@ -83,21 +104,25 @@ class LoaderSchedulerServiceTest {
         executorService,
         executionProperties,
         lockingProperties,
-        signalsHistoryRepository
+        signalsPurger,
+        inFlightTracker,
+        new SourceQueryRegistry(new SimpleMeterRegistry()),
+        dueQueue,
+        assignmentService
     );
   }
 
   @Test
   void scheduleLoaders_shouldDoNothing_whenNoEnabledLoaders() {
     // Given
-    when(loaderRepository.findAllByEnabledTrue()).thenReturn(Collections.emptyList());
+    when(loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE)).thenReturn(Collections.emptyList());
 
     // When
     scheduler.scheduleLoaders();
 
     // Then
-    verify(loaderRepository).findAll(); // For FAILED recovery
-    verify(loaderRepository).findAllByEnabledTrue();
+    verify(loaderRepository).findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE); // Due queue rebuild
+    verify(loaderRepository, never()).findAllByIdInAndEnabledTrueAndVersionStatus(any(), any());
     verifyNoInteractions(lockManager);
     verifyNoInteractions(loadExecutorService);
   }
@@ -106,8 +131,7 @@ class LoaderSchedulerServiceTest {
   void scheduleLoaders_shouldExecuteLoader_whenDueAndLockAcquired() {
     // Given
     Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null);
-    when(loaderRepository.findAllByEnabledTrue()).thenReturn(Collections.singletonList(loader));
-    when(loaderRepository.findAll()).thenReturn(Collections.singletonList(loader));
+    givenActiveLoaders(loader);
 
     LoaderLock mockLock = LoaderLock.builder()
         .lockId("test-lock-id-1")
@@ -130,8 +154,7 @@ class LoaderSchedulerServiceTest {
   void scheduleLoaders_shouldNotExecute_whenLockNotAcquired() {
     // Given
     Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null);
-    when(loaderRepository.findAllByEnabledTrue()).thenReturn(Collections.singletonList(loader));
-    when(loaderRepository.findAll()).thenReturn(Collections.singletonList(loader));
+    givenActiveLoaders(loader);
 
     when(lockManager.tryAcquireLock(any(Loader.class))).thenReturn(Optional.empty()); // Lock not acquired
 
@@ -151,15 +174,19 @@ class LoaderSchedulerServiceTest {
     Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, recentTimestamp);
     loader.setMinIntervalSeconds(60); // Requires 60 seconds since last run
 
-    when(loaderRepository.findAllByEnabledTrue()).thenReturn(Collections.singletonList(loader));
-    when(loaderRepository.findAll()).thenReturn(Collections.singletonList(loader));
+    when(loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE))
+        .thenReturn(Collections.singletonList(loader));
 
     // When
     scheduler.scheduleLoaders();
+    scheduler.scheduleLoaders();
 
-    // Then
+    // Then - loader stays queued until due, no loader is loaded or locked
+    verify(loaderRepository, never()).findAllByIdInAndEnabledTrueAndVersionStatus(any(), any());
     verifyNoInteractions(lockManager);
     verifyNoInteractions(loadExecutorService);
+    assertThat(dueQueue.size()).isEqualTo(1);
+    assertThat(dueQueue.nextDueAt()).contains(recentTimestamp.plusSeconds(60));
   }
 
   @Test
@@ -169,8 +196,7 @@ class LoaderSchedulerServiceTest {
     Loader loader = createTestLoader("FAILED_LOADER", LoadStatus.FAILED, null);
     loader.setFailedSince(failedSince);
 
-    when(loaderRepository.findAll()).thenReturn(Collections.singletonList(loader));
-    when(loaderRepository.findAllByEnabledTrue()).thenReturn(Collections.singletonList(loader));
+    givenActiveLoaders(loader);
 
     // When
     scheduler.scheduleLoaders();
@@ -188,8 +214,7 @@ class LoaderSchedulerServiceTest {
     Loader idleLoader = createTestLoader("IDLE_LOADER", LoadStatus.IDLE, null);
     Loader failedLoader = createTestLoader("FAILED_LOADER", LoadStatus.FAILED, null);
 
-    when(loaderRepository.findAllByEnabledTrue()).thenReturn(Arrays.asList(failedLoader, idleLoader));
-    when(loaderRepository.findAll()).thenReturn(Arrays.asList(failedLoader, idleLoader));
+    givenActiveLoaders(failedLoader, idleLoader);
 
     LoaderLock idleLock = LoaderLock.builder()
         .lockId("test-lock-id-2")
@@ -223,8 +248,7 @@ class LoaderSchedulerServiceTest {
     Loader loader1 = createTestLoader("LOADER_1", LoadStatus.IDLE, null);
     Loader loader2 = createTestLoader("LOADER_2", LoadStatus.IDLE, null);
 
-    when(loaderRepository.findAllByEnabledTrue()).thenReturn(Arrays.asList(loader1, loader2));
-    when(loaderRepository.findAll()).thenReturn(Arrays.asList(loader1, loader2));
+    givenActiveLoaders(loader1, loader2);
 
     LoaderLock lock1 = LoaderLock.builder()
         .lockId("test-lock-id-3")
@@ -293,14 +317,235 @@ class LoaderSchedulerServiceTest {
     verify(lockManager).cleanupStaleLocks();
   }
 
+  // ==================== Lease Heartbeat Tests ====================
+
+  @Test
+  void leaseHeartbeat_shouldRenewLeases_whileScheduleLoadersIsBlocked() throws Exception {
+    // Given - a BLOCKING tick waiting on a long execution
+    when(lockingProperties.getHeartbeatIntervalSeconds()).thenReturn(1);
+    Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null);
+    givenActiveLoaders(loader);
+    LoaderLock lock = LoaderLock.builder()
+        .lockId("blocking-lock-1")
+        .loaderCode("TEST_LOADER")
+        .replicaName("test-replica")
+        .acquiredAt(Instant.now())
+        .build();
+    when(lockManager.tryAcquireLock(any(Loader.class))).thenReturn(Optional.of(lock));
+
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch finish = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      started.countDown();
+      finish.await(10, TimeUnit.SECONDS);
+      return null;
+    }).when(loadExecutorService).executeLoader(loader);
+
+    scheduler.startLeaseHeartbeat();
+    try {
+      // When - the tick runs on the (single) scheduler thread and blocks
+      CompletableFuture<Void> tick = CompletableFuture.runAsync(scheduler::scheduleLoaders);
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // Then - leases are renewed twice before the execution completes
+      verify(lockManager, timeout(5000).atLeast(2)).renewLeases();
+      assertThat(tick).isNotDone();
+
+      finish.countDown();
+      tick.get(5, TimeUnit.SECONDS);
+      verify(lockManager).releaseLock(lock);
+    } finally {
+      finish.countDown();
+      scheduler.stopLeaseHeartbeat();
+    }
+  }
+
+  // ==================== ASYNC Dispatch Tests ====================
+
+  @Test
+  void scheduleLoaders_asyncMode_shouldNotBlockTick_andReleaseLockOnCompletion() throws Exception {
+    // Given
+    when(executionProperties.getDispatchMode()).thenReturn(ExecutionProperties.DispatchMode.ASYNC);
+    when(executionProperties.getThreadPoolSize()).thenReturn(2);
+
+    Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null);
+    givenActiveLoaders(loader);
+
+    LoaderLock lock = LoaderLock.builder()
+        .lockId("async-lock-1")
+        .loaderCode("TEST_LOADER")
+        .replicaName("test-replica")
+        .acquiredAt(Instant.now())
+        .build();
+    when(lockManager.tryAcquireLock(any(Loader.class))).thenReturn(Optional.of(lock));
+
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch finish = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      started.countDown();
+      finish.await(5, TimeUnit.SECONDS);
+      return null;
+    }).when(loadExecutorService).executeLoader(loader);
+
+    // When - tick returns while the execution is still running
+    scheduler.scheduleLoaders();
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // Then
+    assertThat(scheduler.getInFlightCount()).isEqualTo(1);
+    assertThat(scheduler.getInFlightCountsByLoader()).containsEntry("TEST_LOADER", 1);
+    verify(lockManager).registerExecution(eq("async-lock-1"), any());
+    verify(lockManager, never()).releaseLock(any(LoaderLock.class));
+
+    finish.countDown();
+    verify(lockManager, timeout(5000)).releaseLock(lock);
+    verify(lockManager, timeout(5000)).unregisterExecution("async-lock-1");
+  }
+
+  @Test
+  void scheduleLoaders_asyncMode_shouldSkipLoader_whenMaxParallelReachedLocally() {
+    // Given
+    when(executionProperties.getDispatchMode()).thenReturn(ExecutionProperties.DispatchMode.ASYNC);
+
+    Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null); // maxParallelExecutions = 1
+    givenActiveLoaders(loader);
+    inFlightTracker.register("existing-lock", "TEST_LOADER", new CompletableFuture<>());
+
+    // When
+    scheduler.scheduleLoaders();
+
+    // Then
+    verify(lockManager, never()).tryAcquireLock(any(Loader.class));
+    verifyNoInteractions(loadExecutorService);
+  }
+
+  @Test
+  void enforceExecutionTimeouts_shouldCancelOverdueExecutions() {
+    // Given
+    when(executionProperties.getExecutionTimeoutHours()).thenReturn(0);
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    inFlightTracker.register("overdue-lock", "TEST_LOADER", future);
+
+    // When
+    scheduler.enforceExecutionTimeouts();
+
+    // Then
+    assertThat(future.isCancelled()).isTrue();
+  }
+
+  // ==================== Due Queue Tests ====================
+
+  @Test
+  void scheduleLoaders_shouldRequeueAtActualDueTime_whenQueueEntryIsStale() {
+    // Given - queued as never run, but another replica ran it meanwhile
+    Loader queued = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null);
+    Instant ranElsewhere = Instant.now().minusSeconds(2);
+    Loader current = createTestLoader("TEST_LOADER", LoadStatus.IDLE, ranElsewhere);
+    current.setId(queued.getId());
+
+    when(loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE))
+        .thenReturn(Collections.singletonList(queued));
+    when(loaderRepository.findAllByIdInAndEnabledTrueAndVersionStatus(any(), eq(VersionStatus.ACTIVE)))
+        .thenReturn(Collections.singletonList(current));
+
+    // When
+    scheduler.scheduleLoaders();
+
+    // Then
+    verifyNoInteractions(lockManager);
+    assertThat(dueQueue.nextDueAt()).contains(ranElsewhere.plusSeconds(10));
+  }
+
+  @Test
+  void scheduleLoaders_shouldDropLoader_whenNoLongerActive() {
+    // Given
+    Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null);
+    when(loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE))
+        .thenReturn(Collections.singletonList(loader));
+    when(loaderRepository.findAllByIdInAndEnabledTrueAndVersionStatus(any(), eq(VersionStatus.ACTIVE)))
+        .thenReturn(Collections.emptyList());
+
+    // When
+    scheduler.scheduleLoaders();
+
+    // Then
+    verifyNoInteractions(lockManager);
+    assertThat(dueQueue.size()).isZero();
+  }
+
+  @Test
+  void scheduleLoaders_shouldRequeueForRetry_whenLockNotAcquired() {
+    // Given
+    Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null);
+    givenActiveLoaders(loader);
+    when(executionProperties.getSchedulerRetryDelaySeconds()).thenReturn(10);
+    when(lockManager.tryAcquireLock(any(Loader.class))).thenReturn(Optional.empty());
+
+    // When
+    scheduler.scheduleLoaders();
+
+    // Then
+    assertThat(dueQueue.size()).isEqualTo(1);
+    assertThat(dueQueue.nextDueAt()).hasValueSatisfying(
+        dueAt -> assertThat(dueAt).isAfter(Instant.now().plusSeconds(5)));
+  }
+
+  @Test
+  void scheduleLoaders_shouldDeferLoader_whenAssignedToAnotherReplica() {
+    // Given
+    Loader loader = createTestLoader("TEST_LOADER", LoadStatus.IDLE, null);
+    givenActiveLoaders(loader);
+    when(assignmentService.shouldSchedule(any(Loader.class), any(Instant.class))).thenReturn(false);
+    when(assignmentService.getDeferDelay()).thenReturn(Duration.ofSeconds(30));
+
+    // When
+    scheduler.scheduleLoaders();
+
+    // Then
+    verifyNoInteractions(lockManager);
+    assertThat(dueQueue.size()).isEqualTo(1);
+    assertThat(dueQueue.nextDueAt()).hasValueSatisfying(
+        dueAt -> assertThat(dueAt).isAfter(Instant.now().plusSeconds(25)));
+  }
+
+  @Test
+  void resyncDueQueue_shouldApplyLoadersChangedSinceLastSync() {
+    // Given - queue built with one loader
+    Loader loader = createTestLoader("PAUSED_ELSEWHERE", LoadStatus.IDLE, Instant.now());
+    when(loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE))
+        .thenReturn(Collections.singletonList(loader));
+    scheduler.rebuildDueQueue();
+
+    Loader pausedElsewhere = createTestLoader("PAUSED_ELSEWHERE", LoadStatus.PAUSED, Instant.now());
+    pausedElsewhere.setId(loader.getId());
+    Loader approvedElsewhere = createTestLoader("NEW_LOADER", LoadStatus.IDLE, null);
+    when(executionProperties.getSchedulerResyncSeconds()).thenReturn(30);
+    when(loaderRepository.findAllUpdatedSince(any())).thenReturn(List.of(pausedElsewhere, approvedElsewhere));
+
+    // When
+    scheduler.resyncDueQueue();
+
+    // Then
+    assertThat(dueQueue.pollDue(Instant.now().plusSeconds(3600))).containsExactly(approvedElsewhere.getId());
+    verify(loaderRepository).findAllByLoadStatusAndFailedSinceBefore(eq(LoadStatus.FAILED), any());
+  }
+
   // Helper methods
 
+  private void givenActiveLoaders(Loader... loaders) {
+    List<Loader> list = Arrays.asList(loaders);
+    when(loaderRepository.findAllByEnabledTrueAndVersionStatus(VersionStatus.ACTIVE)).thenReturn(list);
+    when(loaderRepository.findAllByIdInAndEnabledTrueAndVersionStatus(any(), eq(VersionStatus.ACTIVE)))
+        .thenReturn(list);
+  }
+
   private Loader createTestLoader(String loaderCode, LoadStatus status, Instant lastLoadTimestamp) {
     SourceDatabase sourceDb = SourceDatabase.builder()
         .dbCode("TEST_DB")
         .build();
 
     return Loader.builder()
+        .id(nextLoaderId++)
         .loaderCode(loaderCode)
         .sourceDatabase(sourceDb)
         .loaderSql("SELECT * FROM test")
@@ -0,0 +1,189 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SegmentCombination;
+import com.tiqmo.monitoring.loader.domain.signals.entity.SegmentCombinationId;
+import com.tiqmo.monitoring.loader.domain.signals.repo.SegmentCombinationRepository;
+import com.tiqmo.monitoring.loader.infra.config.IngestProperties;
+import com.tiqmo.monitoring.loader.service.signals.SegmentCombinationService.SegmentValues;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput benchmark for segment code allocation under contention (PostgreSQL only).
+ *
+ * <p>Every thread simulates a loader replica (own dictionary cache and allocator) resolving
+ * overlapping segment combinations of the same loader. Verifies per block size that all
+ * replicas converged on one code per tuple, that no replica wasted more than one block of codes,
+ * and that each replica reserved at most one block per chunk (and per {@code blockSize} codes);
+ * resolved combinations per second are logged.
+ *
+ * <p>Skipped unless a database is given:
+ * <pre>
+ * mvn test -Dtest=SegmentCodeAllocationBenchmarkTest \
+ *     -Dsegment.benchmark.jdbc-url=jdbc:postgresql://localhost:5432/alerts_db \
+ *     -Dsegment.benchmark.username=alerts_user -Dsegment.benchmark.password=...
+ * </pre>
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "segment.benchmark.jdbc-url", matches = "jdbc:postgresql:.*")
+class SegmentCodeAllocationBenchmarkTest {
+
+  private static final String LOADER_CODE = "BENCH_SEGMENT_ALLOC";
+  private static final int REPLICAS = 8;
+  private static final int COMBINATIONS = 20_000;
+  private static final int CHUNK_SIZE = 250;
+  private static final int CHUNKS = (COMBINATIONS + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+  private JdbcTemplate jdbcTemplate;
+  private DataSourceTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        System.getProperty("segment.benchmark.jdbc-url"),
+        System.getProperty("segment.benchmark.username", "alerts_user"),
+        System.getProperty("segment.benchmark.password", ""));
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    transactionManager = new DataSourceTransactionManager(dataSource);
+    cleanUp();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM signals.segment_combination WHERE loader_code = ?", LOADER_CODE);
+    jdbcTemplate.update("DELETE FROM signals.segment_code_allocator WHERE loader_code = ?", LOADER_CODE);
+  }
+
+  @Test
+  void benchmark_concurrentReplicas_byBlockSize() throws Exception {
+    for (int blockSize : new int[]{1, 100, 1000}) {
+      cleanUp();
+      runContended(blockSize);
+    }
+  }
+
+  private void runContended(int blockSize) throws Exception {
+    // Every replica resolves all combinations, in its own shuffled order and chunking
+    List<SegmentValues> all = new ArrayList<>(COMBINATIONS);
+    for (int i = 0; i < COMBINATIONS; i++) {
+      all.add(new SegmentValues("S" + (i % 97), "P" + i, null, null, null, null, null, null, null, null));
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(REPLICAS);
+    CyclicBarrier start = new CyclicBarrier(REPLICAS);
+    List<Future<Map<SegmentValues, Long>>> results = new ArrayList<>();
+    List<SimpleMeterRegistry> replicaMeters = new ArrayList<>();
+
+    long startNanos = System.nanoTime();
+    try {
+      for (int r = 0; r < REPLICAS; r++) {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        replicaMeters.add(meters);
+        SegmentCombinationService replica = newReplica(blockSize, meters);
+        List<SegmentValues> order = new ArrayList<>(all);
+        Collections.shuffle(order);
+
+        Callable<Map<SegmentValues, Long>> task = () -> {
+          start.await();
+          Map<SegmentValues, Long> resolved = new HashMap<>();
+          for (int from = 0; from < order.size(); from += CHUNK_SIZE) {
+            resolved.putAll(replica.resolveSegmentCodes(
+                LOADER_CODE, order.subList(from, Math.min(from + CHUNK_SIZE, order.size()))));
+          }
+          return resolved;
+        };
+        results.add(pool.submit(task));
+      }
+
+      List<Map<SegmentValues, Long>> resolved = new ArrayList<>();
+      for (Future<Map<SegmentValues, Long>> result : results) {
+        resolved.add(result.get());
+      }
+      long elapsedMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+
+      // Then - every replica sees the same code per tuple, and codes are unique per tuple
+      for (Map<SegmentValues, Long> replicaCodes : resolved) {
+        assertThat(replicaCodes).isEqualTo(resolved.get(0));
+      }
+      assertThat(jdbcTemplate.queryForObject(
+          "SELECT COUNT(*) FROM signals.segment_combination WHERE loader_code = ?", Long.class, LOADER_CODE))
+          .isEqualTo((long) COMBINATIONS);
+      assertThat(resolved.get(0).values().stream().distinct().count()).isEqualTo(COMBINATIONS);
+
+      // Then - stored codes come from reserved blocks; a replica allocates each tuple at most
+      // once and leaves at most one block unused
+      long reserved = jdbcTemplate.queryForObject(
+          "SELECT next_code - 1 FROM signals.segment_code_allocator WHERE loader_code = ?", Long.class, LOADER_CODE);
+      Long maxStoredCode = jdbcTemplate.queryForObject(
+          "SELECT MAX(segment_code) FROM signals.segment_combination WHERE loader_code = ?", Long.class, LOADER_CODE);
+      assertThat(maxStoredCode).isLessThanOrEqualTo(reserved);
+      assertThat(reserved)
+          .isGreaterThanOrEqualTo(COMBINATIONS)
+          .isLessThanOrEqualTo((long) REPLICAS * (COMBINATIONS + blockSize));
+
+      // Then - one reservation at most per chunk, and every reservation but the last is used up
+      double reservations = 0;
+      for (SimpleMeterRegistry meters : replicaMeters) {
+        double replicaReservations = meters.get("loader_segment_code_reservations_total").counter().count();
+        assertThat(replicaReservations)
+            .isLessThanOrEqualTo(Math.min(CHUNKS, COMBINATIONS / blockSize + 1));
+        reservations += replicaReservations;
+      }
+      assertThat(reservations).isGreaterThanOrEqualTo(1);
+
+      log.info("Segment allocation: replicas={} blockSize={} combinations={} elapsed={}ms "
+              + "throughput={} resolutions/s codesReserved={} reservations={}",
+          REPLICAS, blockSize, COMBINATIONS, elapsedMs,
+          (long) REPLICAS * COMBINATIONS * 1000 / elapsedMs, reserved, (long) reservations);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private SegmentCombinationService newReplica(int blockSize, SimpleMeterRegistry meterRegistry) {
+    IngestProperties properties = new IngestProperties();
+    properties.setSegmentCodeBlockSize(blockSize);
+
+    SegmentCombinationRepository repository = mock(SegmentCombinationRepository.class);
+    when(repository.findAllByLoaderCode(anyString())).thenAnswer(inv -> jdbcTemplate.query(
+        "SELECT loader_code, segment_code, segment1, segment2 FROM signals.segment_combination WHERE loader_code = ?",
+        (rs, rowNum) -> SegmentCombination.builder()
+            .id(new SegmentCombinationId(rs.getString(1), rs.getLong(2)))
+            .segment1(rs.getString(3))
+            .segment2(rs.getString(4))
+            .build(),
+        inv.<String>getArgument(0)));
+
+    return new SegmentCombinationService(
+        repository,
+        new SegmentDictionaryCache(properties, new SimpleMeterRegistry()),
+        new SegmentCodeAllocator(jdbcTemplate, transactionManager, properties, meterRegistry),
+        jdbcTemplate);
+  }
+}
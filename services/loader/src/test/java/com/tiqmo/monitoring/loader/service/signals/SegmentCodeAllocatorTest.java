@@ -0,0 +1,87 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.infra.config.IngestProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SegmentCodeAllocator (block reservation).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SegmentCodeAllocatorTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private SegmentCodeAllocator allocator;
+
+  @BeforeEach
+  void setUp() {
+    IngestProperties properties = new IngestProperties();
+    properties.setSegmentCodeBlockSize(5);
+    allocator = new SegmentCodeAllocator(jdbcTemplate, transactionManager, properties, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void allocate_shouldServeCodesFromReservedBlock_untilExhausted() {
+    // Given - first block [1, 6), second block [21, 26) (another replica took 6..20)
+    when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("LOADER"), eq(6L), eq(5)))
+        .thenReturn(6L, 26L);
+
+    // When
+    long[] first = allocator.allocate("LOADER", 3);
+    long[] second = allocator.allocate("LOADER", 4);
+
+    // Then
+    assertThat(first).containsExactly(1L, 2L, 3L);
+    assertThat(second).containsExactly(4L, 5L, 21L, 22L);
+    verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class), eq("LOADER"), eq(6L), eq(5));
+  }
+
+  @Test
+  void allocate_shouldReserveWholeRequest_whenLargerThanBlockSize() {
+    // Given
+    when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("LOADER"), eq(13L), eq(12)))
+        .thenReturn(112L);
+
+    // When
+    long[] codes = allocator.allocate("LOADER", 12);
+
+    // Then - one round trip for the range [100, 112)
+    assertThat(codes).hasSize(12).startsWith(100L).endsWith(111L);
+    verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), anyString(), any(), any());
+  }
+
+  @Test
+  void allocate_shouldKeepBlocksPerLoader() {
+    // Given
+    when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), anyString(), eq(6L), eq(5)))
+        .thenReturn(6L);
+
+    // When
+    long[] a = allocator.allocate("LOADER_A", 2);
+    long[] b = allocator.allocate("LOADER_B", 2);
+
+    // Then
+    assertThat(a).containsExactly(1L, 2L);
+    assertThat(b).containsExactly(1L, 2L);
+    assertThat(allocator.allocate("LOADER_A", 0)).isEmpty();
+  }
+}
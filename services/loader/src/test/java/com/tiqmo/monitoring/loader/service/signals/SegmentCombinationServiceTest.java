@@ -0,0 +1,117 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SegmentCombination;
+import com.tiqmo.monitoring.loader.domain.signals.entity.SegmentCombinationId;
+import com.tiqmo.monitoring.loader.domain.signals.repo.SegmentCombinationRepository;
+import com.tiqmo.monitoring.loader.infra.config.IngestProperties;
+import com.tiqmo.monitoring.loader.service.signals.SegmentCombinationService.SegmentValues;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SegmentCombinationService (dictionary-cached resolution).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SegmentCombinationServiceTest {
+
+  @Mock
+  private SegmentCombinationRepository repository;
+
+  @Mock
+  private SegmentCodeAllocator codeAllocator;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private SegmentCombinationService service;
+
+  @BeforeEach
+  void setUp() {
+    SegmentDictionaryCache cache = new SegmentDictionaryCache(new IngestProperties(), new SimpleMeterRegistry());
+    service = new SegmentCombinationService(repository, cache, codeAllocator, jdbcTemplate);
+  }
+
+  @Test
+  void resolveSegmentCodes_shouldServeKnownCombinations_fromWarmedDictionary() {
+    // Given
+    when(repository.findAllByLoaderCode("LOADER")).thenReturn(List.of(combination("LOADER", 7L, "USA")));
+    SegmentValues usa = values("USA");
+
+    // When
+    Map<SegmentValues, Long> first = service.resolveSegmentCodes("LOADER", List.of(usa, usa));
+    Map<SegmentValues, Long> second = service.resolveSegmentCodes("LOADER", List.of(usa));
+
+    // Then
+    assertThat(first).containsExactly(Map.entry(usa, 7L));
+    assertThat(second).containsExactly(Map.entry(usa, 7L));
+    verify(repository, times(1)).findAllByLoaderCode("LOADER");
+    verifyNoInteractions(jdbcTemplate, codeAllocator);
+  }
+
+  @Test
+  void resolveSegmentCodes_shouldCreateAllMissingCombinations_inOneStatement() {
+    // Given
+    when(repository.findAllByLoaderCode("LOADER")).thenReturn(List.of());
+    when(codeAllocator.allocate("LOADER", 2)).thenReturn(new long[]{11L, 12L});
+    when(jdbcTemplate.update(anyString(), (Object[]) any())).thenReturn(2);
+    SegmentValues usa = values("USA");
+    SegmentValues uae = values("UAE");
+
+    // When
+    Map<SegmentValues, Long> codes = service.resolveSegmentCodes("LOADER", List.of(usa, uae, usa));
+    Map<SegmentValues, Long> again = service.resolveSegmentCodes("LOADER", List.of(uae));
+
+    // Then
+    assertThat(codes).containsEntry(usa, 11L).containsEntry(uae, 12L).hasSize(2);
+    assertThat(again).containsExactly(Map.entry(uae, 12L));
+    verify(jdbcTemplate, times(1)).update(contains("ON CONFLICT"), (Object[]) any());
+    verify(repository, never()).findMaxSegmentCodeByLoaderCode(anyString());
+  }
+
+  @Test
+  void resolveSegmentCodes_shouldAdoptStoredCode_whenAnotherReplicaCreatedTheTupleFirst() {
+    // Given - dictionary is cold, the other replica inserted UAE as 40 before our insert
+    when(repository.findAllByLoaderCode("LOADER"))
+        .thenReturn(List.of())
+        .thenReturn(List.of(combination("LOADER", 40L, "UAE"), combination("LOADER", 11L, "USA")));
+    when(codeAllocator.allocate("LOADER", 2)).thenReturn(new long[]{11L, 12L});
+    when(jdbcTemplate.update(anyString(), (Object[]) any())).thenReturn(1);
+    SegmentValues usa = values("USA");
+    SegmentValues uae = values("UAE");
+
+    // When
+    Map<SegmentValues, Long> codes = service.resolveSegmentCodes("LOADER", List.of(usa, uae));
+
+    // Then
+    assertThat(codes).containsEntry(usa, 11L).containsEntry(uae, 40L).hasSize(2);
+    assertThat(service.resolveSegmentCodes("LOADER", List.of(uae))).containsExactly(Map.entry(uae, 40L));
+  }
+
+  private static SegmentValues values(String seg1) {
+    return new SegmentValues(seg1, null, null, null, null, null, null, null, null, null);
+  }
+
+  private static SegmentCombination combination(String loaderCode, Long code, String seg1) {
+    return SegmentCombination.builder()
+        .id(new SegmentCombinationId(loaderCode, code))
+        .segment1(seg1)
+        .build();
+  }
+}
@@ -0,0 +1,184 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.infra.config.IngestProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for SignalsBulkWriter (multi-row INSERT path on H2).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class SignalsBulkWriterTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private SignalsPartitionManager partitionManager;
+  private SignalsBulkWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:bulkwriter;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS signals");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS signals.signals_history");
+    jdbcTemplate.execute("""
+        CREATE TABLE signals.signals_history (
+          id BIGINT AUTO_INCREMENT PRIMARY KEY,
+          loader_code VARCHAR(64) NOT NULL,
+          load_time_stamp TIMESTAMP WITH TIME ZONE NOT NULL,
+          segment_code VARCHAR(128),
+          rec_count BIGINT,
+          max_val DOUBLE PRECISION,
+          min_val DOUBLE PRECISION,
+          avg_val DOUBLE PRECISION,
+          sum_val DOUBLE PRECISION,
+          load_history_id BIGINT,
+          created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+        )""");
+    jdbcTemplate.execute("CREATE UNIQUE INDEX uq_signals_loader_time_segment "
+        + "ON signals.signals_history(loader_code, load_time_stamp, segment_code)");
+
+    IngestProperties properties = new IngestProperties();
+    properties.setInsertBatchSize(3);
+    partitionManager = mock(SignalsPartitionManager.class);
+    writer = new SignalsBulkWriter(jdbcTemplate, properties, partitionManager);
+  }
+
+  @Test
+  void write_shouldInsertAllRows_acrossFullAndPartialBatches() {
+    // Given - 7 rows with batch size 3 (3 + 3 + 1)
+    List<SignalsHistory> signals = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      signals.add(SignalsHistory.builder()
+          .loaderCode("TEST_LOADER")
+          .loadTimeStamp(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(60L * i))
+          .segmentCode(String.valueOf(i % 2))
+          .recCount((long) i)
+          .sumVal(i * 1.5)
+          .build());
+    }
+
+    // When
+    long written = writer.write(signals);
+
+    // Then
+    assertThat(written).isEqualTo(7);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM signals.signals_history WHERE loader_code = 'TEST_LOADER'", Long.class))
+        .isEqualTo(7L);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT SUM(rec_count) FROM signals.signals_history", Long.class))
+        .isEqualTo(21L);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM signals.signals_history WHERE max_val IS NULL AND load_history_id IS NULL", Long.class))
+        .isEqualTo(7L);
+    verify(partitionManager).ensurePartitions(
+        Instant.parse("2025-01-01T00:00:00Z"), Instant.parse("2025-01-01T00:06:00Z"));
+  }
+
+  @Test
+  void write_shouldSkipExistingRows_whenSkippingDuplicates() {
+    // Given - 2 of 4 rows already stored
+    Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+    writer.write(List.of(signal(t0, "1", 10), signal(t0.plusSeconds(60), "1", 20)));
+
+    // When
+    long written = writer.write(List.of(
+        signal(t0, "1", 99),
+        signal(t0.plusSeconds(60), "1", 99),
+        signal(t0, "2", 30),
+        signal(t0.plusSeconds(120), "1", 40)), true);
+
+    // Then - new rows inserted, stored rows untouched
+    assertThat(written).isEqualTo(2);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM signals.signals_history", Long.class))
+        .isEqualTo(4L);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT SUM(rec_count) FROM signals.signals_history", Long.class))
+        .isEqualTo(100L);
+  }
+
+  @Test
+  void write_shouldFailOnExistingRows_whenNotSkippingDuplicates() {
+    // Given
+    Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+    writer.write(List.of(signal(t0, "1", 10)));
+
+    // When / Then
+    assertThatThrownBy(() -> writer.write(List.of(signal(t0, "1", 10))))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  void write_shouldWriteFirstRowOfRepeatedKeys_whenNotSkippingDuplicates() {
+    // Given - the batch repeats (t0, "1") and (t0, null)
+    Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    // When
+    long written = writer.write(List.of(
+        signal(t0, "1", 10),
+        signal(t0, null, 20),
+        signal(t0.plusSeconds(60), "1", 30),
+        signal(t0, "1", 99),
+        signal(t0.plusNanos(100), null, 99)));
+
+    // Then - one row per key, the first one wins
+    assertThat(written).isEqualTo(3);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM signals.signals_history", Long.class))
+        .isEqualTo(3L);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT SUM(rec_count) FROM signals.signals_history", Long.class))
+        .isEqualTo(60L);
+  }
+
+  @Test
+  void writeUnique_shouldWriteKeyRepeatedInALaterChunkOnce_whenChunksShareSeenKeys() {
+    // Given - two chunks of one load, the second repeats (t0, "1")
+    Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+    SignalsBulkWriter.SeenKeys seenKeys = new SignalsBulkWriter.SeenKeys();
+    writer.writeUnique(seenKeys.retainUnseen(List.of(signal(t0, "1", 10))), false);
+
+    // When
+    long written = writer.writeUnique(seenKeys.retainUnseen(List.of(
+        signal(t0.plusSeconds(60), "1", 20),
+        signal(t0, "1", 99))), false);
+
+    // Then
+    assertThat(written).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT SUM(rec_count) FROM signals.signals_history", Long.class))
+        .isEqualTo(30L);
+  }
+
+  @Test
+  void write_shouldReturnZero_whenNothingToWrite() {
+    assertThat(writer.write(List.of())).isZero();
+    assertThat(writer.write(null)).isZero();
+  }
+
+  private static SignalsHistory signal(Instant loadTimeStamp, String segmentCode, long recCount) {
+    return SignalsHistory.builder()
+        .loaderCode("TEST_LOADER")
+        .loadTimeStamp(loadTimeStamp)
+        .segmentCode(segmentCode)
+        .recCount(recCount)
+        .build();
+  }
+}
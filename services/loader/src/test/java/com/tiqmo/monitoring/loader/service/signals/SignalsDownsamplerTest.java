@@ -0,0 +1,76 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for SignalsDownsampler.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SignalsDownsamplerTest {
+
+  private static final Instant FROM = Instant.parse("2025-01-01T10:20:00Z");
+  private static final Instant TO = Instant.parse("2025-01-31T00:00:00Z");
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private SignalsDownsampler downsampler;
+
+  @BeforeEach
+  void setUp() {
+    downsampler = new SignalsDownsampler(jdbcTemplate);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void downsample_shouldAggregateDailyRollup_forWholeDayBuckets() {
+    // When
+    downsampler.downsample("L1", null, FROM, TO, 7 * 86400L);
+
+    // Then - read from the first daily bucket of the range
+    verify(jdbcTemplate).query(
+        argThat((String sql) -> sql.contains("FROM signals.signals_rollup_daily") && sql.endsWith("GROUP BY 1, 2, 3 ORDER BY 2, 3")),
+        any(RowMapper.class),
+        eq(7 * 86400L), eq("L1"), eq(Timestamp.from(Instant.parse("2025-01-01T00:00:00Z"))), eq(Timestamp.from(TO)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void downsample_shouldAggregateRawSignals_forBucketsNotTiledByRollups() {
+    // When
+    downsampler.downsample("L1", "7", FROM, TO, 90L);
+
+    // Then
+    verify(jdbcTemplate).query(
+        argThat((String sql) -> sql.contains("FROM signals.signals_history") && sql.contains("AND segment_code = ?")),
+        any(RowMapper.class),
+        eq(90L), eq("L1"), eq(Timestamp.from(FROM)), eq(Timestamp.from(TO)), eq("7"));
+  }
+
+  @Test
+  void sourceFor_shouldPickCoarsestResolutionTilingBucket() {
+    assertThat(SignalsDownsampler.sourceFor(60L)).isEqualTo(SignalResolution.RAW);
+    assertThat(SignalsDownsampler.sourceFor(5400L)).isEqualTo(SignalResolution.RAW);
+    assertThat(SignalsDownsampler.sourceFor(3600L)).isEqualTo(SignalResolution.HOURLY);
+    assertThat(SignalsDownsampler.sourceFor(36 * 3600L)).isEqualTo(SignalResolution.HOURLY);
+    assertThat(SignalsDownsampler.sourceFor(2 * 86400L)).isEqualTo(SignalResolution.DAILY);
+  }
+}
@@ -0,0 +1,165 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.dto.common.KeysetCursor;
+import com.tiqmo.monitoring.loader.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SignalsExporter (on H2).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class SignalsExporterTest {
+
+  private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+  private JdbcTemplate jdbcTemplate;
+  private SimpleMeterRegistry meterRegistry;
+  private SignalsExporter exporter;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:exporter;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS signals");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS signals.signals_history");
+    jdbcTemplate.execute("""
+        CREATE TABLE signals.signals_history (
+          id BIGINT PRIMARY KEY,
+          loader_code VARCHAR(64) NOT NULL,
+          load_time_stamp TIMESTAMP WITH TIME ZONE NOT NULL,
+          segment_code VARCHAR(128),
+          rec_count BIGINT,
+          min_val DOUBLE PRECISION,
+          max_val DOUBLE PRECISION,
+          avg_val DOUBLE PRECISION,
+          sum_val DOUBLE PRECISION
+        )""");
+
+    // L1: ids 1 and 2 share T0, then 3 at T0+60 and 4 at T0+120; L2 at T0
+    insert(2, "L1", T0, "a,b");
+    insert(1, "L1", T0, "7");
+    insert(3, "L1", T0.plusSeconds(60), null);
+    insert(4, "L1", T0.plusSeconds(120), "7");
+    insert(5, "L2", T0, "7");
+
+    meterRegistry = new SimpleMeterRegistry();
+    exporter = new SignalsExporter(jdbcTemplate, new DataSourceTransactionManager(dataSource), meterRegistry);
+  }
+
+  @Test
+  void export_shouldWriteNdjsonInTimeAndIdOrder() throws IOException {
+    // When
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    KeysetCursor next = exporter.export("L1", null, T0, T0.plusSeconds(120), null, null,
+        SignalsExportFormat.NDJSON, out);
+
+    // Then
+    String[] lines = lines(out);
+    assertThat(next).isNull();
+    assertThat(lines).hasSize(4);
+    assertThat(lines[0]).isEqualTo("{\"id\":1,\"loaderCode\":\"L1\",\"loadTimeStamp\":\"2025-01-01T00:00:00Z\","
+        + "\"segmentCode\":\"7\",\"recCount\":10,\"minVal\":1.0,\"maxVal\":3.0,\"avgVal\":2.0,\"sumVal\":20.0}");
+    assertThat(lines[1]).startsWith("{\"id\":2,");
+    assertThat(lines[2]).startsWith("{\"id\":3,").contains("\"segmentCode\":null");
+    assertThat(lines[3]).startsWith("{\"id\":4,");
+    assertThat(meterRegistry.get("loader_signals_exported_rows").counter().count()).isEqualTo(4.0);
+  }
+
+  @Test
+  void export_shouldPageWithKeysetCursor_acrossEqualTimestamps() throws IOException {
+    // Given - a first page ending between the two rows at T0
+    ByteArrayOutputStream first = new ByteArrayOutputStream();
+    KeysetCursor cursor = exporter.export("L1", null, T0, T0.plusSeconds(120), null, 1,
+        SignalsExportFormat.NDJSON, first);
+
+    String[] firstLines = lines(first);
+    assertThat(cursor).isEqualTo(new KeysetCursor(T0, 1));
+    assertThat(firstLines).hasSize(2);
+    assertThat(firstLines[0]).startsWith("{\"id\":1,");
+    assertThat(firstLines[1]).isEqualTo("{\"nextCursor\":\"" + cursor.encode() + "\"}");
+
+    // When - continuing from the decoded token
+    ByteArrayOutputStream second = new ByteArrayOutputStream();
+    KeysetCursor last = exporter.export("L1", null, T0, T0.plusSeconds(120),
+        KeysetCursor.decode(cursor.encode()), 3, SignalsExportFormat.NDJSON, second);
+
+    // Then - the remaining rows, and no further page
+    String[] lines = lines(second);
+    assertThat(last).isNull();
+    assertThat(lines).hasSize(3);
+    assertThat(lines[0]).startsWith("{\"id\":2,");
+    assertThat(lines[2]).startsWith("{\"id\":4,");
+  }
+
+  @Test
+  void export_shouldWriteCsvWithQuotedTextAndTrailingCursor() throws IOException {
+    // When
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    KeysetCursor next = exporter.export("L1", null, T0, T0.plusSeconds(120), null, 3,
+        SignalsExportFormat.CSV, out);
+
+    // Then
+    assertThat(next).isEqualTo(new KeysetCursor(T0.plusSeconds(60), 3));
+    assertThat(lines(out)).containsExactly(
+        "id,loader_code,load_time_stamp,segment_code,rec_count,min_val,max_val,avg_val,sum_val",
+        "1,L1,2025-01-01T00:00:00Z,7,10,1.0,3.0,2.0,20.0",
+        "2,L1,2025-01-01T00:00:00Z,\"a,b\",10,1.0,3.0,2.0,20.0",
+        "3,L1,2025-01-01T00:01:00Z,,10,1.0,3.0,2.0,20.0",
+        "# nextCursor=" + next.encode());
+  }
+
+  @Test
+  void export_shouldFilterBySegment() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exporter.export("L1", "7", T0, T0.plusSeconds(120), null, null, SignalsExportFormat.NDJSON, out);
+
+    assertThat(lines(out)).hasSize(2).allMatch(line -> line.contains("\"segmentCode\":\"7\""));
+  }
+
+  @Test
+  void cursor_shouldRoundTripAndRejectMalformedTokens() {
+    KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-01-01T00:00:00.123456Z"), 42);
+
+    assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    assertThat(KeysetCursor.decode(null)).isNull();
+    assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+        .isInstanceOf(BusinessException.class);
+  }
+
+  @Test
+  void format_shouldDefaultToNdjsonAndRejectUnknown() {
+    assertThat(SignalsExportFormat.parse(null)).isEqualTo(SignalsExportFormat.NDJSON);
+    assertThat(SignalsExportFormat.parse("CSV")).isEqualTo(SignalsExportFormat.CSV);
+    assertThatThrownBy(() -> SignalsExportFormat.parse("arrow"))
+        .isInstanceOf(BusinessException.class);
+  }
+
+  private void insert(long id, String loaderCode, Instant loadTimeStamp, String segmentCode) {
+    jdbcTemplate.update("INSERT INTO signals.signals_history"
+            + " (id, loader_code, load_time_stamp, segment_code, rec_count, min_val, max_val, avg_val, sum_val)"
+            + " VALUES (?, ?, ?, ?, 10, 1.0, 3.0, 2.0, 20.0)",
+        id, loaderCode, Timestamp.from(loadTimeStamp), segmentCode);
+  }
+
+  private static String[] lines(ByteArrayOutputStream out) {
+    return out.toString(StandardCharsets.UTF_8).split("\r?\n");
+  }
+}
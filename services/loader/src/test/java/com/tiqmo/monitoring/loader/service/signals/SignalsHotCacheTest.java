@@ -0,0 +1,236 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
+import com.tiqmo.monitoring.loader.infra.config.SignalsHotCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SignalsHotCache.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class SignalsHotCacheTest {
+
+  private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+  private SignalsHotCacheProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private SignalsHotCache cache;
+
+  @BeforeEach
+  void setUp() {
+    properties = new SignalsHotCacheProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new SignalsHotCache(properties, meterRegistry);
+  }
+
+  @Test
+  void read_shouldMissUntilALoadCompletes_thenServeTheWindowFromMemory() {
+    // Given - first read registers the loader
+    assertThat(cache.read("L1", null, T0, T0.plusSeconds(599))).isNull();
+
+    // When - two contiguous loads, the second one's chunk out of time order
+    load(T0, T0.plusSeconds(300), signal(60, "a"), signal(120, "b"));
+    load(T0.plusSeconds(300), T0.plusSeconds(600), signal(480, "a"), signal(360, null));
+
+    // Then
+    SignalsHotCache.HotRead read = cache.read("L1", null, T0, T0.plusSeconds(599));
+    assertThat(read.covers(T0, T0.plusSeconds(599))).isTrue();
+    assertThat(read.signals()).extracting(SignalsHistory::getLoadTimeStamp)
+        .containsExactly(T0.plusSeconds(60), T0.plusSeconds(120), T0.plusSeconds(360), T0.plusSeconds(480));
+    assertThat(cache.read("L1", "a", T0.plusSeconds(100), T0.plusSeconds(500)).signals())
+        .extracting(SignalsHistory::getLoadTimeStamp)
+        .containsExactly(T0.plusSeconds(480));
+    assertThat(meterRegistry.get("loader_signals_hot_cache_reads_total").tag("result", "hit").counter().count())
+        .isEqualTo(2.0);
+    assertThat(meterRegistry.get("loader_signals_hot_cache_reads_total").tag("result", "miss").counter().count())
+        .isEqualTo(1.0);
+    assertThat(meterRegistry.get("loader_signals_hot_cache_signals").gauge().value()).isEqualTo(4.0);
+    assertThat(meterRegistry.get("loader_signals_hot_cache_bytes").gauge().value()).isPositive();
+  }
+
+  @Test
+  void read_shouldKeepValuesAndNulls() {
+    // Given
+    cache.read("L1", null, T0, T0);
+    SignalsHistory full = SignalsHistory.builder()
+        .loaderCode("L1").loadTimeStamp(T0.plusSeconds(1)).segmentCode("a")
+        .recCount(10L).minVal(1.0).maxVal(3.0).avgVal(2.0).sumVal(20.0).loadHistoryId(7L).build();
+    SignalsHistory empty = SignalsHistory.builder().loaderCode("L1").loadTimeStamp(T0.plusSeconds(2)).build();
+    load(T0, T0.plusSeconds(60), full, empty);
+
+    // When
+    List<SignalsHistory> signals = cache.read("L1", null, T0, T0.plusSeconds(59)).signals();
+
+    // Then
+    assertThat(signals.get(0)).usingRecursiveComparison().isEqualTo(full);
+    assertThat(signals.get(1)).usingRecursiveComparison().isEqualTo(empty);
+  }
+
+  @Test
+  void read_shouldReportCoverage_whenRangeStartsBeforeOrEndsAfterTheWindow() {
+    // Given
+    cache.read("L1", null, T0, T0);
+    load(T0.plusSeconds(300), T0.plusSeconds(600), signal(400, "a"));
+
+    // When
+    SignalsHotCache.HotRead read = cache.read("L1", null, T0, T0.plusSeconds(900));
+
+    // Then - the caller reads [T0, T0+300) and [T0+600, T0+900] from the database
+    assertThat(read.covers(T0, T0.plusSeconds(900))).isFalse();
+    assertThat(read.coveredFrom()).isEqualTo(T0.plusSeconds(300));
+    assertThat(read.coveredTo()).isEqualTo(T0.plusSeconds(600));
+    assertThat(read.signals()).hasSize(1);
+    assertThat(cache.read("L1", null, T0.plusSeconds(600), T0.plusSeconds(900))).isNull();
+    assertThat(meterRegistry.get("loader_signals_hot_cache_reads_total").tag("result", "partial").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void commit_shouldRestartTheWindow_whenLoadDoesNotContinueIt() {
+    // Given
+    cache.read("L1", null, T0, T0);
+    load(T0, T0.plusSeconds(300), signal(60, "a"));
+
+    // When - a gap of 300s
+    load(T0.plusSeconds(600), T0.plusSeconds(900), signal(700, "a"));
+
+    // Then
+    SignalsHotCache.HotRead read = cache.read("L1", null, T0, T0.plusSeconds(899));
+    assertThat(read.coveredFrom()).isEqualTo(T0.plusSeconds(600));
+    assertThat(read.signals()).extracting(SignalsHistory::getLoadTimeStamp).containsExactly(T0.plusSeconds(700));
+  }
+
+  @Test
+  void commit_shouldDropTheWindow_whenRowsWereSkippedOrOutsideTheLoadWindow() {
+    // Given
+    cache.read("L1", null, T0, T0);
+    load(T0, T0.plusSeconds(300), signal(60, "a"));
+
+    // When - one of two staged signals was skipped as a duplicate
+    SignalsHotCache.Stage stage = cache.stage("L1");
+    stage.add(List.of(signal(360, "a"), signal(420, "a")));
+    cache.commit(stage, T0.plusSeconds(300), T0.plusSeconds(600), 1);
+
+    // Then
+    assertThat(cache.read("L1", null, T0, T0.plusSeconds(599))).isNull();
+
+    // When - a signal outside the load window
+    load(T0.plusSeconds(600), T0.plusSeconds(900), signal(950, "a"));
+
+    // Then
+    assertThat(cache.read("L1", null, T0.plusSeconds(600), T0.plusSeconds(899))).isNull();
+  }
+
+  @Test
+  void invalidate_shouldDropTheWindow_unlessTheWriteEndsBeforeIt() {
+    // Given
+    cache.read("L1", null, T0, T0);
+    load(T0.plusSeconds(300), T0.plusSeconds(600), signal(400, "a"));
+
+    // When - a write before the window
+    cache.onSignalsWritten(new SignalsWrittenEvent("L1", T0, T0.plusSeconds(300)));
+
+    // Then
+    assertThat(cache.read("L1", null, T0.plusSeconds(300), T0.plusSeconds(599))).isNotNull();
+
+    // When - a write after it
+    cache.onSignalsWritten(new SignalsWrittenEvent("L1", T0.plusSeconds(700), T0.plusSeconds(800)));
+
+    // Then
+    assertThat(cache.read("L1", null, T0.plusSeconds(300), T0.plusSeconds(599))).isNull();
+  }
+
+  @Test
+  void commit_shouldDiscardALoadStagedBeforeAnInvalidation() {
+    // Given - a load running while the ingest API writes into its window
+    cache.read("L1", null, T0, T0);
+    SignalsHotCache.Stage stage = cache.stage("L1");
+    stage.add(List.of(signal(60, "a")));
+    cache.invalidate("L1", T0.plusSeconds(100), T0.plusSeconds(101));
+
+    // When
+    cache.commit(stage, T0, T0.plusSeconds(300), 1);
+
+    // Then
+    assertThat(cache.read("L1", null, T0, T0.plusSeconds(299))).isNull();
+  }
+
+  @Test
+  void commit_shouldEvictSignalsOlderThanTheWindowOrBeyondCapacity() {
+    // Given - 3 signals per loader
+    properties.setMaxSignalsPerLoader(3);
+    cache.read("L1", null, T0, T0);
+    load(T0, T0.plusSeconds(300), signal(0, "a"), signal(200, "a"));
+    load(T0.plusSeconds(300), T0.plusSeconds(600), signal(300, "a"));
+
+    // When - capacity: the oldest timestamp goes
+    load(T0.plusSeconds(600), T0.plusSeconds(700), signal(650, "a"));
+
+    // Then
+    SignalsHotCache.HotRead read = cache.read("L1", null, T0.plusSeconds(1), T0.plusSeconds(699));
+    assertThat(read.coveredFrom()).isEqualTo(T0.plusNanos(1_000));
+    assertThat(read.signals()).hasSize(3);
+
+    // When - time: 10 minutes back from the end of the last load (capacity also drops T0+200)
+    properties.setWindow(Duration.ofMinutes(10));
+    load(T0.plusSeconds(700), T0.plusSeconds(900), signal(800, "a"));
+
+    // Then
+    read = cache.read("L1", null, T0.plusSeconds(300), T0.plusSeconds(899));
+    assertThat(read.coveredFrom()).isEqualTo(T0.plusSeconds(300));
+    assertThat(read.signals()).extracting(SignalsHistory::getLoadTimeStamp)
+        .containsExactly(T0.plusSeconds(300), T0.plusSeconds(650), T0.plusSeconds(800));
+  }
+
+  @Test
+  void read_shouldDropTheLeastRecentlyReadLoader_beyondMaxLoaders() {
+    // Given
+    properties.setMaxLoaders(1);
+    cache.read("L1", null, T0, T0);
+
+    // When
+    cache.read("L2", null, T0, T0);
+
+    // Then - L1 no longer stages its loads
+    assertThat(cache.stage("L1")).isNull();
+    assertThat(cache.stage("L2")).isNotNull();
+    assertThat(meterRegistry.get("loader_signals_hot_cache_loaders").gauge().value()).isEqualTo(1.0);
+  }
+
+  @Test
+  void read_shouldBypassTheCache_whenDisabled() {
+    // Given
+    properties.setEnabled(false);
+
+    // When / Then
+    assertThat(cache.read("L1", null, T0, T0)).isNull();
+    assertThat(cache.stage("L1")).isNull();
+  }
+
+  private void load(Instant from, Instant to, SignalsHistory... signals) {
+    SignalsHotCache.Stage stage = cache.stage("L1");
+    stage.add(List.of(signals));
+    cache.commit(stage, from, to, signals.length);
+  }
+
+  private static SignalsHistory signal(long secondsAfterT0, String segmentCode) {
+    return SignalsHistory.builder()
+        .loaderCode("L1")
+        .loadTimeStamp(T0.plusSeconds(secondsAfterT0))
+        .segmentCode(segmentCode)
+        .recCount(1L)
+        .avgVal(2.0)
+        .build();
+  }
+}
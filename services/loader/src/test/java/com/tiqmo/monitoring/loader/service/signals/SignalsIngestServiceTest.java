@@ -12,13 +12,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -40,6 +43,15 @@ class SignalsIngestServiceTest {
   @Mock
   private SignalsHistoryRepository repository;
 
+  @Mock
+  private SignalsBulkWriter bulkWriter;
+
+  @Mock
+  private SignalsRollupService rollupService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private SignalsIngestService service;
 
@@ -180,11 +192,7 @@ class SignalsIngestServiceTest {
         createSignalData(1706353400L, "3", 300L)
     );
 
-    when(repository.saveAll(anyList())).thenAnswer(i -> {
-      List<SignalsHistory> signals = i.getArgument(0);
-      signals.forEach(s -> s.setId(999L));
-      return signals;
-    });
+    when(bulkWriter.writeUnique(anyList(), eq(false))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
 
     // Act
     List<SignalsHistory> results = service.bulkAppend("TEST_LOADER", signalDataList);
@@ -195,7 +203,7 @@ class SignalsIngestServiceTest {
     assertEquals("TEST_LOADER", results.get(1).getLoaderCode());
     assertEquals("TEST_LOADER", results.get(2).getLoaderCode());
 
-    verify(repository).saveAll(anyList());
+    verify(bulkWriter).writeUnique(anyList(), eq(false));
   }
 
   @Test
@@ -206,7 +214,7 @@ class SignalsIngestServiceTest {
         createSignalData(1706353300L, "2", 200L)
     );
 
-    when(repository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+    when(bulkWriter.writeUnique(anyList(), eq(false))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
 
     // Act
     long beforeExecution = System.currentTimeMillis() / 1000;
@@ -224,7 +232,7 @@ class SignalsIngestServiceTest {
 
     // Verify all signals saved together
     ArgumentCaptor<List<SignalsHistory>> captor = ArgumentCaptor.forClass(List.class);
-    verify(repository).saveAll(captor.capture());
+    verify(bulkWriter).writeUnique(captor.capture(), eq(false));
     assertEquals(2, captor.getValue().size());
   }
 
@@ -236,14 +244,14 @@ class SignalsIngestServiceTest {
 
     List<BulkSignalsRequest.SignalData> signalDataList = List.of(data1, data2);
 
-    when(repository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+    when(bulkWriter.writeUnique(anyList(), eq(false))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
 
     // Act
     service.bulkAppend("TEST_LOADER", signalDataList);
 
     // Assert
     ArgumentCaptor<List<SignalsHistory>> captor = ArgumentCaptor.forClass(List.class);
-    verify(repository).saveAll(captor.capture());
+    verify(bulkWriter).writeUnique(captor.capture(), eq(false));
 
     List<SignalsHistory> savedSignals = captor.getValue();
     assertEquals(2, savedSignals.size());
@@ -257,7 +265,7 @@ class SignalsIngestServiceTest {
         createSignalData(1706353200L, "1", 100L)
     );
 
-    when(repository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+    when(bulkWriter.writeUnique(anyList(), eq(false))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
 
     // Act
     List<SignalsHistory> results = service.bulkAppend("TEST_LOADER", signalDataList);
@@ -265,7 +273,26 @@ class SignalsIngestServiceTest {
     // Assert
     assertEquals(1, results.size());
     assertEquals("TEST_LOADER", results.get(0).getLoaderCode());
-    verify(repository).saveAll(anyList());
+    verify(bulkWriter).writeUnique(anyList(), eq(false));
+  }
+
+  @Test
+  void testBulkAppend_RepeatedKey_ReturnsOnlyWrittenSignals() {
+    // Arrange - the second signal repeats the first one's key
+    List<BulkSignalsRequest.SignalData> signalDataList = List.of(
+        createSignalData(1706353200L, "1", 100L),
+        createSignalData(1706353200L, "1", 200L),
+        createSignalData(1706353300L, "1", 300L)
+    );
+
+    when(bulkWriter.writeUnique(anyList(), eq(false))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
+
+    // Act
+    List<SignalsHistory> results = service.bulkAppend("TEST_LOADER", signalDataList);
+
+    // Assert
+    assertEquals(List.of(100L, 300L), results.stream().map(SignalsHistory::getRecCount).toList());
+    verify(bulkWriter).writeUnique(results, false);
   }
 
   // ===================================================================================
@@ -285,7 +312,7 @@ class SignalsIngestServiceTest {
 
     assertEquals(ErrorCode.VALIDATION_REQUIRED_FIELD, exception.getErrorCode());
     assertTrue(exception.getMessage().contains("Loader code is required"));
-    verify(repository, never()).saveAll(anyList());
+    verify(bulkWriter, never()).writeUnique(anyList(), anyBoolean());
   }
 
   @Test
@@ -300,7 +327,7 @@ class SignalsIngestServiceTest {
         () -> service.bulkAppend("   ", signalDataList));
 
     assertEquals(ErrorCode.VALIDATION_REQUIRED_FIELD, exception.getErrorCode());
-    verify(repository, never()).saveAll(anyList());
+    verify(bulkWriter, never()).writeUnique(anyList(), anyBoolean());
   }
 
   @Test
@@ -311,7 +338,7 @@ class SignalsIngestServiceTest {
 
     assertEquals(ErrorCode.VALIDATION_REQUIRED_FIELD, exception.getErrorCode());
     assertTrue(exception.getMessage().contains("Signal data list is required"));
-    verify(repository, never()).saveAll(anyList());
+    verify(bulkWriter, never()).writeUnique(anyList(), anyBoolean());
   }
 
   @Test
@@ -322,7 +349,7 @@ class SignalsIngestServiceTest {
 
     assertEquals(ErrorCode.VALIDATION_REQUIRED_FIELD, exception.getErrorCode());
     assertTrue(exception.getMessage().contains("cannot be empty"));
-    verify(repository, never()).saveAll(anyList());
+    verify(bulkWriter, never()).writeUnique(anyList(), anyBoolean());
   }
 
   // ===================================================================================
@@ -359,14 +386,14 @@ class SignalsIngestServiceTest {
       largeDataset.add(createSignalData(1706353200L + i, String.valueOf(i % 10), (long) i));
     }
 
-    when(repository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+    when(bulkWriter.writeUnique(anyList(), eq(false))).thenAnswer(i -> (long) ((List<?>) i.getArgument(0)).size());
 
     // Act
     List<SignalsHistory> results = service.bulkAppend("TEST_LOADER", largeDataset);
 
     // Assert
     assertEquals(1000, results.size());
-    verify(repository).saveAll(anyList());
+    verify(bulkWriter).writeUnique(anyList(), eq(false));
   }
 
   @Test
@@ -386,7 +413,7 @@ class SignalsIngestServiceTest {
         createSignalData(1706353200L, "1", 100L)
     );
 
-    when(repository.saveAll(anyList()))
+    when(bulkWriter.writeUnique(anyList(), eq(false)))
         .thenThrow(new RuntimeException("Database connection failed"));
 
     // Act & Assert
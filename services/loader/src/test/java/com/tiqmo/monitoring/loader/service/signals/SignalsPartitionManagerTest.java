@@ -0,0 +1,294 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.loader.repo.LoaderRepository;
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
+import com.tiqmo.monitoring.loader.infra.config.PartitionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SignalsPartitionManager.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SignalsPartitionManagerTest {
+
+  private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private LoaderRepository loaderRepository;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private PartitionProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private SignalsPartitionManager manager;
+
+  @BeforeEach
+  void setUp() {
+    properties = new PartitionProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    manager = new SignalsPartitionManager(jdbcTemplate, transactionManager, loaderRepository, properties, eventPublisher,
+        meterRegistry);
+  }
+
+  @Test
+  void ensurePartitions_shouldCreateOnlyMissingDays() {
+    // Given - today is partitioned, yesterday and tomorrow are not
+    givenPartitions(TODAY);
+    when(jdbcTemplate.queryForObject(eq(SignalsPartitionManager.CREATE_SQL), eq(Boolean.class), any(Date.class)))
+        .thenReturn(true);
+
+    // When
+    manager.ensurePartitions(hour(TODAY.minusDays(1), 10), hour(TODAY.plusDays(1), 2));
+
+    // Then
+    verify(jdbcTemplate).queryForObject(SignalsPartitionManager.CREATE_SQL, Boolean.class, Date.valueOf(TODAY.minusDays(1)));
+    verify(jdbcTemplate).queryForObject(SignalsPartitionManager.CREATE_SQL, Boolean.class, Date.valueOf(TODAY.plusDays(1)));
+    verify(jdbcTemplate, times(2)).queryForObject(eq(SignalsPartitionManager.CREATE_SQL), eq(Boolean.class), any(Date.class));
+    assertThat(meterRegistry.get("loader_signals_partitions").gauge().value()).isEqualTo(3.0);
+
+    // When - days are known now, no further round trips
+    manager.ensurePartitions(hour(TODAY, 5), hour(TODAY.plusDays(1), 5));
+
+    // Then
+    verify(jdbcTemplate, times(2)).queryForObject(eq(SignalsPartitionManager.CREATE_SQL), eq(Boolean.class), any(Date.class));
+  }
+
+  @Test
+  void ensurePartitions_shouldLeaveDaysBeyondHistoryToDefaultPartition() {
+    // Given
+    properties.setHistoryDays(30);
+
+    // When - a backfill of a year ago
+    manager.ensurePartitions(hour(TODAY.minusDays(365), 0), hour(TODAY.minusDays(360), 0));
+
+    // Then
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void ensurePartitions_shouldKeepGoing_whenCreationFails() {
+    // Given
+    givenPartitions();
+    when(jdbcTemplate.queryForObject(eq(SignalsPartitionManager.CREATE_SQL), eq(Boolean.class), any(Date.class)))
+        .thenThrow(new RuntimeException("lock timeout"))
+        .thenReturn(true);
+
+    // When
+    manager.ensurePartitions(hour(TODAY.minusDays(1), 0), hour(TODAY, 0));
+
+    // Then
+    assertThat(manager.partitionsWithin(start(TODAY.minusDays(1)), start(TODAY.plusDays(1))))
+        .containsExactly(TODAY);
+
+    // When - the next write, within the retry delay
+    manager.ensurePartitions(hour(TODAY.minusDays(1), 0), hour(TODAY, 0));
+
+    // Then - the failed day is not attempted again yet
+    verify(jdbcTemplate, times(2)).queryForObject(eq(SignalsPartitionManager.CREATE_SQL), eq(Boolean.class), any(Date.class));
+  }
+
+  @Test
+  void ensurePartitions_shouldDoNothing_whenPartitionFunctionsAreMissing() {
+    // Given - e.g. H2 or a schema not managed by Flyway
+    when(jdbcTemplate.queryForObject(SignalsPartitionManager.FUNCTIONS_SQL, Boolean.class))
+        .thenThrow(new BadSqlGrammarException("lookup", SignalsPartitionManager.FUNCTIONS_SQL, new SQLException()));
+
+    // When
+    manager.ensurePartitions(hour(TODAY.minusDays(1), 0), hour(TODAY, 0));
+    manager.ensurePartitions(hour(TODAY.minusDays(1), 0), hour(TODAY, 0));
+    manager.maintain();
+
+    // Then - looked up once, no DDL; purges fall back to deletes
+    assertThat(manager.partitionsWithin(start(TODAY.minusDays(1)), start(TODAY.plusDays(1)))).isEmpty();
+    verify(jdbcTemplate).queryForObject(SignalsPartitionManager.FUNCTIONS_SQL, Boolean.class);
+    verifyNoMoreInteractions(jdbcTemplate);
+    verifyNoInteractions(transactionManager);
+  }
+
+  @Test
+  void partitionsWithin_shouldReturnWholePartitionedDaysOnly() {
+    // Given
+    LocalDate d1 = LocalDate.parse("2025-01-01");
+    givenPartitions(d1, d1.plusDays(1), d1.plusDays(2), d1.plusDays(4));
+
+    // Then - the partial first day and the unpartitioned 4th are excluded
+    assertThat(manager.partitionsWithin(hour(d1, 12), start(d1.plusDays(4))))
+        .containsExactly(d1.plusDays(1), d1.plusDays(2));
+    assertThat(manager.partitionsWithin(start(d1), hour(d1.plusDays(1), 23)))
+        .containsExactly(d1);
+    assertThat(manager.partitionsWithin(hour(d1, 1), hour(d1, 2))).isEmpty();
+  }
+
+  @Test
+  void applyRetention_shouldDropPartitionsExpiredForAllLoaders_andDeleteRowsOfShorterRetentions() {
+    // Given - L1 keeps 10 days, L2 the default 30
+    properties.setDefaultRetentionDays(30);
+    properties.setRetentionDays(Map.of("L1", 10));
+    givenPartitions(TODAY.minusDays(40), TODAY.minusDays(20), TODAY.minusDays(5));
+    manager.refresh();
+    when(loaderRepository.findAllLoaderCodes()).thenReturn(List.of("L1", "L2"));
+    String expiredForL1 = SignalsPartitionManager.partitionName(TODAY.minusDays(20));
+    when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class)))
+        .thenAnswer(invocation -> ((String) invocation.getArgument(0)).contains(expiredForL1));
+    when(jdbcTemplate.queryForObject(eq(SignalsPartitionManager.DROP_SQL), eq(Boolean.class), any(Date.class), eq(false)))
+        .thenReturn(true);
+    when(jdbcTemplate.update("DELETE FROM signals." + expiredForL1 + " WHERE loader_code = ?", "L1"))
+        .thenReturn(3);
+
+    // When
+    SignalsPartitionManager.RetentionResult result = manager.applyRetention(TODAY);
+
+    // Then
+    assertThat(result.partitionsExpired()).isEqualTo(1);
+    assertThat(result.rowsDeleted()).isEqualTo(3);
+    verify(jdbcTemplate).queryForObject(SignalsPartitionManager.DROP_SQL, Boolean.class,
+        Date.valueOf(TODAY.minusDays(40)), false);
+    assertThat(manager.partitionsWithin(start(TODAY.minusDays(60)), start(TODAY)))
+        .containsExactly(TODAY.minusDays(20), TODAY.minusDays(5));
+    assertThat(meterRegistry.get("loader_signals_partitions_expired_total").counter().count()).isEqualTo(1.0);
+
+    // Then - expired ranges are published so hot windows drop them
+    LocalDate dropped = TODAY.minusDays(40);
+    verify(eventPublisher).publishEvent(new SignalsWrittenEvent("L1", start(dropped), start(dropped.plusDays(1))));
+    verify(eventPublisher).publishEvent(new SignalsWrittenEvent("L2", start(dropped), start(dropped.plusDays(1))));
+    verify(eventPublisher).publishEvent(
+        new SignalsWrittenEvent("L1", start(TODAY.minusDays(20)), start(TODAY.minusDays(19))));
+    verifyNoMoreInteractions(eventPublisher);
+  }
+
+  @Test
+  void maintain_shouldSkip_whenAnotherReplicaHoldsTheMaintenanceLock() {
+    // Given
+    when(jdbcTemplate.queryForObject(SignalsPartitionManager.FUNCTIONS_SQL, Boolean.class)).thenReturn(true);
+    when(jdbcTemplate.queryForObject(SignalsPartitionManager.MAINTENANCE_LOCK_SQL, Boolean.class)).thenReturn(false);
+
+    // When
+    manager.maintain();
+
+    // Then - no DDL or retention
+    verify(jdbcTemplate, never()).queryForObject(eq(SignalsPartitionManager.CREATE_SQL), eq(Boolean.class), any(Date.class));
+    verifyNoInteractions(loaderRepository);
+  }
+
+  @Test
+  void maintain_shouldForgetPartitionsDroppedByAnotherReplica_whenSkipped() {
+    // Given - TODAY-40 was known, another replica's retention dropped it
+    givenPartitions(TODAY.minusDays(40), TODAY);
+    manager.refresh();
+    when(jdbcTemplate.queryForList(SignalsPartitionManager.LIST_SQL, String.class))
+        .thenReturn(List.of(SignalsPartitionManager.partitionName(TODAY)));
+    when(jdbcTemplate.queryForObject(SignalsPartitionManager.MAINTENANCE_LOCK_SQL, Boolean.class)).thenReturn(false);
+
+    // When
+    manager.maintain();
+
+    // Then
+    assertThat(manager.partitionsWithin(start(TODAY.minusDays(60)), start(TODAY.plusDays(1))))
+        .containsExactly(TODAY);
+  }
+
+  @Test
+  void isAttached_shouldForgetADayNoLongerInTheCatalog() {
+    // Given
+    LocalDate d1 = LocalDate.parse("2025-01-01");
+    givenPartitions(d1, d1.plusDays(1));
+    manager.refresh();
+    when(jdbcTemplate.queryForObject(SignalsPartitionManager.ATTACHED_SQL, Boolean.class,
+        SignalsPartitionManager.partitionName(d1))).thenReturn(false);
+    when(jdbcTemplate.queryForObject(SignalsPartitionManager.ATTACHED_SQL, Boolean.class,
+        SignalsPartitionManager.partitionName(d1.plusDays(1)))).thenReturn(true);
+
+    // When / Then
+    assertThat(manager.isAttached(d1)).isFalse();
+    assertThat(manager.isAttached(d1.plusDays(1))).isTrue();
+    assertThat(manager.partitionsWithin(start(d1), start(d1.plusDays(2)))).containsExactly(d1.plusDays(1));
+  }
+
+  @Test
+  void maintain_shouldCreateUpcomingPartitions_whenHoldingTheMaintenanceLock() {
+    // Given - all days partitioned up to today
+    properties.setPremakeDays(1);
+    givenPartitions(TODAY.minusDays(1), TODAY);
+    when(jdbcTemplate.queryForObject(SignalsPartitionManager.MAINTENANCE_LOCK_SQL, Boolean.class)).thenReturn(true);
+    when(jdbcTemplate.queryForObject(eq(SignalsPartitionManager.CREATE_SQL), eq(Boolean.class), any(Date.class)))
+        .thenReturn(true);
+    when(loaderRepository.findAllLoaderCodes()).thenReturn(List.of("L1"));
+
+    // When
+    manager.maintain();
+
+    // Then
+    verify(jdbcTemplate).queryForObject(SignalsPartitionManager.CREATE_SQL, Boolean.class, Date.valueOf(TODAY.plusDays(1)));
+    verify(loaderRepository, never()).findAll();
+  }
+
+  @Test
+  void maxRetentionDays_shouldBeZero_whenAnyLoaderKeepsSignalsForever() {
+    properties.setDefaultRetentionDays(30);
+    properties.setRetentionDays(Map.of("L1", 90, "L2", 0));
+
+    assertThat(manager.maxRetentionDays(List.of("L1", "L3"))).isEqualTo(90);
+    assertThat(manager.maxRetentionDays(List.of("L1", "L2"))).isZero();
+
+    properties.setDefaultRetentionDays(0);
+    assertThat(manager.maxRetentionDays(List.of("L1"))).isZero();
+  }
+
+  @Test
+  void partitionName_shouldRoundTripThroughParseDay() {
+    LocalDate day = LocalDate.parse("2025-03-07");
+
+    assertThat(SignalsPartitionManager.partitionName(day)).isEqualTo("signals_history_p20250307");
+    assertThat(SignalsPartitionManager.parseDay("signals_history_p20250307")).isEqualTo(day);
+    assertThat(SignalsPartitionManager.parseDay(SignalsPartitionManager.DEFAULT_PARTITION)).isNull();
+  }
+
+  // Helper methods
+
+  private void givenPartitions(LocalDate... days) {
+    when(jdbcTemplate.queryForObject(SignalsPartitionManager.FUNCTIONS_SQL, Boolean.class)).thenReturn(true);
+    when(jdbcTemplate.queryForList(SignalsPartitionManager.LIST_SQL, String.class)).thenReturn(
+        java.util.Arrays.stream(days).map(SignalsPartitionManager::partitionName).toList());
+  }
+
+  private static Instant start(LocalDate day) {
+    return SignalsPartitionManager.start(day);
+  }
+
+  private static Instant hour(LocalDate day, int hour) {
+    return start(day).plusSeconds(3600L * hour);
+  }
+}
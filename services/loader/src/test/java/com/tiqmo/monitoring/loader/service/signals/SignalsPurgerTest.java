@@ -0,0 +1,292 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.events.SignalsWrittenEvent;
+import com.tiqmo.monitoring.loader.infra.config.SignalsHotCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SignalsPurger (on H2).
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+class SignalsPurgerTest {
+
+  private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+  private static final LocalDate DAY2 = LocalDate.parse("2025-01-02");
+
+  private JdbcTemplate jdbcTemplate;
+  private SignalsPartitionManager partitionManager;
+  private SignalsRollupService rollupService;
+  private SignalsHotCache hotCache;
+  private SignalsPurger purger;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:purger;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS signals");
+    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS loader");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS signals.signals_history");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS signals." + SignalsPartitionManager.partitionName(DAY2));
+    jdbcTemplate.execute("DROP TABLE IF EXISTS loader.load_history");
+    createSignalsTable("signals_history");
+    jdbcTemplate.execute("""
+        CREATE TABLE loader.load_history (
+          id BIGINT PRIMARY KEY,
+          loader_code VARCHAR(64) NOT NULL,
+          status VARCHAR(32) NOT NULL,
+          start_time TIMESTAMP WITH TIME ZONE NOT NULL,
+          end_time TIMESTAMP WITH TIME ZONE,
+          query_from_time TIMESTAMP WITH TIME ZONE,
+          query_to_time TIMESTAMP WITH TIME ZONE
+        )""");
+
+    // L1 at T0, T0+60, T0+120; L2 at T0+60
+    insert("signals_history", "L1", T0, null);
+    insert("signals_history", "L1", T0.plusSeconds(60), null);
+    insert("signals_history", "L1", T0.plusSeconds(120), null);
+    insert("signals_history", "L2", T0.plusSeconds(60), null);
+
+    partitionManager = mock(SignalsPartitionManager.class);
+    when(partitionManager.partitionsWithin(any(), any())).thenReturn(List.of());
+    hotCache = new SignalsHotCache(new SignalsHotCacheProperties(), new SimpleMeterRegistry());
+    rollupService = mock(SignalsRollupService.class);
+    purger = new SignalsPurger(jdbcTemplate, partitionManager, rollupService,
+        event -> hotCache.onSignalsWritten((SignalsWrittenEvent) event));
+  }
+
+  @Test
+  void hasSignals_shouldProbeHalfOpenRangeOfLoader() {
+    assertThat(purger.hasSignals("L1", T0, T0.plusSeconds(1))).isTrue();
+    assertThat(purger.hasSignals("L1", T0.plusSeconds(1), T0.plusSeconds(60))).isFalse();
+    assertThat(purger.hasSignals("L2", T0, T0.plusSeconds(60))).isFalse();
+    assertThat(purger.hasSignals("L3", T0, T0.plusSeconds(3600))).isFalse();
+  }
+
+  @Test
+  void hasSignals_shouldBeFalse_forEmptyRange() {
+    assertThat(purger.hasSignals("L1", T0, T0)).isFalse();
+  }
+
+  @Test
+  void purge_shouldDeleteHalfOpenRangeOfLoaderOnly() {
+    // When - [T0, T0+120) excludes the row at T0+120
+    long deleted = purger.purge("L1", T0, T0.plusSeconds(120));
+
+    // Then
+    assertThat(deleted).isEqualTo(2);
+    assertThat(count("signals_history", "L1")).isEqualTo(1L);
+    assertThat(count("signals_history", "L2")).isEqualTo(1L);
+  }
+
+  @Test
+  void purge_shouldLeaveRollupsToTheCaller() {
+    // When
+    purger.purge("L1", T0, T0.plusSeconds(120));
+
+    // Then - the caller reloads the range and refreshes its rollups
+    verifyNoInteractions(rollupService);
+  }
+
+  @Test
+  void purge_shouldDeleteNothing_forEmptyRange() {
+    assertThat(purger.purge("L1", T0.plusSeconds(60), T0)).isZero();
+    assertThat(count("signals_history", "L1")).isEqualTo(3L);
+  }
+
+  @Test
+  void purge_shouldDeleteWholeDayFromItsPartition_andRangeEdgesFromTable() {
+    // Given - 2025-01-02 is a partition shared by L1 and L2 (stand-in table)
+    String partition = SignalsPartitionManager.partitionName(DAY2);
+    createSignalsTable(partition);
+    insert(partition, "L1", Instant.parse("2025-01-02T10:00:00Z"), null);
+    insert(partition, "L2", Instant.parse("2025-01-02T10:00:00Z"), null);
+    insert("signals_history", "L1", Instant.parse("2025-01-03T01:00:00Z"), null);
+    insert("signals_history", "L1", Instant.parse("2025-01-03T07:00:00Z"), null);
+    Instant from = T0.plusSeconds(60);
+    Instant to = Instant.parse("2025-01-03T06:00:00Z");
+    when(partitionManager.partitionsWithin(from, to)).thenReturn(List.of(DAY2));
+    when(partitionManager.isAttached(DAY2)).thenReturn(true);
+
+    // When
+    long deleted = purger.purge("L1", from, to);
+
+    // Then - T0+60, T0+120, the partition's L1 row and 2025-01-03T01:00
+    assertThat(deleted).isEqualTo(4);
+    assertThat(count(partition, "L1")).isZero();
+    assertThat(count(partition, "L2")).isEqualTo(1L);
+    assertThat(count("signals_history", "L1")).isEqualTo(2L);
+    assertThat(count("signals_history", "L2")).isEqualTo(1L);
+  }
+
+  @Test
+  void purge_shouldDeleteRows_whenPartitionHoldsOnlyTheLoader() {
+    // Given - 2025-01-02 holds only L1 rows
+    String partition = SignalsPartitionManager.partitionName(DAY2);
+    createSignalsTable(partition);
+    insert(partition, "L1", Instant.parse("2025-01-02T10:00:00Z"), null);
+    insert(partition, "L1", Instant.parse("2025-01-02T11:00:00Z"), null);
+    Instant from = SignalsPartitionManager.start(DAY2);
+    Instant to = SignalsPartitionManager.start(DAY2.plusDays(1));
+    when(partitionManager.partitionsWithin(from, to)).thenReturn(List.of(DAY2));
+    when(partitionManager.isAttached(DAY2)).thenReturn(true);
+
+    // When
+    long deleted = purger.purge("L1", from, to);
+
+    // Then - rows deleted (not truncated), other days untouched
+    assertThat(deleted).isEqualTo(2);
+    assertThat(count(partition, "L1")).isZero();
+    assertThat(count("signals_history", "L1")).isEqualTo(3L);
+  }
+
+  @Test
+  void purge_shouldDeleteTheDayByRange_whenItsPartitionIsNoLongerAttached() {
+    // Given - 2025-01-02 is still cached, but retention on another replica detached it
+    String partition = SignalsPartitionManager.partitionName(DAY2);
+    createSignalsTable(partition);
+    insert(partition, "L1", Instant.parse("2025-01-02T10:00:00Z"), null);
+    insert("signals_history", "L1", Instant.parse("2025-01-02T11:00:00Z"), null);
+    Instant from = SignalsPartitionManager.start(DAY2);
+    Instant to = SignalsPartitionManager.start(DAY2.plusDays(1));
+    when(partitionManager.partitionsWithin(from, to)).thenReturn(List.of(DAY2));
+    when(partitionManager.isAttached(DAY2)).thenReturn(false);
+
+    // When
+    long deleted = purger.purge("L1", from, to);
+
+    // Then - the day is deleted through signals_history, the detached table is left alone
+    assertThat(deleted).isEqualTo(1);
+    assertThat(count(partition, "L1")).isEqualTo(1L);
+    assertThat(count("signals_history", "L1")).isEqualTo(3L);
+  }
+
+  @Test
+  void purge_shouldDropTheHotWindow_soReadsGoToTheDatabase() {
+    // Given - L1's signals of [T0, T0+180) are in the hot window
+    hotCache.read("L1", null, T0, T0);
+    SignalsHotCache.Stage stage = hotCache.stage("L1");
+    stage.add(List.of(cached(T0), cached(T0.plusSeconds(60)), cached(T0.plusSeconds(120))));
+    hotCache.commit(stage, T0, T0.plusSeconds(180), 3);
+    assertThat(hotCache.read("L1", null, T0, T0.plusSeconds(179)).signals()).hasSize(3);
+
+    // When
+    purger.purge("L1", T0, T0.plusSeconds(120));
+
+    // Then
+    assertThat(hotCache.read("L1", null, T0, T0.plusSeconds(179))).isNull();
+    assertThat(count("signals_history", "L1")).isEqualTo(1L);
+  }
+
+  @Test
+  void purgeFailedLoads_shouldDropTheHotWindowOfTheLoader() {
+    // Given
+    Instant now = Instant.parse("2025-01-01T12:00:00Z");
+    insertLoad(7L, "L1", "FAILED", now.minusSeconds(600));
+    insert("signals_history", "L1", T0.plusSeconds(180), 7L);
+    hotCache.read("L1", null, T0, T0);
+    SignalsHotCache.Stage stage = hotCache.stage("L1");
+    stage.add(List.of(cached(T0.plusSeconds(180))));
+    hotCache.commit(stage, T0, T0.plusSeconds(3600), 1);
+
+    // When
+    purger.purgeFailedLoads(now.minusSeconds(3600));
+
+    // Then
+    assertThat(hotCache.read("L1", null, T0, T0.plusSeconds(3599))).isNull();
+  }
+
+  @Test
+  void purgeLoad_shouldDeleteLoadSignalsWithinWindow() {
+    // Given
+    insert("signals_history", "L3", T0, 7L);
+    insert("signals_history", "L3", T0.plusSeconds(60), 7L);
+    insert("signals_history", "L3", T0.plusSeconds(60), 8L);
+
+    // When
+    long deleted = purger.purgeLoad("L3", 7L, T0, T0.plusSeconds(3600));
+
+    // Then
+    assertThat(deleted).isEqualTo(2);
+    assertThat(count("signals_history", "L3")).isEqualTo(1L);
+    verify(rollupService).refresh("L3", T0, T0.plusSeconds(3600));
+  }
+
+  @Test
+  void purgeFailedLoads_shouldDeleteSignalsOfLoadsFailedSinceWatermark() {
+    // Given - load 7 failed recently, load 8 failed before the watermark, load 9 succeeded
+    Instant now = Instant.parse("2025-01-01T12:00:00Z");
+    insertLoad(7L, "L3", "FAILED", now.minusSeconds(600));
+    insertLoad(8L, "L3", "FAILED", now.minusSeconds(7200));
+    insertLoad(9L, "L3", "SUCCESS", now.minusSeconds(600));
+    insert("signals_history", "L3", T0.plusSeconds(60), 7L);
+    insert("signals_history", "L3", T0.plusSeconds(60), 8L);
+    insert("signals_history", "L3", T0.plusSeconds(60), 9L);
+
+    // When
+    long deleted = purger.purgeFailedLoads(now.minusSeconds(3600));
+
+    // Then
+    assertThat(deleted).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForList(
+        "SELECT load_history_id FROM signals.signals_history WHERE loader_code = 'L3' ORDER BY load_history_id",
+        Long.class)).containsExactly(8L, 9L);
+    verify(rollupService).refresh("L3", T0, T0.plusSeconds(3600));
+    verifyNoMoreInteractions(rollupService);
+  }
+
+  private static SignalsHistory cached(Instant loadTimeStamp) {
+    return SignalsHistory.builder().loaderCode("L1").loadTimeStamp(loadTimeStamp).segmentCode("1").build();
+  }
+
+  private void createSignalsTable(String table) {
+    jdbcTemplate.execute("""
+        CREATE TABLE signals.%s (
+          id BIGINT AUTO_INCREMENT PRIMARY KEY,
+          loader_code VARCHAR(64) NOT NULL,
+          load_time_stamp TIMESTAMP WITH TIME ZONE NOT NULL,
+          segment_code VARCHAR(128),
+          load_history_id BIGINT
+        )""".formatted(table));
+  }
+
+  private void insert(String table, String loaderCode, Instant loadTimeStamp, Long loadHistoryId) {
+    jdbcTemplate.update("INSERT INTO signals." + table
+            + " (loader_code, load_time_stamp, segment_code, load_history_id) VALUES (?, ?, '1', ?)",
+        loaderCode, Timestamp.from(loadTimeStamp), loadHistoryId);
+  }
+
+  private void insertLoad(Long id, String loaderCode, String status, Instant endTime) {
+    jdbcTemplate.update("INSERT INTO loader.load_history"
+            + " (id, loader_code, status, start_time, end_time, query_from_time, query_to_time)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)",
+        id, loaderCode, status, Timestamp.from(endTime.minusSeconds(60)), Timestamp.from(endTime),
+        Timestamp.from(T0), Timestamp.from(T0.plusSeconds(3600)));
+  }
+
+  private Long count(String table, String loaderCode) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM signals." + table + " WHERE loader_code = ?", Long.class, loaderCode);
+  }
+}
@@ -1,8 +1,10 @@
 package com.tiqmo.monitoring.loader.service.signals;
 
 import com.tiqmo.monitoring.loader.domain.signals.entity.SignalsHistory;
+import com.tiqmo.monitoring.loader.domain.signals.repo.SignalPoint;
 import com.tiqmo.monitoring.loader.domain.signals.repo.SignalsHistoryRepository;
 import com.tiqmo.monitoring.loader.dto.common.ErrorCode;
+import com.tiqmo.monitoring.loader.dto.common.KeysetCursor;
 import com.tiqmo.monitoring.loader.exception.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,6 +30,9 @@ import static org.mockito.Mockito.*;
  * - Validation logic (loader code, segment code, time range)
  * - Error handling
  * - Empty results
+ * - Resolution routing by step (raw, hourly, daily rollups)
+ * - Downsampling (bucket width, aggregates)
+ * - Keyset paging
  *
  * @author Hassan Rawashdeh (Claude Code)
  * @since 1.0.0
@@ -37,6 +43,15 @@ class SignalsQueryServiceTest {
   @Mock
   private SignalsHistoryRepository repository;
 
+  @Mock
+  private SignalsRollupService rollupService;
+
+  @Mock
+  private SignalsDownsampler downsampler;
+
+  @Mock
+  private SignalsHotCache hotCache;
+
   @InjectMocks
   private SignalsQueryService service;
 
@@ -413,10 +428,218 @@ class SignalsQueryServiceTest {
         "LOADER-WITH-DASHES", "SEG_001_V2", 1000L, 2000L);
   }
 
+  // ===================================================================================
+  // Test: Resolution Routing (step)
+  // ===================================================================================
+
+  @Test
+  void testByLoaderBetween_DayStep_ReadsDailyRollup() {
+    // Arrange
+    when(rollupService.find(SignalResolution.DAILY, "TEST_LOADER", null,
+        Instant.ofEpochSecond(0), Instant.ofEpochSecond(30 * 86400L)))
+        .thenReturn(sampleSignals);
+
+    // Act
+    List<SignalsHistory> results = service.byLoaderBetween("TEST_LOADER", 0L, 30 * 86400L, 86400L);
+
+    // Assert
+    assertEquals(3, results.size());
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void testByLoaderAndSegmentBetween_HourStep_ReadsHourlyRollup() {
+    // Arrange
+    when(rollupService.find(SignalResolution.HOURLY, "TEST_LOADER", "1",
+        Instant.ofEpochSecond(0), Instant.ofEpochSecond(86400L)))
+        .thenReturn(sampleSignals);
+
+    // Act
+    List<SignalsHistory> results = service.byLoaderAndSegmentBetween("TEST_LOADER", "1", 0L, 86400L, 900L * 4);
+
+    // Assert
+    assertEquals(3, results.size());
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void testByLoaderBetween_FineStep_ReadsRawSignals() {
+    // Arrange
+    when(repository.findByLoaderCodeAndLoadTimeStampBetween(
+        "TEST_LOADER", Instant.ofEpochSecond(1000L), Instant.ofEpochSecond(2000L)))
+        .thenReturn(sampleSignals);
+
+    // Act
+    List<SignalsHistory> results = service.byLoaderBetween("TEST_LOADER", 1000L, 2000L, 60L);
+
+    // Assert
+    assertEquals(3, results.size());
+    verifyNoInteractions(rollupService);
+  }
+
+  @Test
+  void testByLoaderBetween_CoarseStep_InvalidRange_ThrowsException() {
+    // Act & Assert
+    BusinessException exception = assertThrows(BusinessException.class,
+        () -> service.byLoaderBetween("TEST_LOADER", 2000L, 1000L, 86400L));
+    assertEquals(ErrorCode.VALIDATION_INVALID_VALUE, exception.getErrorCode());
+    verifyNoInteractions(rollupService);
+  }
+
+  // ===================================================================================
+  // Test: downsampled()
+  // ===================================================================================
+
+  @Test
+  void testDownsampled_MaxPoints_DerivesBucketAndKeepsSelectedAggregates() {
+    // Arrange - 30 days in at most 100 points: 26182s rounded up to whole hours
+    long toEpoch = 30 * 86400L;
+    when(downsampler.downsample("TEST_LOADER", null, Instant.ofEpochSecond(0), Instant.ofEpochSecond(toEpoch), 28800L))
+        .thenReturn(new ArrayList<>(sampleSignals));
+
+    // Act
+    SignalsQueryService.DownsampledSignals result = service.downsampled("TEST_LOADER", null, 0L, toEpoch,
+        null, 100, java.util.EnumSet.of(SignalAggregate.MIN, SignalAggregate.MAX));
+
+    // Assert
+    assertEquals(28800L, result.bucketSeconds());
+    assertEquals(3, result.signals().size());
+    SignalsHistory bucket = result.signals().get(0);
+    assertNotNull(bucket.getMinVal());
+    assertNotNull(bucket.getMaxVal());
+    assertNull(bucket.getAvgVal());
+    assertNull(bucket.getSumVal());
+    assertNull(bucket.getRecCount());
+  }
+
+  @Test
+  void testDownsampled_InvalidMaxPoints_ThrowsException() {
+    // Act & Assert
+    BusinessException exception = assertThrows(BusinessException.class,
+        () -> service.downsampled("TEST_LOADER", null, 0L, 1000L, null, 1, java.util.EnumSet.allOf(SignalAggregate.class)));
+    assertEquals(ErrorCode.VALIDATION_INVALID_VALUE, exception.getErrorCode());
+    verifyNoInteractions(downsampler);
+  }
+
+  @Test
+  void testBucketWidth_BoundsBucketCount() {
+    // Requested bucket kept when the range fits
+    assertEquals(60L, SignalsQueryService.bucketWidth(3600L, 60L, null));
+    // Requested bucket widened to at most maxPoints buckets
+    assertEquals(1200L, SignalsQueryService.bucketWidth(3600L, 60L, 4));
+    // Derived width below an hour used as is
+    assertEquals(37L, SignalsQueryService.bucketWidth(3600L, null, 100));
+    // Derived width above a day rounded up to whole days
+    assertEquals(2 * 86400L, SignalsQueryService.bucketWidth(365 * 86400L, null, 200));
+  }
+
+  // ===================================================================================
+  // Test: page()
+  // ===================================================================================
+
+  @Test
+  void testPage_FirstPage_SeeksFromRangeStartAndReturnsNextCursor() {
+    // Arrange - one signal more than the limit
+    SignalPoint p1 = point(1L, 1000L);
+    SignalPoint p2 = point(2L, 1000L);
+    SignalPoint p3 = point(3L, 1500L);
+    when(repository.findPointsAfter("TEST_LOADER", Instant.ofEpochSecond(1000L), Long.MIN_VALUE,
+        Instant.ofEpochSecond(2000L), 3))
+        .thenReturn(List.of(p1, p2, p3));
+
+    // Act
+    SignalsQueryService.SignalsPage page = service.page("TEST_LOADER", null, 1000L, 2000L, null, 2);
+
+    // Assert
+    assertEquals(List.of(p1, p2), page.signals());
+    assertEquals(new KeysetCursor(Instant.ofEpochSecond(1000L), 2L), page.next());
+  }
+
+  @Test
+  void testPage_WithCursor_SeeksPastLastSignalOfSegment() {
+    // Arrange
+    KeysetCursor after = new KeysetCursor(Instant.ofEpochSecond(1500L), 7L);
+    when(repository.findPointsAfter("TEST_LOADER", "1", Instant.ofEpochSecond(1500L), 7L,
+        Instant.ofEpochSecond(2000L), SignalsQueryService.DEFAULT_PAGE_SIZE + 1))
+        .thenReturn(List.of(point(8L, 1500L)));
+
+    // Act
+    SignalsQueryService.SignalsPage page = service.page("TEST_LOADER", "1", 1000L, 2000L, after, null);
+
+    // Assert - last page
+    assertEquals(1, page.signals().size());
+    assertNull(page.next());
+  }
+
+  @Test
+  void testPage_InvalidLimit_ThrowsException() {
+    // Act & Assert
+    BusinessException exception = assertThrows(BusinessException.class,
+        () -> service.page("TEST_LOADER", null, 1000L, 2000L, null, SignalsQueryService.MAX_PAGE_SIZE + 1));
+    assertEquals(ErrorCode.VALIDATION_INVALID_VALUE, exception.getErrorCode());
+    verifyNoInteractions(repository);
+  }
+
+  // ===================================================================================
+  // Test: hot window
+  // ===================================================================================
+
+  @Test
+  void testByLoaderBetween_InsideHotWindow_ServedFromMemory() {
+    // Arrange - the window covers [1000, 3000)
+    List<SignalsHistory> cached = List.of(raw(1500L));
+    when(hotCache.read("TEST_LOADER", null, Instant.ofEpochSecond(1000L), Instant.ofEpochSecond(2000L)))
+        .thenReturn(new SignalsHotCache.HotRead(cached, Instant.ofEpochSecond(1000L), Instant.ofEpochSecond(3000L)));
+
+    // Act
+    List<SignalsHistory> results = service.byLoaderBetween("TEST_LOADER", 1000L, 2000L);
+
+    // Assert
+    assertSame(cached, results);
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void testByLoaderAndSegmentBetween_AcrossHotWindow_MergesDatabaseBeforeAndAfter() {
+    // Arrange - the window covers [1500, 1800); the rest of [1000, 2000] is read from the database
+    SignalsHistory before = raw(1200L);
+    SignalsHistory inWindow = raw(1600L);
+    SignalsHistory after = raw(1900L);
+    when(hotCache.read("TEST_LOADER", "1", Instant.ofEpochSecond(1000L), Instant.ofEpochSecond(2000L)))
+        .thenReturn(new SignalsHotCache.HotRead(List.of(inWindow),
+            Instant.ofEpochSecond(1500L), Instant.ofEpochSecond(1800L)));
+    when(repository.findByLoaderCodeAndSegmentCodeAndLoadTimeStampGreaterThanEqualAndLoadTimeStampLessThan(
+        "TEST_LOADER", "1", Instant.ofEpochSecond(1000L), Instant.ofEpochSecond(1500L)))
+        .thenReturn(List.of(before));
+    when(repository.findByLoaderCodeAndSegmentCodeAndLoadTimeStampBetween(
+        "TEST_LOADER", "1", Instant.ofEpochSecond(1800L), Instant.ofEpochSecond(2000L)))
+        .thenReturn(List.of(after));
+
+    // Act
+    List<SignalsHistory> results = service.byLoaderAndSegmentBetween("TEST_LOADER", "1", 1000L, 2000L);
+
+    // Assert
+    assertEquals(List.of(before, inWindow, after), results);
+  }
+
   // ===================================================================================
   // Helper Methods
   // ===================================================================================
 
+  private static SignalsHistory raw(long epochSecond) {
+    return SignalsHistory.builder()
+        .loaderCode("TEST_LOADER")
+        .loadTimeStamp(Instant.ofEpochSecond(epochSecond))
+        .segmentCode("1")
+        .recCount(100L)
+        .build();
+  }
+
+  private static SignalPoint point(Long id, long epochSecond) {
+    return new SignalPoint(id, "TEST_LOADER", Instant.ofEpochSecond(epochSecond), "1",
+        100L, 10.0, 90.0, 45.5, 4550.0);
+  }
+
   private List<SignalsHistory> createSampleSignals() {
     SignalsHistory signal1 = SignalsHistory.builder()
         .id(1L)
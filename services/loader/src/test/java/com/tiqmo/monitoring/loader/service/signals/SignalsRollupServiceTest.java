@@ -0,0 +1,122 @@
+package com.tiqmo.monitoring.loader.service.signals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SignalsRollupService.
+ *
+ * @author Hassan Rawashdeh
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SignalsRollupServiceTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private SignalsRollupService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new SignalsRollupService(jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void refresh_shouldRecomputeTouchedHoursThenDays_underLoaderLock() {
+    // Given - a load of [10:20, 12:00) on 2025-01-01
+    Instant from = Instant.parse("2025-01-01T10:20:00Z");
+    Instant to = Instant.parse("2025-01-01T12:00:00Z");
+    Timestamp hourFrom = ts("2025-01-01T10:00:00Z");
+    Timestamp dayFrom = ts("2025-01-01T00:00:00Z");
+    Timestamp dayTo = ts("2025-01-02T00:00:00Z");
+
+    // When
+    service.refresh("L1", from, to);
+
+    // Then - hours [10:00, 12:00) from raw signals, the day from the hourly rollup
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq("signals_rollup.L1"));
+    inOrder.verify(jdbcTemplate).update(contains("DELETE FROM signals.signals_rollup_hourly"),
+        eq("L1"), eq(hourFrom), eq(Timestamp.from(to)));
+    inOrder.verify(jdbcTemplate).update(SignalsRollupService.HOURLY_SQL, "L1", hourFrom, Timestamp.from(to));
+    inOrder.verify(jdbcTemplate).update(contains("DELETE FROM signals.signals_rollup_daily"),
+        eq("L1"), eq(dayFrom), eq(dayTo));
+    inOrder.verify(jdbcTemplate).update(SignalsRollupService.DAILY_SQL, "L1", dayFrom, dayTo);
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void refresh_shouldDoNothing_forEmptyRange() {
+    Instant t = Instant.parse("2025-01-01T10:00:00Z");
+
+    service.refresh("L1", t, t);
+
+    verifyNoInteractions(jdbcTemplate, transactionManager);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void find_shouldReadBucketsFromStartOfFirstBucket() {
+    // When
+    service.find(SignalResolution.DAILY, "L1", "7",
+        Instant.parse("2025-01-03T05:00:00Z"), Instant.parse("2025-01-10T00:00:00Z"));
+
+    // Then
+    verify(jdbcTemplate).query(contains("FROM signals.signals_rollup_daily"), any(RowMapper.class),
+        eq("L1"), eq(ts("2025-01-03T00:00:00Z")), eq(ts("2025-01-10T00:00:00Z")), eq("7"));
+  }
+
+  @Test
+  void find_shouldRejectRawResolution() {
+    assertThatThrownBy(() -> service.find(SignalResolution.RAW, "L1", null, Instant.EPOCH, Instant.now()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void forStep_shouldPickCoarsestResolutionFittingStep() {
+    assertThat(SignalResolution.forStep(null)).isEqualTo(SignalResolution.RAW);
+    assertThat(SignalResolution.forStep(60L)).isEqualTo(SignalResolution.RAW);
+    assertThat(SignalResolution.forStep(3600L)).isEqualTo(SignalResolution.HOURLY);
+    assertThat(SignalResolution.forStep(6 * 3600L)).isEqualTo(SignalResolution.HOURLY);
+    assertThat(SignalResolution.forStep(86400L)).isEqualTo(SignalResolution.DAILY);
+    assertThat(SignalResolution.forStep(7 * 86400L)).isEqualTo(SignalResolution.DAILY);
+  }
+
+  @Test
+  void floorAndCeil_shouldAlignToUtcBuckets() {
+    Instant t = Instant.parse("2025-01-01T10:20:30Z");
+
+    assertThat(SignalsRollupService.floor(t, SignalResolution.HOURLY)).isEqualTo(Instant.parse("2025-01-01T10:00:00Z"));
+    assertThat(SignalsRollupService.ceil(t, SignalResolution.HOURLY)).isEqualTo(Instant.parse("2025-01-01T11:00:00Z"));
+    assertThat(SignalsRollupService.ceil(Instant.parse("2025-01-02T00:00:00Z"), SignalResolution.DAILY))
+        .isEqualTo(Instant.parse("2025-01-02T00:00:00Z"));
+  }
+
+  private static Timestamp ts(String instant) {
+    return Timestamp.from(Instant.parse(instant));
+  }
+}